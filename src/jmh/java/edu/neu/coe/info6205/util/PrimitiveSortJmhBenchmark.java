@@ -0,0 +1,108 @@
+package edu.neu.coe.info6205.util;
+
+import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.sort.NonInstrumentingComparableHelper;
+import edu.neu.coe.info6205.sort.PrimitiveSort;
+import edu.neu.coe.info6205.sort.counting.RadixSort;
+import edu.neu.coe.info6205.sort.elementary.HeapSortPrimitive;
+import edu.neu.coe.info6205.sort.elementary.InsertionSortPrimitive;
+import edu.neu.coe.info6205.sort.elementary.ShellSortPrimitive;
+import edu.neu.coe.info6205.sort.linearithmic.IntroSortPrimitive;
+import edu.neu.coe.info6205.sort.linearithmic.MergeSortPrimitive;
+import edu.neu.coe.info6205.sort.linearithmic.QuickSort_DualPivotPrimitive;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark for the sorters of primitive (int) arrays, i.e. the implementations of PrimitiveSort.
+ * <p>
+ * The parameters are as for SortJmhBenchmark: the arrays have the same values (and shapes) as the arrays of Integers there,
+ * so that the cost of boxing may be read off by comparing the two sets of results.
+ * InsertionSortPrimitive is not in the default list of sorters: specify it explicitly (with a small value of n),
+ * for example: -p sorter=InsertionSortPrimitive -p n=1000.
+ * <p>
+ * To run just this benchmark: mvn -P jmh compile exec:exec -Djmh.args="PrimitiveSortJmhBenchmark"
+ * <p>
+ * NOTE that the Benchmark annotation is imported explicitly so that it shadows edu.neu.coe.info6205.util.Benchmark.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g", "--add-modules", "jdk.incubator.vector"})
+@State(Scope.Thread)
+public class PrimitiveSortJmhBenchmark {
+
+    @Param({"QuickSort_DualPivotPrimitive", "MergeSortPrimitive", "IntroSortPrimitive", "HeapSortPrimitive", "ShellSortPrimitive", "RadixSort"})
+    public String sorter;
+
+    @Param({"10000", "100000", "1000000"})
+    public int n;
+
+    @Param({"random", "ordered", "partial", "reverse"})
+    public String shape;
+
+    @Setup(Level.Trial)
+    public void setupTrial() throws IOException {
+        Config config = Config.load(PrimitiveSortJmhBenchmark.class);
+        Helper<Integer> helper = new NonInstrumentingComparableHelper<>(sorter, n, config.getSeed(), config);
+        sort = createSorter(sorter, config);
+        Integer[] array = SortJmhBenchmark.createArray(shape, helper, n);
+        source = new int[n];
+        for (int i = 0; i < n; i++) source[i] = array[i];
+        xs = new int[n];
+        helper.close();
+    }
+
+    @Setup(Level.Invocation)
+    public void setupInvocation() {
+        System.arraycopy(source, 0, xs, 0, n);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDownTrial() {
+        if (sort instanceof RadixSort) ((RadixSort) sort).close();
+    }
+
+    @Benchmark
+    public void sort(Blackhole blackhole) {
+        sort.sort(xs, 0, n);
+        blackhole.consume(xs);
+    }
+
+    /**
+     * Method to create a sorter of primitives, given its (simple class) name.
+     *
+     * @param name   the name of the sorter.
+     * @param config the configuration (from which the cutoff and the radix are taken).
+     * @return a new PrimitiveSort.
+     */
+    static PrimitiveSort createSorter(String name, Config config) {
+        switch (name) {
+            case "QuickSort_DualPivotPrimitive":
+                return new QuickSort_DualPivotPrimitive(config);
+            case "MergeSortPrimitive":
+                return new MergeSortPrimitive(config);
+            case "IntroSortPrimitive":
+                return new IntroSortPrimitive();
+            case "HeapSortPrimitive":
+                return new HeapSortPrimitive();
+            case "ShellSortPrimitive":
+                return new ShellSortPrimitive(3);
+            case "RadixSort":
+                return new RadixSort(config);
+            case "InsertionSortPrimitive":
+                return new InsertionSortPrimitive();
+            default:
+                throw new IllegalArgumentException("PrimitiveSortJmhBenchmark: unknown sorter: " + name);
+        }
+    }
+
+    private PrimitiveSort sort;
+    private int[] source;
+    private int[] xs;
+}
@@ -0,0 +1,168 @@
+package edu.neu.coe.info6205.util;
+
+import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.sort.NonInstrumentingComparableHelper;
+import edu.neu.coe.info6205.sort.SortWithHelper;
+import edu.neu.coe.info6205.sort.classic.BucketSort;
+import edu.neu.coe.info6205.sort.elementary.HeapSort;
+import edu.neu.coe.info6205.sort.elementary.InsertionSort;
+import edu.neu.coe.info6205.sort.elementary.SelectionSort;
+import edu.neu.coe.info6205.sort.elementary.ShellSort;
+import edu.neu.coe.info6205.sort.linearithmic.*;
+import edu.neu.coe.info6205.sort.par.ParSort;
+import edu.neu.coe.info6205.sort.par.ParallelQuickSort;
+import edu.neu.coe.info6205.sort.par.ParallelSort;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark for the sorters of the sort package.
+ * <p>
+ * Unlike SortBenchmark (which is based on Timer/Benchmark_Timer), JMH runs each configuration in a forked JVM,
+ * with proper warmup, and the result of each sort is consumed by a Blackhole, so that the numbers are comparable across runs.
+ * <p>
+ * The benchmark is parameterized by sorter (see createSorter), by n, and by shape (which corresponds to
+ * Helper.random, Helper.ordered, Helper.partialOrdered and Helper.reverse).
+ * The quadratic sorters (e.g. InsertionSort) are not in the default list of sorters: specify them explicitly
+ * (with a small value of n), for example: -p sorter=InsertionSort -p n=1000.
+ * NOTE that QuickSort_Basic (which does not shuffle and always takes the first element as pivot) is quadratic,
+ * and recurses to a depth of about n, for all but the random shape: with large n, those configurations will fail.
+ * The sorters of primitive arrays are benchmarked separately by PrimitiveSortJmhBenchmark.
+ * <p>
+ * To run (results are written as JSON to target/jmh-result.json): mvn -P jmh compile exec:exec
+ * <p>
+ * NOTE that the Benchmark annotation is imported explicitly so that it shadows edu.neu.coe.info6205.util.Benchmark.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Thread)
+public class SortJmhBenchmark {
+
+    @Param({"QuickSort_DualPivot", "QuickSort_3way", "QuickSort_Basic", "MergeSort", "MergeSortBasic", "MergeSortBottomUp", "BlockMergeSort",
+            "TimSort", "IntroSort", "PDQSort", "HeapSort", "ShellSort", "BucketSort", "SampleSort", "ParallelSort", "ParallelQuickSort"})
+    public String sorter;
+
+    @Param({"10000", "100000", "1000000"})
+    public int n;
+
+    @Param({"random", "ordered", "partial", "reverse"})
+    public String shape;
+
+    @Setup(Level.Trial)
+    public void setupTrial() throws IOException {
+        Config config = Config.load(SortJmhBenchmark.class);
+        helper = new NonInstrumentingComparableHelper<>(sorter, n, config.getSeed(), config);
+        sort = createSorter(sorter, helper);
+        source = createArray(shape, helper, n);
+        xs = new Integer[n];
+    }
+
+    @Setup(Level.Invocation)
+    public void setupInvocation() {
+        System.arraycopy(source, 0, xs, 0, n);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDownTrial() {
+        sort.close();
+    }
+
+    @Benchmark
+    public void sort(Blackhole blackhole) {
+        sort.mutatingSort(xs);
+        blackhole.consume(xs);
+    }
+
+    /**
+     * Method to create a sorter, given its (simple class) name.
+     *
+     * @param name   the name of the sorter.
+     * @param helper the helper.
+     * @return a new SortWithHelper.
+     */
+    static SortWithHelper<Integer> createSorter(String name, Helper<Integer> helper) {
+        switch (name) {
+            case "QuickSort_DualPivot":
+                return new QuickSort_DualPivot<>(helper);
+            case "QuickSort_3way":
+                return new QuickSort_3way<>(helper);
+            case "QuickSort_Basic":
+                return new QuickSort_Basic<>(helper);
+            case "MergeSort":
+                return new MergeSort<>(helper);
+            case "MergeSortBasic":
+                return new MergeSortBasic<>(helper);
+            case "MergeSortBottomUp":
+                return new MergeSortBottomUp<>(helper);
+            case "BlockMergeSort":
+                return new BlockMergeSort<>(helper);
+            case "TimSort":
+                return new TimSort<>(helper);
+            case "IntroSort":
+                return new IntroSort<>(helper);
+            case "PDQSort":
+                return new PDQSort<>(helper);
+            case "HeapSort":
+                return new HeapSort<>(helper);
+            case "ShellSort":
+                return new ShellSort<>(3, helper);
+            case "BucketSort":
+                return new BucketSort<>(helper, null, new Object[(helper.getN() + BUCKET_SIZE - 1) / BUCKET_SIZE]);
+            case "SampleSort":
+                // NOTE the buckets are capped at sqrt(n) (see BucketSort) and the common pool needs no shutting down.
+                return new BucketSort<>(helper, (int) Math.sqrt(helper.getN()), BucketSort.OVERSAMPLING_DEFAULT, ForkJoinPool.commonPool());
+            case "ParallelSort":
+                return new ParallelSort<>(helper, ParSort.CUTOFF_DEFAULT, Runtime.getRuntime().availableProcessors());
+            case "ParallelQuickSort":
+                return new ParallelQuickSort<>(helper, ParallelQuickSort.QUICKSORT_THRESHOLD_DEFAULT, Runtime.getRuntime().availableProcessors());
+            case "InsertionSort":
+                return new InsertionSort<>(helper);
+            case "SelectionSort":
+                return new SelectionSort<>(helper);
+            default:
+                throw new IllegalArgumentException("SortJmhBenchmark: unknown sorter: " + name);
+        }
+    }
+
+    /**
+     * Method to create an array of Integers of the given shape.
+     *
+     * @param shape  one of random, ordered, partial or reverse.
+     * @param helper the helper.
+     * @param n      the number of elements.
+     * @return a new array.
+     */
+    static Integer[] createArray(String shape, Helper<Integer> helper, int n) {
+        switch (shape) {
+            case "random":
+                return helper.random(n, Integer.class, Random::nextInt);
+            case "ordered":
+                return helper.ordered(n, Integer.class, i -> i);
+            case "partial":
+                return helper.partialOrdered(n, Integer.class, i -> i);
+            case "reverse":
+                return helper.reverse(n, Integer.class, i -> i);
+            default:
+                throw new IllegalArgumentException("SortJmhBenchmark: unknown shape: " + shape);
+        }
+    }
+
+    /**
+     * The mean number of elements in each bucket of BucketSort (as for bucketsize in [benchmarkintegersorters]).
+     */
+    private static final int BUCKET_SIZE = 16;
+
+    private Helper<Integer> helper;
+    private SortWithHelper<Integer> sort;
+    private Integer[] source;
+    private Integer[] xs;
+}
@@ -158,6 +158,20 @@ public class PriorityQueue<K> implements Iterable<K> {
         }
     }
 
+    /**
+     * Get the root element from this Priority Queue without removing it.
+     *
+     * @return If max is true, then the maximum element, otherwise the minimum
+     * element.
+     * @throws PQException if this priority queue is empty
+     */
+    public K peek() throws PQException {
+        if (isEmpty()) {
+            throw new PQException("Priority queue is empty");
+        }
+        return binHeap[first];
+    }
+
     K doTake(Consumer<Integer> f) {
         K result = binHeap[first]; // get the root element (the largest or smallest, according to field max)
         swap(first, last-- + first - 1); // swap the root element with the last element
@@ -170,7 +184,7 @@ public class PriorityQueue<K> implements Iterable<K> {
         while (firstChild(k) <= last) {
             int j = firstChild(k);
             for (int i = 1; i < arity && j + i <= last; i++) {
-                if (unordered(j + i, j)) {
+                if (unordered(j, j + i)) {
                     j = j + i;
                 }
             }
@@ -225,7 +239,8 @@ public class PriorityQueue<K> implements Iterable<K> {
      * Get the index of the parent of the element at index k
      */
     private int parent(int k) {
-        return (k - first) / arity + first;
+        // NOTE the children of k are at firstChild(k) through firstChild(k) + arity - 1.
+        return (k - first - 1) / arity + first;
     }
 
     /**
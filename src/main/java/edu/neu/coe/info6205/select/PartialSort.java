@@ -0,0 +1,214 @@
+package edu.neu.coe.info6205.select;
+
+import edu.neu.coe.info6205.pq.PQException;
+import edu.neu.coe.info6205.pq.PriorityQueue;
+import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.sort.HelperFactory;
+import edu.neu.coe.info6205.sort.SortException;
+import edu.neu.coe.info6205.sort.elementary.InsertionSort;
+import edu.neu.coe.info6205.sort.linearithmic.QuickSort_DualPivot;
+import edu.neu.coe.info6205.util.Config;
+
+import java.util.Arrays;
+
+/**
+ * Class PartialSort: for when we need only the k smallest elements of an array (or just the kth smallest), not all of them in order.
+ * <ul>
+ *     <li>topK returns the k smallest elements, in order. For small k, it makes a single pass through the array with a bounded
+ *     max-heap (a PriorityQueue) of the k smallest elements so far: this takes O(n log k) time, but the heap is small and
+ *     most elements are rejected after just one compare. For large k, it uses nthElement and then sorts the first k elements
+ *     (with QuickSort_DualPivot): O(n + k log k).</li>
+ *     <li>nthElement (introselect) rearranges the array so that the kth element is in its sorted position, with
+ *     no greater element before it and no smaller element after it. It is a quickselect (median-of-three, three-way partitioning)
+ *     but, if that has not converged after 2 lg n partitions, it falls back to median-of-medians pivots,
+ *     which guarantee linear time.</li>
+ * </ul>
+ * All compares and swaps go through the Helper so that the operations can be instrumented.
+ *
+ * @param <X> the underlying comparable type.
+ */
+public class PartialSort<X extends Comparable<X>> implements Select<X> {
+
+    public static final String DESCRIPTION = "Partial sort";
+
+    /**
+     * Constructor for PartialSort
+     *
+     * @param helper an explicit instance of Helper to be used.
+     */
+    public PartialSort(Helper<X> helper) {
+        this.helper = helper;
+        this.insertionSort = InsertionSort.create(helper, false);
+    }
+
+    /**
+     * Constructor for PartialSort
+     *
+     * @param N      the number elements we expect to deal with.
+     * @param config the configuration.
+     */
+    public PartialSort(int N, Config config) {
+        this(HelperFactory.create(DESCRIPTION, N, config));
+    }
+
+    /**
+     * Method to get the k smallest elements of xs, in order. xs is not changed.
+     *
+     * @param xs the array.
+     * @param k  the number of elements required (between 0 and xs.length).
+     * @return a new array of the k smallest elements of xs, in order.
+     */
+    public X[] topK(X[] xs, int k) {
+        if (k < 0 || k > xs.length) throw new SortException("PartialSort.topK: k is out of range: " + k);
+        if (k == 0) return Arrays.copyOf(xs, 0);
+        return useHeap(xs.length, k) ? topKByHeap(xs, k) : topKBySelect(xs, k);
+    }
+
+    /**
+     * Method to rearrange xs so that its k smallest elements are at the start, in order.
+     * The order of the remaining elements is unspecified.
+     *
+     * @param xs the array.
+     * @param k  the number of elements to be sorted (between 0 and xs.length).
+     */
+    public void partialSort(X[] xs, int k) {
+        if (k < 0 || k > xs.length) throw new SortException("PartialSort.partialSort: k is out of range: " + k);
+        if (k == 0) return;
+        if (k < xs.length) nthElement(xs, k - 1);
+        new QuickSort_DualPivot<>(helper).sort(xs, 0, k);
+    }
+
+    /**
+     * Method to rearrange xs so that xs[k] is the element which would be there if xs were sorted,
+     * and every element before it is not greater, and every element after it is not less.
+     *
+     * @param xs the array.
+     * @param k  the index (between 0 and xs.length-1).
+     * @return the kth smallest element (xs[k]).
+     */
+    public X nthElement(X[] xs, int k) {
+        if (k < 0 || k >= xs.length) throw new SortException("PartialSort.nthElement: k is out of range: " + k);
+        select(xs, 0, xs.length, k, 2 * lg(xs.length));
+        return xs[k];
+    }
+
+    /**
+     * Method to select the kth smallest element of a (a is rearranged, as for nthElement).
+     *
+     * @param a the array.
+     * @param k the index.
+     * @return the kth smallest element.
+     */
+    public X select(X[] a, int k) {
+        return nthElement(a, k);
+    }
+
+    public Helper<X> getHelper() {
+        return helper;
+    }
+
+    /**
+     * The heap is used when k is no more than n/64: the bounded heap does better than select when only a few elements get into it.
+     */
+    static boolean useHeap(int n, int k) {
+        return k <= n >> HEAP_SHIFT;
+    }
+
+    private X[] topKByHeap(X[] xs, int k) {
+        // NOTE this is a max-heap: its root is the greatest of the k smallest elements found so far.
+        PriorityQueue<X> pq = new PriorityQueue<>(k, true, helper);
+        try {
+            for (X x : xs)
+                if (pq.size() < k) pq.give(x);
+                else if (helper.less(x, pq.peek())) {
+                    pq.take();
+                    pq.give(x);
+                }
+            X[] result = Arrays.copyOf(xs, k);
+            for (int i = k - 1; i >= 0; i--) result[i] = pq.take();
+            return result;
+        } catch (PQException e) {
+            throw new SortException("PartialSort.topK: logic error", e);
+        }
+    }
+
+    private X[] topKBySelect(X[] xs, int k) {
+        X[] ys = Arrays.copyOf(xs, xs.length);
+        partialSort(ys, k);
+        return Arrays.copyOf(ys, k);
+    }
+
+    /**
+     * Introselect on xs[from] ... xs[to-1].
+     *
+     * @param budget the number of median-of-three partitions allowed before switching to median-of-medians
+     *               (if zero, median-of-medians is used throughout).
+     */
+    void select(X[] xs, int from, int to, int k, int budget) {
+        while (to - from > CUTOFF) {
+            int pivot = budget-- > 0 ? medianOfThree(xs, from, to) : medianOfMedians(xs, from, to);
+            int[] bounds = partition(xs, from, to, pivot);
+            if (k < bounds[0]) to = bounds[0];
+            else if (k > bounds[1]) from = bounds[1] + 1;
+            else return;
+        }
+        insertionSort.sort(xs, from, to);
+    }
+
+    /**
+     * Three-way partition of xs[from] ... xs[to-1] about the element at index pivot.
+     *
+     * @return {lt, gt} such that xs[from..lt-1] are less than the pivot value, xs[lt..gt] are equal to it and xs[gt+1..to-1] are greater.
+     */
+    private int[] partition(X[] xs, int from, int to, int pivot) {
+        helper.swap(xs, from, pivot);
+        X v = helper.get(xs, from);
+        int lt = from, i = from + 1, gt = to - 1;
+        while (i <= gt) {
+            int c = helper.compare(helper.get(xs, i), v);
+            if (c < 0) helper.swap(xs, lt++, i++);
+            else if (c > 0) helper.swap(xs, i, gt--);
+            else i++;
+        }
+        return new int[]{lt, gt};
+    }
+
+    private int medianOfThree(X[] xs, int from, int to) {
+        int a = from, b = (from + to) >>> 1, c = to - 1;
+        if (helper.less(xs, b, a)) {
+            int t = a;
+            a = b;
+            b = t;
+        }
+        if (helper.less(xs, c, b)) b = helper.less(xs, c, a) ? a : c;
+        return b;
+    }
+
+    /**
+     * Find a pivot by the median-of-medians method: the median of each group of five is moved to the front of the range,
+     * and then the median of those medians is selected (recursively, again by median-of-medians).
+     *
+     * @return the index of the pivot.
+     */
+    private int medianOfMedians(X[] xs, int from, int to) {
+        int m = 0;
+        for (int lo = from; lo < to; lo += 5) {
+            int hi = Math.min(lo + 5, to);
+            insertionSort.sort(xs, lo, hi);
+            helper.swap(xs, from + m++, lo + (hi - lo - 1) / 2);
+        }
+        int mid = from + (m - 1) / 2;
+        select(xs, from, from + m, mid, 0);
+        return mid;
+    }
+
+    private static int lg(int n) {
+        return 31 - Integer.numberOfLeadingZeros(Math.max(n, 1));
+    }
+
+    private static final int CUTOFF = 16;
+    private static final int HEAP_SHIFT = 6;
+
+    private final Helper<X> helper;
+    private final InsertionSort<X> insertionSort;
+}
@@ -2,6 +2,7 @@ package edu.neu.coe.info6205.select;
 
 import edu.neu.coe.info6205.sort.Helper;
 import edu.neu.coe.info6205.sort.NonInstrumentingComparableHelper;
+import edu.neu.coe.info6205.sort.linearithmic.QuickSort_DualPivot;
 import edu.neu.coe.info6205.util.Benchmark;
 import edu.neu.coe.info6205.util.Benchmark_Timer;
 import edu.neu.coe.info6205.util.Config;
@@ -79,10 +80,38 @@ public class SelectBenchmark {
             String s7 = slowSelector + "," + reverseOrdered;
             myContent.append(resultMessage(s7, d7, N));
 
+            myContent.append(runPartialSortBenchmarks(helper, randomSupplier, random, N));
+            myContent.append(runPartialSortBenchmarks(helper, partialSupplier, partiallyOrdered, N));
+
             return myContent.toString();
         }
     }
 
+    /**
+     * Method to compare PartialSort (nthElement, and topK with a small and a large k) with a full sort by QuickSort_DualPivot.
+     *
+     * @param helper   the helper.
+     * @param supplier the supplier of arrays.
+     * @param ordering the name of the ordering of the supplied arrays.
+     * @param N        the number of elements.
+     * @return the result lines.
+     */
+    private String runPartialSortBenchmarks(Helper<Integer> helper, Supplier<Integer[]> supplier, String ordering, int N) {
+        StringBuilder result = new StringBuilder();
+        PartialSort<Integer> partialSort = new PartialSort<>(helper);
+        int k = N / 2;
+        result.append(resultMessage("PartialSort.nthElement," + ordering, doBenchmark("PartialSort.nthElement", partialSort, k, supplier, runs), N));
+        for (int m : new int[]{Math.max(N / 1000, 1), N / 10}) {
+            String description = "PartialSort.topK (k=" + m + ")";
+            double time = new Benchmark_Timer<Integer[]>(description, xs -> partialSort.topK(xs, m)).runFromSupplier(supplier, runs);
+            result.append(resultMessage(description + "," + ordering, time, N));
+        }
+        QuickSort_DualPivot<Integer> quickSort = new QuickSort_DualPivot<>(helper);
+        double time = new Benchmark_Timer<Integer[]>("QuickSort_DualPivot", xs -> Arrays.copyOf(xs, xs.length), xs -> quickSort.sort(xs, 0, xs.length), null).runFromSupplier(supplier, runs);
+        result.append(resultMessage("QuickSort_DualPivot (full sort)," + ordering, time, N));
+        return result.toString();
+    }
+
     private String resultMessage(String s, double d, int n) {
         // NOTE leave this as StringBuilder
         return new StringBuilder().append(s).append(",").append(runs).append(",").append(n).append(",").append(d).append("\n").toString();
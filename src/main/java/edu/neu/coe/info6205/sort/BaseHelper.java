@@ -49,6 +49,10 @@ public abstract class BaseHelper<X> {
         return config;
     }
 
+    public Random getRandom() {
+        return random;
+    }
+
     /**
      * @param n the size to be managed.
      * @throws HelperException if n is inconsistent.
@@ -0,0 +1,213 @@
+package edu.neu.coe.info6205.sort;
+
+import edu.neu.coe.info6205.util.Config;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Class CacheModel: a simulation of a multi-level (inclusive) set-associative cache with LRU replacement.
+ * <p>
+ * The model is fed the stream of array accesses made by an instrumented Helper.
+ * Each array is given its own (simulated) region of memory, so that accesses to xs[i] and to aux[i] do not collide
+ * (unless they map to the same set).
+ * An access which misses in level k is looked up in level k+1, and the line is then installed in every level which missed.
+ * <p>
+ * Of course, this is only an estimate: we know nothing of the object headers, of the objects referenced by the array elements,
+ * or of the other work going on in the JVM. But it does show the locality (or otherwise) of a sort method's array accesses,
+ * which is what determines (for large arrays) whether, for example, MergeSort is faster than QuickSort_3way.
+ * <p>
+ * NOTE that this class is not thread-safe.
+ */
+public class CacheModel {
+
+    /**
+     * Constructor for CacheModel.
+     *
+     * @param lineSize      the size (in bytes) of a cache line (must be a power of 2).
+     * @param elementSize   the size (in bytes) of an array element (e.g. 4 for compressed references).
+     * @param associativity the number of ways in each set.
+     * @param capacities    the capacity (in bytes) of each level, starting with L1.
+     */
+    public CacheModel(int lineSize, int elementSize, int associativity, long... capacities) {
+        if (Integer.bitCount(lineSize) != 1) throw new HelperException("CacheModel: lineSize must be a power of 2: " + lineSize);
+        if (elementSize < 1 || associativity < 1 || capacities.length == 0)
+            throw new HelperException("CacheModel: invalid parameters");
+        this.lineShift = Integer.numberOfTrailingZeros(lineSize);
+        this.elementSize = elementSize;
+        this.associativity = associativity;
+        this.capacities = capacities.clone();
+        int levels = capacities.length;
+        this.sets = new int[levels];
+        this.tags = new long[levels][];
+        this.misses = new long[levels];
+        for (int k = 0; k < levels; k++) {
+            sets[k] = (int) Math.max(capacities[k] / ((long) lineSize * associativity), 1);
+            tags[k] = new long[sets[k] * associativity];
+        }
+        reset();
+    }
+
+    /**
+     * Constructor for CacheModel which takes its parameters from the [cache] section of the configuration.
+     *
+     * @param config the configuration.
+     */
+    public CacheModel(Config config) {
+        this(config.getInt(CACHE, LINESIZE, 64), config.getInt(CACHE, ELEMENTSIZE, 4), config.getInt(CACHE, ASSOCIATIVITY, 8), getCapacities(config));
+    }
+
+    /**
+     * Method to determine whether cache simulation is configured.
+     *
+     * @param config the configuration.
+     * @return the value of simulate in the [cache] section.
+     */
+    public static boolean isSimulated(Config config) {
+        return config.getBoolean(CACHE, SIMULATE);
+    }
+
+    /**
+     * Record an access to xs[i].
+     *
+     * @param xs the array.
+     * @param i  the index.
+     */
+    public void access(Object xs, int i) {
+        accessAddress(base(xs) + (long) i * elementSize);
+    }
+
+    /**
+     * Record (sequential) accesses to xs[i] ... xs[i+n-1].
+     *
+     * @param xs the array.
+     * @param i  the index of the first element.
+     * @param n  the number of elements.
+     */
+    public void access(Object xs, int i, int n) {
+        long base = base(xs);
+        for (int k = i; k < i + n; k++) accessAddress(base + (long) k * elementSize);
+    }
+
+    /**
+     * Clear the contents of the cache and all of the counts.
+     * The (simulated) addresses of arrays are also forgotten.
+     */
+    public void reset() {
+        for (long[] ts : tags) Arrays.fill(ts, EMPTY);
+        Arrays.fill(misses, 0L);
+        accesses = 0;
+        bases.clear();
+        nextBase = 0;
+    }
+
+    public int levels() {
+        return capacities.length;
+    }
+
+    public long getAccesses() {
+        return accesses;
+    }
+
+    /**
+     * @param level the level (0 for L1).
+     * @return the number of misses at the given level.
+     */
+    public long getMisses(int level) {
+        return misses[level];
+    }
+
+    /**
+     * @return the StatPack keys for the misses at each level (l1misses, l2misses, etc.).
+     */
+    public String[] keys() {
+        String[] result = new String[levels()];
+        for (int k = 0; k < result.length; k++) result[k] = key(k);
+        return result;
+    }
+
+    /**
+     * @param level the level (0 for L1).
+     * @return the StatPack key for the misses at the given level.
+     */
+    public static String key(int level) {
+        return "l" + (level + 1) + MISSES;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder stringBuilder = new StringBuilder("CacheModel{accesses: " + accesses);
+        for (int k = 0; k < levels(); k++) stringBuilder.append(", ").append(key(k)).append(": ").append(misses[k]);
+        return stringBuilder.append("}").toString();
+    }
+
+    public static final String CACHE = "cache";
+    public static final String SIMULATE = "simulate";
+    public static final String LINESIZE = "linesize";
+    public static final String ELEMENTSIZE = "elementsize";
+    public static final String ASSOCIATIVITY = "associativity";
+    public static final String CAPACITIES = "capacities";
+    public static final String MISSES = "misses";
+
+    private static long[] getCapacities(Config config) {
+        String capacities = config.getString(CACHE, CAPACITIES, "32768, 1048576");
+        return Arrays.stream(capacities.split(",")).map(String::trim).mapToLong(Long::parseLong).toArray();
+    }
+
+    private long base(Object xs) {
+        Long base = bases.get(xs);
+        if (base == null) {
+            base = nextBase;
+            // NOTE each array begins on a new page (and we leave a gap for the array header).
+            nextBase = (nextBase + HEADER + (long) Array.getLength(xs) * elementSize + PAGE - 1) & -PAGE;
+            bases.put(xs, base + HEADER);
+            return base + HEADER;
+        }
+        return base;
+    }
+
+    private void accessAddress(long address) {
+        accesses++;
+        long line = address >>> lineShift;
+        for (int k = 0; k < tags.length; k++) {
+            if (lookup(k, line)) return;
+            misses[k]++;
+        }
+    }
+
+    /**
+     * Look up line in the given level, installing it (as the most recently used) if it is not present.
+     *
+     * @return true if the line was present.
+     */
+    private boolean lookup(int level, long line) {
+        long[] ts = tags[level];
+        int start = (int) (line % sets[level]) * associativity;
+        int end = start + associativity;
+        int i = start;
+        while (i < end && ts[i] != line && ts[i] != EMPTY) i++;
+        boolean hit = i < end && ts[i] == line;
+        // Move the line to the front of its set (if a miss, the least recently used line, if any, is evicted).
+        System.arraycopy(ts, start, ts, start + 1, Math.min(i, end - 1) - start);
+        ts[start] = line;
+        return hit;
+    }
+
+    private static final long EMPTY = -1L;
+    private static final long PAGE = 4096;
+    private static final long HEADER = 16;
+
+    private final int lineShift;
+    private final int elementSize;
+    private final int associativity;
+    private final long[] capacities;
+    private final int[] sets;
+    private final long[][] tags;
+    private final long[] misses;
+    // NOTE arrays do not override equals/hashCode, so WeakHashMap is effectively an identity map here.
+    private final Map<Object, Long> bases = new WeakHashMap<>();
+    private long nextBase;
+    private long accesses;
+}
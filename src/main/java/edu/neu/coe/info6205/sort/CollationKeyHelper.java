@@ -0,0 +1,126 @@
+package edu.neu.coe.info6205.sort;
+
+import edu.neu.coe.info6205.util.Config;
+
+import java.text.Collator;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Class CollationKeyHelper: a Helper of Strings in the order of a (locale-sensitive) Collator.
+ * <p>
+ * Collator.compare works out the collation elements of both Strings on every compare, which is expensive,
+ * especially for Chinese or Russian words. Instead, this Helper computes the CollationKey of each String once,
+ * and compares the keys (as byte arrays) by Arrays.compareUnsigned, which gives the same order as the Collator.
+ * The keys are kept in a bounded (least-recently-used) cache, so that repeated sorts of the same words
+ * (for example, the runs of a benchmark) do not compute them again.
+ * The capacity of the cache is given by the collationcache option of the [helper] section of the configuration.
+ * <p>
+ * NOTE that, like Collator itself, this class is not thread-safe.
+ */
+public class CollationKeyHelper extends NonInstrumentingComparatorHelper<String> {
+
+    /**
+     * Method to create a CollationKeyHelper for the given locale.
+     *
+     * @param description the description of this Helper (for humans).
+     * @param locale      the locale of the Collator.
+     * @param n           the number of elements expected to be sorted.
+     * @param config      the configuration.
+     * @return a new CollationKeyHelper.
+     */
+    public static CollationKeyHelper create(String description, Locale locale, int n, Config config) {
+        return new CollationKeyHelper(description, Collator.getInstance(locale), n, config.getInt(Config.HELPER, COLLATIONCACHE, CAPACITY_DEFAULT), config);
+    }
+
+    /**
+     * Constructor for CollationKeyHelper.
+     *
+     * @param description the description of this Helper (for humans).
+     * @param collator    the Collator.
+     * @param n           the number of elements expected to be sorted.
+     * @param capacity    the maximum number of keys to be cached.
+     * @param config      the configuration.
+     */
+    public CollationKeyHelper(String description, Collator collator, int n, int capacity, Config config) {
+        super(description, collator::compare, n, new InstrumenterDummy(), config);
+        if (capacity < 1) throw new HelperException("CollationKeyHelper: capacity must be positive: " + capacity);
+        this.collator = collator;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Method to get the collation key of s as an array of bytes (from the cache, if possible).
+     * For any s and t, Arrays.compareUnsigned(getKey(s), getKey(t)) has the same sign as collator.compare(s, t).
+     *
+     * @param s a String.
+     * @return the collation key of s.
+     */
+    public byte[] getKey(String s) {
+        byte[] key = cache.get(s);
+        if (key == null) {
+            misses++;
+            key = collator.getCollationKey(s).toByteArray();
+            cache.put(s, key);
+        }
+        return key;
+    }
+
+    /**
+     * Compare s1 and s2 by their collation keys.
+     *
+     * @param s1 the first String.
+     * @param s2 the second String.
+     * @return the result of comparing the collation keys of s1 and s2 (as unsigned bytes).
+     */
+    @Override
+    public int compare(String s1, String s2) {
+        return Arrays.compareUnsigned(getKey(s1), getKey(s2));
+    }
+
+    /**
+     * @return this Helper, since compare uses the cached keys.
+     */
+    @Override
+    public Comparator<String> getComparator() {
+        return this;
+    }
+
+    public Collator getCollator() {
+        return collator;
+    }
+
+    /**
+     * @return the number of keys in the cache.
+     */
+    public int getCacheSize() {
+        return cache.size();
+    }
+
+    /**
+     * @return the number of keys which have been computed (i.e. which were not found in the cache).
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    @Override
+    public String toString() {
+        return super.toString() + " (collation keys cached: " + cache.size() + ")";
+    }
+
+    public static final String COLLATIONCACHE = "collationcache";
+
+    private static final int CAPACITY_DEFAULT = 100_000;
+
+    private final Collator collator;
+    private final Map<String, byte[]> cache;
+    private long misses = 0;
+}
@@ -0,0 +1,166 @@
+package edu.neu.coe.info6205.sort;
+
+import edu.neu.coe.info6205.util.Config;
+import edu.neu.coe.info6205.util.StatPack;
+import edu.neu.coe.info6205.util.Statistics;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Class ConcurrentInstrumenter: a thread-safe alternative to Instrumenter.
+ * <p>
+ * Each count is kept in a LongAdder, which is to say in a set of striped (per-thread) cells which are summed
+ * only when the count is read (in particular, by gatherStatistic).
+ * Thus, the instrumented runs of parallel sorters yield correct totals, and contention between threads is low.
+ * <p>
+ * If sample is greater than 1, then only (approximately) one in every sample operations is counted,
+ * and each counted operation is weighted by sample, so that the counts are estimates of the true totals.
+ * This reduces the cost of instrumentation to almost nothing.
+ */
+public class ConcurrentInstrumenter implements Instrument {
+
+    public ConcurrentInstrumenter(boolean countCopies, boolean countSwaps, boolean countCompares, boolean countFixes, boolean countHits, boolean countLookups, boolean showStats, int sample) {
+        if (sample < 1) throw new HelperException("ConcurrentInstrumenter: sample must be positive: " + sample);
+        this.countCopies = countCopies;
+        this.countSwaps = countSwaps;
+        this.countCompares = countCompares;
+        this.countFixes = countFixes;
+        this.countHits = countHits;
+        this.countLookups = countLookups;
+        this.showStats = showStats;
+        this.sample = sample;
+    }
+
+    public ConcurrentInstrumenter(Config config) {
+        this(config.getBoolean(INSTRUMENTING, COPIES), config.getBoolean(INSTRUMENTING, SWAPS), config.getBoolean(INSTRUMENTING, COMPARES), config.getBoolean(INSTRUMENTING, FIXES), config.getBoolean(INSTRUMENTING, HITS), config.getBoolean(INSTRUMENTING, LOOKUPS), config.getBoolean(INSTRUMENTING, SHOW_STATS), getSample(config));
+    }
+
+    public void init(int n, int nRuns) {
+        compares.reset();
+        swaps.reset();
+        copies.reset();
+        fixes.reset();
+        hits.reset();
+        lookups.reset();
+        // NOTE: it's an error to reset the StatPack if we've been here before
+        if (statPack != null) return;
+        statPack = new StatPack(Statistics.NORMALIZER_LINEARITHMIC_NATURAL, nRuns, n, COMPARES, SWAPS, COPIES, INVERSIONS, FIXES, HITS, LOOKUPS);
+    }
+
+    public StatPack getStatPack() {
+        return statPack;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getLookups() {
+        return lookups.sum();
+    }
+
+    public long getCopies() {
+        return copies.sum();
+    }
+
+    public long getCompares() {
+        return compares.sum();
+    }
+
+    public long getSwaps() {
+        return swaps.sum();
+    }
+
+    public long getFixes() {
+        return fixes.sum();
+    }
+
+    public int getSample() {
+        return sample;
+    }
+
+    public void incrementCopies(int n) {
+        if (countCopies && sampled()) copies.add((long) n * sample);
+    }
+
+    public void incrementHits(long n) {
+        if (countHits && sampled()) hits.add(n * sample);
+    }
+
+    public void incrementLookups() {
+        if (countLookups && sampled()) lookups.add(sample);
+    }
+
+    public void incrementFixes(int n) {
+        if (countFixes && sampled()) fixes.add((long) n * sample);
+    }
+
+    public void incrementCompares() {
+        if (countCompares && sampled()) compares.add(sample);
+    }
+
+    public void incrementSwaps(int n) {
+        if (countSwaps && sampled()) swaps.add((long) n * sample);
+    }
+
+    /**
+     * NOTE that this should be invoked only when no sort is running (the sums are not atomic snapshots).
+     */
+    public void gatherStatistic() {
+        if (getStatPack() == null)
+            throw new HelperException("ConcurrentInstrumenter.gatherStatistic: no StatPack");
+        if (getStatPack().isInvalid()) return;
+        if (countCompares)
+            getStatPack().add(COMPARES, getCompares());
+        if (countSwaps)
+            getStatPack().add(SWAPS, getSwaps());
+        if (countCopies)
+            getStatPack().add(COPIES, getCopies());
+        if (countFixes)
+            getStatPack().add(FIXES, getFixes());
+        if (countHits)
+            getStatPack().add(HITS, getHits());
+        if (countLookups)
+            getStatPack().add(LOOKUPS, getLookups());
+    }
+
+    public boolean countFixes() {
+        return countFixes;
+    }
+
+    public boolean isShowStats() {
+        return showStats;
+    }
+
+    /**
+     * Method to get the sampling rate (1 means that every operation is counted).
+     *
+     * @param config the configuration.
+     * @return the value of sample in the [instrumenting] section (defaulting to 1).
+     */
+    static int getSample(Config config) {
+        return config.getInt(INSTRUMENTING, SAMPLE, 1);
+    }
+
+    private boolean sampled() {
+        return sample == 1 || ThreadLocalRandom.current().nextInt(sample) == 0;
+    }
+
+    public final boolean countCopies;
+    public final boolean countSwaps;
+    public final boolean countCompares;
+    public final boolean countFixes;
+    public final boolean countHits;
+    public final boolean countLookups;
+    public final boolean showStats;
+
+    private final int sample;
+    private StatPack statPack;
+    private final LongAdder compares = new LongAdder();
+    private final LongAdder swaps = new LongAdder();
+    private final LongAdder copies = new LongAdder();
+    private final LongAdder fixes = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder lookups = new LongAdder();
+}
@@ -244,6 +244,15 @@ public interface Helper<X> extends AutoCloseable, Comparator<X>, Instrument {
      */
     Config getConfig();
 
+    /**
+     * Get the source of randomness of this Helper (the same one which is used by random).
+     * Sorts which make random choices (for example, of a sample) should use this, so that they are reproducible
+     * whenever the Helper has been given a seed.
+     *
+     * @return an instance of Random.
+     */
+    Random getRandom();
+
     /**
      * Compare v with element j.
      *
@@ -0,0 +1,304 @@
+package edu.neu.coe.info6205.sort;
+
+import edu.neu.coe.info6205.util.Config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Class IncrementalSorter: a sorter which accepts elements one at a time (for example, words from a stream)
+ * and which can, at any time, yield all the elements so far in order--without ever sorting all of them from scratch.
+ * <p>
+ * This is organized like a log-structured merge tree:
+ * <ul>
+ *     <li>arriving elements are appended to a buffer (of bufferSize elements);</li>
+ *     <li>when the buffer is full, it is sorted, and becomes a run (an OrderedArray);</li>
+ *     <li>the runs are merged (see OrderedArray.merge) by a background task, rather like the runs of Timsort:
+ *     two adjacent runs are merged whenever the older is not more than twice as long as the newer.
+ *     Thus, once the merging has caught up, each run is more than twice as long as the next (newer) run,
+ *     and so there are no more than lg(n/bufferSize)+1 runs;</li>
+ *     <li>snapshot and iterator merge the current runs (and the sorted contents of the buffer) on the fly.</li>
+ * </ul>
+ * Where elements are equal, they are yielded in the order in which they arrived.
+ * <p>
+ * This class is thread-safe: elements may be added while snapshots are taken (by other threads), and vice versa.
+ * Each snapshot (or iterator) reflects the elements which had been added when it was created.
+ *
+ * @param <K> the underlying type (which must be Comparable).
+ */
+public class IncrementalSorter<K extends Comparable<K>> implements Iterable<K>, AutoCloseable {
+
+    /**
+     * Constructor for IncrementalSorter.
+     *
+     * @param bufferSize the number of elements which are buffered before being sorted as a run.
+     * @param executor   the ExecutorService in which to merge runs (this will not be shut down by close).
+     */
+    public IncrementalSorter(int bufferSize, ExecutorService executor) {
+        this(bufferSize, executor, false);
+    }
+
+    /**
+     * Constructor for IncrementalSorter which merges runs in its own (single) background thread.
+     *
+     * @param bufferSize the number of elements which are buffered before being sorted as a run.
+     */
+    public IncrementalSorter(int bufferSize) {
+        this(bufferSize, Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "IncrementalSorter");
+            thread.setDaemon(true);
+            return thread;
+        }), true);
+    }
+
+    /**
+     * Constructor for IncrementalSorter which takes the buffer size from the [incrementalsorter] section of config.
+     *
+     * @param config the configuration.
+     */
+    public IncrementalSorter(Config config) {
+        this(config.getInt(INCREMENTALSORTER, BUFFERSIZE, BUFFERSIZE_DEFAULT));
+    }
+
+    /**
+     * Method to add an element.
+     *
+     * @param k the element.
+     */
+    public synchronized void add(K k) {
+        buffer[buffered++] = k;
+        if (buffered == buffer.length) flush();
+    }
+
+    /**
+     * Method to add a number of elements.
+     *
+     * @param ks the elements, in order of arrival.
+     */
+    public void addAll(Iterable<K> ks) {
+        for (K k : ks) add(k);
+    }
+
+    /**
+     * Method to sort the buffered elements (if any) as a run, and to start the merging of runs, if appropriate.
+     * This happens automatically whenever the buffer is full.
+     */
+    public synchronized void flush() {
+        if (buffered == 0) return;
+        runs.add(bufferedRun());
+        Arrays.fill(buffer, 0, buffered, null);
+        buffered = 0;
+        if (!merging && findMerge() >= 0) {
+            merging = true;
+            try {
+                executor.execute(this::mergeRuns);
+            } catch (RejectedExecutionException e) {
+                // NOTE the executor has been shut down, so the runs will not be merged (but they are still correct).
+                merging = false;
+            }
+        }
+    }
+
+    /**
+     * Method to get all the elements added so far, in order.
+     *
+     * @return a new OrderedArray.
+     */
+    public OrderedArray<K> snapshot() {
+        final List<OrderedArray<K>> current = currentRuns();
+        int n = 0;
+        for (OrderedArray<K> run : current) n += run.getSize();
+        final Object[] result = new Object[n];
+        final Iterator<K> iterator = new MergingIterator(current);
+        for (int i = 0; i < n; i++) result[i] = iterator.next();
+        return new OrderedArray<>(comparator, result);
+    }
+
+    /**
+     * Returns an iterator over all the elements added so far, in order.
+     * The runs are merged lazily, as the iterator is consumed.
+     *
+     * @return an Iterator.
+     */
+    public Iterator<K> iterator() {
+        return new MergingIterator(currentRuns());
+    }
+
+    /**
+     * @return the number of elements added so far.
+     */
+    public synchronized int size() {
+        int result = buffered;
+        for (OrderedArray<K> run : runs) result += run.getSize();
+        return result;
+    }
+
+    /**
+     * @return the number of runs (not including the buffer).
+     */
+    public synchronized int getRuns() {
+        return runs.size();
+    }
+
+    /**
+     * @return the number of merges of runs so far.
+     */
+    public synchronized long getMerges() {
+        return merges;
+    }
+
+    /**
+     * Method to wait until the background merging (if any) of runs is complete.
+     *
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public synchronized void awaitMerging() throws InterruptedException {
+        while (merging) wait();
+    }
+
+    public void close() {
+        if (ownsExecutor) executor.shutdown();
+    }
+
+    public static final String INCREMENTALSORTER = "incrementalsorter";
+    public static final String BUFFERSIZE = "buffersize";
+
+    private IncrementalSorter(int bufferSize, ExecutorService executor, boolean ownsExecutor) {
+        if (bufferSize < 1) throw new SortException("IncrementalSorter: bufferSize must be positive: " + bufferSize);
+        this.buffer = new Object[bufferSize];
+        this.executor = executor;
+        this.ownsExecutor = ownsExecutor;
+    }
+
+    /**
+     * Merge runs until there is no pair of adjacent runs which should be merged.
+     * NOTE the runs themselves are merged without holding the lock: flush only ever appends runs,
+     * and only this method (of which there is never more than one instance at a time) replaces them.
+     */
+    private void mergeRuns() {
+        boolean done = false;
+        try {
+            while (true) {
+                final int i;
+                final OrderedArray<K> older, newer;
+                synchronized (this) {
+                    i = findMerge();
+                    if (i < 0) {
+                        // NOTE merging must be reset while we still hold the lock, otherwise flush might not start another merge.
+                        done = true;
+                        merging = false;
+                        notifyAll();
+                        return;
+                    }
+                    older = runs.get(i);
+                    newer = runs.get(i + 1);
+                }
+                final OrderedArray<K> merged = OrderedArray.merge(older, newer);
+                synchronized (this) {
+                    runs.set(i, merged);
+                    runs.remove(i + 1);
+                    merges++;
+                }
+            }
+        } finally {
+            if (!done) synchronized (this) {
+                merging = false;
+                notifyAll();
+            }
+        }
+    }
+
+    /**
+     * @return the current runs, followed by the sorted contents of the buffer (if any).
+     */
+    private synchronized List<OrderedArray<K>> currentRuns() {
+        final List<OrderedArray<K>> result = new ArrayList<>(runs);
+        if (buffered > 0) result.add(bufferedRun());
+        return result;
+    }
+
+    /**
+     * NOTE the buffer is an Object[] (as in OrderedArray) since we cannot create a K[]: its elements are only ever Ks,
+     * and they are only read (as Ks) through OrderedArray.get.
+     * Arrays.sort is stable, so equal elements stay in the order in which they arrived.
+     *
+     * @return a new run with the sorted contents of the buffer.
+     */
+    private OrderedArray<K> bufferedRun() {
+        final Object[] run = Arrays.copyOf(buffer, buffered);
+        Arrays.sort(run, comparator);
+        return new OrderedArray<>(comparator, run);
+    }
+
+    /**
+     * @return the index of the older of two adjacent runs which should be merged (the newest such pair), otherwise -1.
+     */
+    private int findMerge() {
+        for (int i = runs.size() - 2; i >= 0; i--)
+            if (2 * runs.get(i + 1).getSize() >= runs.get(i).getSize()) return i;
+        return -1;
+    }
+
+    /**
+     * Iterator which merges a list of runs (of which the older come first) by means of a priority queue of cursors.
+     */
+    private class MergingIterator implements Iterator<K> {
+
+        MergingIterator(List<OrderedArray<K>> runs) {
+            for (int r = 0; r < runs.size(); r++)
+                if (runs.get(r).getSize() > 0) cursors.add(new Cursor(runs.get(r), r));
+        }
+
+        public boolean hasNext() {
+            return !cursors.isEmpty();
+        }
+
+        public K next() {
+            Cursor cursor = cursors.poll();
+            if (cursor == null) throw new NoSuchElementException("IncrementalSorter: no more elements");
+            K result = cursor.current();
+            if (++cursor.index < cursor.run.getSize()) cursors.add(cursor);
+            return result;
+        }
+
+        // NOTE where elements are equal, the cursor of the older run comes first.
+        private final PriorityQueue<Cursor> cursors = new PriorityQueue<>((c1, c2) -> {
+            int cf = comparator.compare(c1.current(), c2.current());
+            return cf != 0 ? cf : Integer.compare(c1.age, c2.age);
+        });
+    }
+
+    private class Cursor {
+        Cursor(OrderedArray<K> run, int age) {
+            this.run = run;
+            this.age = age;
+        }
+
+        K current() {
+            return run.get(index);
+        }
+
+        private final OrderedArray<K> run;
+        private final int age;
+        private int index = 0;
+    }
+
+    private static final int BUFFERSIZE_DEFAULT = 1024;
+
+    private final Comparator<Object> comparator = OrderedArray.getComparator();
+    private final Object[] buffer;
+    private int buffered = 0;
+    private final List<OrderedArray<K>> runs = new ArrayList<>();
+    private boolean merging = false;
+    private long merges = 0;
+    private final ExecutorService executor;
+    private final boolean ownsExecutor;
+}
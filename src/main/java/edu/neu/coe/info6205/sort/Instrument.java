@@ -1,5 +1,6 @@
 package edu.neu.coe.info6205.sort;
 
+import edu.neu.coe.info6205.util.Config;
 import edu.neu.coe.info6205.util.StatPack;
 
 /**
@@ -56,6 +57,39 @@ public interface Instrument {
     String INSTRUMENTING = "instrumenting";
     String SHOW_STATS = "showStats";
 
+    /**
+     * If concurrent is true, the counts are kept in striped (per-thread) counters so that parallel sorts are counted correctly.
+     */
+    String CONCURRENT = "concurrent";
+
+    /**
+     * If sample is N (greater than 1), only one in N operations is counted (implies concurrent).
+     */
+    String SAMPLE = "sample";
+
+    /**
+     * Method to create the appropriate (counting) Instrument according to the [instrumenting] section of the configuration.
+     *
+     * @param config the configuration.
+     * @return a ConcurrentInstrumenter if concurrent is set or if sample is greater than 1, otherwise an Instrumenter.
+     */
+    static Instrument create(Config config) {
+        if (config.getBoolean(INSTRUMENTING, CONCURRENT) || ConcurrentInstrumenter.getSample(config) > 1)
+            return new ConcurrentInstrumenter(config);
+        return new Instrumenter(config);
+    }
+
+    /**
+     * Method to ensure that, if the configuration is instrumented, its counts are kept by a thread-safe Instrument
+     * (for a sort whose helper is shared by several threads).
+     *
+     * @param config the configuration.
+     * @return config, or a copy of it in which concurrent is set.
+     */
+    static Config concurrent(Config config) {
+        return config.isInstrumented() ? config.copy(INSTRUMENTING, CONCURRENT, "true") : config;
+    }
+
     void init(int n, int nRuns);
 
     StatPack getStatPack();
@@ -6,6 +6,7 @@ import edu.neu.coe.info6205.util.LazyLogger;
 import edu.neu.coe.info6205.util.Utilities;
 
 import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
 import static edu.neu.coe.info6205.util.Config.HELPER;
@@ -36,6 +37,7 @@ public class InstrumentedComparableHelper<X extends Comparable<X>> extends BaseC
     @Override
     public X get(X[] xs, int i) {
         instrumenter.incrementHits(1);
+        if (cacheModel != null) cacheModel.access(xs, i);
         return xs[i];
     }
 
@@ -129,6 +131,10 @@ public class InstrumentedComparableHelper<X extends Comparable<X>> extends BaseC
             System.err.println("swap: WARNING: v=" + v + " is not equal to xs[" + i + "]: " + xs[i]);
         if (xs[j] != w)
             System.err.println("swap: WARNING: w=" + w + " is not equal to xs[" + j + "]: " + xs[j]);
+        if (cacheModel != null) {
+            cacheModel.access(xs, i);
+            cacheModel.access(xs, j);
+        }
         super.swap(xs, v, i, j, w);
     }
 
@@ -146,6 +152,7 @@ public class InstrumentedComparableHelper<X extends Comparable<X>> extends BaseC
         instrumenter.incrementSwaps(j - i);
         instrumenter.incrementFixes(j - i);
         instrumenter.incrementHits(j - i + 1);
+        if (cacheModel != null) cacheModel.access(xs, i, j - i + 1);
         super.swapInto(xs, i, j);
     }
 
@@ -309,6 +316,7 @@ public class InstrumentedComparableHelper<X extends Comparable<X>> extends BaseC
     public void copy(X x, X[] target, int j) {
         instrumenter.incrementCopies(1);
         instrumenter.incrementHits(1);
+        if (cacheModel != null) cacheModel.access(target, j);
         target[j] = x;
     }
 
@@ -316,16 +324,23 @@ public class InstrumentedComparableHelper<X extends Comparable<X>> extends BaseC
         super.copyBlock(source, i, target, j, n);
         instrumenter.incrementCopies(n);
         instrumenter.incrementHits(2L * n);
+        if (cacheModel != null) {
+            cacheModel.access(source, i, n);
+            cacheModel.access(target, j, n);
+        }
     }
 
     public void distributeBlock(X[] source, int from, int to, X[] target, Function<X, Integer> f) {
         super.distributeBlock(source, from, to, target, f);
         instrumenter.incrementCopies(to - from);
         instrumenter.incrementHits((to - from) * 2L);
+        // NOTE we do not know (without classifying each element again) where the elements were written in target.
+        if (cacheModel != null) cacheModel.access(source, from, to - from);
     }
 
     public X[] copyArray(X[] a) {
         instrumenter.incrementCopies(a.length);
+        if (cacheModel != null) cacheModel.access(a, 0, a.length);
         return super.copyArray(a);
     }
 
@@ -397,6 +412,10 @@ public class InstrumentedComparableHelper<X extends Comparable<X>> extends BaseC
      */
     public void init(int n) {
         instrumenter.init(n, nRuns);
+        if (cacheModel != null) {
+            cacheModel.reset();
+            if (instrumenter.getStatPack() != null) instrumenter.getStatPack().register(cacheModel.keys());
+        }
         if (n == this.n) return;
         super.init(n);
     }
@@ -432,14 +451,20 @@ public class InstrumentedComparableHelper<X extends Comparable<X>> extends BaseC
         if (index != -1)
             throw new HelperException(this + ": Array is not sorted (Comparator) at index: " + index + ": " + xs[index - 1] + ", " + xs[index]);
         instrumenter.gatherStatistic();
+        if (cacheModel != null && instrumenter.getStatPack() != null && !instrumenter.getStatPack().isInvalid())
+            for (int k = 0; k < cacheModel.levels(); k++)
+                instrumenter.getStatPack().add(CacheModel.key(k), cacheModel.getMisses(k));
     }
 
+    /**
+     * NOTE that this is an atomic max so that a parallel sort (e.g. ParallelQuickSort) may register depths from several threads.
+     */
     public void registerDepth(int depth) {
-        if (depth > maxDepth) maxDepth = depth;
+        if (depth > maxDepth.get()) maxDepth.accumulateAndGet(depth, Math::max);
     }
 
     public int maxDepth() {
-        return maxDepth;
+        return maxDepth.get();
     }
 
     public void close() {
@@ -483,11 +508,7 @@ public class InstrumentedComparableHelper<X extends Comparable<X>> extends BaseC
      * @param config       the configuration (note that the seed value is ignored).
      */
     public InstrumentedComparableHelper(String description, int n, Random random, int nRuns, final Instrument instrumenter, Config config) {
-        // CONSIDER using config.toString here somewhere.
-        super(description, n, random, instrumenter, config);
-        this.countInversions = config.getInt(Instrumenter.INSTRUMENTING, Instrumenter.INVERSIONS, 0);
-        this.MSDcutoff = config.getInt(HELPER, MSDCUTOFF, MSD_CUTOFF_DEFAULT);
-        this.nRuns = nRuns;
+        this(description, n, random, nRuns, instrumenter, CacheModel.isSimulated(config) ? new CacheModel(config) : null, config);
     }
 
     public InstrumentedComparableHelper(String description, int n, Config config) {
@@ -516,11 +537,11 @@ public class InstrumentedComparableHelper<X extends Comparable<X>> extends BaseC
      * @param config      the configuration.
      */
     public InstrumentedComparableHelper(String description, int n, long seed, int nRuns, Config config) {
-        this(description, n, new Random(seed), nRuns, new Instrumenter(config), config);
+        this(description, n, new Random(seed), nRuns, Instrument.create(config), config);
     }
 
     public InstrumentedComparableHelper(String description, int nElements, long seed, Config config) {
-        this(description, nElements, new Random(seed), config.getInt(HELPER, "runs", DEFAULT_RUNS), new Instrumenter(config), config);
+        this(description, nElements, new Random(seed), config.getInt(HELPER, "runs", DEFAULT_RUNS), Instrument.create(config), config);
     }
 
     /**
@@ -562,7 +583,8 @@ public class InstrumentedComparableHelper<X extends Comparable<X>> extends BaseC
     }
 
     public Helper<X> clone(String description, int N) {
-        return new InstrumentedComparableHelper<>(description, N, random, nRuns, instrumenter, config);
+        // NOTE the clone shares both the instrumenter and the cache model.
+        return new InstrumentedComparableHelper<>(description, N, random, nRuns, instrumenter, cacheModel, config);
     }
 
     public String showFixes(X[] xs) {
@@ -570,6 +592,15 @@ public class InstrumentedComparableHelper<X extends Comparable<X>> extends BaseC
         return "fixes+inversions: " + (instrumenter.getFixes() + inversions(xs));
     }
 
+    private InstrumentedComparableHelper(String description, int n, Random random, int nRuns, final Instrument instrumenter, CacheModel cacheModel, Config config) {
+        // CONSIDER using config.toString here somewhere.
+        super(description, n, random, instrumenter, config);
+        this.countInversions = config.getInt(Instrumenter.INSTRUMENTING, Instrumenter.INVERSIONS, 0);
+        this.MSDcutoff = config.getInt(HELPER, MSDCUTOFF, MSD_CUTOFF_DEFAULT);
+        this.nRuns = nRuns;
+        this.cacheModel = cacheModel;
+    }
+
     // NOTE: the following private methods are only for testing (using reflection).
 
     private void checkFixes(X[] xs) {
@@ -582,8 +613,16 @@ public class InstrumentedComparableHelper<X extends Comparable<X>> extends BaseC
         }
     }
 
+    /**
+     * @return the simulated cache, or null if the cache is not being simulated.
+     */
+    public CacheModel getCacheModel() {
+        return cacheModel;
+    }
+
     private final int MSDcutoff;
     private final int nRuns;
+    private final CacheModel cacheModel;
     private long countInversions;
-    private int maxDepth = 0;
+    private final AtomicInteger maxDepth = new AtomicInteger();
 }
\ No newline at end of file
@@ -7,6 +7,7 @@ import edu.neu.coe.info6205.util.Utilities;
 
 import java.util.Comparator;
 import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
 import static edu.neu.coe.info6205.sort.InstrumentedComparableHelper.AT;
@@ -431,12 +432,15 @@ public class InstrumentedComparatorHelper<X> extends BaseComparatorHelper<X> {
         instrumenter.gatherStatistic();
     }
 
+    /**
+     * NOTE that this is an atomic max so that a parallel sort (e.g. ParallelQuickSort) may register depths from several threads.
+     */
     public void registerDepth(int depth) {
-        if (depth > maxDepth) maxDepth = depth;
+        if (depth > maxDepth.get()) maxDepth.accumulateAndGet(depth, Math::max);
     }
 
     public int maxDepth() {
-        return maxDepth;
+        return maxDepth.get();
     }
 
     public void close() {
@@ -501,11 +505,11 @@ public class InstrumentedComparatorHelper<X> extends BaseComparatorHelper<X> {
      * @param config      the configuration.
      */
     public InstrumentedComparatorHelper(String description, Comparator<X> comparator, int n, long seed, int nRuns, Config config) {
-        this(description, comparator, n, new Random(seed), nRuns, new Instrumenter(config), config);
+        this(description, comparator, n, new Random(seed), nRuns, Instrument.create(config), config);
     }
 
     public InstrumentedComparatorHelper(String description, Comparator<X> comparator, int nElements, long seed, Config config) {
-        this(description, comparator, nElements, new Random(seed), config.getInt(HELPER, "runs", DEFAULT_RUNS), new Instrumenter(config), config);
+        this(description, comparator, nElements, new Random(seed), config.getInt(HELPER, "runs", DEFAULT_RUNS), Instrument.create(config), config);
     }
 
     /**
@@ -575,5 +579,5 @@ public class InstrumentedComparatorHelper<X> extends BaseComparatorHelper<X> {
     private final int MSDcutoff;
     private final int nRuns;
     private long countInversions;
-    private int maxDepth = 0;
+    private final AtomicInteger maxDepth = new AtomicInteger();
 }
\ No newline at end of file
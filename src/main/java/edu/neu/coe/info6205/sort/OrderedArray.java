@@ -140,6 +140,32 @@ public class OrderedArray<K extends Comparable<K>> implements Iterable<K> {
         update(array.length);
     }
 
+    /**
+     * Method to merge two OrderedArrays into a new OrderedArray (ordered by the comparator of a).
+     * Since both are already in order, nothing is sorted: the elements are simply merged in linear time.
+     * Where elements are equal, those of a precede those of b.
+     *
+     * @param a   the first OrderedArray (which will be unchanged).
+     * @param b   the second OrderedArray (which will be unchanged).
+     * @param <T> the underlying type.
+     * @return a new OrderedArray with all the elements of a and b.
+     */
+    public static <T extends Comparable<T>> OrderedArray<T> merge(OrderedArray<T> a, OrderedArray<T> b) {
+        return new OrderedArray<>(a.comparator, merge(a.array, a.size, b.array, b.size, a.comparator));
+    }
+
+    /**
+     * Package-scope constructor which takes an array which is ALREADY in order (and which is not copied).
+     *
+     * @param comparator the comparator according to which ordered is in order.
+     * @param ordered    an array in order.
+     */
+    OrderedArray(Comparator<Object> comparator, Object[] ordered) {
+        this.comparator = comparator;
+        this.array = ordered;
+        this.size = ordered.length;
+    }
+
     /**
      * Package-scope method to get the underlying array for this OrderedArray
      * <p>
@@ -157,11 +183,22 @@ public class OrderedArray<K extends Comparable<K>> implements Iterable<K> {
     }
 
     private void doAddElements(Object[] addition) {
-        Object[] combined = new Object[size + addition.length];
-        System.arraycopy(array, 0, combined, 0, array.length);
-        System.arraycopy(addition, 0, combined, size, addition.length);
-        array = combined;
-        update(combined.length); // Could use insertion sort, assuming that addition.length is small compared with array.length
+        // NOTE only the additional elements are sorted: these are then merged with the (ordered) elements we already have.
+        Object[] sorted = Arrays.copyOf(addition, addition.length, Object[].class);
+        Arrays.sort(sorted, comparator);
+        array = merge(array, size, sorted, sorted.length, comparator);
+        size = array.length;
+    }
+
+    private static Object[] merge(Object[] a, int m, Object[] b, int n, Comparator<Object> comparator) {
+        Object[] result = new Object[m + n];
+        int i = 0, j = 0;
+        for (int k = 0; k < result.length; k++)
+            if (i == m) result[k] = b[j++];
+            else if (j == n) result[k] = a[i++];
+            else if (comparator.compare(b[j], a[i]) < 0) result[k] = b[j++];
+            else result[k] = a[i++];
+        return result;
     }
 
     private void update(int length) {
@@ -169,7 +206,7 @@ public class OrderedArray<K extends Comparable<K>> implements Iterable<K> {
         Arrays.sort(array, comparator);
     }
 
-    private static <T extends Comparable<T>> Comparator<Object> getComparator() {
+    static <T extends Comparable<T>> Comparator<Object> getComparator() {
         //noinspection unchecked
         return Comparator.comparing(o -> ((T) o));
     }
@@ -0,0 +1,121 @@
+package edu.neu.coe.info6205.sort;
+
+import edu.neu.coe.info6205.util.Config;
+
+import java.util.Arrays;
+
+import static edu.neu.coe.info6205.util.Config.CUTOFF;
+import static edu.neu.coe.info6205.util.Config.CUTOFF_DEFAULT;
+import static edu.neu.coe.info6205.util.Config.HELPER;
+
+/**
+ * Interface PrimitiveSort: a sort of arrays of int, long or double.
+ * <p>
+ * Implementations are specializations of generic (Comparable-based) sorters: they follow the same algorithm
+ * but there is no boxing, no Helper and no instrumentation.
+ * Their purpose is to allow us to quantify the cost of sorting boxed values.
+ * <p>
+ * NOTE that doubles are ordered as by Double.compare (and so by Arrays.sort): -0.0 precedes 0.0 and NaN comes last.
+ */
+public interface PrimitiveSort {
+
+    /**
+     * @return the description of this PrimitiveSort.
+     */
+    String getDescription();
+
+    /**
+     * Sort the sub-array xs[from] ... xs[to-1].
+     *
+     * @param xs   the array to be sorted.
+     * @param from the index of the first element to sort.
+     * @param to   the index of the first element not to sort.
+     */
+    void sort(int[] xs, int from, int to);
+
+    /**
+     * Sort the sub-array xs[from] ... xs[to-1].
+     *
+     * @param xs   the array to be sorted.
+     * @param from the index of the first element to sort.
+     * @param to   the index of the first element not to sort.
+     */
+    void sort(long[] xs, int from, int to);
+
+    /**
+     * Sort the sub-array xs[from] ... xs[to-1].
+     *
+     * @param xs   the array to be sorted.
+     * @param from the index of the first element to sort.
+     * @param to   the index of the first element not to sort.
+     */
+    void sort(double[] xs, int from, int to);
+
+    /**
+     * Sort a copy of xs.
+     *
+     * @param xs the array to be sorted (this will be unchanged).
+     * @return a sorted copy of xs.
+     */
+    default int[] sort(int[] xs) {
+        int[] result = Arrays.copyOf(xs, xs.length);
+        sort(result, 0, result.length);
+        return result;
+    }
+
+    /**
+     * Sort a copy of xs.
+     *
+     * @param xs the array to be sorted (this will be unchanged).
+     * @return a sorted copy of xs.
+     */
+    default long[] sort(long[] xs) {
+        long[] result = Arrays.copyOf(xs, xs.length);
+        sort(result, 0, result.length);
+        return result;
+    }
+
+    /**
+     * Sort a copy of xs.
+     *
+     * @param xs the array to be sorted (this will be unchanged).
+     * @return a sorted copy of xs.
+     */
+    default double[] sort(double[] xs) {
+        double[] result = Arrays.copyOf(xs, xs.length);
+        sort(result, 0, result.length);
+        return result;
+    }
+
+    /**
+     * @return true if x is less than y.
+     */
+    static boolean less(int x, int y) {
+        return x < y;
+    }
+
+    /**
+     * @return true if x is less than y.
+     */
+    static boolean less(long x, long y) {
+        return x < y;
+    }
+
+    /**
+     * @return true if x is less than y, according to Double.compare.
+     */
+    static boolean less(double x, double y) {
+        return Double.compare(x, y) < 0;
+    }
+
+    /**
+     * Method to get the cutoff for the insertion sort of small sub-arrays, in the same way as BaseHelper.
+     *
+     * @param config the configuration.
+     * @return the cutoff.
+     */
+    static int getCutoff(Config config) {
+        int cutoff = config.getInt(HELPER, CUTOFF, CUTOFF_DEFAULT);
+        return (cutoff >= 1) ? cutoff : CUTOFF_DEFAULT;
+    }
+}
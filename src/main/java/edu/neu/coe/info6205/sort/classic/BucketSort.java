@@ -2,19 +2,38 @@ package edu.neu.coe.info6205.sort.classic;
 
 import edu.neu.coe.info6205.sort.*;
 import edu.neu.coe.info6205.sort.elementary.InsertionSort;
+import edu.neu.coe.info6205.sort.par.ParSort;
 import edu.neu.coe.info6205.util.Config;
 import edu.neu.coe.info6205.util.LazyLogger;
 
 import java.io.IOException;
+import java.lang.reflect.Array;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.function.Function;
+import java.util.function.IntConsumer;
 
 /**
  * Bucket Sort.
  * <p>
  * CONSIDER re-implementing by doing ClassicSort first (based on buckets) then do insertion sort.
+ * <p>
+ * In sample-sort mode (see SampleSort), no classifier is required: the bucket boundaries (splitters) are chosen
+ * from a random sample of the elements (drawn with the Helper's Random), and so work for any Comparable.
+ * Since the sample is sorted serially, the number of buckets is limited to sqrt(n), so that the sample has at most
+ * sqrt(n) * oversampling elements.
+ * A splitter which is chosen more than once (i.e. a frequent element) gets an equality bucket of its own,
+ * into which go all the elements equal to it: such a bucket needs no sorting.
+ * The elements are then classified and counted in parallel (one chunk of the array per task), scattered
+ * (again in parallel) into a single auxiliary array according to the prefix sums of the counts,
+ * and finally the buckets are sorted concurrently and copied back.
+ * All compares go through the helper, which is therefore shared by the threads of the pool: if it is instrumented,
+ * it must use a thread-safe Instrument (see ConcurrentInstrumenter), as it does when created by SampleSort.
  *
  * @param <X> the underlying type which must extend Comparable.
  */
@@ -45,6 +64,10 @@ public class BucketSort<X extends Comparable<X>> extends ClassificationSorter<X,
     }
 
     public void sort(X[] xs, int from, int to) {
+        if (pool != null) {
+            sampleSort(xs, from, to);
+            return;
+        }
         if (xClassifier == null) {
             if (Number.class.isAssignableFrom(xs[0].getClass())) {
                 Function<X, Integer> numberClassifier = getNumberClassifier((Number[]) xs, 0, to, buckets.length);
@@ -67,14 +90,33 @@ public class BucketSort<X extends Comparable<X>> extends ClassificationSorter<X,
      * @param buckets    an array of Objects which will form the buckets for this BucketSort.
      */
     public BucketSort(Helper<X> helper, Function<X, Integer> classifier, Object[] buckets) {
+        this(helper, classifier, buckets, null, false, 0);
+    }
+
+    /**
+     * Constructor for sample-sort mode which uses an explicit (caller-managed) pool.
+     *
+     * @param helper       the Helper to use.
+     * @param nBuckets     the (maximum) number of buckets to use.
+     * @param oversampling the number of sample elements drawn for each bucket.
+     * @param pool         the ForkJoinPool in which to classify, scatter and sort (this will not be shut down by close).
+     */
+    public BucketSort(Helper<X> helper, int nBuckets, int oversampling, ForkJoinPool pool) {
+        this(helper, null, new Object[nBuckets], pool, false, oversampling);
+    }
+
+    private BucketSort(Helper<X> helper, Function<X, Integer> classifier, Object[] buckets, ForkJoinPool pool, boolean ownsPool, int oversampling) {
         super(helper, (x, y) -> classifier.apply(x));
         this.xClassifier = classifier; // CONSIDER improving this mechanism.
         this.buckets = buckets;
+        this.pool = pool;
+        this.ownsPool = ownsPool;
+        this.oversampling = Math.max(oversampling, 1);
         Helper<X> insertionSortHelper = helper.clone("insertion sort");
-        this.sort = new InsertionSort<>(insertionSortHelper);
+        this.sort = InsertionSort.create(insertionSortHelper, true);
         for (int i = 0; i < buckets.length; i++) buckets[i] = new ArrayList<>();
         closeHelper = true;
-        logger.info(DESCRIPTION + ": " + buckets.length + " buckets of mean size: " + 1.0 * helper.getN() / buckets.length);
+        logger.info((isSampleSort() ? SAMPLE_SORT_DESCRIPTION : DESCRIPTION) + ": " + buckets.length + " buckets of mean size: " + 1.0 * helper.getN() / buckets.length);
     }
 
     /**
@@ -121,6 +163,190 @@ public class BucketSort<X extends Comparable<X>> extends ClassificationSorter<X,
 
     }
 
+    /**
+     * Factory method to create a BucketSort in sample-sort mode.
+     * The oversampling is taken from the [bucketsort] section of the configuration and the parallelism from
+     * the [parallelsort] section.
+     * The pool belongs to the resulting BucketSort and is shut down by close.
+     * If the configuration is instrumented, the counts are kept by a ConcurrentInstrumenter (the helper is shared by the threads of the pool).
+     *
+     * @param nBuckets the (maximum) number of buckets to use.
+     * @param N        the number of elements.
+     * @param config   the configuration.
+     * @param <X>      the underlying type.
+     * @return a BucketSort in sample-sort mode.
+     */
+    public static <X extends Comparable<X>> BucketSort<X> SampleSort(int nBuckets, int N, Config config) {
+        return new BucketSort<X>(HelperFactory.create(SAMPLE_SORT_DESCRIPTION, N, Instrument.concurrent(config)), null, new Object[nBuckets],
+                new ForkJoinPool(ParSort.getParallelism(config)), true, config.getInt(BUCKETSORT, OVERSAMPLING, OVERSAMPLING_DEFAULT));
+    }
+
+    /**
+     * Factory method to create a case-independent BucketSort (for Strings) in sample-sort mode.
+     *
+     * @param nBuckets the (maximum) number of buckets to use.
+     * @param N        the number of elements.
+     * @param config   the configuration.
+     * @return a BucketSort in sample-sort mode.
+     */
+    public static BucketSort<String> CaseIndependentSampleSort(int nBuckets, int N, Config config) {
+        return new BucketSort<>(HelperFactory.createGeneric(SAMPLE_SORT_DESCRIPTION, String.CASE_INSENSITIVE_ORDER, N, 1, Instrument.concurrent(config)), null, new Object[nBuckets],
+                new ForkJoinPool(ParSort.getParallelism(config)), true, config.getInt(BUCKETSORT, OVERSAMPLING, OVERSAMPLING_DEFAULT));
+    }
+
+    public static final String SAMPLE_SORT_DESCRIPTION = "Sample sort";
+    public static final String BUCKETSORT = "bucketsort";
+    public static final String OVERSAMPLING = "oversampling";
+    public static final int OVERSAMPLING_DEFAULT = 16;
+
+    public boolean isSampleSort() {
+        return pool != null;
+    }
+
+    @Override
+    public void close() {
+        if (ownsPool) pool.shutdown();
+        super.close();
+    }
+
+    /**
+     * Method to sort xs[from] ... xs[to-1] in sample-sort mode.
+     *
+     * @param xs   the array.
+     * @param from the index of the first element to sort.
+     * @param to   the index of the first element not to sort.
+     */
+    private void sampleSort(X[] xs, int from, int to) {
+        // NOTE every compare (of the sample, of the classification and of the buckets) is counted by the helper.
+        final Comparator<X> comparator = helper::compare;
+        final int n = to - from;
+        final int k = Math.min(Math.min(buckets.length, (int) Math.sqrt(n)), n / (2 * oversampling));
+        if (k < 2) {
+            Arrays.sort(xs, from, to, comparator);
+            return;
+        }
+        final Splitters<X> splitters = chooseSplitters(xs, from, n, k, comparator);
+        final int nBuckets = splitters.buckets();
+
+        // Classify and count each chunk of the array.
+        final int nChunks = Math.max(1, Math.min(pool.getParallelism(), n / MIN_CHUNK));
+        final int chunkSize = (n + nChunks - 1) / nChunks;
+        final int[] classes = new int[n];
+        final int[][] counts = new int[nChunks][nBuckets];
+        invokeAll(nChunks, c -> {
+            int[] count = counts[c];
+            for (int i = c * chunkSize, end = Math.min(i + chunkSize, n); i < end; i++)
+                count[classes[i] = splitters.bucket(xs[from + i])]++;
+        });
+
+        // Determine where each bucket starts and, within each bucket, where each chunk starts.
+        final int[] starts = new int[nBuckets + 1];
+        for (int b = 0; b < nBuckets; b++) {
+            int offset = starts[b];
+            for (int c = 0; c < nChunks; c++) {
+                int count = counts[c][b];
+                counts[c][b] = offset;
+                offset += count;
+            }
+            starts[b + 1] = offset;
+        }
+
+        // Scatter each chunk into the auxiliary array.
+        @SuppressWarnings("unchecked") final X[] aux = (X[]) Array.newInstance(xs.getClass().getComponentType(), n);
+        invokeAll(nChunks, c -> {
+            int[] offsets = counts[c];
+            for (int i = c * chunkSize, end = Math.min(i + chunkSize, n); i < end; i++)
+                aux[offsets[classes[i]]++] = xs[from + i];
+        });
+        helper.incrementCopies(n);
+        helper.incrementHits(2L * n);
+
+        // Sort the buckets (other than the equality buckets) and copy them back.
+        final int nTasks = Math.min(nBuckets, 4 * pool.getParallelism());
+        invokeAll(nTasks, t -> {
+            for (int b = t; b < nBuckets; b += nTasks) {
+                if (!Splitters.isEqualityBucket(b)) Arrays.sort(aux, starts[b], starts[b + 1], comparator);
+                System.arraycopy(aux, starts[b], xs, from + starts[b], starts[b + 1] - starts[b]);
+            }
+        });
+        helper.incrementCopies(n);
+        helper.incrementHits(2L * n);
+    }
+
+    /**
+     * Choose (at most) k-1 distinct splitters from a sorted random sample of (k * oversampling) elements of xs[from] ... xs[from+n-1].
+     * Where the same value would be chosen more than once, it is chosen only once, and marked as repeated.
+     */
+    private Splitters<X> chooseSplitters(X[] xs, int from, int n, int k, Comparator<X> comparator) {
+        final Random random = helper.getRandom();
+        @SuppressWarnings("unchecked") final X[] sample = (X[]) Array.newInstance(xs.getClass().getComponentType(), k * oversampling);
+        for (int i = 0; i < sample.length; i++) sample[i] = xs[from + random.nextInt(n)];
+        Arrays.sort(sample, comparator);
+        final X[] values = Arrays.copyOf(sample, k - 1);
+        final boolean[] repeated = new boolean[k - 1];
+        int m = 0;
+        for (int i = 1; i < k; i++) {
+            X x = sample[i * oversampling];
+            if (m > 0 && comparator.compare(values[m - 1], x) == 0) repeated[m - 1] = true;
+            else values[m++] = x;
+        }
+        return new Splitters<>(Arrays.copyOf(values, m), Arrays.copyOf(repeated, m), comparator);
+    }
+
+    /**
+     * The splitters of a sample sort.
+     * There are 2m+1 buckets for m splitters: bucket 2i holds the elements between splitter i-1 and splitter i,
+     * and bucket 2i+1 is the equality bucket of splitter i (which is empty unless splitter i is repeated).
+     */
+    private static class Splitters<X> {
+        Splitters(X[] values, boolean[] repeated, Comparator<X> comparator) {
+            this.values = values;
+            this.repeated = repeated;
+            this.comparator = comparator;
+        }
+
+        int buckets() {
+            return 2 * values.length + 1;
+        }
+
+        static boolean isEqualityBucket(int b) {
+            return b % 2 == 1;
+        }
+
+        /**
+         * Get the bucket for x: if i splitters are no greater than x, this is 2i-1 where x equals splitter i-1
+         * (and that splitter is repeated), otherwise 2i.
+         */
+        int bucket(X x) {
+            int lo = 0, hi = values.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (comparator.compare(x, values[mid]) < 0) hi = mid;
+                else lo = mid + 1;
+            }
+            return lo > 0 && repeated[lo - 1] && comparator.compare(x, values[lo - 1]) == 0 ? 2 * lo - 1 : 2 * lo;
+        }
+
+        private final X[] values;
+        private final boolean[] repeated;
+        private final Comparator<X> comparator;
+    }
+
+    /**
+     * Run action for each of 0 ... count-1 in parallel (in the pool) and wait for them all to complete.
+     */
+    private void invokeAll(int count, IntConsumer action) {
+        final List<ForkJoinTask<?>> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final int j = i;
+            tasks.add(ForkJoinTask.adapt(() -> action.accept(j)));
+        }
+        pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+    }
+
+    // NOTE chunks smaller than this are not worth a separate task.
+    private static final int MIN_CHUNK = 4096;
+
     private void clearBuckets() {
         for (Object b : buckets) //noinspection unchecked
             ((List<X>) b).clear();
@@ -233,5 +459,8 @@ public class BucketSort<X extends Comparable<X>> extends ClassificationSorter<X,
 
     private final Object[] buckets;
     private final SortWithHelper<X> sort;
+    private final ForkJoinPool pool;
+    private final boolean ownsPool;
+    private final int oversampling;
 
 }
\ No newline at end of file
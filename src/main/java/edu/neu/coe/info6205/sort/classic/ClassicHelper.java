@@ -59,6 +59,10 @@ public class ClassicHelper<X> implements NonComparableHelper<X> {
         return config;
     }
 
+    public Random getRandom() {
+        return random;
+    }
+
     public Helper<X> clone(String description, int N) {
         return clone(description, comparator, N);
     }
@@ -0,0 +1,260 @@
+package edu.neu.coe.info6205.sort.classic;
+
+import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.sort.PrimitiveSort;
+import edu.neu.coe.info6205.sort.SortWithHelper;
+import edu.neu.coe.info6205.sort.linearithmic.MergeSortPrimitive;
+import edu.neu.coe.info6205.util.Config;
+
+import java.time.ZoneOffset;
+import java.time.chrono.ChronoLocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Class KeyExtractionSort: a decorate-sort-undecorate (Schwartzian transform) sort, for use when the comparator is expensive
+ * (for example, String.CASE_INSENSITIVE_ORDER, which folds the case of each character on every compare).
+ * <p>
+ * The key of each element is extracted exactly once; then the indices of the elements are sorted according to their keys
+ * (the elements themselves are not compared); finally, the elements are reordered in one pass.
+ * There are two kinds of key:
+ * <ul>
+ *     <li>a long key (see byLong) which need only be consistent with the comparator,
+ *     i.e. if x precedes y then key(x) must not be greater than key(y).
+ *     If the range of the keys allows, each key is packed together with its index into one long, and these are sorted by
+ *     MergeSortPrimitive (which takes only linear time if, as is common for timestamps, the keys are already in order);
+ *     otherwise, the indices are sorted by merge sort.
+ *     Any run of elements with equal keys is then sorted by the comparator (e.g. LocalDateTimes in the same second).</li>
+ *     <li>a Comparable key, or a key with its own comparator (see byKey), which must order the elements exactly as the comparator does,
+ *     e.g. a case-folded String (see foldCase) or a collation key (see CollationKeyHelper).
+ *     The indices are sorted by merge sort.</li>
+ * </ul>
+ * Either way, the sort is stable.
+ * NOTE that the compares of the keys are not instrumented.
+ *
+ * @param <X> the underlying type.
+ */
+public abstract class KeyExtractionSort<X> extends SortWithHelper<X> {
+
+    public static final String DESCRIPTION = "Key extraction sort";
+
+    /**
+     * Method to create a KeyExtractionSort with a long key.
+     *
+     * @param description the description.
+     * @param comparator  the comparator (used for elements with equal keys).
+     * @param extractor   the key extractor, which must be consistent with comparator.
+     * @param N           the number of elements expected to be sorted.
+     * @param config      the configuration.
+     * @param <X>         the underlying type.
+     * @return a KeyExtractionSort.
+     */
+    public static <X> KeyExtractionSort<X> byLong(String description, Comparator<X> comparator, ToLongFunction<X> extractor, int N, Config config) {
+        return new LongKeySort<>(new ClassicHelper<>(description, comparator, N, new Random(), config), extractor);
+    }
+
+    /**
+     * Method to create a KeyExtractionSort with a Comparable key.
+     *
+     * @param description the description.
+     * @param comparator  the comparator (for the Helper only).
+     * @param extractor   the key extractor, which must order the elements exactly as comparator does.
+     * @param N           the number of elements expected to be sorted.
+     * @param config      the configuration.
+     * @param <X>         the underlying type.
+     * @param <K>         the key type.
+     * @return a KeyExtractionSort.
+     */
+    public static <X, K extends Comparable<K>> KeyExtractionSort<X> byKey(String description, Comparator<X> comparator, Function<X, K> extractor, int N, Config config) {
+        return byKey(new ClassicHelper<>(description, comparator, N, new Random(), config), extractor, Comparator.naturalOrder());
+    }
+
+    /**
+     * Method to create a KeyExtractionSort with an explicit Helper and a key which is ordered by keyComparator
+     * (for example, the collation keys of a CollationKeyHelper).
+     *
+     * @param helper        the Helper.
+     * @param extractor     the key extractor, which must order the elements exactly as the Helper does.
+     * @param keyComparator the comparator of the keys.
+     * @param <X>           the underlying type.
+     * @param <K>           the key type.
+     * @return a KeyExtractionSort.
+     */
+    public static <X, K> KeyExtractionSort<X> byKey(Helper<X> helper, Function<X, K> extractor, Comparator<K> keyComparator) {
+        return new KeySort<>(helper, extractor, keyComparator);
+    }
+
+    /**
+     * Method to create a KeyExtractionSort which is equivalent to sorting with String.CASE_INSENSITIVE_ORDER.
+     *
+     * @param N      the number of elements expected to be sorted.
+     * @param config the configuration.
+     * @return a KeyExtractionSort of Strings.
+     */
+    public static KeyExtractionSort<String> caseInsensitive(int N, Config config) {
+        return byKey(DESCRIPTION + " (case-insensitive)", String.CASE_INSENSITIVE_ORDER, KeyExtractionSort::foldCase, N, config);
+    }
+
+    /**
+     * Method to create a KeyExtractionSort of date-times (in time-line order) whose key is the epoch second.
+     *
+     * @param N      the number of elements expected to be sorted.
+     * @param config the configuration.
+     * @return a KeyExtractionSort of ChronoLocalDateTimes.
+     */
+    public static KeyExtractionSort<ChronoLocalDateTime<?>> dateTimes(int N, Config config) {
+        return byLong(DESCRIPTION + " (epoch seconds)", ChronoLocalDateTime.timeLineOrder(), x -> x.toEpochSecond(ZoneOffset.UTC), N, config);
+    }
+
+    /**
+     * Method to fold the case of s in the same way as String.CASE_INSENSITIVE_ORDER, i.e. each character c is replaced by
+     * toLowerCase(toUpperCase(c)). Thus, for any s and t, foldCase(s).compareTo(foldCase(t)) has the same sign as
+     * String.CASE_INSENSITIVE_ORDER.compare(s, t).
+     *
+     * @param s a String.
+     * @return the case-folded String.
+     */
+    public static String foldCase(String s) {
+        char[] cs = s.toCharArray();
+        for (int i = 0; i < cs.length; i++) cs[i] = Character.toLowerCase(Character.toUpperCase(cs[i]));
+        return new String(cs);
+    }
+
+    /**
+     * Method to get the order of n elements, i.e. a stable sort of the indices 0 ... n-1, by merge sort.
+     *
+     * @param n          the number of elements.
+     * @param comparator a comparator of the indices.
+     * @return the indices in order.
+     */
+    static int[] sortIndices(int n, IndexComparator comparator) {
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) order[i] = i;
+        int[] aux = order.clone();
+        mergeSort(aux, order, 0, n, comparator);
+        return order;
+    }
+
+    /**
+     * Method to reorder the sub-array xs[from] ... xs[from+n-1] so that xs[from+i] becomes the element which was at xs[from+order[i]].
+     */
+    static <X> void reorder(X[] xs, int from, int[] order) {
+        X[] copy = Arrays.copyOfRange(xs, from, from + order.length);
+        for (int i = 0; i < order.length; i++) xs[from + i] = copy[order[i]];
+    }
+
+    interface IndexComparator {
+        int compare(int i, int j);
+    }
+
+    protected KeyExtractionSort(Helper<X> helper) {
+        super(helper);
+    }
+
+    /**
+     * Sort dst[from] ... dst[to-1] where src[from] ... src[to-1] has the same elements (which are overwritten).
+     */
+    private static void mergeSort(int[] src, int[] dst, int from, int to, IndexComparator comparator) {
+        if (to - from <= INSERTION_CUTOFF) {
+            for (int i = from + 1; i < to; i++) {
+                int x = dst[i];
+                int j = i;
+                for (; j > from && comparator.compare(x, dst[j - 1]) < 0; j--) dst[j] = dst[j - 1];
+                dst[j] = x;
+            }
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSort(dst, src, from, mid, comparator);
+        mergeSort(dst, src, mid, to, comparator);
+        if (comparator.compare(src[mid], src[mid - 1]) >= 0) {
+            System.arraycopy(src, from, dst, from, to - from);
+            return;
+        }
+        int i = from, j = mid;
+        for (int k = from; k < to; k++)
+            if (i == mid) dst[k] = src[j++];
+            else if (j == to) dst[k] = src[i++];
+            else if (comparator.compare(src[j], src[i]) < 0) dst[k] = src[j++];
+            else dst[k] = src[i++];
+    }
+
+    private static final int INSERTION_CUTOFF = 12;
+
+    private static class LongKeySort<X> extends KeyExtractionSort<X> {
+
+        LongKeySort(Helper<X> helper, ToLongFunction<X> extractor) {
+            super(helper);
+            this.extractor = extractor;
+            this.primitiveSort = new MergeSortPrimitive(helper.getConfig());
+        }
+
+        public void sort(X[] xs, int from, int to) {
+            final int n = to - from;
+            if (n < 2) return;
+            final long[] keys = new long[n];
+            long min = Long.MAX_VALUE, max = Long.MIN_VALUE;
+            for (int i = 0; i < n; i++) {
+                long key = extractor.applyAsLong(xs[from + i]);
+                keys[i] = key;
+                if (key < min) min = key;
+                if (key > max) max = key;
+            }
+            final int indexBits = 32 - Integer.numberOfLeadingZeros(n - 1);
+            final long range = max - min;
+            final int[] order;
+            final long[] sortedKeys;
+            if (range >= 0 && range < 1L << (63 - indexBits)) {
+                // NOTE the packed values are non-negative and distinct, and they sort by key, then by index.
+                final long[] packed = new long[n];
+                for (int i = 0; i < n; i++) packed[i] = (keys[i] - min) << indexBits | i;
+                primitiveSort.sort(packed, 0, n);
+                final long mask = (1L << indexBits) - 1;
+                order = new int[n];
+                for (int i = 0; i < n; i++) {
+                    order[i] = (int) (packed[i] & mask);
+                    packed[i] >>>= indexBits;
+                }
+                sortedKeys = packed;
+            } else {
+                order = sortIndices(n, (i, j) -> Long.compare(keys[i], keys[j]));
+                sortedKeys = new long[n];
+                for (int i = 0; i < n; i++) sortedKeys[i] = keys[order[i]];
+            }
+            reorder(xs, from, order);
+            final Comparator<X> comparator = helper.getComparator();
+            for (int i = 0, j; i < n; i = j) {
+                for (j = i + 1; j < n && sortedKeys[j] == sortedKeys[i]; ) j++;
+                if (j - i > 1) Arrays.sort(xs, from + i, from + j, comparator);
+            }
+        }
+
+        private final ToLongFunction<X> extractor;
+        private final PrimitiveSort primitiveSort;
+    }
+
+    private static class KeySort<X, K> extends KeyExtractionSort<X> {
+
+        KeySort(Helper<X> helper, Function<X, K> extractor, Comparator<K> keyComparator) {
+            super(helper);
+            this.extractor = extractor;
+            this.keyComparator = keyComparator;
+        }
+
+        public void sort(X[] xs, int from, int to) {
+            final int n = to - from;
+            if (n < 2) return;
+            final List<K> keys = new ArrayList<>(n);
+            for (int i = from; i < to; i++) keys.add(extractor.apply(xs[i]));
+            reorder(xs, from, sortIndices(n, (i, j) -> keyComparator.compare(keys.get(i), keys.get(j))));
+        }
+
+        private final Function<X, K> extractor;
+        private final Comparator<K> keyComparator;
+    }
+}
@@ -0,0 +1,215 @@
+package edu.neu.coe.info6205.sort.counting;
+
+import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.sort.HelperFactory;
+import edu.neu.coe.info6205.sort.SortException;
+import edu.neu.coe.info6205.sort.SortWithHelper;
+import edu.neu.coe.info6205.util.CodePointMapper;
+import edu.neu.coe.info6205.util.Config;
+
+import java.util.Arrays;
+
+/**
+ * Class PackedLSDStringSort: an LSD string sort which works on packed keys rather than on the Strings themselves.
+ * <p>
+ * There are three stages:
+ * <ol>
+ *     <li>encode: each String is mapped (once) through the CodePointMapper and its characters are packed, big-endian,
+ *     into longs (eight characters per long if the mapper's range is at most 256, otherwise four).
+ *     The keys are stored column by column so that column k of every String is contiguous;</li>
+ *     <li>sort: for each column, from the last to the first, the column is gathered into permutation order and then
+ *     sorted, one byte at a time, by LSD counting sort, carrying the permutation (an int[] of indices) with it.
+ *     A pass in which every key has the same byte is skipped;</li>
+ *     <li>materialize: the Strings are copied into their final positions according to the permutation.</li>
+ * </ol>
+ * Thus, the radix passes never touch a String, and all of their memory accesses are sequential, apart from the scatter.
+ * The sort is stable.
+ * <p>
+ * If there would be too many keys for one array (more than maxKeys), the keys are not stored at all:
+ * instead, each column is encoded from the Strings just before it is sorted, i.e. this becomes an ordinary LSD sort
+ * (with the same passes, but whose gathers touch the Strings).
+ * <p>
+ * As in the CodePointMapper comparators, a String which is shorter than another is treated as if it were padded with
+ * characters which map to 0.
+ * <p>
+ * NOTE that the Helper is used only for its comparator (for checking): there is no instrumentation.
+ */
+public class PackedLSDStringSort extends SortWithHelper<String> {
+
+    public final static String DESCRIPTION = "Packed LSD string sort ";
+
+    /**
+     * Primary constructor.
+     *
+     * @param mapper the required CodePointMapper (its range may not exceed 65536).
+     * @param helper a String helper.
+     */
+    public PackedLSDStringSort(CodePointMapper mapper, Helper<String> helper) {
+        this(mapper, helper, MAX_KEYS);
+    }
+
+    /**
+     * Constructor with an explicit limit on the number of packed keys.
+     *
+     * @param mapper  the required CodePointMapper (its range may not exceed 65536).
+     * @param helper  a String helper.
+     * @param maxKeys the maximum number of keys (longs) to be stored (at most MAX_KEYS).
+     */
+    PackedLSDStringSort(CodePointMapper mapper, Helper<String> helper, long maxKeys) {
+        super(helper);
+        if (mapper.range > 0x10000)
+            throw new SortException(DESCRIPTION + ": range of mapper " + mapper + " is too large: " + mapper.range);
+        this.mapper = mapper;
+        this.bitsPerChar = mapper.range <= 0x100 ? 8 : 16;
+        this.charsPerWord = Long.SIZE / bitsPerChar;
+        this.maxKeys = Math.min(maxKeys, MAX_KEYS);
+    }
+
+    /**
+     * Secondary constructor.
+     *
+     * @param mapper the required CodePointMapper.
+     * @param N      the expected number of elements.
+     * @param nRuns  the expected number of runs to be made.
+     * @param config the configuration.
+     */
+    public PackedLSDStringSort(CodePointMapper mapper, int N, int nRuns, Config config) {
+        this(mapper, HelperFactory.createGeneric(DESCRIPTION + mapper, mapper.comparator, N, nRuns, config));
+        closeHelper = true;
+    }
+
+    /**
+     * Sort the sub-array xs[from] ... xs[to-1].
+     *
+     * @param xs   the array to be sorted.
+     * @param from the index of the first element to sort.
+     * @param to   the index of the first element not to sort.
+     */
+    public void sort(String[] xs, int from, int to) {
+        int n = to - from;
+        if (n <= 1) return;
+        int columns = columns(xs, from, to);
+        final int[] permutation;
+        if (isPacked(n, columns)) {
+            long[] keys = encode(xs, from, to, columns);
+            permutation = sortKeys((k, i) -> keys[k * n + i], n, columns);
+        } else
+            permutation = sortKeys((k, i) -> word(xs[from + i], k), n, columns);
+        String[] sorted = new String[n];
+        for (int i = 0; i < n; i++) sorted[i] = xs[from + permutation[i]];
+        System.arraycopy(sorted, 0, xs, from, n);
+    }
+
+    /**
+     * Encode the Strings xs[from] ... xs[to-1] as packed keys.
+     *
+     * @return an array of columns * n longs, where the kth long of the ith String is at [k * n + i].
+     */
+    long[] encode(String[] xs, int from, int to, int columns) {
+        int n = to - from;
+        if (!isPacked(n, columns))
+            throw new SortException(DESCRIPTION + ": too many keys: " + columns + " * " + n);
+        long[] keys = new long[columns * n];
+        for (int i = 0; i < n; i++)
+            for (int k = 0; k < columns; k++) keys[k * n + i] = word(xs[from + i], k);
+        return keys;
+    }
+
+    /**
+     * @return true if the columns * n keys can be stored (in one array).
+     */
+    boolean isPacked(int n, int columns) {
+        return (long) columns * n <= maxKeys;
+    }
+
+    /**
+     * Encode the kth long of x.
+     */
+    private long word(String x, int k) {
+        int length = x.length();
+        long word = 0;
+        for (int j = k * charsPerWord; j < (k + 1) * charsPerWord; j++)
+            word = (word << bitsPerChar) | (j < length ? mapper.map(x.charAt(j)) : 0);
+        return word;
+    }
+
+    /**
+     * The source of the keys: the kth long of the ith String.
+     */
+    interface Keys {
+        long get(int k, int i);
+    }
+
+    /**
+     * Sort the keys (by LSD radix sort on bytes).
+     *
+     * @return the permutation, that's to say the index (relative to from) of the String which belongs at each position.
+     */
+    int[] sortKeys(Keys keys, int n, int columns) {
+        int[] permutation = new int[n];
+        for (int i = 0; i < n; i++) permutation[i] = i;
+        long[] column = new long[n];
+        long[] columnAux = new long[n];
+        int[] permutationAux = new int[n];
+        int[] count = new int[RADIX + 1];
+        for (int k = columns - 1; k >= 0; k--) {
+            for (int i = 0; i < n; i++) column[i] = keys.get(k, permutation[i]);
+            for (int shift = 0; shift < Long.SIZE; shift += 8) {
+                if (!pass(column, permutation, columnAux, permutationAux, count, shift)) continue;
+                // NOTE the results of the pass are in the auxiliary arrays so we swap roles.
+                long[] tempColumn = column;
+                column = columnAux;
+                columnAux = tempColumn;
+                int[] tempPermutation = permutation;
+                permutation = permutationAux;
+                permutationAux = tempPermutation;
+            }
+        }
+        return permutation;
+    }
+
+    public int getBitsPerChar() {
+        return bitsPerChar;
+    }
+
+    /**
+     * Perform one counting sort pass on the byte of column at the given shift.
+     *
+     * @return false if the pass was skipped because every key has the same byte (in which case nothing is moved).
+     */
+    private static boolean pass(long[] column, int[] permutation, long[] columnAux, int[] permutationAux, int[] count, int shift) {
+        int n = column.length;
+        Arrays.fill(count, 0);
+        for (long key : column) count[((int) (key >>> shift) & MASK) + 1]++;
+        if (count[((int) (column[0] >>> shift) & MASK) + 1] == n) return false;
+        for (int r = 0; r < RADIX; r++) count[r + 1] += count[r];
+        for (int i = 0; i < n; i++) {
+            int j = count[(int) (column[i] >>> shift) & MASK]++;
+            columnAux[j] = column[i];
+            permutationAux[j] = permutation[i];
+        }
+        return true;
+    }
+
+    /**
+     * @return the number of longs required for the longest of xs[from] ... xs[to-1].
+     */
+    private int columns(String[] xs, int from, int to) {
+        int maxLength = 0;
+        for (int i = from; i < to; i++) maxLength = Math.max(maxLength, xs[i].length());
+        return Math.max((maxLength + charsPerWord - 1) / charsPerWord, 1);
+    }
+
+    /**
+     * The maximum number of keys (the maximum length of an array).
+     */
+    public static final long MAX_KEYS = Integer.MAX_VALUE - 8;
+
+    private static final int RADIX = 256;
+    private static final int MASK = RADIX - 1;
+
+    private final CodePointMapper mapper;
+    private final int bitsPerChar;
+    private final int charsPerWord;
+    private final long maxKeys;
+}
@@ -0,0 +1,248 @@
+package edu.neu.coe.info6205.sort.counting;
+
+import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.sort.HelperFactory;
+import edu.neu.coe.info6205.sort.SortWithHelper;
+import edu.neu.coe.info6205.sort.par.ParSort;
+import edu.neu.coe.info6205.util.CodePointMapper;
+import edu.neu.coe.info6205.util.Config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import static edu.neu.coe.info6205.sort.InstrumentedComparableHelper.MSD_CUTOFF_DEFAULT;
+
+/**
+ * Class to implement a parallel version of MSD string sort.
+ * <p>
+ * After the strings have been distributed according to the character at position d, each bucket is an independent sub-problem.
+ * Buckets with at least threshold elements are forked as tasks on a ForkJoinPool; smaller buckets are sorted sequentially
+ * by the current thread.
+ * Partitions of MSDCutoff elements or fewer are finished with a 3-way string quicksort which starts at position d.
+ * <p>
+ * In order to avoid allocating a count array at every level of the recursion, each thread keeps one count array per depth
+ * (which it reuses for every bucket it sorts at that depth).
+ * That is safe because sequential recursion only ever goes deeper and because a task only joins its subtasks
+ * (and so perhaps runs other tasks in the meantime) once it has finished with its count arrays.
+ * A single auxiliary array is shared by all tasks (each of which uses only its own range).
+ * <p>
+ * Characters are mapped via a table which is built (once) from the CodePointMapper, so there is no boxing in the inner loops.
+ * <p>
+ * NOTE that the Helper is used only for its comparator and cutoff: there is no instrumentation
+ * (Instrumenter is not thread-safe).
+ */
+public class ParallelMSDStringSort extends SortWithHelper<String> {
+
+    public static final String DESCRIPTION = "Parallel MSD string sort ";
+
+    /**
+     * Constructor for ParallelMSDStringSort which uses an explicit (caller-managed) pool.
+     *
+     * @param mapper    the required CodePointMapper.
+     * @param helper    the appropriate Helper.
+     * @param threshold the size at or above which a bucket is sorted by a separate task.
+     * @param pool      the ForkJoinPool in which to run sorts (this will not be shut down by close).
+     */
+    public ParallelMSDStringSort(CodePointMapper mapper, Helper<String> helper, int threshold, ForkJoinPool pool) {
+        this(mapper, helper, threshold, pool, false);
+    }
+
+    /**
+     * Constructor for ParallelMSDStringSort which takes its parameters from the configuration.
+     *
+     * @param mapper the required CodePointMapper.
+     * @param N      the number elements we expect to sort.
+     * @param nRuns  the expected number of runs.
+     * @param config the configuration.
+     */
+    public ParallelMSDStringSort(CodePointMapper mapper, int N, int nRuns, Config config) {
+        this(mapper, HelperFactory.createGeneric(DESCRIPTION + mapper + " with threshold=" + getThreshold(config) + " and parallelism " + ParSort.getParallelism(config), mapper.comparator, N, nRuns, config),
+                getThreshold(config), new ForkJoinPool(ParSort.getParallelism(config)), true);
+        closeHelper = true;
+    }
+
+    /**
+     * Sort the sub-array xs[from] ... xs[to-1].
+     *
+     * @param xs   the array to be sorted.
+     * @param from the index of the first element to sort.
+     * @param to   the index of the first element not to sort.
+     */
+    public void sort(String[] xs, int from, int to) {
+        if (to - from <= 1) return;
+        // NOTE aux covers only the sub-array: aux[i - from] corresponds to xs[i].
+        String[] aux = new String[to - from];
+        pool.invoke(new MSDTask(xs, aux, from, from, to, 0));
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    @Override
+    public void close() {
+        if (ownsPool) pool.shutdown();
+        super.close();
+    }
+
+    public static final String MSDTHRESHOLD = "msdthreshold";
+    public static final int MSD_THRESHOLD_DEFAULT = 8192;
+
+    /**
+     * Method to get the fork threshold from the [parallelsort] section of the configuration.
+     *
+     * @param config the configuration.
+     * @return the threshold.
+     */
+    public static int getThreshold(Config config) {
+        return config.getInt(ParSort.PARALLELSORT, MSDTHRESHOLD, MSD_THRESHOLD_DEFAULT);
+    }
+
+    /**
+     * Task to sort xs[from] ... xs[to-1], ignoring the first d characters of each String,
+     * where aux[i - base] is the auxiliary element for xs[i].
+     */
+    private class MSDTask extends RecursiveAction {
+
+        MSDTask(String[] xs, String[] aux, int base, int from, int to, int d) {
+            this.xs = xs;
+            this.aux = aux;
+            this.base = base;
+            this.from = from;
+            this.to = to;
+            this.d = d;
+        }
+
+        @Override
+        protected void compute() {
+            List<MSDTask> tasks = new ArrayList<>();
+            sort(from, to, d, tasks);
+            for (MSDTask task : tasks) task.join();
+        }
+
+        /**
+         * Sort xs[lo] ... xs[hi-1] on the character at position d (and beyond).
+         * Buckets which are large enough are forked (and added to tasks) rather than sorted.
+         */
+        private void sort(int lo, int hi, int d, List<MSDTask> tasks) {
+            int n = hi - lo;
+            if (n <= 1) return;
+            if (n <= cutoff) {
+                quickSort3way(xs, lo, hi - 1, d);
+                return;
+            }
+            int[] count = getCount(d);
+            // NOTE count[0] is for strings which end before d; count[c + 1] is for the mapped character c.
+            for (int i = lo; i < hi; i++) count[charAt(xs[i], d) + 2]++;
+            for (int r = 0; r <= range; r++) count[r + 1] += count[r];
+            for (int i = lo; i < hi; i++) aux[lo - base + count[charAt(xs[i], d) + 1]++] = xs[i];
+            System.arraycopy(aux, lo - base, xs, lo, n);
+            // NOTE bucket r is now from lo + count[r] (inclusive) to lo + count[r + 1] (exclusive).
+            // The large buckets are forked first, so that other threads can steal them while we sort the small buckets.
+            for (int r = 0; r < range; r++)
+                if (count[r + 1] - count[r] >= threshold) {
+                    MSDTask task = new MSDTask(xs, aux, base, lo + count[r], lo + count[r + 1], d + 1);
+                    task.fork();
+                    tasks.add(task);
+                }
+            for (int r = 0; r < range; r++)
+                if (count[r + 1] - count[r] < threshold) sort(lo + count[r], lo + count[r + 1], d + 1, tasks);
+            Arrays.fill(count, 0);
+        }
+
+        private final String[] xs;
+        private final String[] aux;
+        private final int base;
+        private final int from;
+        private final int to;
+        private final int d;
+    }
+
+    /**
+     * Sort xs[lo] ... xs[hi] (inclusive), all of which share the same first d characters.
+     */
+    private void quickSort3way(String[] xs, int lo, int hi, int d) {
+        if (hi <= lo + INSERTION_CUTOFF) {
+            insertionSort(xs, lo, hi, d);
+            return;
+        }
+        int lt = lo, gt = hi;
+        int v = charAt(xs[lo], d);
+        int i = lo + 1;
+        while (i <= gt) {
+            int t = charAt(xs[i], d);
+            if (t < v) swap(xs, lt++, i++);
+            else if (t > v) swap(xs, i, gt--);
+            else i++;
+        }
+        quickSort3way(xs, lo, lt - 1, d);
+        if (v >= 0) quickSort3way(xs, lt, gt, d + 1);
+        quickSort3way(xs, gt + 1, hi, d);
+    }
+
+    private void insertionSort(String[] xs, int lo, int hi, int d) {
+        for (int i = lo + 1; i <= hi; i++)
+            for (int j = i; j > lo && less(xs[j], xs[j - 1], d); j--)
+                swap(xs, j, j - 1);
+    }
+
+    private boolean less(String v, String w, int d) {
+        for (int i = d; ; i++) {
+            int cv = charAt(v, i), cw = charAt(w, i);
+            if (cv != cw) return cv < cw;
+            if (cv < 0) return false;
+        }
+    }
+
+    private static void swap(String[] xs, int i, int j) {
+        String temp = xs[i];
+        xs[i] = xs[j];
+        xs[j] = temp;
+    }
+
+    /**
+     * @return the mapped character at position d of s, or -1 if s has no such character.
+     */
+    private int charAt(String s, int d) {
+        return d < s.length() ? table[s.charAt(d)] : -1;
+    }
+
+    /**
+     * Get the count array for depth d belonging to the current thread (it will be all zeros).
+     */
+    private int[] getCount(int d) {
+        List<int[]> list = counts.get();
+        while (list.size() <= d) list.add(new int[range + 2]);
+        return list.get(d);
+    }
+
+    private ParallelMSDStringSort(CodePointMapper mapper, Helper<String> helper, int threshold, ForkJoinPool pool, boolean ownsPool) {
+        super(helper);
+        this.range = mapper.range;
+        this.table = new int[Character.MAX_VALUE + 1];
+        for (int c = 0; c <= Character.MAX_VALUE; c++) table[c] = mapper.map(c);
+        // NOTE we take the cutoff from the configuration since only the instrumented helpers implement MSDCutoff.
+        this.cutoff = Math.max(helper.getConfig().getInt(Config.HELPER, Config.MSDCUTOFF, MSD_CUTOFF_DEFAULT), 1);
+        // NOTE a threshold of less than 2 would mean forking a task for every single element.
+        this.threshold = Math.max(threshold, 2);
+        this.pool = pool;
+        this.ownsPool = ownsPool;
+    }
+
+    private static final int INSERTION_CUTOFF = 8;
+
+    private final int range;
+    private final int[] table;
+    private final int cutoff;
+    private final int threshold;
+    private final ForkJoinPool pool;
+    private final boolean ownsPool;
+    private final ThreadLocal<List<int[]>> counts = ThreadLocal.withInitial(ArrayList::new);
+}
@@ -1,5 +1,12 @@
 package edu.neu.coe.info6205.sort.counting;
 
+import edu.neu.coe.info6205.sort.PrimitiveSort;
+import edu.neu.coe.info6205.sort.SortException;
+import edu.neu.coe.info6205.sort.par.ParSort;
+import edu.neu.coe.info6205.util.Config;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 /**
  * Radix Sort
@@ -8,91 +15,319 @@ package edu.neu.coe.info6205.sort.counting;
  * position and value (place value). Radix sort uses counting sort as a
  * subroutine to sort an array of numbers.
  * <p>
- * <b>Disclaimer:</b> This radix sort can only sort positive integers
- *
- * @version 1.0
- * @since 13th May 2020
+ * This is an LSD radix sort for arrays of int, long and double, in which a digit is a group of bits
+ * (8 bits, i.e. radix 256, by default; 11 bits, i.e. radix 2048, means fewer passes but larger count arrays).
+ * <ul>
+ *     <li>negative numbers are handled by flipping the sign bit of each key, so that the keys may be treated as unsigned
+ *     (doubles are first converted to longs which have the same order as Double.compare);</li>
+ *     <li>the histograms for all of the passes are built in a single scan of the input which,
+ *     for large arrays, is split into chunks which are counted in parallel;</li>
+ *     <li>a pass in which every key has the same digit is skipped;</li>
+ *     <li>the passes alternate between the array and one auxiliary buffer (allocated once per sort),
+ *     so there is at most one copy back at the end.</li>
+ * </ul>
+ * The sort is stable (not that that matters for primitives).
  */
+public class RadixSort implements PrimitiveSort, AutoCloseable {
+
+    /**
+     * Constructor for a sequential RadixSort.
+     *
+     * @param bits the number of bits in each digit (between 1 and 16).
+     */
+    public RadixSort(int bits) {
+        this(bits, null, Integer.MAX_VALUE, false);
+    }
 
-public class RadixSort {
+    /**
+     * Constructor for a sequential RadixSort with 8-bit digits.
+     */
+    public RadixSort() {
+        this(BITS_DEFAULT);
+    }
 
     /**
-     * findMaxInt method is used to find maximum number in the array
-     * within the provided range i.e from and to
+     * Constructor which uses an explicit (caller-managed) pool to build the histograms of large arrays.
      *
-     * @param numArr It contains an array of numbers from which maximum value needs to be obtained
-     * @param from   This is the starting index from which scanning for maximum number will begin
-     * @param to     This is the ending index until which scanning for maximum number will be continued
-     * @return int This method returns maximum number between from index and to index
+     * @param bits      the number of bits in each digit (between 1 and 16).
+     * @param pool      the ForkJoinPool in which to count (this will not be shut down by close).
+     * @param threshold the size at or above which the histograms are built in parallel.
      */
-    public int findMaxInt(int[] numArr, int from, int to) {
-        int maxVal = numArr[from];
-        for (int i = from; i <= to; i++)
-            maxVal = Math.max(maxVal, numArr[i]);
-        return maxVal;
+    public RadixSort(int bits, ForkJoinPool pool, int threshold) {
+        this(bits, pool, threshold, false);
     }
 
     /**
-     * countSort method is implementation of basic counting sort algorithm.
-     * We provide exponent i.e unit's digit, ten's digit or hundred's digit etc on which counting sort needs to be performed
+     * Constructor which takes its parameters from the [radixsort] section of the configuration
+     * (and its parallelism from the [parallelsort] section).
      *
-     * @param numArr It contains an array of numbers on which counting sort needs to be performed
-     * @param exp    This is the exponent input on which counting sort would be performed e.g 1, 10, 100, 1000 etc.
-     * @param from   This is the starting index from which sorting operation will begin
-     * @param to     This is the ending index until which sorting operation will be continued
+     * @param config the configuration.
      */
-    public void countSort(int[] numArr, int exp, int from, int to) {
-        int arrLength = numArr.length;
-        int[] result = new int[arrLength]; //This stores output result
-        int[] count = new int[10]; // This maintains digit wise occurrence count
-
-        //This method records occurrence of digits in count[]
-        for (int i = from; i <= to; i++)
-            count[(numArr[i] / exp) % 10]++;
-
-        // Modifying value of count[i] so that it now contains actual position of the digit
-        for (int i = 1; i < 10; i++)
-            count[i] += count[i - 1];
-
-        // Building result array to contain radix sorted output array on selected exponent
-        for (int i = to; i >= from; i--) {
-            result[count[(numArr[i] / exp) % 10] - 1 + from] = numArr[i];
-            count[(numArr[i] / exp) % 10]--;  // Reducing count[] to adjust the next location of particular digit
+    public RadixSort(Config config) {
+        this(config.getInt(RADIXSORT, BITS, BITS_DEFAULT), new ForkJoinPool(ParSort.getParallelism(config)), config.getInt(RADIXSORT, THRESHOLD, THRESHOLD_DEFAULT), true);
+    }
+
+    public String getDescription() {
+        return "Radix sort (" + bits + " bits)" + (pool != null ? " with parallelism " + pool.getParallelism() : "");
+    }
+
+    /**
+     * Sort the sub-array xs[from] ... xs[to-1].
+     *
+     * @param xs   the array to be sorted.
+     * @param from the index of the first element to sort.
+     * @param to   the index of the first element not to sort.
+     */
+    public void sort(int[] xs, int from, int to) {
+        checkRange(xs.length, from, to);
+        int n = to - from;
+        if (n <= 1) return;
+        int passes = (Integer.SIZE + bits - 1) / bits;
+        int[][] counts = pool != null && n >= threshold ? pool.invoke(new IntHistogramTask(xs, from, to, passes, chunkSize(n))) : histogram(xs, from, to, passes);
+        int[] source = xs, target = new int[n];
+        int sourceOffset = from, targetOffset = 0;
+        for (int pass = 0; pass < passes; pass++) {
+            int[] count = counts[pass];
+            int shift = pass * bits;
+            if (count[digit(xs[from], shift)] == n) continue;
+            toStarts(count);
+            for (int i = sourceOffset; i < sourceOffset + n; i++) {
+                int x = source[i];
+                target[targetOffset + count[digit(x, shift)]++] = x;
+            }
+            int[] temp = source;
+            source = target;
+            target = temp;
+            int tempOffset = sourceOffset;
+            sourceOffset = targetOffset;
+            targetOffset = tempOffset;
         }
+        if (source != xs) System.arraycopy(source, sourceOffset, xs, from, n);
+    }
 
-        //Copying result array in original array
-        if (to + 1 - from >= 0) System.arraycopy(result, from, numArr, from, to + 1 - from);
+    /**
+     * Sort the sub-array xs[from] ... xs[to-1].
+     *
+     * @param xs   the array to be sorted.
+     * @param from the index of the first element to sort.
+     * @param to   the index of the first element not to sort.
+     */
+    public void sort(long[] xs, int from, int to) {
+        checkRange(xs.length, from, to);
+        int n = to - from;
+        if (n <= 1) return;
+        int passes = (Long.SIZE + bits - 1) / bits;
+        int[][] counts = pool != null && n >= threshold ? pool.invoke(new LongHistogramTask(xs, from, to, passes, chunkSize(n))) : histogram(xs, from, to, passes);
+        long[] source = xs, target = new long[n];
+        int sourceOffset = from, targetOffset = 0;
+        for (int pass = 0; pass < passes; pass++) {
+            int[] count = counts[pass];
+            int shift = pass * bits;
+            if (count[digit(xs[from], shift)] == n) continue;
+            toStarts(count);
+            for (int i = sourceOffset; i < sourceOffset + n; i++) {
+                long x = source[i];
+                target[targetOffset + count[digit(x, shift)]++] = x;
+            }
+            long[] temp = source;
+            source = target;
+            target = temp;
+            int tempOffset = sourceOffset;
+            sourceOffset = targetOffset;
+            targetOffset = tempOffset;
+        }
+        if (source != xs) System.arraycopy(source, sourceOffset, xs, from, n);
     }
 
     /**
-     * sort method is implementation of radix sort algorithm.
+     * Sort the sub-array xs[from] ... xs[to-1] by converting each double into a long with the same order,
+     * sorting those, and converting back.
      *
-     * @param numArr It contains an array of numbers on which radix sort needs to be performed
-     * @param from   This is the starting index from which sorting operation will begin
-     * @param to     This is the ending index until which sorting operation will be continued
+     * @param xs   the array to be sorted.
+     * @param from the index of the first element to sort.
+     * @param to   the index of the first element not to sort.
      */
-    public void sort(int[] numArr, int from, int to) throws Exception {
+    public void sort(double[] xs, int from, int to) {
+        checkRange(xs.length, from, to);
+        int n = to - from;
+        if (n <= 1) return;
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++) keys[i] = toSortableLong(xs[from + i]);
+        sort(keys, 0, n);
+        for (int i = 0; i < n; i++) xs[from + i] = fromSortableLong(keys[i]);
+    }
 
-        // Sort Validations on input
+    public int getBits() {
+        return bits;
+    }
 
-        if (numArr == null || numArr.length == 1 || from == to) return;
+    public int getThreshold() {
+        return threshold;
+    }
 
-        if (from > to) throw new Exception("From value should be less than to");
+    @Override
+    public void close() {
+        if (ownsPool) pool.shutdown();
+    }
 
-        if (from < 0 || (from > numArr.length - 1))
-            throw new ArrayIndexOutOfBoundsException("From should be between 0 and " + (numArr.length - 1));
+    public static final String RADIXSORT = "radixsort";
+    public static final String BITS = "bits";
+    public static final String THRESHOLD = "threshold";
+    public static final int BITS_DEFAULT = 8;
+    public static final int THRESHOLD_DEFAULT = 1 << 20;
 
-        if (to > numArr.length - 1)
-            throw new ArrayIndexOutOfBoundsException("To should be between 0 and " + (numArr.length - 1));
+    /**
+     * Convert a double into a long such that (when the longs are treated as signed) their order is that of Double.compare.
+     * NOTE that NaNs are collapsed into the canonical NaN (which is the greatest value).
+     */
+    static long toSortableLong(double x) {
+        long bits = Double.doubleToLongBits(x);
+        // For a negative number, flip all the bits except the sign bit (so that -0.0 precedes 0.0).
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
 
-        // Finding max number
-        int maxVal = findMaxInt(numArr, from, to);
-        //Performing counting sort on every exponent
-        int exp = 1;
-        while (maxVal / exp > 0) {
-            countSort(numArr, exp, from, to);
-            exp *= 10;
+    static double fromSortableLong(long x) {
+        return Double.longBitsToDouble(x ^ ((x >> 63) & Long.MAX_VALUE));
+    }
+
+    /**
+     * Count the digits of xs[from] ... xs[to-1] for every pass.
+     */
+    int[][] histogram(int[] xs, int from, int to, int passes) {
+        int[][] counts = new int[passes][radix];
+        for (int i = from; i < to; i++) {
+            int x = xs[i];
+            for (int pass = 0; pass < passes; pass++) counts[pass][digit(x, pass * bits)]++;
         }
+        return counts;
     }
 
-}
\ No newline at end of file
+    /**
+     * Count the digits of xs[from] ... xs[to-1] for every pass.
+     */
+    int[][] histogram(long[] xs, int from, int to, int passes) {
+        int[][] counts = new int[passes][radix];
+        for (int i = from; i < to; i++) {
+            long x = xs[i];
+            for (int pass = 0; pass < passes; pass++) counts[pass][digit(x, pass * bits)]++;
+        }
+        return counts;
+    }
+
+    /**
+     * Task to build the histograms of a range by splitting it into chunks.
+     */
+    private class IntHistogramTask extends RecursiveTask<int[][]> {
+
+        IntHistogramTask(int[] xs, int from, int to, int passes, int chunk) {
+            this.xs = xs;
+            this.from = from;
+            this.to = to;
+            this.passes = passes;
+            this.chunk = chunk;
+        }
+
+        @Override
+        protected int[][] compute() {
+            if (to - from <= chunk) return histogram(xs, from, to, passes);
+            int mid = (from + to) >>> 1;
+            IntHistogramTask lower = new IntHistogramTask(xs, from, mid, passes, chunk);
+            lower.fork();
+            return add(new IntHistogramTask(xs, mid, to, passes, chunk).compute(), lower.join());
+        }
+
+        private final int[] xs;
+        private final int from;
+        private final int to;
+        private final int passes;
+        private final int chunk;
+    }
+
+    /**
+     * Task to build the histograms of a range by splitting it into chunks.
+     */
+    private class LongHistogramTask extends RecursiveTask<int[][]> {
+
+        LongHistogramTask(long[] xs, int from, int to, int passes, int chunk) {
+            this.xs = xs;
+            this.from = from;
+            this.to = to;
+            this.passes = passes;
+            this.chunk = chunk;
+        }
+
+        @Override
+        protected int[][] compute() {
+            if (to - from <= chunk) return histogram(xs, from, to, passes);
+            int mid = (from + to) >>> 1;
+            LongHistogramTask lower = new LongHistogramTask(xs, from, mid, passes, chunk);
+            lower.fork();
+            return add(new LongHistogramTask(xs, mid, to, passes, chunk).compute(), lower.join());
+        }
+
+        private final long[] xs;
+        private final int from;
+        private final int to;
+        private final int passes;
+        private final int chunk;
+    }
+
+    /**
+     * NOTE we aim for about four chunks per thread, so that the load is balanced, but no chunk smaller than MIN_CHUNK.
+     */
+    private int chunkSize(int n) {
+        return Math.max(n / (4 * pool.getParallelism()), MIN_CHUNK);
+    }
+
+    private int digit(int x, int shift) {
+        return ((x ^ Integer.MIN_VALUE) >>> shift) & mask;
+    }
+
+    private int digit(long x, int shift) {
+        return (int) ((x ^ Long.MIN_VALUE) >>> shift) & mask;
+    }
+
+    /**
+     * Replace the counts with the starting index of each digit.
+     */
+    private void toStarts(int[] count) {
+        int start = 0;
+        for (int r = 0; r < radix; r++) {
+            int c = count[r];
+            count[r] = start;
+            start += c;
+        }
+    }
+
+    private static int[][] add(int[][] xs, int[][] ys) {
+        for (int i = 0; i < xs.length; i++)
+            for (int j = 0; j < xs[i].length; j++)
+                xs[i][j] += ys[i][j];
+        return xs;
+    }
+
+    private static void checkRange(int length, int from, int to) {
+        if (from > to) throw new SortException("RadixSort: from (" + from + ") is greater than to (" + to + ")");
+        if (from < 0 || to > length)
+            throw new ArrayIndexOutOfBoundsException("RadixSort: range " + from + " thru " + to + " is not within 0 thru " + length);
+    }
+
+    private RadixSort(int bits, ForkJoinPool pool, int threshold, boolean ownsPool) {
+        if (bits < 1 || bits > 16) throw new SortException("RadixSort: bits must be between 1 and 16: " + bits);
+        this.bits = bits;
+        this.radix = 1 << bits;
+        this.mask = radix - 1;
+        this.pool = pool;
+        this.threshold = threshold;
+        this.ownsPool = ownsPool;
+    }
+
+    private static final int MIN_CHUNK = 1 << 16;
+
+    private final int bits;
+    private final int radix;
+    private final int mask;
+    private final ForkJoinPool pool;
+    private final int threshold;
+    private final boolean ownsPool;
+}
@@ -0,0 +1,71 @@
+package edu.neu.coe.info6205.sort.elementary;
+
+import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.sort.NonInstrumentingComparableHelper;
+import edu.neu.coe.info6205.util.Config;
+
+/**
+ * Class BinaryInsertionSort.
+ * Each element is inserted into the sorted prefix at the slot found by binary search (so that there are only
+ * about lg(i) compares for element i) and the elements between the slot and the element are shifted up
+ * by a single block copy.
+ * The sort is stable: an element is inserted after any elements which are equal to it.
+ * <p>
+ * If the element is already no less than its predecessor, no search is made, so that sorted runs cost
+ * only one compare per element.
+ *
+ * @param <X> the underlying Comparable type.
+ */
+public class BinaryInsertionSort<X extends Comparable<X>> extends InsertionSort<X> {
+
+    /**
+     * Constructor for BinaryInsertionSort
+     *
+     * @param N      the number elements we expect to sort.
+     * @param config the configuration.
+     */
+    public BinaryInsertionSort(int N, Config config) {
+        super(DESCRIPTION, N, 1, config);
+    }
+
+    public BinaryInsertionSort(Config config) {
+        this(NonInstrumentingComparableHelper.create(DESCRIPTION, config));
+    }
+
+    /**
+     * Constructor for BinaryInsertionSort
+     *
+     * @param helper an explicit instance of Helper to be used.
+     */
+    public BinaryInsertionSort(Helper<X> helper) {
+        super(helper);
+    }
+
+    /**
+     * Sort the sub-array xs:from:to using binary insertion sort.
+     *
+     * @param xs   sort the array xs from "from" to "to".
+     * @param from the index of the first element to sort
+     * @param to   the index of the first element not to sort
+     */
+    public void sort(X[] xs, int from, int to) {
+        final Helper<X> helper = getHelper();
+        for (int i = from + 1; i < to; i++) {
+            X x = helper.get(xs, i);
+            if (helper.compare(x, helper.get(xs, i - 1)) >= 0) continue;
+            // NOTE we already know that x belongs before xs[i-1].
+            int lo = from, hi = i - 1;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (helper.compare(x, helper.get(xs, mid)) < 0) hi = mid;
+                else lo = mid + 1;
+            }
+            // NOTE every element that x passes is greater than x: each is an inversion.
+            helper.copyBlock(xs, lo, xs, lo + 1, i - lo);
+            helper.copy(x, xs, lo);
+            helper.incrementFixes(i - lo);
+        }
+    }
+
+    public static final String DESCRIPTION = "Binary insertion sort";
+}
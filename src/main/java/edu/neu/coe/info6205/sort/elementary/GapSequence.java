@@ -0,0 +1,172 @@
+package edu.neu.coe.info6205.sort.elementary;
+
+import edu.neu.coe.info6205.sort.SortException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Interface GapSequence: a strategy for choosing the gaps (h values) of a Shell sort.
+ * <p>
+ * The standard sequences are defined here as constants (see also getGapSequence).
+ * Each of these is backed by a table of all of its values (up to Integer.MAX_VALUE) which is computed once:
+ * the gaps for n elements are the first count(n) entries of that table (found by binary search), taken in reverse order,
+ * so that a sort need not allocate (or cache) an array of gaps for each value of n.
+ */
+public interface GapSequence {
+
+    /**
+     * @return all the gaps of this sequence (up to Integer.MAX_VALUE), in ascending order, starting with 1.
+     *         The caller must not modify this array.
+     */
+    int[] table();
+
+    /**
+     * Get the number of gaps to use in order to Shell-sort n elements, i.e. the number of entries of table() which are less than n.
+     * A Shell sort of n elements uses table()[count(n)-1], ... table()[0].
+     *
+     * @param n the number of elements to be sorted.
+     * @return the number of gaps (zero if n is less than 2).
+     */
+    default int count(int n) {
+        int k = Arrays.binarySearch(table(), n);
+        return k < 0 ? -k - 1 : k;
+    }
+
+    /**
+     * Get the gaps to use in order to Shell-sort n elements.
+     * NOTE that this creates a new array each time: a sort should use table() and count(n) instead.
+     *
+     * @param n the number of elements to be sorted.
+     * @return an array of gaps, in descending order, each less than n and ending with 1 (empty if n is less than 2).
+     */
+    default int[] gaps(int n) {
+        final int[] table = table();
+        final int k = count(n);
+        int[] result = new int[k];
+        for (int i = 0; i < k; i++) result[i] = table[k - 1 - i];
+        return result;
+    }
+
+    /**
+     * @return the name of this gap sequence.
+     */
+    String getName();
+
+    /**
+     * Knuth's sequence (the one in the book): (3^k - 1) / 2, i.e. 1, 4, 13, 40, 121, ...
+     */
+    GapSequence KNUTH = Table.fromRecurrence("knuth", h -> 3 * h + 1);
+
+    /**
+     * Hibbard's sequence: 2^k - 1, i.e. 1, 3, 7, 15, 31, ...
+     */
+    GapSequence HIBBARD = Table.fromRecurrence("hibbard", h -> 2 * h + 1);
+
+    /**
+     * Sedgewick's sequence (1986): 9(4^k - 2^k) + 1 interleaved with 4^(k+2) - 3 * 2^(k+2) + 1,
+     * i.e. 1, 5, 19, 41, 109, 209, 505, 929, ...
+     */
+    GapSequence SEDGEWICK86 = new Table("sedgewick86", sedgewick86());
+
+    /**
+     * Tokuda's sequence: ceiling(h'(k)) where h'(k) = 2.25 * h'(k-1) + 1 and h'(1) = 1, i.e. 1, 4, 9, 20, 46, 103, ...
+     */
+    GapSequence TOKUDA = new Table("tokuda", tokuda());
+
+    /**
+     * Ciura's (empirically determined) sequence 1, 4, 10, 23, 57, 132, 301, 701, 1750,
+     * extended by the (usual) rule h(k) = floor(2.25 * h(k-1)).
+     */
+    GapSequence CIURA = new Table("ciura", ciura());
+
+    /**
+     * Pratt's sequence: the 3-smooth numbers 2^i * 3^j with i, j >= 0, i.e. 1, 2, 3, 4, 6, 8, 9, 12, ...
+     * This gives the best worst case (N log^2 N) but, because there are so many gaps, it is rarely the fastest.
+     */
+    GapSequence PRATT = new Table("pratt", pratt());
+
+    GapSequence[] GAP_SEQUENCES = new GapSequence[]{KNUTH, HIBBARD, SEDGEWICK86, TOKUDA, CIURA, PRATT};
+
+    /**
+     * Method to get one of the standard gap sequences by its name.
+     *
+     * @param name the name of the sequence (case is ignored).
+     * @return the corresponding GapSequence.
+     * @throws SortException if there is no such sequence.
+     */
+    static GapSequence getGapSequence(String name) {
+        for (GapSequence gapSequence : GAP_SEQUENCES)
+            if (gapSequence.getName().equalsIgnoreCase(name)) return gapSequence;
+        throw new SortException("GapSequence: unknown sequence: " + name);
+    }
+
+    /**
+     * Class to implement a GapSequence from a precomputed, ascending table of gaps.
+     */
+    class Table implements GapSequence {
+
+        public Table(String name, int[] table) {
+            this.name = name;
+            this.table = table;
+        }
+
+        public int[] table() {
+            return table;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+
+        static Table fromRecurrence(String name, LongUnaryOperator next) {
+            List<Long> gaps = new ArrayList<>();
+            for (long h = 1; h <= Integer.MAX_VALUE; h = next.applyAsLong(h)) gaps.add(h);
+            return new Table(name, toArray(gaps));
+        }
+
+        private final String name;
+        private final int[] table;
+    }
+
+    private static int[] sedgewick86() {
+        List<Long> gaps = new ArrayList<>();
+        for (int k = 0; ; k++) {
+            long h = k % 2 == 0 ? 9L * ((1L << k) - (1L << (k / 2))) + 1 : 8L * (1L << k) - 6L * (1L << ((k + 1) / 2)) + 1;
+            if (h > Integer.MAX_VALUE) break;
+            gaps.add(h);
+        }
+        return toArray(gaps);
+    }
+
+    private static int[] tokuda() {
+        List<Long> gaps = new ArrayList<>();
+        for (double h = 1; Math.ceil(h) <= Integer.MAX_VALUE; h = 2.25 * h + 1) gaps.add((long) Math.ceil(h));
+        return toArray(gaps);
+    }
+
+    private static int[] ciura() {
+        List<Long> gaps = new ArrayList<>(List.of(1L, 4L, 10L, 23L, 57L, 132L, 301L, 701L, 1750L));
+        for (long h = 1750 * 9 / 4; h <= Integer.MAX_VALUE; h = h * 9 / 4) gaps.add(h);
+        return toArray(gaps);
+    }
+
+    private static int[] pratt() {
+        List<Long> gaps = new ArrayList<>();
+        for (long j = 1; j <= Integer.MAX_VALUE; j *= 3)
+            for (long i = j; i <= Integer.MAX_VALUE; i *= 2) gaps.add(i);
+        gaps.sort(null);
+        return toArray(gaps);
+    }
+
+    private static int[] toArray(List<Long> gaps) {
+        return gaps.stream().mapToInt(Long::intValue).toArray();
+    }
+}
@@ -41,55 +41,57 @@ public class HeapSort<X extends Comparable<X>> extends SortWithComparableHelper<
         return result;
     }
 
+    /**
+     * Sort the sub-array xs[from] ... xs[to-1].
+     * <p>
+     * NOTE that the heap is rooted at xs[from], so that this may be used to sort a range of a larger array
+     * (for example, as the fallback of a quicksort which has recursed too deeply).
+     *
+     * @param xs   the array to be sorted.
+     * @param from the index of the first element to sort.
+     * @param to   the index of the first element not to sort.
+     */
     @Override
     public void sort(X[] xs, int from, int to) {
-        if (xs == null || xs.length <= 1) {
+        if (xs == null || to - from <= 1) {
             return;
         }
 
-        Helper<X> helper = getHelper();
-        helper.init(xs.length); // Initialize for logging
-
         // Build the max heap
-        buildMaxHeap(xs);
+        buildMaxHeap(xs, from, to);
 
         // Sort-down phase
         for (int i = to - 1; i > from; i--) {
-            helper.swap(xs, from, i); // Log swap
-            maxHeap(xs, i, from);     // Rebuild max heap for the reduced array
+            getHelper().swap(xs, from, i); // Log swap
+            maxHeap(xs, from, i, from);    // Rebuild max heap for the reduced range
         }
-
-        // Log the final statistics
-        helper.postProcess(xs);
-        // if (!helper.sorted(xs, from, to)) {
-        //     throw new SortException("HeapSort failed to sort the array");
-        // }
     }
 
-    private void buildMaxHeap(X[] xs) {
-        Helper<X> helper = getHelper();
-        int n = xs.length;
-        for (int i = n / 2 - 1; i >= 0; i--) {
-            maxHeap(xs, n, i);
+    private void buildMaxHeap(X[] xs, int from, int to) {
+        for (int i = from + (to - from) / 2 - 1; i >= from; i--) {
+            maxHeap(xs, from, to, i);
         }
     }
 
-    private void maxHeap(X[] xs, int heapSize, int index) {
+    /**
+     * Sink the element at index in the heap which occupies xs[from] ... xs[to-1].
+     */
+    private void maxHeap(X[] xs, int from, int to, int index) {
         Helper<X> helper = getHelper();
-        int left = index * 2 + 1;
-        int right = index * 2 + 2;
+        int left = 2 * index - from + 1;
+        int right = left + 1;
         int largest = index;
 
-        if (left < heapSize && helper.compare(xs, largest, left) < 0) { // Log comparison
+        if (left < to && helper.compare(xs, largest, left) < 0) { // Log comparison
             largest = left;
         }
-        if (right < heapSize && helper.compare(xs, largest, right) < 0) { // Log comparison
+        if (right < to && helper.compare(xs, largest, right) < 0) { // Log comparison
             largest = right;
         }
 
         if (largest != index) {
             helper.swap(xs, index, largest); // Log swap
-            maxHeap(xs, heapSize, largest);
+            maxHeap(xs, from, to, largest);
         }
     }
 
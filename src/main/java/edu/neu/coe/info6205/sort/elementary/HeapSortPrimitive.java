@@ -0,0 +1,106 @@
+package edu.neu.coe.info6205.sort.elementary;
+
+import edu.neu.coe.info6205.sort.PrimitiveSort;
+
+import static edu.neu.coe.info6205.sort.PrimitiveSort.less;
+
+/**
+ * Class HeapSortPrimitive: the specialization of HeapSort for arrays of int, long and double.
+ * <p>
+ * The heap occupies xs[from] ... xs[to-1], such that the children of (logical) index k are at 2k+1 and 2k+2.
+ */
+public class HeapSortPrimitive implements PrimitiveSort {
+
+    public static final String DESCRIPTION = "HeapSort (primitive)";
+
+    public String getDescription() {
+        return DESCRIPTION;
+    }
+
+    public void sort(int[] xs, int from, int to) {
+        int n = to - from;
+        // Build the max heap.
+        for (int k = n / 2 - 1; k >= 0; k--) sink(xs, from, k, n);
+        // Sort-down phase.
+        for (int i = n - 1; i > 0; i--) {
+            swap(xs, from, from + i);
+            sink(xs, from, 0, i);
+        }
+    }
+
+    public void sort(long[] xs, int from, int to) {
+        int n = to - from;
+        // Build the max heap.
+        for (int k = n / 2 - 1; k >= 0; k--) sink(xs, from, k, n);
+        // Sort-down phase.
+        for (int i = n - 1; i > 0; i--) {
+            swap(xs, from, from + i);
+            sink(xs, from, 0, i);
+        }
+    }
+
+    public void sort(double[] xs, int from, int to) {
+        int n = to - from;
+        // Build the max heap.
+        for (int k = n / 2 - 1; k >= 0; k--) sink(xs, from, k, n);
+        // Sort-down phase.
+        for (int i = n - 1; i > 0; i--) {
+            swap(xs, from, from + i);
+            sink(xs, from, 0, i);
+        }
+    }
+
+    private static void sink(int[] xs, int from, int k, int n) {
+        int x = xs[from + k];
+        int child;
+        while ((child = 2 * k + 1) < n) {
+            if (child + 1 < n && less(xs[from + child], xs[from + child + 1])) child++;
+            if (!less(x, xs[from + child])) break;
+            xs[from + k] = xs[from + child];
+            k = child;
+        }
+        xs[from + k] = x;
+    }
+
+    private static void sink(long[] xs, int from, int k, int n) {
+        long x = xs[from + k];
+        int child;
+        while ((child = 2 * k + 1) < n) {
+            if (child + 1 < n && less(xs[from + child], xs[from + child + 1])) child++;
+            if (!less(x, xs[from + child])) break;
+            xs[from + k] = xs[from + child];
+            k = child;
+        }
+        xs[from + k] = x;
+    }
+
+    private static void sink(double[] xs, int from, int k, int n) {
+        double x = xs[from + k];
+        int child;
+        while ((child = 2 * k + 1) < n) {
+            if (child + 1 < n && less(xs[from + child], xs[from + child + 1])) child++;
+            if (!less(x, xs[from + child])) break;
+            xs[from + k] = xs[from + child];
+            k = child;
+        }
+        xs[from + k] = x;
+    }
+
+    private static void swap(int[] xs, int i, int j) {
+        int temp = xs[i];
+        xs[i] = xs[j];
+        xs[j] = temp;
+    }
+
+    private static void swap(long[] xs, int i, int j) {
+        long temp = xs[i];
+        xs[i] = xs[j];
+        xs[j] = temp;
+    }
+
+    private static void swap(double[] xs, int i, int j) {
+        double temp = xs[i];
+        xs[i] = xs[j];
+        xs[j] = temp;
+    }
+}
@@ -86,6 +86,36 @@ public class InsertionSort<X extends Comparable<X>> extends SortWithComparableHe
 
     public static final String DESCRIPTION = "Insertion sort";
 
+    public static final String INSERTIONSORT = "insertionsort";
+    public static final String BINARY = "binary";
+    public static final String PAIR = "pair";
+    public static final String NETWORK = "network";
+
+    /**
+     * Factory method to create the insertion sort which divide-and-conquer sorts should use for small partitions.
+     * The variant is chosen by insertionsort in the [helper] section of the helper's configuration:
+     * binary (BinaryInsertionSort), pair (PairInsertionSort), network (SortingNetwork)
+     * or else (by default) InsertionSort itself.
+     * NOTE that SortingNetwork is not stable, so network is ignored (and InsertionSort is used) if stable is true.
+     *
+     * @param helper the Helper to be used by the insertion sort.
+     * @param stable true if the sort which uses it (e.g. a merge sort) must be stable.
+     * @param <T>    the underlying Comparable type.
+     * @return an InsertionSort of T.
+     */
+    public static <T extends Comparable<T>> InsertionSort<T> create(Helper<T> helper, boolean stable) {
+        switch (helper.getConfig().getString(Config.HELPER, INSERTIONSORT, "")) {
+            case BINARY:
+                return new BinaryInsertionSort<>(helper);
+            case PAIR:
+                return new PairInsertionSort<>(helper);
+            case NETWORK:
+                return stable ? new InsertionSort<>(helper) : new SortingNetwork<>(helper);
+            default:
+                return new InsertionSort<>(helper);
+        }
+    }
+
     public static <T extends Comparable<T>> void sort(T[] ts) {
         try (InsertionSort<T> sort = new InsertionSort<>()) {
             sort.mutatingSort(ts);
@@ -0,0 +1,56 @@
+package edu.neu.coe.info6205.sort.elementary;
+
+import edu.neu.coe.info6205.sort.PrimitiveSort;
+
+import static edu.neu.coe.info6205.sort.PrimitiveSort.less;
+
+/**
+ * Class InsertionSortPrimitive: the specialization of InsertionSort for arrays of int, long and double.
+ * <p>
+ * NOTE that, rather than swapping, we hold the element being inserted and shift larger elements up by one.
+ * This is used by the other primitive sorts for small sub-arrays.
+ */
+public class InsertionSortPrimitive implements PrimitiveSort {
+
+    public static final String DESCRIPTION = "Insertion sort (primitive)";
+
+    public String getDescription() {
+        return DESCRIPTION;
+    }
+
+    public void sort(int[] xs, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            int x = xs[i];
+            int j = i;
+            while (j > from && less(x, xs[j - 1])) {
+                xs[j] = xs[j - 1];
+                j--;
+            }
+            xs[j] = x;
+        }
+    }
+
+    public void sort(long[] xs, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            long x = xs[i];
+            int j = i;
+            while (j > from && less(x, xs[j - 1])) {
+                xs[j] = xs[j - 1];
+                j--;
+            }
+            xs[j] = x;
+        }
+    }
+
+    public void sort(double[] xs, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            double x = xs[i];
+            int j = i;
+            while (j > from && less(x, xs[j - 1])) {
+                xs[j] = xs[j - 1];
+                j--;
+            }
+            xs[j] = x;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package edu.neu.coe.info6205.sort.elementary;
+
+import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.sort.NonInstrumentingComparableHelper;
+import edu.neu.coe.info6205.util.Config;
+
+/**
+ * Class PairInsertionSort.
+ * The elements are inserted two at a time (as in the insertion sort of Java's DualPivotQuicksort):
+ * the larger of the pair is inserted first, shifting the greater elements up by two places;
+ * then the smaller is inserted, continuing from where the larger one stopped and shifting by one place.
+ * In this way, the elements greater than both of the pair are moved only once (instead of twice).
+ * The sort is stable.
+ *
+ * @param <X> the underlying Comparable type.
+ */
+public class PairInsertionSort<X extends Comparable<X>> extends InsertionSort<X> {
+
+    /**
+     * Constructor for PairInsertionSort
+     *
+     * @param N      the number elements we expect to sort.
+     * @param config the configuration.
+     */
+    public PairInsertionSort(int N, Config config) {
+        super(DESCRIPTION, N, 1, config);
+    }
+
+    public PairInsertionSort(Config config) {
+        this(NonInstrumentingComparableHelper.create(DESCRIPTION, config));
+    }
+
+    /**
+     * Constructor for PairInsertionSort
+     *
+     * @param helper an explicit instance of Helper to be used.
+     */
+    public PairInsertionSort(Helper<X> helper) {
+        super(helper);
+    }
+
+    /**
+     * Sort the sub-array xs:from:to using pair insertion sort.
+     *
+     * @param xs   sort the array xs from "from" to "to".
+     * @param from the index of the first element to sort
+     * @param to   the index of the first element not to sort
+     */
+    public void sort(X[] xs, int from, int to) {
+        final Helper<X> helper = getHelper();
+        int i = from + 1;
+        for (; i + 1 < to; i += 2) {
+            X small = helper.get(xs, i);
+            X large = helper.get(xs, i + 1);
+            if (helper.compare(small, large) > 0) {
+                X temp = small;
+                small = large;
+                large = temp;
+                helper.incrementFixes(1);
+            }
+            int k = i - 1;
+            // NOTE each element greater than large is greater than small, too: two inversions are fixed.
+            while (k >= from && helper.compare(large, helper.get(xs, k)) < 0) {
+                helper.copy(xs, k, xs, k + 2);
+                helper.incrementFixes(2);
+                k--;
+            }
+            helper.copy(large, xs, k + 2);
+            while (k >= from && helper.compare(small, helper.get(xs, k)) < 0) {
+                helper.copy(xs, k, xs, k + 1);
+                helper.incrementFixes(1);
+                k--;
+            }
+            helper.copy(small, xs, k + 1);
+        }
+        // Insert the last element (if there is one left over).
+        if (i < to) {
+            X x = helper.get(xs, i);
+            int k = i - 1;
+            while (k >= from && helper.compare(x, helper.get(xs, k)) < 0) {
+                helper.copy(xs, k, xs, k + 1);
+                helper.incrementFixes(1);
+                k--;
+            }
+            helper.copy(x, xs, k + 1);
+        }
+    }
+
+    public static final String DESCRIPTION = "Pair insertion sort";
+}
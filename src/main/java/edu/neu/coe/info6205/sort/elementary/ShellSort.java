@@ -36,6 +36,7 @@ public class ShellSort<X extends Comparable<X>> extends SortWithComparableHelper
     public ShellSort(int m, int N, int nRuns, Config config) {
         super(DESCRIPTION + m, N, nRuns, config);
         this.m = m;
+        this.gapSequence = null;
         // TODO get trackInversions from the Config file
         trackInversions = false;
     }
@@ -70,6 +71,35 @@ public class ShellSort<X extends Comparable<X>> extends SortWithComparableHelper
     public ShellSort(int m, Helper<X> helper) {
         super(helper);
         this.m = m;
+        this.gapSequence = null;
+        trackInversions = false;
+    }
+
+    /**
+     * Constructor for ShellSort with an explicit GapSequence, configuration and size.
+     *
+     * @param gapSequence the "gap" (h) sequence to follow (see GapSequence).
+     * @param N           the number elements we expect to sort.
+     * @param nRuns       the number of runs to be expected.
+     * @param config      the configuration.
+     */
+    public ShellSort(GapSequence gapSequence, int N, int nRuns, Config config) {
+        super(GAP_SEQUENCE_DESCRIPTION + gapSequence.getName(), N, nRuns, config);
+        this.m = 0;
+        this.gapSequence = gapSequence;
+        trackInversions = false;
+    }
+
+    /**
+     * Constructor for ShellSort with an explicit GapSequence and helper.
+     *
+     * @param gapSequence the "gap" (h) sequence to follow (see GapSequence).
+     * @param helper      an explicit instance of Helper to be used.
+     */
+    public ShellSort(GapSequence gapSequence, Helper<X> helper) {
+        super(helper);
+        this.m = 0;
+        this.gapSequence = gapSequence;
         trackInversions = false;
     }
 
@@ -82,6 +112,15 @@ public class ShellSort<X extends Comparable<X>> extends SortWithComparableHelper
      */
     public void sort(X[] xs, int from, int to) {
         int N = to - from;
+        if (gapSequence != null) {
+            final int[] table = gapSequence.table();
+            for (int k = gapSequence.count(N) - 1; k >= 0; k--) {
+                hSort(table[k], xs, from, to);
+                if (shellFunction != null)
+                    shellFunction.accept(getHelper());
+            }
+            return;
+        }
         H hh = new H(N);
         int h = hh.first();
         while (h > 0) {
@@ -104,6 +143,7 @@ public class ShellSort<X extends Comparable<X>> extends SortWithComparableHelper
     }
 
     public static final String DESCRIPTION = "Shell sort in mode ";
+    public static final String GAP_SEQUENCE_DESCRIPTION = "Shell sort with gap sequence ";
 
     /**
      * Private method to h-sort an array.
@@ -133,6 +173,7 @@ public class ShellSort<X extends Comparable<X>> extends SortWithComparableHelper
     }
 
     private final int m;
+    private final GapSequence gapSequence;
     private final boolean trackInversions;
 
     private Consumer<Helper<X>> shellFunction = null;
@@ -0,0 +1,81 @@
+package edu.neu.coe.info6205.sort.elementary;
+
+import edu.neu.coe.info6205.sort.InstrumentedComparableHelper;
+import edu.neu.coe.info6205.sort.NonInstrumentingComparableHelper;
+import edu.neu.coe.info6205.util.Benchmark_Timer;
+import edu.neu.coe.info6205.util.Config;
+import edu.neu.coe.info6205.util.LazyLogger;
+
+import java.io.IOException;
+import java.util.Random;
+
+import static edu.neu.coe.info6205.util.Utilities.formatWhole;
+
+/**
+ * Benchmark to compare the gap sequences (see GapSequence) of ShellSort on random Integers.
+ * For each array size and each sequence, the mean numbers of compares and swaps are measured
+ * (using an InstrumentedComparableHelper) and, separately, the mean time (without instrumentation).
+ * <p>
+ * The sizes, the sequences and the number of runs are taken from the [shellsortbenchmark] section of the configuration.
+ */
+public class ShellSortBenchmark {
+
+    public ShellSortBenchmark(Config config) {
+        this.config = config;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Config config = Config.load(ShellSortBenchmark.class);
+        new ShellSortBenchmark(config).runBenchmarks();
+    }
+
+    public void runBenchmarks() {
+        final int runs = config.getInt(SHELLSORTBENCHMARK, "runs", 10);
+        for (String size : config.getString(SHELLSORTBENCHMARK, "sizes", "10000").split(",")) {
+            final int n = Integer.parseInt(size.trim());
+            for (String name : config.getString(SHELLSORTBENCHMARK, "sequences", "knuth,sedgewick86,tokuda,ciura,pratt").split(","))
+                logger.info(runBenchmark(GapSequence.getGapSequence(name.trim()), n, runs));
+        }
+    }
+
+    /**
+     * Method to measure the operations and the time taken by ShellSort with gapSequence.
+     *
+     * @param gapSequence the gap sequence.
+     * @param n           the number of elements to sort.
+     * @param runs        the number of runs.
+     * @return a line of results.
+     */
+    String runBenchmark(GapSequence gapSequence, int n, int runs) {
+        final Config instrumenting = config.copy(Config.HELPER, Config.INSTRUMENT, "true");
+        long compares = 0;
+        long swaps = 0;
+        try (InstrumentedComparableHelper<Integer> helper = new InstrumentedComparableHelper<>("ShellSortBenchmark", n, runs, instrumenting)) {
+            ShellSort<Integer> sorter = new ShellSort<>(gapSequence, helper);
+            for (int i = 0; i < runs; i++) {
+                helper.init(n);
+                Integer[] xs = helper.random(Integer.class, Random::nextInt);
+                sorter.sort(xs, 0, n);
+                compares += helper.getCompares();
+                swaps += helper.getSwaps();
+            }
+        }
+        final double time;
+        try (NonInstrumentingComparableHelper<Integer> helper = new NonInstrumentingComparableHelper<>("ShellSortBenchmark", n, config)) {
+            ShellSort<Integer> sorter = new ShellSort<>(gapSequence, helper);
+            time = new Benchmark_Timer<Integer[]>("ShellSort with " + gapSequence.getName(), xs -> sorter.sort(xs, 0, n))
+                    .runFromSupplier(() -> helper.random(Integer.class, Random::nextInt), runs);
+        }
+        final double nLgN = n * Math.log(n) / Math.log(2);
+        return String.format("ShellSort with %s gaps, n=%s: %d gaps; mean compares: %s (%.2f per n lg n); mean swaps: %s (%.2f per n lg n); mean time: %.3f msecs",
+                gapSequence.getName(), formatWhole(n), gapSequence.gaps(n).length,
+                formatWhole((int) (compares / runs)), compares / runs / nLgN,
+                formatWhole((int) (swaps / runs)), swaps / runs / nLgN, time);
+    }
+
+    public static final String SHELLSORTBENCHMARK = "shellsortbenchmark";
+
+    private final Config config;
+
+    final static LazyLogger logger = new LazyLogger(ShellSortBenchmark.class);
+}
@@ -0,0 +1,123 @@
+package edu.neu.coe.info6205.sort.elementary;
+
+import edu.neu.coe.info6205.sort.PrimitiveSort;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static edu.neu.coe.info6205.sort.PrimitiveSort.less;
+
+/**
+ * Class ShellSortPrimitive: the specialization of ShellSort for arrays of int, long and double.
+ * <p>
+ * The gap (h) sequences are those of ShellSort (see gaps).
+ */
+public class ShellSortPrimitive implements PrimitiveSort {
+
+    public static final String DESCRIPTION = "Shell sort (primitive) in mode ";
+
+    /**
+     * Constructor for ShellSortPrimitive.
+     *
+     * @param m the "gap" (h) sequence to follow (as for ShellSort):
+     *          1: ordinary insertion sort;
+     *          2: use powers of two less one;
+     *          3: use the sequence based on 3 (the one in the book): 1, 4, 13, etc.
+     *          4: Sedgewick's sequence.
+     *          5: Pratt Sequence 2^i*3^j with i, j >= 0.
+     */
+    public ShellSortPrimitive(int m) {
+        if (m < 1 || m > 5) throw new RuntimeException("invalid m value: " + m);
+        this.m = m;
+    }
+
+    public String getDescription() {
+        return DESCRIPTION + m;
+    }
+
+    public void sort(int[] xs, int from, int to) {
+        for (int h : gaps(m, to - from))
+            for (int i = from + h; i < to; i++) {
+                int x = xs[i];
+                int j = i;
+                while (j >= from + h && less(x, xs[j - h])) {
+                    xs[j] = xs[j - h];
+                    j -= h;
+                }
+                xs[j] = x;
+            }
+    }
+
+    public void sort(long[] xs, int from, int to) {
+        for (int h : gaps(m, to - from))
+            for (int i = from + h; i < to; i++) {
+                long x = xs[i];
+                int j = i;
+                while (j >= from + h && less(x, xs[j - h])) {
+                    xs[j] = xs[j - h];
+                    j -= h;
+                }
+                xs[j] = x;
+            }
+    }
+
+    public void sort(double[] xs, int from, int to) {
+        for (int h : gaps(m, to - from))
+            for (int i = from + h; i < to; i++) {
+                double x = xs[i];
+                int j = i;
+                while (j >= from + h && less(x, xs[j - h])) {
+                    xs[j] = xs[j - h];
+                    j -= h;
+                }
+                xs[j] = x;
+            }
+    }
+
+    /**
+     * Method to yield the gap (h) values for the given mode and problem size, in the order in which they are used.
+     *
+     * @param m the mode (see constructor).
+     * @param N the number of elements to be sorted.
+     * @return the gap values, ending with 1.
+     */
+    static int[] gaps(int m, int N) {
+        List<Integer> result = new ArrayList<>();
+        int h = 1;
+        switch (m) {
+            case 1 -> result.add(1);
+            case 2 -> {
+                while (h <= N) h = 2 * (h + 1) - 1;
+                for (; h > 0; h = (h + 1) / 2 - 1) result.add(h);
+            }
+            case 3 -> {
+                while (h <= N / 3) h = h * 3 + 1;
+                for (; h > 0; h = h / 3) result.add(h);
+            }
+            case 4 -> {
+                int k = 0;
+                while (sedgewick(k) < N) k++;
+                for (k--; k >= 0; k--) result.add((int) sedgewick(k));
+            }
+            case 5 -> {
+                //2^i*3^j with i, j >= 0
+                for (long j = 1; j <= N; j *= 3)
+                    for (long i = j; i <= N; i *= 2)
+                        result.add((int) i);
+                result.sort(Collections.reverseOrder());
+            }
+            default -> throw new RuntimeException("invalid m value: " + m);
+        }
+        // NOTE the last gap must be 1 (for N < 1, mode 4 and 5 may otherwise yield no gaps at all).
+        if (result.isEmpty() || result.get(result.size() - 1) != 1) result.add(1);
+        return result.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static long sedgewick(int k) {
+        if (k % 2 == 0) return 9L * ((1L << k) - (1L << (k / 2))) + 1;
+        else return 8L * (1L << k) - 6 * (1L << ((k + 1) / 2)) + 1;
+    }
+
+    private final int m;
+}
@@ -0,0 +1,193 @@
+package edu.neu.coe.info6205.sort.elementary;
+
+import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.sort.NonInstrumentingComparableHelper;
+import edu.neu.coe.info6205.util.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Class SortingNetwork: a sorter for small sub-arrays (of up to MAX_SIZE elements) which uses a fixed comparator network.
+ * <p>
+ * Each comparator is a conditional swap (Helper.swapConditional) of two given positions, so the sequence of compares
+ * is the same whatever the data: there are no data-dependent loops (as there are in insertion sort), and
+ * the compares of each layer are independent of one another.
+ * The networks are the smallest known (those for up to 10 elements are known to be optimal);
+ * each was checked against all 2^n inputs of zeros and ones (which suffices, by the zero-one principle).
+ * The networks for 14 and 15 elements are generated from that for 16 (see prune).
+ * <p>
+ * Sub-arrays of more than MAX_SIZE elements are sorted by insertion sort.
+ * NOTE that a sorting network is NOT stable.
+ *
+ * @param <X> the underlying Comparable type.
+ */
+public class SortingNetwork<X extends Comparable<X>> extends InsertionSort<X> {
+
+    /**
+     * Constructor for SortingNetwork
+     *
+     * @param N      the number elements we expect to sort.
+     * @param config the configuration.
+     */
+    public SortingNetwork(int N, Config config) {
+        super(DESCRIPTION, N, 1, config);
+    }
+
+    public SortingNetwork(Config config) {
+        this(NonInstrumentingComparableHelper.create(DESCRIPTION, config));
+    }
+
+    /**
+     * Constructor for SortingNetwork
+     *
+     * @param helper an explicit instance of Helper to be used.
+     */
+    public SortingNetwork(Helper<X> helper) {
+        super(helper);
+    }
+
+    /**
+     * Sort the sub-array xs:from:to using the sorting network for to-from elements.
+     *
+     * @param xs   sort the array xs from "from" to "to".
+     * @param from the index of the first element to sort
+     * @param to   the index of the first element not to sort
+     */
+    public void sort(X[] xs, int from, int to) {
+        final int n = to - from;
+        if (n > MAX_SIZE) {
+            super.sort(xs, from, to);
+            return;
+        }
+        final Helper<X> helper = getHelper();
+        final int[] network = NETWORKS[Math.max(n, 0)];
+        for (int k = 0; k < network.length; k += 2) helper.swapConditional(xs, from + network[k], from + network[k + 1]);
+    }
+
+    /**
+     * Method to get the comparator network for n elements.
+     *
+     * @param n the number of elements (at most MAX_SIZE).
+     * @return an array of pairs of indices (i, j), with i less than j, flattened.
+     */
+    public static int[] getNetwork(int n) {
+        return NETWORKS[n].clone();
+    }
+
+    /**
+     * Method to generate a network for n elements from a network for more elements.
+     * Imagine that the extra inputs are all greater than any of the first n: then they are never moved and
+     * any comparator which involves one of them does nothing. So we simply drop such comparators.
+     *
+     * @param network a sorting network (as for getNetwork).
+     * @param n       the number of elements.
+     * @return a sorting network for n elements.
+     */
+    static int[] prune(int[] network, int n) {
+        List<Integer> result = new ArrayList<>();
+        for (int k = 0; k < network.length; k += 2)
+            if (network[k + 1] < n) {
+                result.add(network[k]);
+                result.add(network[k + 1]);
+            }
+        return result.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    public static final String DESCRIPTION = "Sorting network";
+
+    public static final int MAX_SIZE = 16;
+
+    // NOTE each line is a layer, i.e. a set of independent comparators.
+    private static final int[] NETWORK_16 = {
+            0, 13, 1, 12, 2, 15, 3, 14, 4, 8, 5, 6, 7, 11, 9, 10,
+            0, 5, 1, 7, 2, 9, 3, 4, 6, 13, 8, 14, 10, 15, 11, 12,
+            0, 1, 2, 3, 4, 5, 6, 8, 7, 9, 10, 11, 12, 13, 14, 15,
+            0, 2, 1, 3, 4, 10, 5, 11, 6, 7, 8, 9, 12, 14, 13, 15,
+            1, 2, 3, 12, 4, 6, 5, 7, 8, 10, 9, 11, 13, 14,
+            1, 4, 2, 6, 5, 8, 7, 10, 9, 13, 11, 14,
+            2, 4, 3, 6, 9, 12, 11, 13,
+            3, 5, 6, 8, 7, 9, 10, 12,
+            3, 4, 5, 6, 7, 8, 9, 10, 11, 12,
+            6, 7, 8, 9
+    };
+
+    private static final int[][] NETWORKS = {
+            {},
+            {},
+            {0, 1},
+            {0, 2,
+                    0, 1,
+                    1, 2},
+            {0, 2, 1, 3,
+                    0, 1, 2, 3,
+                    1, 2},
+            {0, 3, 1, 4,
+                    0, 2, 1, 3,
+                    0, 1, 2, 4,
+                    1, 2, 3, 4,
+                    2, 3},
+            {0, 5, 1, 3, 2, 4,
+                    1, 2, 3, 4,
+                    0, 3, 2, 5,
+                    0, 1, 2, 3, 4, 5,
+                    1, 2, 3, 4},
+            {0, 6, 2, 3, 4, 5,
+                    0, 2, 1, 4, 3, 6,
+                    0, 1, 2, 5, 3, 4,
+                    1, 2, 4, 6,
+                    2, 3, 4, 5,
+                    1, 2, 3, 4, 5, 6},
+            {0, 2, 1, 3, 4, 6, 5, 7,
+                    0, 4, 1, 5, 2, 6, 3, 7,
+                    0, 1, 2, 3, 4, 5, 6, 7,
+                    2, 4, 3, 5,
+                    1, 4, 3, 6,
+                    1, 2, 3, 4, 5, 6},
+            {0, 3, 1, 7, 2, 5, 4, 8,
+                    0, 7, 2, 4, 3, 8, 5, 6,
+                    0, 2, 1, 3, 4, 5, 7, 8,
+                    1, 4, 3, 6, 5, 7,
+                    0, 1, 2, 4, 3, 5, 6, 8,
+                    2, 3, 4, 5, 6, 7,
+                    1, 2, 3, 4, 5, 6},
+            {0, 8, 1, 9, 2, 7, 3, 5, 4, 6,
+                    0, 2, 1, 4, 5, 8, 7, 9,
+                    0, 3, 2, 4, 5, 7, 6, 9,
+                    0, 1, 3, 6, 8, 9,
+                    1, 5, 2, 3, 4, 8, 6, 7,
+                    1, 2, 3, 5, 4, 6, 7, 8,
+                    2, 3, 4, 5, 6, 7,
+                    3, 4, 5, 6},
+            {0, 9, 1, 6, 2, 4, 3, 7, 5, 8,
+                    0, 1, 3, 5, 4, 10, 6, 9, 7, 8,
+                    1, 3, 2, 5, 4, 7, 8, 10,
+                    0, 4, 1, 2, 3, 7, 5, 9, 6, 8,
+                    0, 1, 2, 6, 4, 5, 7, 8, 9, 10,
+                    2, 4, 3, 6, 5, 7, 8, 9,
+                    1, 2, 3, 4, 5, 6, 7, 8,
+                    2, 3, 4, 5, 6, 7},
+            {0, 8, 1, 7, 2, 6, 3, 11, 4, 10, 5, 9,
+                    0, 1, 2, 5, 3, 4, 6, 9, 7, 8, 10, 11,
+                    0, 2, 1, 6, 5, 10, 9, 11,
+                    0, 3, 1, 2, 4, 6, 5, 7, 8, 11, 9, 10,
+                    1, 4, 3, 5, 6, 8, 7, 10,
+                    1, 3, 2, 5, 6, 9, 8, 10,
+                    2, 3, 4, 5, 6, 7, 8, 9,
+                    4, 6, 5, 7,
+                    3, 4, 5, 6, 7, 8},
+            {0, 12, 1, 10, 2, 9, 3, 7, 5, 11, 6, 8,
+                    1, 6, 2, 3, 4, 11, 7, 9, 8, 10,
+                    0, 4, 1, 2, 3, 6, 7, 8, 9, 10, 11, 12,
+                    4, 6, 5, 9, 8, 11, 10, 12,
+                    0, 5, 3, 8, 4, 7, 6, 11, 9, 10,
+                    0, 1, 2, 5, 6, 9, 7, 8, 10, 11,
+                    1, 3, 2, 4, 5, 6, 9, 10,
+                    1, 2, 3, 4, 5, 7, 6, 8,
+                    2, 3, 4, 5, 6, 7, 8, 9,
+                    3, 4, 5, 6},
+            prune(NETWORK_16, 14),
+            prune(NETWORK_16, 15),
+            NETWORK_16
+    };
+}
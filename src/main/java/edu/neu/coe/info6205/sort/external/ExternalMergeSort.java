@@ -0,0 +1,313 @@
+package edu.neu.coe.info6205.sort.external;
+
+import edu.neu.coe.info6205.pq.PQException;
+import edu.neu.coe.info6205.pq.PriorityQueue;
+import edu.neu.coe.info6205.sort.SortException;
+import edu.neu.coe.info6205.sort.SortWithHelper;
+import edu.neu.coe.info6205.sort.par.ParallelSort;
+import edu.neu.coe.info6205.util.Config;
+import edu.neu.coe.info6205.util.LazyLogger;
+
+import java.io.*;
+import java.lang.reflect.Array;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Class ExternalMergeSort: sorts a file (one element per line) which is too large to be sorted in memory.
+ * <p>
+ * The sort proceeds in two phases:
+ * <ol>
+ *     <li>the input is read in runs of (at most) runSize elements, each of which is sorted in memory by the run sorter
+ *     (any SortWithHelper) and spilled to a temporary file;</li>
+ *     <li>the runs are merged, at most fanIn at a time, using a PriorityQueue of run cursors,
+ *     until only one run (the output) remains.</li>
+ * </ol>
+ * If there are more than fanIn runs, intermediate merge passes are required, each of which reads and writes all the data.
+ * The merge is stable provided that the run sorter is stable: ties are broken in favor of the earlier run.
+ * <p>
+ * All file I/O goes through FileChannels with buffers of bufferSize characters.
+ * Temporary files are always deleted, even if the sort fails.
+ *
+ * @param <X> the underlying type.
+ */
+public class ExternalMergeSort<X> {
+
+    /**
+     * Primary constructor for ExternalMergeSort.
+     *
+     * @param runSorter  the sorter used for each run (its helper's comparator also defines the order of the merge).
+     * @param clazz      the class of X (so that we can create arrays of X).
+     * @param parser     a function to convert a line of input into an X.
+     * @param formatter  a function to convert an X into a line of output (it must be the inverse of parser).
+     * @param runSize    the maximum number of elements in a run (if not positive, the size is chosen according to the heap).
+     * @param fanIn      the maximum number of runs which are merged at once (at least 2).
+     * @param bufferSize the size (in characters) of each I/O buffer.
+     * @param tempDir    the directory for temporary files (or null for the default temporary directory).
+     */
+    public ExternalMergeSort(SortWithHelper<X> runSorter, Class<X> clazz, Function<String, X> parser, Function<X, String> formatter, int runSize, int fanIn, int bufferSize, File tempDir) {
+        if (fanIn < 2) throw new SortException("ExternalMergeSort: fanIn must be at least 2: " + fanIn);
+        if (bufferSize < 1) throw new SortException("ExternalMergeSort: bufferSize must be positive: " + bufferSize);
+        this.runSorter = runSorter;
+        this.clazz = clazz;
+        this.parser = parser;
+        this.formatter = formatter;
+        this.runSize = runSize > 0 ? runSize : heapRunSize();
+        this.fanIn = fanIn;
+        this.bufferSize = bufferSize;
+        this.tempDir = tempDir;
+    }
+
+    /**
+     * Constructor for ExternalMergeSort which takes its parameters from the [externalsort] section of the configuration.
+     *
+     * @param runSorter the sorter used for each run.
+     * @param clazz     the class of X.
+     * @param parser    a function to convert a line of input into an X.
+     * @param formatter a function to convert an X into a line of output.
+     * @param config    the configuration.
+     */
+    public ExternalMergeSort(SortWithHelper<X> runSorter, Class<X> clazz, Function<String, X> parser, Function<X, String> formatter, Config config) {
+        this(runSorter, clazz, parser, formatter, config.getInt(EXTERNALSORT, RUNSIZE, 0), config.getInt(EXTERNALSORT, FANIN, FANIN_DEFAULT), config.getInt(EXTERNALSORT, BUFFERSIZE, BUFFERSIZE_DEFAULT), getTempDir(config));
+    }
+
+    /**
+     * Sort the lines of input, writing the result to output.
+     *
+     * @param input  the file to be sorted (this will be unchanged).
+     * @param output the file to receive the sorted elements (it may not be the same as input).
+     * @throws IOException if there is a problem reading or writing the files.
+     */
+    public void sort(Path input, Path output) throws IOException {
+        List<Path> runs = new ArrayList<>();
+        passes = 0;
+        try {
+            createRuns(input, runs);
+            nRuns = runs.size();
+            while (runs.size() > fanIn) {
+                runs = mergePass(runs);
+                passes++;
+            }
+            merge(runs, output);
+            passes++;
+        } finally {
+            for (Path run : runs) Files.deleteIfExists(run);
+        }
+        logger.debug(() -> "ExternalMergeSort: sorted " + input + " with " + nRuns + " runs in " + passes + " merge passes");
+    }
+
+    public int getRunSize() {
+        return runSize;
+    }
+
+    public int getFanIn() {
+        return fanIn;
+    }
+
+    /**
+     * @return the number of (initial) runs created by the most recent sort.
+     */
+    public int getRuns() {
+        return nRuns;
+    }
+
+    /**
+     * @return the number of merge passes (including the final pass) made by the most recent sort.
+     */
+    public int getPasses() {
+        return passes;
+    }
+
+    @Override
+    public String toString() {
+        return "ExternalMergeSort{runSorter=" + runSorter.getDescription() + ", runSize=" + runSize + ", fanIn=" + fanIn + ", bufferSize=" + bufferSize + "}";
+    }
+
+    public static final String EXTERNALSORT = "externalsort";
+    public static final String RUNSIZE = "runsize";
+    public static final String FANIN = "fanin";
+    public static final String BUFFERSIZE = "buffersize";
+    public static final String TEMPDIR = "tempdir";
+    public static final int FANIN_DEFAULT = 16;
+    public static final int BUFFERSIZE_DEFAULT = 1 << 16;
+
+    /**
+     * Sort a file of strings.
+     *
+     * @param args the input file and the output file.
+     * @throws IOException if there is a problem reading or writing the files.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) throw new SortException("usage: ExternalMergeSort input output");
+        Config config = Config.load(ExternalMergeSort.class);
+        try (ParallelSort<String> parallelSort = new ParallelSort<>(0, 1, config)) {
+            ExternalMergeSort<String> sorter = new ExternalMergeSort<>(parallelSort, String.class, s -> s, s -> s, config);
+            sorter.sort(Paths.get(args[0]), Paths.get(args[1]));
+            System.out.println(sorter + ": " + sorter.getRuns() + " runs, " + sorter.getPasses() + " passes");
+        }
+    }
+
+    /**
+     * Read the input, sorting each run in memory and spilling it to a temporary file.
+     * NOTE that runs is populated as we go so that, if there is an exception, the caller can clean up.
+     */
+    private void createRuns(Path input, List<Path> runs) throws IOException {
+        try (BufferedReader reader = newReader(input)) {
+            List<X> buffer = new ArrayList<>(Math.min(runSize, bufferSize));
+            @SuppressWarnings("unchecked") X[] empty = (X[]) Array.newInstance(clazz, 0);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                buffer.add(parser.apply(line));
+                if (buffer.size() == runSize) {
+                    runs.add(spill(buffer.toArray(empty)));
+                    buffer.clear();
+                }
+            }
+            if (!buffer.isEmpty()) runs.add(spill(buffer.toArray(empty)));
+        }
+    }
+
+    private Path spill(X[] xs) throws IOException {
+        // NOTE we sort the range rather than use mutatingSort because runs vary in length (and so we cannot init the helper).
+        runSorter.sort(xs, 0, xs.length);
+        Path run = createTempFile();
+        try (BufferedWriter writer = newWriter(run)) {
+            for (X x : xs) writeLine(writer, x);
+        }
+        return run;
+    }
+
+    /**
+     * Merge the runs in groups of (at most) fanIn, deleting each group once it has been merged.
+     *
+     * @return the merged runs (in the same order as the groups from which they came, so that stability is preserved).
+     */
+    private List<Path> mergePass(List<Path> runs) throws IOException {
+        List<Path> result = new ArrayList<>();
+        try {
+            for (int i = 0; i < runs.size(); i += fanIn) {
+                List<Path> group = runs.subList(i, Math.min(i + fanIn, runs.size()));
+                Path merged = createTempFile();
+                result.add(merged);
+                merge(group, merged);
+                for (Path run : group) Files.deleteIfExists(run);
+            }
+        } catch (IOException | RuntimeException e) {
+            for (Path run : result) Files.deleteIfExists(run);
+            throw e;
+        }
+        return result;
+    }
+
+    /**
+     * Perform a k-way merge of the given runs into output.
+     */
+    private void merge(List<Path> runs, Path output) throws IOException {
+        final Comparator<X> comparator = runSorter.getHelper().getComparator();
+        // NOTE ties are broken by run index so that elements of earlier runs come first.
+        Comparator<Cursor<X>> cursorComparator = (c1, c2) -> {
+            int cf = comparator.compare(c1.current, c2.current);
+            return cf != 0 ? cf : Integer.compare(c1.index, c2.index);
+        };
+        PriorityQueue<Cursor<X>> pq = new PriorityQueue<>(Math.max(runs.size(), 1), false, cursorComparator);
+        List<Cursor<X>> cursors = new ArrayList<>();
+        try (BufferedWriter writer = newWriter(output)) {
+            for (int i = 0; i < runs.size(); i++) {
+                Cursor<X> cursor = new Cursor<>(newReader(runs.get(i)), i, parser);
+                cursors.add(cursor);
+                if (cursor.advance()) pq.give(cursor);
+            }
+            while (!pq.isEmpty()) {
+                Cursor<X> cursor = pq.take();
+                writeLine(writer, cursor.current);
+                if (cursor.advance()) pq.give(cursor);
+            }
+        } catch (PQException e) {
+            throw new SortException("ExternalMergeSort: logic error in merge", e);
+        } finally {
+            for (Cursor<X> cursor : cursors) cursor.reader.close();
+        }
+    }
+
+    private void writeLine(BufferedWriter writer, X x) throws IOException {
+        writer.write(formatter.apply(x));
+        writer.newLine();
+    }
+
+    private BufferedReader newReader(Path path) throws IOException {
+        return new BufferedReader(Channels.newReader(FileChannel.open(path, StandardOpenOption.READ), StandardCharsets.UTF_8), bufferSize);
+    }
+
+    private BufferedWriter newWriter(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        return new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8), bufferSize);
+    }
+
+    private Path createTempFile() throws IOException {
+        return tempDir != null ? Files.createTempFile(tempDir.toPath(), "run", ".tmp") : Files.createTempFile("run", ".tmp");
+    }
+
+    /**
+     * Choose a run size such that a run (and the sorter's working storage) will occupy about a quarter of the heap.
+     * Of course, this is only an estimate since we don't know how big each element is.
+     */
+    private static int heapRunSize() {
+        long size = Runtime.getRuntime().maxMemory() / 4 / BYTES_PER_ELEMENT;
+        return (int) Math.max(Math.min(size, Integer.MAX_VALUE - 8), 1);
+    }
+
+    private static File getTempDir(Config config) {
+        String tempDir = config.getString(EXTERNALSORT, TEMPDIR, "");
+        return tempDir.isEmpty() ? null : new File(tempDir);
+    }
+
+    /**
+     * Class to represent the current (smallest unmerged) element of a run.
+     */
+    private static class Cursor<X> {
+
+        Cursor(BufferedReader reader, int index, Function<String, X> parser) {
+            this.reader = reader;
+            this.index = index;
+            this.parser = parser;
+        }
+
+        /**
+         * @return true if there is a current element; false if the run is exhausted.
+         */
+        boolean advance() throws IOException {
+            String line = reader.readLine();
+            current = line != null ? parser.apply(line) : null;
+            return line != null;
+        }
+
+        private final BufferedReader reader;
+        private final int index;
+        private final Function<String, X> parser;
+        private X current;
+    }
+
+    private static final int BYTES_PER_ELEMENT = 64;
+
+    private final SortWithHelper<X> runSorter;
+    private final Class<X> clazz;
+    private final Function<String, X> parser;
+    private final Function<X, String> formatter;
+    private final int runSize;
+    private final int fanIn;
+    private final int bufferSize;
+    private final File tempDir;
+    private int nRuns;
+    private int passes;
+
+    final static LazyLogger logger = new LazyLogger(ExternalMergeSort.class);
+}
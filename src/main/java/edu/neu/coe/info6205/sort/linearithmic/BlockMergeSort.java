@@ -0,0 +1,404 @@
+package edu.neu.coe.info6205.sort.linearithmic;
+
+import edu.neu.coe.info6205.sort.HasAdditionalMemory;
+import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.sort.SortException;
+import edu.neu.coe.info6205.sort.SortWithComparableHelper;
+import edu.neu.coe.info6205.sort.elementary.InsertionSort;
+import edu.neu.coe.info6205.util.Config;
+
+import java.util.Arrays;
+
+import static edu.neu.coe.info6205.sort.linearithmic.MergeSort.MERGESORT;
+
+/**
+ * Class BlockMergeSort: a stable, in-place block merge sort (in the style of GrailSort) which needs only constant additional memory.
+ * <p>
+ * Let s be the least power of two such that s*s is at least n.
+ * First, about 2s distinct elements ("keys") are collected (stably) at the start of the array:
+ * s of them form an internal buffer and the rest are used as tags, one for each block of s elements in a merge.
+ * Then runs of (a power of two, no greater than cutoff) elements are sorted by insertion sort and merged bottom-up, pass by pass.
+ * Each merge writes its output into the buffer, which therefore "scrolls" to the right (the buffer elements are swapped
+ * into the places which are vacated): at the end of each pass, the buffer is moved back to the start.
+ * <ul>
+ *     <li>while the runs are shorter than s, they are simply merged through the buffer;</li>
+ *     <li>thereafter, each run is split into blocks of s elements: the blocks of both runs (but not the final partial
+ *     block of the second run) are selection-sorted by their first elements (the tags keep the blocks of each run in order
+ *     and put a block of the first run before a block of the second run with an equal first element); then the blocks are
+ *     merged locally, left to right, through the buffer: wherever adjacent blocks come from different runs, they are merged
+ *     until one of them is exhausted, and what remains of the other is carried forward to the next block.</li>
+ * </ul>
+ * Each merge therefore takes linear time, and the sort as a whole takes O(n log n) time.
+ * Finally, the keys are sorted and merged back (by rotations) into the rest of the array.
+ * <p>
+ * If there are too few distinct elements to form the buffer and the tags, or if nobuffer (in [mergesort]) is set,
+ * each merge is instead done by rotations: the longer run is split at its midpoint and the other run is split (by binary search)
+ * at the corresponding element, so that the middle two pieces can be exchanged by a rotation, leaving two smaller merges.
+ * That takes O(n log^2 n) time.
+ * <p>
+ * The additional memory (none, other than a few indices) is reported through HasAdditionalMemory so that it can be compared with
+ * that of MergeSort (which needs n additional elements).
+ *
+ * @param <X> the underlying comparable type.
+ */
+public class BlockMergeSort<X extends Comparable<X>> extends SortWithComparableHelper<X> implements HasAdditionalMemory {
+
+    public static final String DESCRIPTION = "Block merge sort";
+    public static final String NOBUFFER = "nobuffer";
+
+    /**
+     * Constructor for BlockMergeSort
+     *
+     * @param helper   an explicit instance of Helper to be used.
+     * @param buffered true if the internal buffer is to be used.
+     */
+    public BlockMergeSort(Helper<X> helper, boolean buffered) {
+        super(helper);
+        this.buffered = buffered;
+        insertionSort = setupInsertionSort(helper);
+    }
+
+    /**
+     * Constructor for BlockMergeSort which uses an internal buffer.
+     *
+     * @param helper an explicit instance of Helper to be used.
+     */
+    public BlockMergeSort(Helper<X> helper) {
+        this(helper, true);
+    }
+
+    /**
+     * Constructor for BlockMergeSort
+     *
+     * @param N      the number elements we expect to sort.
+     * @param nRuns  the expected number of runs.
+     * @param config the configuration.
+     */
+    public BlockMergeSort(int N, int nRuns, Config config) {
+        super(DESCRIPTION + (config.getBoolean(MERGESORT, NOBUFFER) ? " with no buffer" : ""), N, nRuns, config);
+        this.buffered = !config.getBoolean(MERGESORT, NOBUFFER);
+        insertionSort = setupInsertionSort(getHelper());
+    }
+
+    private InsertionSort<X> setupInsertionSort(final Helper<X> helper) {
+        return InsertionSort.create(helper.clone("Block merge sort: insertion sort"), true);
+    }
+
+    public X[] sort(X[] xs, boolean makeCopy) {
+        getHelper().init(xs.length);
+        X[] result = makeCopy ? Arrays.copyOf(xs, xs.length) : xs;
+        sort(result, 0, result.length);
+        return result;
+    }
+
+    /**
+     * Sort the sub-array xs[from] ... xs[to-1].
+     *
+     * @param xs   the array to be sorted.
+     * @param from the index of the first element to sort.
+     * @param to   the index of the first element not to sort.
+     */
+    public void sort(X[] xs, int from, int to) {
+        final int n = to - from;
+        // NOTE the width of the initial runs is a power of two so that, once the runs are at least s long, they consist of whole blocks.
+        final int width = Integer.highestOneBit(helper.cutoff());
+        if (buffered && n >= MIN_BUFFERED) {
+            int s = 1;
+            while (s * s < n) s *= 2;
+            int k = s + (n - 1) / s + 1;
+            // NOTE if there are too few keys, they are sorted along with everything else (they were collected stably).
+            if (collectKeys(xs, from, to, k) == k) {
+                blockSort(xs, from, to, s, k, width);
+                return;
+            }
+        }
+        for (int lo = from; lo < to; lo += width) insertionSort.sort(xs, lo, Math.min(lo + width, to));
+        for (int w = width; w < n; w *= 2)
+            for (int lo = from; lo < to - w; lo += 2 * w)
+                merge(xs, lo, lo + w, Math.min(lo + 2 * w, to));
+    }
+
+    /**
+     * Sort xs[from] ... xs[to-1] where the first k elements are distinct keys (s for the buffer and the rest for tags).
+     */
+    private void blockSort(X[] xs, int from, int to, int s, int k, int width) {
+        final int tags = from;
+        final int data = from + k;
+        final int n = to - data;
+        for (int lo = data; lo < to; lo += width) insertionSort.sort(xs, lo, Math.min(lo + width, to));
+        int w = width;
+        for (; w < s && w < n; w *= 2) {
+            int buffer = data - s;
+            for (int lo = data; lo < to; lo += 2 * w) {
+                int hi = Math.min(lo + 2 * w, to);
+                mergeBuffered(xs, buffer, lo, Math.min(lo + w, to), hi);
+                buffer += hi - lo;
+            }
+            resetBuffer(xs, data - s, to, s);
+        }
+        for (; w < n; w *= 2) {
+            int buffer = data - s;
+            for (int lo = data; lo < to; lo += 2 * w) {
+                int mid = Math.min(lo + w, to), hi = Math.min(lo + 2 * w, to);
+                if (mid < hi) mergeBlocks(xs, tags, buffer, lo, mid, hi, s);
+                else mergeBuffered(xs, buffer, lo, mid, hi);
+                buffer += hi - lo;
+            }
+            resetBuffer(xs, data - s, to, s);
+        }
+        insertionSort.sort(xs, from, data);
+        mergeKeys(xs, from, data, to);
+    }
+
+    /**
+     * Collect (up to) k distinct elements, in order, at the start of xs[from] ... xs[to-1].
+     * Each key is the first of the elements equal to it, and the other elements keep their order, so this is stable.
+     *
+     * @return the number of keys collected.
+     */
+    private int collectKeys(X[] xs, int from, int to, int k) {
+        int keys = 1, start = from;
+        for (int i = from + 1; i < to && keys < k; i++) {
+            X x = helper.get(xs, i);
+            int pos = lowerBound(xs, start, start + keys, x);
+            if (pos == start + keys || helper.less(x, helper.get(xs, pos))) {
+                // NOTE the keys are moved up to xs[i], which is then inserted among them.
+                rotate(xs, start, start + keys, i);
+                pos += i - keys - start;
+                start = i - keys;
+                rotate(xs, pos, i, i + 1);
+                keys++;
+            }
+        }
+        rotate(xs, from, start, start + keys);
+        return keys;
+    }
+
+    /**
+     * Merge the runs xs[lo] ... xs[mid-1] and xs[mid] ... xs[hi-1] (which may be empty) into xs[buffer] ... xs[buffer+hi-lo-1],
+     * where the buffer xs[buffer] ... xs[lo-1] is no shorter than the second run. The buffer ends up in xs[hi-lo+buffer] ... xs[hi-1].
+     */
+    private void mergeBuffered(X[] xs, int buffer, int lo, int mid, int hi) {
+        int i = lo, j = mid, k = buffer;
+        if (lo < mid && mid < hi && less(xs, mid, mid - 1))
+            while (i < mid && j < hi)
+                if (less(xs, j, i)) swap(xs, k++, j++);
+                else swap(xs, k++, i++);
+        while (i < mid) swap(xs, k++, i++);
+        while (j < hi) swap(xs, k++, j++);
+    }
+
+    /**
+     * Merge the runs xs[lo] ... xs[mid-1] (which consists of whole blocks of s elements) and xs[mid] ... xs[hi-1]
+     * into xs[buffer] ... xs[buffer+hi-lo-1], where the buffer xs[buffer] ... xs[lo-1] has s elements.
+     * The buffer ends up in xs[hi-s] ... xs[hi-1].
+     */
+    private void mergeBlocks(X[] xs, int tags, int buffer, int lo, int mid, int hi, int s) {
+        final int blocks = (hi - lo) / s;
+        final int tail = hi - lo - blocks * s;
+        final int tailStart = hi - tail;
+        // NOTE the tags of the first run's blocks are less than median; those of the second run's blocks are not.
+        insertionSort.sort(xs, tags, tags + blocks);
+        final int firstBlocks = (mid - lo) / s;
+        final X median = firstBlocks < blocks ? helper.get(xs, tags + firstBlocks) : null;
+        for (int i = 0; i < blocks - 1; i++) {
+            int min = i;
+            for (int j = i + 1; j < blocks; j++) {
+                int cf = compare(xs, lo + j * s, lo + min * s);
+                if (cf < 0 || cf == 0 && less(xs, tags + j, tags + min)) min = j;
+            }
+            if (min != i) {
+                swapBlocks(xs, lo + i * s, lo + min * s, s);
+                swap(xs, tags + i, tags + min);
+            }
+        }
+        // NOTE blocks of the first run whose first elements are greater than the first element of the tail must follow the tail.
+        int last = blocks;
+        if (tail > 0)
+            while (last > 0 && fromFirstRun(xs, tags + last - 1, median) && less(xs, tailStart, lo + (last - 1) * s))
+                last--;
+        // NOTE the pending elements (all from one run) are xs[pending] ... xs[pending+length-1], just after the buffer.
+        int pending = lo, length = 0;
+        boolean pendingFirst = true;
+        for (int b = 0; b < last; b++) {
+            int block = lo + b * s;
+            boolean first = fromFirstRun(xs, tags + b, median);
+            if (length == 0 || first == pendingFirst) {
+                // NOTE the pending elements precede all the elements which remain, so they can be output.
+                shiftLeft(xs, pending, length, s);
+                pending = block;
+                length = s;
+                pendingFirst = first;
+            } else {
+                int i = pending, j = block, k = pending - s;
+                int end = block + s;
+                while (i < block && j < end)
+                    if (pendingFirst ? less(xs, j, i) : !less(xs, i, j)) swap(xs, k++, j++);
+                    else swap(xs, k++, i++);
+                if (i < block) {
+                    // NOTE the block is exhausted: the rest of the pending elements are moved past the buffer.
+                    length = block - i;
+                    for (int t = length - 1; t >= 0; t--) swap(xs, i + t, i + t + s);
+                    pending = end - length;
+                } else {
+                    pending = j;
+                    length = end - j;
+                    pendingFirst = first;
+                }
+            }
+        }
+        if (!pendingFirst || tail == 0) {
+            shiftLeft(xs, pending, length, s);
+            pending += length;
+        }
+        if (tail > 0) mergeBuffered(xs, pending - s, pending, tailStart, hi);
+    }
+
+    /**
+     * @return true if the block whose tag is xs[tag] came from the first run (median is null if there are no full blocks in the second run).
+     */
+    private boolean fromFirstRun(X[] xs, int tag, X median) {
+        return median == null || helper.less(helper.get(xs, tag), median);
+    }
+
+    /**
+     * Move the n elements xs[from] ... xs[from+n-1] s places to the left, over (part of) the buffer which precedes them.
+     */
+    private void shiftLeft(X[] xs, int from, int n, int s) {
+        for (int t = 0; t < n; t++) swap(xs, from - s + t, from + t);
+    }
+
+    /**
+     * Move the buffer, which is at xs[to-s] ... xs[to-1], back to xs[from] ... xs[from+s-1].
+     */
+    private void resetBuffer(X[] xs, int from, int to, int s) {
+        for (int i = to - s - 1; i >= from; i--) swap(xs, i, i + s);
+    }
+
+    /**
+     * Exchange the n elements starting at xs[i] with the n elements starting at xs[j], where i+n is not greater than j.
+     */
+    private void swapBlocks(X[] xs, int i, int j, int n) {
+        for (int t = 0; t < n; t++) swap(xs, i + t, j + t);
+    }
+
+    /**
+     * Merge the short run of (distinct) keys xs[from] ... xs[mid-1] into xs[mid] ... xs[to-1] by rotations.
+     * Each key precedes the elements equal to it.
+     */
+    private void mergeKeys(X[] xs, int from, int mid, int to) {
+        while (from < mid && mid < to) {
+            int cut = lowerBound(xs, mid, to, helper.get(xs, from));
+            rotate(xs, from, mid, cut);
+            from += cut - mid + 1;
+            mid = cut;
+        }
+    }
+
+    /**
+     * Merge the (sorted) runs xs[from] ... xs[mid-1] and xs[mid] ... xs[to-1] in place, by rotations.
+     */
+    private void merge(X[] xs, int from, int mid, int to) {
+        if (from == mid || mid == to || !less(xs, mid, mid - 1)) return;
+        int n1 = mid - from, n2 = to - mid;
+        int cut1, cut2;
+        if (n1 >= n2) {
+            cut1 = from + n1 / 2;
+            cut2 = lowerBound(xs, mid, to, helper.get(xs, cut1));
+        } else {
+            cut2 = mid + n2 / 2;
+            cut1 = upperBound(xs, from, mid, helper.get(xs, cut2));
+        }
+        // NOTE every element of xs[cut1] ... xs[mid-1] is greater than every element of xs[mid] ... xs[cut2-1].
+        rotate(xs, cut1, mid, cut2);
+        int newMid = cut1 + (cut2 - mid);
+        merge(xs, from, cut1, newMid);
+        merge(xs, newMid, cut2, to);
+    }
+
+    /**
+     * Exchange the adjacent blocks xs[from] ... xs[mid-1] and xs[mid] ... xs[to-1] by three reversals.
+     */
+    private void rotate(X[] xs, int from, int mid, int to) {
+        if (from == mid || mid == to) return;
+        reverse(xs, from, mid);
+        reverse(xs, mid, to);
+        reverse(xs, from, to);
+    }
+
+    /**
+     * Reverse xs[from] ... xs[to-1].
+     */
+    private void reverse(X[] xs, int from, int to) {
+        for (int i = from, j = to - 1; i < j; i++, j--) swap(xs, i, j);
+    }
+
+    /**
+     * @return the index of the first element of xs[from] ... xs[to-1] which is not less than x.
+     */
+    private int lowerBound(X[] xs, int from, int to, X x) {
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            if (helper.less(helper.get(xs, mid), x)) from = mid + 1;
+            else to = mid;
+        }
+        return from;
+    }
+
+    /**
+     * @return the index of the first element of xs[from] ... xs[to-1] which is greater than x.
+     */
+    private int upperBound(X[] xs, int from, int to, X x) {
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            if (helper.less(x, helper.get(xs, mid))) to = mid;
+            else from = mid + 1;
+        }
+        return from;
+    }
+
+    private boolean less(X[] xs, int i, int j) {
+        return helper.less(helper.get(xs, i), helper.get(xs, j));
+    }
+
+    private int compare(X[] xs, int i, int j) {
+        return helper.compare(helper.get(xs, i), helper.get(xs, j));
+    }
+
+    /**
+     * NOTE every element is moved by swapping so that, when fixes are counted, each swap is accounted for.
+     * The index i must be less than j.
+     */
+    private void swap(X[] xs, int i, int j) {
+        helper.swap(xs, i, j);
+    }
+
+    public void setArrayMemory(int n) {
+        if (arrayMemory == -1) {
+            arrayMemory = n;
+            additionalMemory(n);
+        }
+    }
+
+    public void additionalMemory(int n) {
+        additionalMemory += n;
+        if (maxMemory < additionalMemory) maxMemory = additionalMemory;
+    }
+
+    public Double getMemoryFactor() {
+        if (arrayMemory == -1) throw new SortException("Array memory has not been set");
+        return 1.0 * maxMemory / arrayMemory;
+    }
+
+    /**
+     * The smallest array for which the internal buffer is used.
+     */
+    private static final int MIN_BUFFERED = 64;
+
+    private final boolean buffered;
+    private final InsertionSort<X> insertionSort;
+
+    private int arrayMemory = -1;
+    private int additionalMemory;
+    private int maxMemory;
+}
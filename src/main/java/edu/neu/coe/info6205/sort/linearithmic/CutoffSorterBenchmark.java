@@ -0,0 +1,92 @@
+package edu.neu.coe.info6205.sort.linearithmic;
+
+import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.sort.InstrumentedComparableHelper;
+import edu.neu.coe.info6205.sort.NonInstrumentingComparableHelper;
+import edu.neu.coe.info6205.sort.SortWithHelper;
+import edu.neu.coe.info6205.sort.elementary.InsertionSort;
+import edu.neu.coe.info6205.util.Benchmark_Timer;
+import edu.neu.coe.info6205.util.Config;
+import edu.neu.coe.info6205.util.LazyLogger;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.function.Function;
+
+import static edu.neu.coe.info6205.util.Utilities.formatWhole;
+
+/**
+ * Benchmark to compare the sorters of small partitions (see InsertionSort.create), in particular SortingNetwork,
+ * as the base case of MergeSortBasic, QuickSort_DualPivot and IntroSort on random Integers.
+ * NOTE that MergeSortBasic, being stable, never uses SortingNetwork (its base case is reported with each result).
+ * For each sorter and each base case, the mean number of compares is measured (using an InstrumentedComparableHelper)
+ * and, separately, the mean time (without instrumentation).
+ * <p>
+ * The array size, the cutoff, the base cases and the number of runs are taken from the [cutoffsorterbenchmark] section of the configuration.
+ */
+public class CutoffSorterBenchmark {
+
+    public CutoffSorterBenchmark(Config config) {
+        this.config = config;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Config config = Config.load(CutoffSorterBenchmark.class);
+        new CutoffSorterBenchmark(config).runBenchmarks();
+    }
+
+    public void runBenchmarks() {
+        final int n = config.getInt(CUTOFFSORTERBENCHMARK, "n", 100_000);
+        final int runs = config.getInt(CUTOFFSORTERBENCHMARK, "runs", 20);
+        final String cutoff = config.getString(CUTOFFSORTERBENCHMARK, "cutoff", "16");
+        for (String variant : config.getString(CUTOFFSORTERBENCHMARK, "variants", "insertion,binary,pair,network").split(",")) {
+            final Config variantConfig = config.copy(Config.HELPER, InsertionSort.INSERTIONSORT, variant.trim()).copy(Config.HELPER, Config.CUTOFF, cutoff);
+            logger.info(runBenchmark("MergeSortBasic", MergeSortBasic::new, true, variantConfig, n, runs));
+            logger.info(runBenchmark("QuickSort_DualPivot", QuickSort_DualPivot::new, false, variantConfig, n, runs));
+            logger.info(runBenchmark("IntroSort", IntroSort::new, false, variantConfig, n, runs));
+        }
+    }
+
+    /**
+     * Method to measure the compares and the time taken by a sorter with the base case given by variantConfig.
+     *
+     * @param name          the name of the sorter.
+     * @param factory       a function to create the sorter from a Helper.
+     * @param stable        true if the sorter is stable (in which case SortingNetwork is not used as its base case).
+     * @param variantConfig the configuration (which determines the base case and the cutoff).
+     * @param n             the number of elements to sort.
+     * @param runs          the number of runs.
+     * @return a line of results.
+     */
+    String runBenchmark(String name, Function<Helper<Integer>, SortWithHelper<Integer>> factory, boolean stable, Config variantConfig, int n, int runs) {
+        final Config instrumenting = variantConfig.copy(Config.HELPER, Config.INSTRUMENT, "true");
+        long compares = 0;
+        final String baseCase;
+        try (InstrumentedComparableHelper<Integer> helper = new InstrumentedComparableHelper<>("CutoffSorterBenchmark", n, runs, instrumenting)) {
+            SortWithHelper<Integer> sorter = factory.apply(helper);
+            baseCase = InsertionSort.create(helper, stable).getClass().getSimpleName();
+            for (int i = 0; i < runs; i++) {
+                helper.init(n);
+                Integer[] xs = helper.random(Integer.class, Random::nextInt);
+                sorter.mutatingSort(xs);
+                compares += helper.getCompares();
+            }
+        }
+        final double time;
+        try (NonInstrumentingComparableHelper<Integer> helper = new NonInstrumentingComparableHelper<>("CutoffSorterBenchmark", n, variantConfig)) {
+            SortWithHelper<Integer> sorter = factory.apply(helper);
+            time = new Benchmark_Timer<Integer[]>(name + " with " + baseCase, sorter::mutatingSort)
+                    .runFromSupplier(() -> helper.random(Integer.class, Random::nextInt), runs);
+        }
+        final double nLgN = n * Math.log(n) / Math.log(2);
+        return String.format("%s with %s (cutoff %d), n=%s: mean compares: %s (%.3f per n lg n); mean time: %.3f msecs",
+                name, baseCase, variantConfig.getInt(Config.HELPER, Config.CUTOFF, 0), formatWhole(n),
+                formatWhole((int) (compares / runs)), compares / runs / nLgN, time);
+    }
+
+    public static final String CUTOFFSORTERBENCHMARK = "cutoffsorterbenchmark";
+
+    private final Config config;
+
+    final static LazyLogger logger = new LazyLogger(CutoffSorterBenchmark.class);
+}
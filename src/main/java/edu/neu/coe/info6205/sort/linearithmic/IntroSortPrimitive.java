@@ -0,0 +1,89 @@
+package edu.neu.coe.info6205.sort.linearithmic;
+
+import edu.neu.coe.info6205.sort.elementary.HeapSortPrimitive;
+
+/**
+ * Class IntroSortPrimitive: the specialization of IntroSort for arrays of int, long and double.
+ * <p>
+ * As with IntroSort, we use dual-pivot quicksort until the recursion depth reaches 2 lg(n) at which point we switch to heap sort.
+ * Sub-arrays of no more than 16 elements are sorted by insertion sort.
+ * NOTE that, as with IntroSort, an instance should not be used to run more than one sort at a time.
+ */
+public class IntroSortPrimitive extends QuickSort_DualPivotPrimitive {
+
+    public static final String DESCRIPTION = "Intro sort (primitive)";
+
+    public IntroSortPrimitive() {
+        super(sizeThreshold);
+    }
+
+    public String getDescription() {
+        return DESCRIPTION;
+    }
+
+    public void sort(int[] xs, int from, int to) {
+        depthThreshold = 2 * floor_lg(to - from);
+        sort(xs, from, to, 0);
+    }
+
+    protected boolean terminator(int[] xs, int from, int to, int depth) {
+        if (to - from <= sizeThreshold) {
+            if (to > from + 1)
+                getInsertionSort().sort(xs, from, to);
+            return true;
+        }
+
+        if (depth >= depthThreshold) {
+            heapSort.sort(xs, from, to);
+            return true;
+        }
+
+        return false;
+    }
+
+    public void sort(long[] xs, int from, int to) {
+        depthThreshold = 2 * floor_lg(to - from);
+        sort(xs, from, to, 0);
+    }
+
+    protected boolean terminator(long[] xs, int from, int to, int depth) {
+        if (to - from <= sizeThreshold) {
+            if (to > from + 1)
+                getInsertionSort().sort(xs, from, to);
+            return true;
+        }
+
+        if (depth >= depthThreshold) {
+            heapSort.sort(xs, from, to);
+            return true;
+        }
+
+        return false;
+    }
+
+    public void sort(double[] xs, int from, int to) {
+        depthThreshold = 2 * floor_lg(to - from);
+        sort(xs, from, to, 0);
+    }
+
+    protected boolean terminator(double[] xs, int from, int to, int depth) {
+        if (to - from <= sizeThreshold) {
+            if (to > from + 1)
+                getInsertionSort().sort(xs, from, to);
+            return true;
+        }
+
+        if (depth >= depthThreshold) {
+            heapSort.sort(xs, from, to);
+            return true;
+        }
+
+        return false;
+    }
+
+    private int depthThreshold = Integer.MAX_VALUE;
+
+    private final HeapSortPrimitive heapSort = new HeapSortPrimitive();
+
+    private static final int sizeThreshold = 16;
+}
@@ -45,7 +45,7 @@ public class MergeSort<X extends Comparable<X>> extends SortWithComparableHelper
     }
 
     private InsertionSort<X> setupInsertionSort(final Helper<X> helper) {
-        return new InsertionSort<>(helper.clone("MergeSort: insertion sort"));
+        return InsertionSort.create(helper.clone("MergeSort: insertion sort"), true);
     }
 
     public X[] sort(X[] xs, boolean makeCopy) {
@@ -23,7 +23,7 @@ public class MergeSortBasic<X extends Comparable<X>> extends SortWithComparableH
     public MergeSortBasic(Helper<X> helper) {
         super(helper);
         // TODO use impersonat (like in MergeSort)
-        insertionSort = new InsertionSort<>(helper);
+        insertionSort = InsertionSort.create(helper, true);
     }
 
     /**
@@ -35,7 +35,7 @@ public class MergeSortBasic<X extends Comparable<X>> extends SortWithComparableH
     public MergeSortBasic(int N, Config config) {
         super(DESCRIPTION + ":" + getConfigString(config), N, 1, config);
         // TODO use impersonat (like in MergeSort)
-        insertionSort = new InsertionSort<>(getHelper());
+        insertionSort = InsertionSort.create(getHelper(), true);
     }
 
     private static String getConfigString(Config config) {
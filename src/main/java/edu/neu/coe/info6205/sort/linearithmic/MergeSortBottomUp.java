@@ -0,0 +1,151 @@
+package edu.neu.coe.info6205.sort.linearithmic;
+
+import edu.neu.coe.info6205.sort.HasAdditionalMemory;
+import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.sort.SortException;
+import edu.neu.coe.info6205.sort.SortWithComparableHelper;
+import edu.neu.coe.info6205.sort.elementary.InsertionSort;
+import edu.neu.coe.info6205.util.Config;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+
+/**
+ * Class MergeSortBottomUp: a bottom-up (non-recursive) merge sort.
+ * <p>
+ * First, each block of cutoff elements (see Helper.cutoff) is sorted by insertion sort.
+ * Then the runs are merged pairwise, pass by pass, doubling the run width each time.
+ * Each pass merges from one buffer (the array or a single auxiliary array) into the other, and then
+ * the roles of the two are swapped (ping-pong): so nothing is copied between passes
+ * (except for a final copy back to the array if there was an odd number of passes).
+ * When two adjacent runs are already in order, they are simply block-copied.
+ * <p>
+ * Every pass is a sequential sweep through both buffers, which suits the hardware prefetcher,
+ * and there is no recursion at all.
+ *
+ * @param <X> the underlying comparable type.
+ */
+public class MergeSortBottomUp<X extends Comparable<X>> extends SortWithComparableHelper<X> implements HasAdditionalMemory {
+
+    public static final String DESCRIPTION = "MergeSort (bottom-up)";
+
+    /**
+     * Constructor for MergeSortBottomUp
+     *
+     * @param helper an explicit instance of Helper to be used.
+     */
+    public MergeSortBottomUp(Helper<X> helper) {
+        super(helper);
+        insertionSort = setupInsertionSort(helper);
+    }
+
+    /**
+     * Constructor for MergeSortBottomUp
+     *
+     * @param N      the number elements we expect to sort.
+     * @param nRuns  the expected number of runs.
+     * @param config the configuration.
+     */
+    public MergeSortBottomUp(int N, int nRuns, Config config) {
+        super(DESCRIPTION, N, nRuns, config);
+        insertionSort = setupInsertionSort(getHelper());
+    }
+
+    private InsertionSort<X> setupInsertionSort(final Helper<X> helper) {
+        return InsertionSort.create(helper.clone("MergeSort (bottom-up): insertion sort"), true);
+    }
+
+    public X[] sort(X[] xs, boolean makeCopy) {
+        getHelper().init(xs.length);
+        X[] result = makeCopy ? Arrays.copyOf(xs, xs.length) : xs;
+        sort(result, 0, result.length);
+        return result;
+    }
+
+    /**
+     * Sort the sub-array xs[from] ... xs[to-1].
+     *
+     * @param xs   the array to be sorted.
+     * @param from the index of the first element to sort.
+     * @param to   the index of the first element not to sort.
+     */
+    public void sort(X[] xs, int from, int to) {
+        final int n = to - from;
+        final int width = helper.cutoff();
+        for (int lo = from; lo < to; lo += width) insertionSort.sort(xs, lo, Math.min(lo + width, to));
+        if (n <= width) return;
+
+        additionalMemory(n);
+        @SuppressWarnings("unchecked") X[] aux = (X[]) Array.newInstance(xs.getClass().getComponentType(), n);
+        // NOTE logical index k corresponds to xs[from + k] and to aux[k].
+        X[] source = xs, target = aux;
+        int sourceOffset = from, targetOffset = 0;
+        for (int w = width; w < n; w *= 2) {
+            for (int lo = 0; lo < n; lo += 2 * w) {
+                int mid = Math.min(lo + w, n), hi = Math.min(lo + 2 * w, n);
+                if (mid == hi || !helper.less(helper.get(source, sourceOffset + mid), helper.get(source, sourceOffset + mid - 1)))
+                    helper.copyBlock(source, sourceOffset + lo, target, targetOffset + lo, hi - lo);
+                else
+                    merge(source, sourceOffset + lo, sourceOffset + mid, sourceOffset + hi, target, targetOffset + lo);
+            }
+            X[] temp = source;
+            source = target;
+            target = temp;
+            int tempOffset = sourceOffset;
+            sourceOffset = targetOffset;
+            targetOffset = tempOffset;
+        }
+        if (source != xs) helper.copyBlock(source, sourceOffset, xs, from, n);
+        additionalMemory(-n);
+    }
+
+    /**
+     * Merge the runs source[from] ... source[mid-1] and source[mid] ... source[to-1] into target (starting at k).
+     */
+    private void merge(X[] source, int from, int mid, int to, X[] target, int k) {
+        int i = from, j = mid;
+        X v = helper.get(source, i);
+        X w = helper.get(source, j);
+        while (true) {
+            if (helper.less(w, v)) {
+                helper.incrementFixes(mid - i);
+                helper.copy(w, target, k++);
+                if (++j == to) {
+                    helper.copyBlock(source, i, target, k, mid - i);
+                    return;
+                }
+                w = helper.get(source, j);
+            } else {
+                helper.copy(v, target, k++);
+                if (++i == mid) {
+                    helper.copyBlock(source, j, target, k, to - j);
+                    return;
+                }
+                v = helper.get(source, i);
+            }
+        }
+    }
+
+    public void setArrayMemory(int n) {
+        if (arrayMemory == -1) {
+            arrayMemory = n;
+            additionalMemory(n);
+        }
+    }
+
+    public void additionalMemory(int n) {
+        additionalMemory += n;
+        if (maxMemory < additionalMemory) maxMemory = additionalMemory;
+    }
+
+    public Double getMemoryFactor() {
+        if (arrayMemory == -1) throw new SortException("Array memory has not been set");
+        return 1.0 * maxMemory / arrayMemory;
+    }
+
+    private final InsertionSort<X> insertionSort;
+
+    private int arrayMemory = -1;
+    private int additionalMemory;
+    private int maxMemory;
+}
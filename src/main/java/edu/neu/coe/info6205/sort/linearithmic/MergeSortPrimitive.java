@@ -0,0 +1,145 @@
+package edu.neu.coe.info6205.sort.linearithmic;
+
+import edu.neu.coe.info6205.sort.PrimitiveSort;
+import edu.neu.coe.info6205.sort.elementary.InsertionSortPrimitive;
+import edu.neu.coe.info6205.sort.vector.IntKernel;
+import edu.neu.coe.info6205.sort.vector.ScalarIntKernel;
+import edu.neu.coe.info6205.util.Config;
+
+import static edu.neu.coe.info6205.sort.PrimitiveSort.less;
+
+/**
+ * Class MergeSortPrimitive: the specialization of MergeSort for arrays of int, long and double.
+ * <p>
+ * A single auxiliary array (of the size of the sub-array to be sorted) is allocated per sort.
+ * Small sub-arrays are sorted by insertion sort (for int[], by an IntKernel, which may be vectorized),
+ * and we skip the merge when the two halves are already in order.
+ */
+public class MergeSortPrimitive implements PrimitiveSort {
+
+    public static final String DESCRIPTION = "MergeSort (primitive)";
+
+    /**
+     * Constructor for MergeSortPrimitive.
+     *
+     * @param cutoff the size at or below which a sub-array is sorted by insertion sort.
+     */
+    public MergeSortPrimitive(int cutoff) {
+        this(cutoff, new ScalarIntKernel());
+    }
+
+    /**
+     * Constructor for MergeSortPrimitive.
+     *
+     * @param cutoff the size at or below which a sub-array is sorted by insertion sort (or, for int[], by the kernel).
+     * @param kernel the IntKernel to be used for the base case of int[] sub-arrays.
+     */
+    public MergeSortPrimitive(int cutoff, IntKernel kernel) {
+        // NOTE a cutoff of 0 or less would result in an infinite recursion.
+        this.cutoff = Math.max(cutoff, 1);
+        this.kernel = kernel;
+    }
+
+    /**
+     * Constructor for MergeSortPrimitive which takes its cutoff (and whether to vectorize) from the [helper] section of the configuration.
+     *
+     * @param config the configuration.
+     */
+    public MergeSortPrimitive(Config config) {
+        this(PrimitiveSort.getCutoff(config), IntKernel.create(config));
+    }
+
+    public String getDescription() {
+        return kernel.isVectorized() ? DESCRIPTION + " " + kernel.getDescription() : DESCRIPTION;
+    }
+
+    public void sort(int[] xs, int from, int to) {
+        if (to - from > 1) sort(xs, new int[to - from], from, from, to);
+    }
+
+    /**
+     * Sort xs[from] ... xs[to-1] where aux[0] corresponds to xs[base].
+     */
+    private void sort(int[] xs, int[] aux, int base, int from, int to) {
+        if (to <= from + cutoff) {
+            kernel.sortSmall(xs, from, to);
+            return;
+        }
+        int mid = from + (to - from) / 2;
+        sort(xs, aux, base, from, mid);
+        sort(xs, aux, base, mid, to);
+        if (less(xs[mid], xs[mid - 1])) merge(xs, aux, base, from, mid, to);
+    }
+
+    private static void merge(int[] xs, int[] aux, int base, int from, int mid, int to) {
+        System.arraycopy(xs, from, aux, from - base, to - from);
+        int i = from - base, iEnd = mid - base;
+        int j = mid - base, jEnd = to - base;
+        int k = from;
+        while (i < iEnd && j < jEnd) xs[k++] = less(aux[j], aux[i]) ? aux[j++] : aux[i++];
+        // NOTE any remaining elements of the second half are already in place.
+        while (i < iEnd) xs[k++] = aux[i++];
+    }
+
+    public void sort(long[] xs, int from, int to) {
+        if (to - from > 1) sort(xs, new long[to - from], from, from, to);
+    }
+
+    /**
+     * Sort xs[from] ... xs[to-1] where aux[0] corresponds to xs[base].
+     */
+    private void sort(long[] xs, long[] aux, int base, int from, int to) {
+        if (to <= from + cutoff) {
+            insertionSort.sort(xs, from, to);
+            return;
+        }
+        int mid = from + (to - from) / 2;
+        sort(xs, aux, base, from, mid);
+        sort(xs, aux, base, mid, to);
+        if (less(xs[mid], xs[mid - 1])) merge(xs, aux, base, from, mid, to);
+    }
+
+    private static void merge(long[] xs, long[] aux, int base, int from, int mid, int to) {
+        System.arraycopy(xs, from, aux, from - base, to - from);
+        int i = from - base, iEnd = mid - base;
+        int j = mid - base, jEnd = to - base;
+        int k = from;
+        while (i < iEnd && j < jEnd) xs[k++] = less(aux[j], aux[i]) ? aux[j++] : aux[i++];
+        // NOTE any remaining elements of the second half are already in place.
+        while (i < iEnd) xs[k++] = aux[i++];
+    }
+
+    public void sort(double[] xs, int from, int to) {
+        if (to - from > 1) sort(xs, new double[to - from], from, from, to);
+    }
+
+    /**
+     * Sort xs[from] ... xs[to-1] where aux[0] corresponds to xs[base].
+     */
+    private void sort(double[] xs, double[] aux, int base, int from, int to) {
+        if (to <= from + cutoff) {
+            insertionSort.sort(xs, from, to);
+            return;
+        }
+        int mid = from + (to - from) / 2;
+        sort(xs, aux, base, from, mid);
+        sort(xs, aux, base, mid, to);
+        if (less(xs[mid], xs[mid - 1])) merge(xs, aux, base, from, mid, to);
+    }
+
+    private static void merge(double[] xs, double[] aux, int base, int from, int mid, int to) {
+        System.arraycopy(xs, from, aux, from - base, to - from);
+        int i = from - base, iEnd = mid - base;
+        int j = mid - base, jEnd = to - base;
+        int k = from;
+        while (i < iEnd && j < jEnd) xs[k++] = less(aux[j], aux[i]) ? aux[j++] : aux[i++];
+        // NOTE any remaining elements of the second half are already in place.
+        while (i < iEnd) xs[k++] = aux[i++];
+    }
+
+    private final int cutoff;
+
+    private final IntKernel kernel;
+
+    private final InsertionSortPrimitive insertionSort = new InsertionSortPrimitive();
+}
@@ -0,0 +1,355 @@
+package edu.neu.coe.info6205.sort.linearithmic;
+
+import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.sort.NonInstrumentingComparableHelper;
+import edu.neu.coe.info6205.sort.elementary.HeapSort;
+import edu.neu.coe.info6205.util.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Class PDQSort: pattern-defeating quicksort (after Orson Peters' pdqsort) which extends QuickSort.
+ * <p>
+ * In addition to the usual (median-of-three or, for large partitions, ninther) quicksort:
+ * <ul>
+ *     <li>partitioning is done in blocks: the indices of misplaced elements are first collected (without branching on
+ *     the comparisons) in two small offset buffers and only then swapped;</li>
+ *     <li>if partitioning did not have to swap anything, the partition is probably already sorted
+ *     (e.g. an ascending run) so a partial insertion sort is tried which gives up after a few moves;</li>
+ *     <li>if a pivot is equal to the element which precedes its partition (i.e. the pivot of some ancestor),
+ *     elements equal to the pivot are partitioned to the left and never looked at again, so that many duplicates
+ *     cost linear time;</li>
+ *     <li>after a highly unbalanced partition, some elements are swapped so as to break up any pattern which is
+ *     defeating the choice of pivots; after lg(n) such partitions, HeapSort takes over (as in IntroSort).</li>
+ * </ul>
+ * NOTE that, as in IntroSort, the cutoff for insertion sort is fixed (and not taken from the configuration).
+ *
+ * @param <X> the underlying comparable type.
+ */
+public class PDQSort<X extends Comparable<X>> extends QuickSort<X> {
+
+    public static final String DESCRIPTION = "Pattern-defeating quicksort";
+
+    /**
+     * Constructor for PDQSort
+     *
+     * @param helper an explicit instance of Helper to be used.
+     */
+    public PDQSort(Helper<X> helper) {
+        super(helper);
+        pdqPartitioner = new Partitioner_PDQ(helper);
+        setPartitioner(pdqPartitioner);
+        heapSort = new HeapSort<>(helper);
+    }
+
+    public PDQSort(Config config) {
+        this(new NonInstrumentingComparableHelper<>(DESCRIPTION, config));
+    }
+
+    /**
+     * Constructor for PDQSort
+     *
+     * @param N      the number elements we expect to sort.
+     * @param config the configuration.
+     */
+    public PDQSort(int N, Config config) {
+        super(DESCRIPTION, N, 1, config);
+        pdqPartitioner = new Partitioner_PDQ(getHelper());
+        setPartitioner(pdqPartitioner);
+        heapSort = new HeapSort<>(getHelper());
+    }
+
+    public Partitioner<X> createPartitioner() {
+        return new Partitioner_PDQ(getHelper());
+    }
+
+    /**
+     * Sort the sub-array xs[from] ... xs[to-1]
+     *
+     * @param xs    the complete array from which this sub-array derives.
+     * @param from  the index of the first element to sort.
+     * @param to    the index of the first element not to sort.
+     * @param depth the depth of the recursion.
+     */
+    public void sort(X[] xs, int from, int to, int depth) {
+        sort(xs, from, to, log2(to - from), true, depth);
+    }
+
+    /**
+     * @return the number of times that HeapSort has been invoked since this PDQSort was created.
+     */
+    public int getHeapSorts() {
+        return heapSorts;
+    }
+
+    /**
+     * Sort xs[from] ... xs[to-1] by recursing on the left partition and iterating on the right.
+     *
+     * @param badAllowed the number of highly unbalanced partitions which we allow before switching to HeapSort.
+     * @param leftmost   true if this partition is not preceded by a previous pivot.
+     */
+    private void sort(X[] xs, int from, int to, int badAllowed, boolean leftmost, int depth) {
+        Helper<X> helper = getHelper();
+        while (true) {
+            int n = to - from;
+            if (n <= INSERTION_SORT_THRESHOLD) {
+                if (n > 1) getInsertionSort().sort(xs, from, to);
+                return;
+            }
+            helper.registerDepth(depth);
+
+            // Move the pivot (median of three, or ninther) to xs[from].
+            int mid = from + n / 2;
+            if (n > NINTHER_THRESHOLD) {
+                sort3(xs, from, mid, to - 1);
+                sort3(xs, from + 1, mid - 1, to - 2);
+                sort3(xs, from + 2, mid + 1, to - 3);
+                sort3(xs, mid - 1, mid, mid + 1);
+                helper.swap(xs, from, mid);
+            } else sort3(xs, mid, from, to - 1);
+
+            // If the pivot is no greater than the previous pivot (which is at from-1) then every element of this
+            // partition is at least the previous pivot: so we partition off (and ignore) the elements equal to it.
+            if (!leftmost && !helper.less(xs, from - 1, from)) {
+                from = pdqPartitioner.partitionLeft(xs, from, to) + 1;
+                continue;
+            }
+
+            List<Partition<X>> partitions = pdqPartitioner.partition(new Partition<>(xs, from, to));
+            int pivot = partitions.get(0).to;
+            boolean alreadyPartitioned = pdqPartitioner.isAlreadyPartitioned();
+            int leftSize = pivot - from;
+            int rightSize = to - (pivot + 1);
+            if (leftSize < n / 8 || rightSize < n / 8) {
+                if (--badAllowed == 0) {
+                    heapSorts++;
+                    heapSort.sort(xs, from, to);
+                    return;
+                }
+                if (leftSize >= INSERTION_SORT_THRESHOLD) breakPatterns(xs, from, pivot);
+                if (rightSize >= INSERTION_SORT_THRESHOLD) breakPatterns(xs, pivot + 1, to);
+            } else if (alreadyPartitioned && partialInsertionSort(xs, from, pivot) && partialInsertionSort(xs, pivot + 1, to))
+                return;
+
+            sort(xs, from, pivot, badAllowed, leftmost, depth + 1);
+            from = pivot + 1;
+            leftmost = false;
+            depth++;
+        }
+    }
+
+    /**
+     * Swap a few elements at (roughly) the quartiles of xs[from] ... xs[to-1] with its ends.
+     */
+    private void breakPatterns(X[] xs, int from, int to) {
+        Helper<X> helper = getHelper();
+        int n = to - from;
+        int quarter = n / 4;
+        helper.swap(xs, from, from + quarter);
+        helper.swap(xs, to - 1, to - quarter);
+        if (n > NINTHER_THRESHOLD) {
+            helper.swap(xs, from + 1, from + quarter + 1);
+            helper.swap(xs, from + 2, from + quarter + 2);
+            helper.swap(xs, to - 2, to - quarter - 1);
+            helper.swap(xs, to - 3, to - quarter - 2);
+        }
+    }
+
+    /**
+     * Insertion sort xs[from] ... xs[to-1] unless it takes more than PARTIAL_INSERTION_SORT_LIMIT moves.
+     *
+     * @return true if the range is now sorted; false if we gave up.
+     */
+    private boolean partialInsertionSort(X[] xs, int from, int to) {
+        Helper<X> helper = getHelper();
+        int moves = 0;
+        for (int i = from + 1; i < to; i++) {
+            if (helper.less(xs, i, i - 1)) {
+                X x = helper.get(xs, i);
+                int j = i;
+                do {
+                    helper.copy(xs, j - 1, xs, j);
+                    j--;
+                } while (j > from && helper.less(xs, x, j - 1));
+                helper.copy(x, xs, j);
+                helper.incrementFixes(i - j);
+                moves += i - j;
+            }
+            if (moves > PARTIAL_INSERTION_SORT_LIMIT) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Sort xs[i], xs[j] and xs[k] (in that order).
+     */
+    private void sort3(X[] xs, int i, int j, int k) {
+        Helper<X> helper = getHelper();
+        // NOTE we cannot use swapConditional because that orders its elements by index (and i may be greater than j).
+        if (helper.less(xs, j, i)) helper.swap(xs, i, j);
+        if (helper.less(xs, k, j)) helper.swap(xs, j, k);
+        if (helper.less(xs, j, i)) helper.swap(xs, i, j);
+    }
+
+    private static int log2(int n) {
+        int result = 0;
+        while ((n >>>= 1) > 0) result++;
+        return result;
+    }
+
+    public class Partitioner_PDQ implements Partitioner<X> {
+
+        public Partitioner_PDQ(Helper<X> helper) {
+            this.helper = helper;
+        }
+
+        /**
+         * Method to partition the given partition into smaller partitions.
+         * The pivot is xs[from]; the result is two partitions: the elements less than the pivot and the elements
+         * greater than or equal to the pivot (the pivot itself, which is between them, belongs to neither).
+         *
+         * @param partition the partition to divide up (there must be an element no less than xs[from] at the end).
+         * @return a list of two partitions.
+         */
+        public List<Partition<X>> partition(Partition<X> partition) {
+            X[] xs = partition.xs;
+            int pivot = partitionRight(xs, partition.from, partition.to);
+            List<Partition<X>> partitions = new ArrayList<>();
+            partitions.add(new Partition<>(xs, partition.from, pivot));
+            partitions.add(new Partition<>(xs, pivot + 1, partition.to));
+            return partitions;
+        }
+
+        /**
+         * @return true if the most recent partition did not have to swap any elements.
+         */
+        public boolean isAlreadyPartitioned() {
+            return alreadyPartitioned;
+        }
+
+        /**
+         * Partition xs[from] ... xs[to-1] around the pivot xs[from] using block partitioning.
+         *
+         * @return the final index of the pivot.
+         */
+        private int partitionRight(X[] xs, int from, int to) {
+            X pivot = helper.get(xs, from);
+            int first = from;
+            int last = to;
+            // Find the first element which is no less than the pivot (there is one at the end, guarding this loop).
+            do first++; while (helper.less(xs, first, pivot));
+            // Find the last element which is less than the pivot (if first has moved, there is one guarding this loop).
+            if (first - 1 == from) {
+                do last--; while (first < last && !helper.less(xs, last, pivot));
+            } else {
+                do last--; while (!helper.less(xs, last, pivot));
+            }
+            alreadyPartitioned = first >= last;
+            if (!alreadyPartitioned) {
+                helper.swap(xs, first, last);
+                first++;
+                int numLeft = 0, numRight = 0, startLeft = 0, startRight = 0;
+                int baseLeft = first, baseRight = last;
+                while (first < last) {
+                    int unknown = last - first;
+                    int leftSplit = numLeft == 0 ? (numRight == 0 ? unknown / 2 : unknown) : 0;
+                    int rightSplit = numRight == 0 ? unknown - leftSplit : 0;
+                    // Fill the left buffer with the offsets of elements which belong on the right (and vice versa).
+                    // NOTE the offset is always stored but the count is only advanced when the element is misplaced.
+                    int leftBlock = Math.min(leftSplit, BLOCK_SIZE);
+                    for (int i = 0; i < leftBlock; i++, first++) {
+                        offsetsLeft[numLeft] = i;
+                        numLeft += helper.less(xs, first, pivot) ? 0 : 1;
+                    }
+                    int rightBlock = Math.min(rightSplit, BLOCK_SIZE);
+                    for (int i = 1; i <= rightBlock; i++) {
+                        offsetsRight[numRight] = i;
+                        numRight += helper.less(xs, --last, pivot) ? 1 : 0;
+                    }
+                    int num = Math.min(numLeft, numRight);
+                    for (int i = 0; i < num; i++)
+                        helper.swap(xs, baseLeft + offsetsLeft[startLeft + i], baseRight - offsetsRight[startRight + i]);
+                    numLeft -= num;
+                    numRight -= num;
+                    startLeft += num;
+                    startRight += num;
+                    if (numLeft == 0) {
+                        startLeft = 0;
+                        baseLeft = first;
+                    }
+                    if (numRight == 0) {
+                        startRight = 0;
+                        baseRight = last;
+                    }
+                }
+                // Move any elements which remain in a buffer to the boundary.
+                if (numLeft > 0) {
+                    while (numLeft-- > 0) helper.swap(xs, baseLeft + offsetsLeft[startLeft + numLeft], --last);
+                    first = last;
+                }
+                if (numRight > 0) {
+                    while (numRight-- > 0) helper.swap(xs, baseRight - offsetsRight[startRight + numRight], first++);
+                }
+            }
+            int result = first - 1;
+            helper.swap(xs, from, result);
+            return result;
+        }
+
+        /**
+         * Partition xs[from] ... xs[to-1] around the pivot xs[from] such that elements equal to the pivot go to the left.
+         * This is used when the pivot is known to be no less than every element of the partition
+         * (so that the elements equal to the pivot are thereby finished with).
+         *
+         * @return the final index of the pivot.
+         */
+        private int partitionLeft(X[] xs, int from, int to) {
+            X pivot = helper.get(xs, from);
+            int first = from;
+            int last = to;
+            do last--; while (helper.less(xs, pivot, last));
+            if (last + 1 == to) {
+                do first++; while (first < last && !helper.less(xs, pivot, first));
+            } else {
+                do first++; while (!helper.less(xs, pivot, first));
+            }
+            while (first < last) {
+                helper.swap(xs, first, last);
+                do last--; while (helper.less(xs, pivot, last));
+                do first++; while (!helper.less(xs, pivot, first));
+            }
+            helper.swap(xs, from, last);
+            return last;
+        }
+
+        private final Helper<X> helper;
+        private final int[] offsetsLeft = new int[BLOCK_SIZE];
+        private final int[] offsetsRight = new int[BLOCK_SIZE];
+        private boolean alreadyPartitioned;
+    }
+
+    /**
+     * Partitions of this size or smaller are sorted by insertion sort.
+     */
+    static final int INSERTION_SORT_THRESHOLD = 24;
+
+    /**
+     * Partitions larger than this use the ninther (rather than median-of-three) as the pivot.
+     */
+    static final int NINTHER_THRESHOLD = 128;
+
+    /**
+     * The maximum number of element moves for the partial insertion sort of an apparently sorted partition.
+     */
+    static final int PARTIAL_INSERTION_SORT_LIMIT = 8;
+
+    /**
+     * The size of the offset buffers for block partitioning.
+     */
+    static final int BLOCK_SIZE = 64;
+
+    private final Partitioner_PDQ pdqPartitioner;
+    private final HeapSort<X> heapSort;
+    private int heapSorts = 0;
+}
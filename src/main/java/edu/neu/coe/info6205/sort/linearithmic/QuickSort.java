@@ -22,7 +22,7 @@ public abstract class QuickSort<X extends Comparable<X>> extends SortWithCompara
     }
 
     private InsertionSort<X> setupInsertionSort(final Helper<X> helper) {
-        return new InsertionSort<>(helper.clone("Quicksort: insertion sort"));
+        return InsertionSort.create(helper.clone("Quicksort: insertion sort"), false);
     }
 
     /**
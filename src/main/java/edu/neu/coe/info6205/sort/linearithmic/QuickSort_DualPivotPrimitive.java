@@ -0,0 +1,267 @@
+package edu.neu.coe.info6205.sort.linearithmic;
+
+import edu.neu.coe.info6205.sort.PrimitiveSort;
+import edu.neu.coe.info6205.sort.elementary.HeapSortPrimitive;
+import edu.neu.coe.info6205.sort.elementary.InsertionSortPrimitive;
+import edu.neu.coe.info6205.sort.vector.IntKernel;
+import edu.neu.coe.info6205.sort.vector.ScalarIntKernel;
+import edu.neu.coe.info6205.util.Config;
+
+import static edu.neu.coe.info6205.sort.PrimitiveSort.less;
+
+/**
+ * Class QuickSort_DualPivotPrimitive: the specialization of QuickSort_DualPivot for arrays of int, long and double.
+ * <p>
+ * The partitioning is exactly that of Partitioner_DualPivot (when not instrumented), but there are no
+ * Partition objects: we simply recurse on the three partitions.
+ * For int[], the partition and the base case are delegated to an IntKernel (which may be vectorized).
+ * <p>
+ * Since the pivots are simply the first and last elements, ordered (or nearly ordered) input would make the recursion
+ * as deep as the array is long. So, as in IntroSortPrimitive, if the depth exceeds 2 lg(xs.length), the sub-array
+ * is sorted by heap sort instead. Thus, this sort is always O(n log n) and the recursion is never deeper than 2 lg n.
+ */
+public class QuickSort_DualPivotPrimitive implements PrimitiveSort {
+
+    public static final String DESCRIPTION = "QuickSort dual pivot (primitive)";
+
+    /**
+     * Constructor for QuickSort_DualPivotPrimitive.
+     *
+     * @param cutoff the size at or below which a sub-array is sorted by insertion sort.
+     */
+    public QuickSort_DualPivotPrimitive(int cutoff) {
+        this(cutoff, new ScalarIntKernel());
+    }
+
+    /**
+     * Constructor for QuickSort_DualPivotPrimitive.
+     *
+     * @param cutoff the size at or below which a sub-array is sorted by insertion sort (or, for int[], by the kernel).
+     * @param kernel the IntKernel to be used for the base case and the partition of int[] sub-arrays.
+     */
+    public QuickSort_DualPivotPrimitive(int cutoff, IntKernel kernel) {
+        this.cutoff = cutoff;
+        this.kernel = kernel;
+    }
+
+    /**
+     * Constructor for QuickSort_DualPivotPrimitive which takes its cutoff (and whether to vectorize) from the [helper] section of the configuration.
+     *
+     * @param config the configuration.
+     */
+    public QuickSort_DualPivotPrimitive(Config config) {
+        this(PrimitiveSort.getCutoff(config), IntKernel.create(config));
+    }
+
+    public String getDescription() {
+        return kernel.isVectorized() ? DESCRIPTION + " " + kernel.getDescription() : DESCRIPTION;
+    }
+
+    public void sort(int[] xs, int from, int to) {
+        sort(xs, from, to, 0);
+    }
+
+    /**
+     * Sort the sub-array xs[from] ... xs[to-1]
+     *
+     * @param xs    the complete array from which this sub-array derives.
+     * @param from  the index of the first element to sort.
+     * @param to    the index of the first element not to sort.
+     * @param depth the depth of the recursion.
+     */
+    public void sort(int[] xs, int from, int to, int depth) {
+        if (terminator(xs, from, to, depth)) return;
+        final int p1 = from;
+        final int p2 = to - 1;
+        if (less(xs[p2], xs[p1])) swap(xs, p1, p2);
+        int[] bounds = kernel.partition(xs, p1 + 1, p2, xs[p1], xs[p2]);
+        int lt = bounds[0];
+        int gt = bounds[1];
+        swap(xs, p1, --lt);
+        swap(xs, p2, gt);
+        sort(xs, p1, lt, depth + 1);
+        sort(xs, lt + 1, gt, depth + 1);
+        sort(xs, gt + 1, p2 + 1, depth + 1);
+    }
+
+    /**
+     * Protected method to determine to terminate the recursion of this quick sort.
+     * If the depth is too great (see tooDeep), the sub-array is sorted by heap sort.
+     *
+     * @param xs    the complete array from which this sub-array derives.
+     * @param from  the index of the first element to sort.
+     * @param to    the index of the first element not to sort.
+     * @param depth the current depth of the recursion.
+     * @return true if there is no further work to be done.
+     */
+    protected boolean terminator(int[] xs, int from, int to, int depth) {
+        int n = to - from;
+        // NOTE it makes no sense to partition an array smaller than 3 elements, regardless of cutoff.
+        if (n > Math.max(cutoff, 3)) {
+            if (!tooDeep(depth, xs.length)) return false;
+            heapSort.sort(xs, from, to);
+            return true;
+        }
+        kernel.sortSmall(xs, from, to);
+        return true;
+    }
+
+    public void sort(long[] xs, int from, int to) {
+        sort(xs, from, to, 0);
+    }
+
+    /**
+     * Sort the sub-array xs[from] ... xs[to-1]
+     *
+     * @param xs    the complete array from which this sub-array derives.
+     * @param from  the index of the first element to sort.
+     * @param to    the index of the first element not to sort.
+     * @param depth the depth of the recursion.
+     */
+    public void sort(long[] xs, int from, int to, int depth) {
+        if (terminator(xs, from, to, depth)) return;
+        final int p1 = from;
+        final int p2 = to - 1;
+        if (less(xs[p2], xs[p1])) swap(xs, p1, p2);
+        int lt = p1 + 1;
+        int gt = p2 - 1;
+        int i = lt;
+        long v1 = xs[p1];
+        long v2 = xs[p2];
+        while (i <= gt) {
+            long x = xs[i];
+            if (less(x, v1)) swap(xs, lt++, i++);
+            else if (less(v2, x)) swap(xs, i, gt--);
+            else i++;
+        }
+        swap(xs, p1, --lt);
+        swap(xs, p2, ++gt);
+        sort(xs, p1, lt, depth + 1);
+        sort(xs, lt + 1, gt, depth + 1);
+        sort(xs, gt + 1, p2 + 1, depth + 1);
+    }
+
+    /**
+     * Protected method to determine to terminate the recursion of this quick sort.
+     * If the depth is too great (see tooDeep), the sub-array is sorted by heap sort.
+     *
+     * @param xs    the complete array from which this sub-array derives.
+     * @param from  the index of the first element to sort.
+     * @param to    the index of the first element not to sort.
+     * @param depth the current depth of the recursion.
+     * @return true if there is no further work to be done.
+     */
+    protected boolean terminator(long[] xs, int from, int to, int depth) {
+        int n = to - from;
+        // NOTE it makes no sense to partition an array smaller than 3 elements, regardless of cutoff.
+        if (n > Math.max(cutoff, 3)) {
+            if (!tooDeep(depth, xs.length)) return false;
+            heapSort.sort(xs, from, to);
+            return true;
+        }
+        insertionSort.sort(xs, from, to);
+        return true;
+    }
+
+    public void sort(double[] xs, int from, int to) {
+        sort(xs, from, to, 0);
+    }
+
+    /**
+     * Sort the sub-array xs[from] ... xs[to-1]
+     *
+     * @param xs    the complete array from which this sub-array derives.
+     * @param from  the index of the first element to sort.
+     * @param to    the index of the first element not to sort.
+     * @param depth the depth of the recursion.
+     */
+    public void sort(double[] xs, int from, int to, int depth) {
+        if (terminator(xs, from, to, depth)) return;
+        final int p1 = from;
+        final int p2 = to - 1;
+        if (less(xs[p2], xs[p1])) swap(xs, p1, p2);
+        int lt = p1 + 1;
+        int gt = p2 - 1;
+        int i = lt;
+        double v1 = xs[p1];
+        double v2 = xs[p2];
+        while (i <= gt) {
+            double x = xs[i];
+            if (less(x, v1)) swap(xs, lt++, i++);
+            else if (less(v2, x)) swap(xs, i, gt--);
+            else i++;
+        }
+        swap(xs, p1, --lt);
+        swap(xs, p2, ++gt);
+        sort(xs, p1, lt, depth + 1);
+        sort(xs, lt + 1, gt, depth + 1);
+        sort(xs, gt + 1, p2 + 1, depth + 1);
+    }
+
+    /**
+     * Protected method to determine to terminate the recursion of this quick sort.
+     * If the depth is too great (see tooDeep), the sub-array is sorted by heap sort.
+     *
+     * @param xs    the complete array from which this sub-array derives.
+     * @param from  the index of the first element to sort.
+     * @param to    the index of the first element not to sort.
+     * @param depth the current depth of the recursion.
+     * @return true if there is no further work to be done.
+     */
+    protected boolean terminator(double[] xs, int from, int to, int depth) {
+        int n = to - from;
+        // NOTE it makes no sense to partition an array smaller than 3 elements, regardless of cutoff.
+        if (n > Math.max(cutoff, 3)) {
+            if (!tooDeep(depth, xs.length)) return false;
+            heapSort.sort(xs, from, to);
+            return true;
+        }
+        insertionSort.sort(xs, from, to);
+        return true;
+    }
+
+    /**
+     * Method to determine whether the recursion is so deep that we should give up on quicksort.
+     *
+     * @param depth the current depth of the recursion.
+     * @param n     the length of the whole array.
+     * @return true if depth exceeds 2 lg(n).
+     */
+    static boolean tooDeep(int depth, int n) {
+        return depth > 2 * floor_lg(n);
+    }
+
+    static int floor_lg(int a) {
+        return 31 - Integer.numberOfLeadingZeros(Math.max(a, 1));
+    }
+
+    static void swap(int[] xs, int i, int j) {
+        int temp = xs[i];
+        xs[i] = xs[j];
+        xs[j] = temp;
+    }
+
+    static void swap(long[] xs, int i, int j) {
+        long temp = xs[i];
+        xs[i] = xs[j];
+        xs[j] = temp;
+    }
+
+    static void swap(double[] xs, int i, int j) {
+        double temp = xs[i];
+        xs[i] = xs[j];
+        xs[j] = temp;
+    }
+
+    public InsertionSortPrimitive getInsertionSort() {
+        return insertionSort;
+    }
+
+    private final int cutoff;
+
+    private final IntKernel kernel;
+
+    private final InsertionSortPrimitive insertionSort = new InsertionSortPrimitive();
+
+    private final HeapSortPrimitive heapSort = new HeapSortPrimitive();
+}
@@ -5,19 +5,33 @@ package edu.neu.coe.info6205.sort.linearithmic;
 
 import edu.neu.coe.info6205.sort.Helper;
 import edu.neu.coe.info6205.sort.NonInstrumentingComparableHelper;
+import edu.neu.coe.info6205.sort.SortException;
 import edu.neu.coe.info6205.sort.SortWithComparableHelper;
 import edu.neu.coe.info6205.sort.SortWithHelper;
 import edu.neu.coe.info6205.sort.classic.ClassicHelper;
 import edu.neu.coe.info6205.util.Config;
 
 import java.io.IOException;
+import java.lang.reflect.Array;
 import java.util.Arrays;
 import java.util.Random;
 
 /**
- * Sorter which delegates to Timsort via Arrays.sort.
+ * Class TimSort: a natural (run-detecting) merge sort, after Tim Peters' listsort and the JDK's ComparableTimSort,
+ * which is implemented entirely in terms of the Helper so that its compares, copies, swaps and hits are counted
+ * just like those of MergeSort.
+ * <p>
+ * The array is scanned for natural runs (strictly descending runs are reversed).
+ * Any run which is shorter than minRun (a value between MIN_MERGE/2 and MIN_MERGE chosen so that the number of runs is
+ * close to a power of two) is extended to minRun by binary insertion sort.
+ * The runs are pushed onto a stack which is kept balanced (by merging) so that the run lengths grow at least as fast as
+ * the Fibonacci numbers.
+ * Merges gallop (that's to say search exponentially) when one run keeps winning, and the threshold for galloping adapts.
+ * <p>
+ * An array of fewer than MIN_MERGE elements is sorted by (natural-run-aware) binary insertion sort.
+ * The sort is stable.
  *
- * @param <X>
+ * @param <X> the underlying comparable type.
  */
 public class TimSort<X extends Comparable<X>> extends SortWithComparableHelper<X> {
 
@@ -45,8 +59,63 @@ public class TimSort<X extends Comparable<X>> extends SortWithComparableHelper<X
         this(new NonInstrumentingComparableHelper<>(DESCRIPTION, Config.load(TimSort.class)));
     }
 
+    /**
+     * Sort the sub-array xs[from] ... xs[to-1].
+     *
+     * @param xs   the array to be sorted.
+     * @param from the index of the first element to sort.
+     * @param to   the index of the first element not to sort.
+     */
     public void sort(X[] xs, int from, int to) {
-        Arrays.sort(xs, from, to);
+        int n = to - from;
+        runs = 0;
+        if (n < 2) return;
+        a = xs;
+        try {
+            if (n < MIN_MERGE) {
+                int initialRunLength = countRunAndMakeAscending(from, to);
+                runs = 1;
+                binarySort(from, to, from + initialRunLength);
+                return;
+            }
+            stackSize = 0;
+            minGallop = MIN_GALLOP;
+            int minRun = minRunLength(n);
+            int lo = from;
+            int remaining = n;
+            do {
+                int runLength = countRunAndMakeAscending(lo, to);
+                runs++;
+                if (runLength < minRun) {
+                    int force = Math.min(remaining, minRun);
+                    binarySort(lo, lo + force, lo + runLength);
+                    runLength = force;
+                }
+                pushRun(lo, runLength);
+                mergeCollapse();
+                lo += runLength;
+                remaining -= runLength;
+            } while (remaining != 0);
+            mergeForceCollapse();
+        } finally {
+            a = null;
+            tmp = null;
+        }
+    }
+
+    /**
+     * Method to get the number of runs of the most recent sort, i.e. the runs which were pushed onto the stack.
+     * Each is a natural run which, if shorter than minRun, was extended to minRun by binary insertion sort
+     * (and so may have absorbed further natural runs).
+     * Thus, this is the number of natural runs only where they are all at least minRun long:
+     * in particular, it is 1 for any array of fewer than MIN_MERGE elements (which is sorted by a single binary insertion sort)
+     * and 0 for fewer than two elements.
+     * NOTE that the natural runs are not counted separately, since that would take compares which the sort itself does not make.
+     *
+     * @return the number of runs which were merged by the most recent sort.
+     */
+    public int getRuns() {
+        return runs;
     }
 
     public static final String DESCRIPTION = "Timsort";
@@ -59,6 +128,23 @@ public class TimSort<X extends Comparable<X>> extends SortWithComparableHelper<X
         };
     }
 
+    /**
+     * Method to determine the minimum run length for an array of n elements.
+     * If n is less than MIN_MERGE, the result is n; otherwise, it is k such that MIN_MERGE/2 <= k <= MIN_MERGE
+     * and n/k is close to, but no more than, a power of two.
+     *
+     * @param n the number of elements to be sorted.
+     * @return the minimum run length.
+     */
+    static int minRunLength(int n) {
+        int r = 0;
+        while (n >= MIN_MERGE) {
+            r |= (n & 1);
+            n >>= 1;
+        }
+        return n + r;
+    }
+
     static class ComparatorSort<T> extends SortWithHelper<T> {
         public ComparatorSort(Helper<T> helper) {
             super(helper);
@@ -68,4 +154,388 @@ public class TimSort<X extends Comparable<X>> extends SortWithComparableHelper<X
             Arrays.sort(xs, from, to, getHelper().getComparator());
         }
     }
+
+    /**
+     * Find the length of the run which begins at lo and, if it is strictly descending, reverse it.
+     * NOTE that a descending run must be strict so that reversing it cannot break stability.
+     */
+    private int countRunAndMakeAscending(int lo, int hi) {
+        int runHi = lo + 1;
+        if (runHi == hi) return 1;
+        if (helper.compare(helper.get(a, runHi++), helper.get(a, lo)) < 0) {
+            while (runHi < hi && helper.compare(helper.get(a, runHi), helper.get(a, runHi - 1)) < 0) runHi++;
+            reverseRange(lo, runHi);
+        } else
+            while (runHi < hi && helper.compare(helper.get(a, runHi), helper.get(a, runHi - 1)) >= 0) runHi++;
+        return runHi - lo;
+    }
+
+    private void reverseRange(int lo, int hi) {
+        hi--;
+        while (lo < hi) helper.swap(a, lo++, hi--);
+    }
+
+    /**
+     * Sort a[lo] ... a[hi-1] by binary insertion sort, given that a[lo] ... a[start-1] are already sorted.
+     */
+    private void binarySort(int lo, int hi, int start) {
+        if (start == lo) start++;
+        for (; start < hi; start++) {
+            X pivot = helper.get(a, start);
+            int left = lo;
+            int right = start;
+            while (left < right) {
+                int mid = (left + right) >>> 1;
+                if (helper.compare(pivot, helper.get(a, mid)) < 0) right = mid;
+                else left = mid + 1;
+            }
+            int n = start - left;
+            if (n > 0) {
+                helper.copyBlock(a, left, a, left + 1, n);
+                helper.incrementFixes(n);
+            }
+            helper.copy(pivot, a, left);
+        }
+    }
+
+    private void pushRun(int runBase, int runLength) {
+        this.runBase[stackSize] = runBase;
+        this.runLength[stackSize] = runLength;
+        stackSize++;
+    }
+
+    /**
+     * Merge runs on the stack until the invariants are re-established:
+     * runLength[i - 3] > runLength[i - 2] + runLength[i - 1] and runLength[i - 2] > runLength[i - 1].
+     * NOTE that (as in the JDK since 2015) the invariant is checked for the top four runs, not just the top three.
+     */
+    private void mergeCollapse() {
+        while (stackSize > 1) {
+            int n = stackSize - 2;
+            if (n > 0 && runLength[n - 1] <= runLength[n] + runLength[n + 1] || n > 1 && runLength[n - 2] <= runLength[n] + runLength[n - 1]) {
+                if (runLength[n - 1] < runLength[n + 1]) n--;
+            } else if (runLength[n] > runLength[n + 1]) break;
+            mergeAt(n);
+        }
+    }
+
+    private void mergeForceCollapse() {
+        while (stackSize > 1) {
+            int n = stackSize - 2;
+            if (n > 0 && runLength[n - 1] < runLength[n + 1]) n--;
+            mergeAt(n);
+        }
+    }
+
+    /**
+     * Merge the runs at stack positions i and i+1 (i must be the penultimate or antepenultimate run).
+     */
+    private void mergeAt(int i) {
+        int base1 = runBase[i];
+        int length1 = runLength[i];
+        int base2 = runBase[i + 1];
+        int length2 = runLength[i + 1];
+        runLength[i] = length1 + length2;
+        if (i == stackSize - 3) {
+            runBase[i + 1] = runBase[i + 2];
+            runLength[i + 1] = runLength[i + 2];
+        }
+        stackSize--;
+        // Elements of run1 which precede the first element of run2 are already in place.
+        int k = gallopRight(helper.get(a, base2), a, base1, length1, 0);
+        base1 += k;
+        length1 -= k;
+        if (length1 == 0) return;
+        // Likewise, elements of run2 which follow the last element of run1.
+        length2 = gallopLeft(helper.get(a, base1 + length1 - 1), a, base2, length2, length2 - 1);
+        if (length2 == 0) return;
+        if (length1 <= length2) mergeLo(base1, length1, base2, length2);
+        else mergeHi(base1, length1, base2, length2);
+    }
+
+    /**
+     * Locate the position at which to insert key into the sorted range xs[base] ... xs[base+length-1],
+     * to the left of any equal elements.
+     *
+     * @return k such that xs[base+k-1] < key <= xs[base+k].
+     */
+    private int gallopLeft(X key, X[] xs, int base, int length, int hint) {
+        int lastOffset = 0;
+        int offset = 1;
+        if (helper.compare(key, helper.get(xs, base + hint)) > 0) {
+            int maxOffset = length - hint;
+            while (offset < maxOffset && helper.compare(key, helper.get(xs, base + hint + offset)) > 0) {
+                lastOffset = offset;
+                offset = (offset << 1) + 1;
+                if (offset <= 0) offset = maxOffset;
+            }
+            if (offset > maxOffset) offset = maxOffset;
+            lastOffset += hint;
+            offset += hint;
+        } else {
+            int maxOffset = hint + 1;
+            while (offset < maxOffset && helper.compare(key, helper.get(xs, base + hint - offset)) <= 0) {
+                lastOffset = offset;
+                offset = (offset << 1) + 1;
+                if (offset <= 0) offset = maxOffset;
+            }
+            if (offset > maxOffset) offset = maxOffset;
+            int temp = lastOffset;
+            lastOffset = hint - offset;
+            offset = hint - temp;
+        }
+        // Now xs[base+lastOffset] < key <= xs[base+offset], so binary search in between.
+        lastOffset++;
+        while (lastOffset < offset) {
+            int m = lastOffset + ((offset - lastOffset) >>> 1);
+            if (helper.compare(key, helper.get(xs, base + m)) > 0) lastOffset = m + 1;
+            else offset = m;
+        }
+        return offset;
+    }
+
+    /**
+     * Locate the position at which to insert key into the sorted range xs[base] ... xs[base+length-1],
+     * to the right of any equal elements.
+     *
+     * @return k such that xs[base+k-1] <= key < xs[base+k].
+     */
+    private int gallopRight(X key, X[] xs, int base, int length, int hint) {
+        int lastOffset = 0;
+        int offset = 1;
+        if (helper.compare(key, helper.get(xs, base + hint)) < 0) {
+            int maxOffset = hint + 1;
+            while (offset < maxOffset && helper.compare(key, helper.get(xs, base + hint - offset)) < 0) {
+                lastOffset = offset;
+                offset = (offset << 1) + 1;
+                if (offset <= 0) offset = maxOffset;
+            }
+            if (offset > maxOffset) offset = maxOffset;
+            int temp = lastOffset;
+            lastOffset = hint - offset;
+            offset = hint - temp;
+        } else {
+            int maxOffset = length - hint;
+            while (offset < maxOffset && helper.compare(key, helper.get(xs, base + hint + offset)) >= 0) {
+                lastOffset = offset;
+                offset = (offset << 1) + 1;
+                if (offset <= 0) offset = maxOffset;
+            }
+            if (offset > maxOffset) offset = maxOffset;
+            lastOffset += hint;
+            offset += hint;
+        }
+        // Now xs[base+lastOffset] <= key < xs[base+offset], so binary search in between.
+        lastOffset++;
+        while (lastOffset < offset) {
+            int m = lastOffset + ((offset - lastOffset) >>> 1);
+            if (helper.compare(key, helper.get(xs, base + m)) < 0) offset = m;
+            else lastOffset = m + 1;
+        }
+        return offset;
+    }
+
+    /**
+     * Merge two adjacent runs, where the first (which is copied to tmp) is no longer than the second.
+     * NOTE that, on entry, the first element of run2 must be less than the first element of run1
+     * and the last element of run1 must be greater than every element of run2.
+     */
+    private void mergeLo(int base1, int length1, int base2, int length2) {
+        X[] tmp = ensureCapacity(length1);
+        helper.copyBlock(a, base1, tmp, 0, length1);
+        int cursor1 = 0;
+        int cursor2 = base2;
+        int dest = base1;
+        helper.copy(a, cursor2++, a, dest++);
+        helper.incrementFixes(length1);
+        if (--length2 == 0) {
+            helper.copyBlock(tmp, cursor1, a, dest, length1);
+            return;
+        }
+        if (length1 == 1) {
+            helper.copyBlock(a, cursor2, a, dest, length2);
+            helper.incrementFixes(length2);
+            helper.copy(tmp, cursor1, a, dest + length2);
+            return;
+        }
+        int minGallop = this.minGallop;
+        outer:
+        while (true) {
+            int count1 = 0; // the number of times in a row that run1 has won.
+            int count2 = 0; // the number of times in a row that run2 has won.
+            // Merge one element at a time until one run starts winning consistently.
+            do {
+                if (helper.compare(helper.get(a, cursor2), helper.get(tmp, cursor1)) < 0) {
+                    helper.copy(a, cursor2++, a, dest++);
+                    helper.incrementFixes(length1);
+                    count2++;
+                    count1 = 0;
+                    if (--length2 == 0) break outer;
+                } else {
+                    helper.copy(tmp, cursor1++, a, dest++);
+                    count1++;
+                    count2 = 0;
+                    if (--length1 == 1) break outer;
+                }
+            } while ((count1 | count2) < minGallop);
+            // Gallop until neither run is winning consistently.
+            do {
+                count1 = gallopRight(helper.get(a, cursor2), tmp, cursor1, length1, 0);
+                if (count1 != 0) {
+                    helper.copyBlock(tmp, cursor1, a, dest, count1);
+                    dest += count1;
+                    cursor1 += count1;
+                    length1 -= count1;
+                    if (length1 <= 1) break outer;
+                }
+                helper.copy(a, cursor2++, a, dest++);
+                helper.incrementFixes(length1);
+                if (--length2 == 0) break outer;
+                count2 = gallopLeft(helper.get(tmp, cursor1), a, cursor2, length2, 0);
+                if (count2 != 0) {
+                    helper.copyBlock(a, cursor2, a, dest, count2);
+                    helper.incrementFixes(count2 * length1);
+                    dest += count2;
+                    cursor2 += count2;
+                    length2 -= count2;
+                    if (length2 == 0) break outer;
+                }
+                helper.copy(tmp, cursor1++, a, dest++);
+                if (--length1 == 1) break outer;
+                minGallop--;
+            } while (count1 >= MIN_GALLOP | count2 >= MIN_GALLOP);
+            if (minGallop < 0) minGallop = 0;
+            minGallop += 2; // Penalize leaving galloping mode.
+        }
+        this.minGallop = Math.max(minGallop, 1);
+        if (length1 == 1) {
+            helper.copyBlock(a, cursor2, a, dest, length2);
+            helper.incrementFixes(length2);
+            helper.copy(tmp, cursor1, a, dest + length2);
+        } else if (length1 == 0)
+            throw new SortException("TimSort: comparison method violates its general contract");
+        else helper.copyBlock(tmp, cursor1, a, dest, length1);
+    }
+
+    /**
+     * Merge two adjacent runs, from the right, where the second (which is copied to tmp) is no longer than the first.
+     * The preconditions are as for mergeLo.
+     */
+    private void mergeHi(int base1, int length1, int base2, int length2) {
+        X[] tmp = ensureCapacity(length2);
+        helper.copyBlock(a, base2, tmp, 0, length2);
+        int cursor1 = base1 + length1 - 1;
+        int cursor2 = length2 - 1;
+        int dest = base2 + length2 - 1;
+        helper.copy(a, cursor1--, a, dest--);
+        helper.incrementFixes(length2);
+        if (--length1 == 0) {
+            helper.copyBlock(tmp, 0, a, dest - (length2 - 1), length2);
+            return;
+        }
+        if (length2 == 1) {
+            dest -= length1;
+            cursor1 -= length1;
+            helper.copyBlock(a, cursor1 + 1, a, dest + 1, length1);
+            helper.incrementFixes(length1);
+            helper.copy(tmp, cursor2, a, dest);
+            return;
+        }
+        int minGallop = this.minGallop;
+        outer:
+        while (true) {
+            int count1 = 0; // the number of times in a row that run1 has won.
+            int count2 = 0; // the number of times in a row that run2 has won.
+            do {
+                if (helper.compare(helper.get(tmp, cursor2), helper.get(a, cursor1)) < 0) {
+                    helper.copy(a, cursor1--, a, dest--);
+                    helper.incrementFixes(length2);
+                    count1++;
+                    count2 = 0;
+                    if (--length1 == 0) break outer;
+                } else {
+                    helper.copy(tmp, cursor2--, a, dest--);
+                    count2++;
+                    count1 = 0;
+                    if (--length2 == 1) break outer;
+                }
+            } while ((count1 | count2) < minGallop);
+            do {
+                count1 = length1 - gallopRight(helper.get(tmp, cursor2), a, base1, length1, length1 - 1);
+                if (count1 != 0) {
+                    dest -= count1;
+                    cursor1 -= count1;
+                    length1 -= count1;
+                    helper.copyBlock(a, cursor1 + 1, a, dest + 1, count1);
+                    helper.incrementFixes(count1 * length2);
+                    if (length1 == 0) break outer;
+                }
+                helper.copy(tmp, cursor2--, a, dest--);
+                if (--length2 == 1) break outer;
+                count2 = length2 - gallopLeft(helper.get(a, cursor1), tmp, 0, length2, length2 - 1);
+                if (count2 != 0) {
+                    dest -= count2;
+                    cursor2 -= count2;
+                    length2 -= count2;
+                    helper.copyBlock(tmp, cursor2 + 1, a, dest + 1, count2);
+                    if (length2 <= 1) break outer;
+                }
+                helper.copy(a, cursor1--, a, dest--);
+                helper.incrementFixes(length2);
+                if (--length1 == 0) break outer;
+                minGallop--;
+            } while (count1 >= MIN_GALLOP | count2 >= MIN_GALLOP);
+            if (minGallop < 0) minGallop = 0;
+            minGallop += 2; // Penalize leaving galloping mode.
+        }
+        this.minGallop = Math.max(minGallop, 1);
+        if (length2 == 1) {
+            dest -= length1;
+            cursor1 -= length1;
+            helper.copyBlock(a, cursor1 + 1, a, dest + 1, length1);
+            helper.incrementFixes(length1);
+            helper.copy(tmp, cursor2, a, dest);
+        } else if (length2 == 0)
+            throw new SortException("TimSort: comparison method violates its general contract");
+        else helper.copyBlock(tmp, 0, a, dest - (length2 - 1), length2);
+    }
+
+    /**
+     * Get a temporary array with room for at least n elements (growing it, if necessary, to the next power of two).
+     */
+    private X[] ensureCapacity(int n) {
+        if (tmp == null || tmp.length < n) {
+            int capacity = Integer.highestOneBit(n);
+            if (capacity < n) capacity <<= 1;
+            if (capacity < 0) capacity = n;
+            else capacity = Math.min(capacity, a.length >>> 1);
+            @SuppressWarnings("unchecked") X[] result = (X[]) Array.newInstance(a.getClass().getComponentType(), Math.max(capacity, n));
+            tmp = result;
+        }
+        return tmp;
+    }
+
+    /**
+     * Runs shorter than this are extended by binary insertion sort (and arrays shorter than this are not merged).
+     */
+    static final int MIN_MERGE = 32;
+
+    /**
+     * The initial threshold for entering galloping mode.
+     */
+    static final int MIN_GALLOP = 7;
+
+    /**
+     * NOTE this is enough for any array of int-indexed length, since the run lengths grow at least as fast as
+     * the Fibonacci numbers (see the JDK's ComparableTimSort).
+     */
+    private static final int STACK_SIZE = 49;
+
+    private final int[] runBase = new int[STACK_SIZE];
+    private final int[] runLength = new int[STACK_SIZE];
+    private int stackSize;
+    private int minGallop = MIN_GALLOP;
+    private int runs;
+    private X[] a;
+    private X[] tmp;
 }
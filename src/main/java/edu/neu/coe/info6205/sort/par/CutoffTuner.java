@@ -0,0 +1,247 @@
+package edu.neu.coe.info6205.sort.par;
+
+import edu.neu.coe.info6205.util.Config;
+import edu.neu.coe.info6205.util.LazyLogger;
+
+import java.io.*;
+import java.util.HashSet;
+import java.util.Properties;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Class CutoffTuner: chooses the cutoff for ParSort empirically, rather than leaving it to a human to pick a number
+ * from the output of Main.
+ * <p>
+ * Calibration is an explicit step (see calibrate): it is never done as a side effect of sorting.
+ * For each (size bucket, parallelism) not already in the profile, a random array (of the bucket's size,
+ * capped at MAX_CALIBRATION_SIZE) is sorted with each candidate cutoff (powers of two),
+ * a quadratic is fitted to the timings as a function of lg(cutoff), and the cutoff at the minimum of that curve is chosen.
+ * If the fitted curve has no interior minimum, the best measured candidate is chosen instead.
+ * <p>
+ * Size buckets are powers of two: an array of length n belongs to bucket floor(lg(n)).
+ * Chosen cutoffs are kept in memory and, if a profile file is given, persisted (as a properties file)
+ * so that subsequent runs on the same host do not need to calibrate again.
+ * <p>
+ * NOTE that calibration is done with int arrays: the result is also used for long and double arrays.
+ */
+public class CutoffTuner {
+
+    /**
+     * Constructor which persists its profile to the given file (which need not yet exist).
+     *
+     * @param profile the profile file, or null if the profile is not to be persisted.
+     */
+    public CutoffTuner(File profile) {
+        this.profile = profile;
+        if (profile != null && profile.exists()) load();
+    }
+
+    /**
+     * Constructor which takes the name of the profile file from the [parallelsort] section of the configuration.
+     * If profile is not set, the cutoffs are not persisted.
+     *
+     * @param config the configuration.
+     */
+    public CutoffTuner(Config config) {
+        this(getProfile(config));
+    }
+
+    /**
+     * Get the cutoff to be used when sorting an array of length n in the given pool.
+     * This never calibrates: if there is no cutoff for the appropriate size bucket and parallelism, fallback is returned
+     * (and, the first time that happens for that bucket and parallelism, a warning is logged).
+     *
+     * @param n        the number of elements to be sorted.
+     * @param pool     the pool in which the sort will run.
+     * @param fallback the cutoff to use if none has been calibrated.
+     * @return the calibrated cutoff, or else fallback.
+     */
+    public synchronized int getCutoff(int n, ForkJoinPool pool, int fallback) {
+        String key = key(bucket(n), pool.getParallelism());
+        String value = cutoffs.getProperty(key);
+        if (value != null) return Integer.parseInt(value);
+        if (warned.add(key))
+            logger.warn("CutoffTuner: " + (profile != null && profile.exists() ? "profile " + profile + " has no cutoff" : "no profile found") +
+                    " for " + key + " (see calibrate): using the fixed cutoff " + fallback);
+        return fallback;
+    }
+
+    /**
+     * Calibrate, in the given pool, for each of the given sizes whose size bucket is not yet in the profile,
+     * then persist the profile (if any).
+     * NOTE that this runs a number of timed sorts (of up to MAX_CALIBRATION_SIZE elements) for each such size.
+     *
+     * @param pool  the pool in which sorts will run.
+     * @param sizes the array sizes to calibrate for.
+     */
+    public synchronized void calibrate(ForkJoinPool pool, int... sizes) {
+        boolean changed = false;
+        for (int n : sizes) {
+            int bucket = bucket(n);
+            String key = key(bucket, pool.getParallelism());
+            if (cutoffs.getProperty(key) != null) continue;
+            int cutoff = calibrate(1 << bucket, pool);
+            cutoffs.setProperty(key, Integer.toString(cutoff));
+            logger.debug(() -> "CutoffTuner: chose cutoff " + cutoff + " for " + key);
+            changed = true;
+        }
+        if (changed) save();
+    }
+
+    /**
+     * @return the number of (size bucket, parallelism) pairs for which a cutoff is known.
+     */
+    public synchronized int size() {
+        return cutoffs.size();
+    }
+
+    @Override
+    public String toString() {
+        return "CutoffTuner{profile=" + profile + ", cutoffs=" + cutoffs + "}";
+    }
+
+    public static final String AUTOTUNE = "autotune";
+    public static final String PROFILE = "profile";
+
+    /**
+     * Method to get the profile file from the [parallelsort] section of the configuration.
+     *
+     * @param config the configuration.
+     * @return the profile file, or null if profile is not set.
+     */
+    public static File getProfile(Config config) {
+        String profile = config.getString(ParSort.PARALLELSORT, PROFILE, null);
+        return profile != null ? new File(profile) : null;
+    }
+
+    /**
+     * The largest array that we will sort during calibration.
+     */
+    public static final int MAX_CALIBRATION_SIZE = 1 << 22;
+
+    /**
+     * The smallest candidate cutoff.
+     */
+    public static final int MIN_CANDIDATE = 1 << 8;
+
+    static int bucket(int n) {
+        return 31 - Integer.numberOfLeadingZeros(Math.max(n, 1));
+    }
+
+    static String key(int bucket, int parallelism) {
+        return bucket + "." + parallelism;
+    }
+
+    /**
+     * Time sorts of an array of size n for each candidate cutoff and fit the cost curve.
+     *
+     * @param n    the size of array to calibrate with.
+     * @param pool the pool in which to sort.
+     * @return the chosen cutoff.
+     */
+    int calibrate(int n, ForkJoinPool pool) {
+        int m = Math.min(n, MAX_CALIBRATION_SIZE);
+        // NOTE candidates range from MIN_CANDIDATE to m/2 (a cutoff of m or more would mean no parallelism at all).
+        int k = Math.max(bucket(m) - bucket(MIN_CANDIDATE), 1);
+        int[] candidates = new int[k];
+        double[] xs = new double[k];
+        double[] ys = new double[k];
+        for (int i = 0; i < k; i++) {
+            candidates[i] = MIN_CANDIDATE << i;
+            xs[i] = bucket(MIN_CANDIDATE) + i;
+        }
+        int[] original = new int[m];
+        Random random = new Random(0L);
+        for (int i = 0; i < m; i++) original[i] = random.nextInt();
+        int[] array = new int[m];
+        int best = 0;
+        for (int i = 0; i < k; i++) {
+            ParSort parSort = new ParSort(candidates[i], pool);
+            long fastest = Long.MAX_VALUE;
+            for (int r = 0; r < WARMUPS + REPETITIONS; r++) {
+                System.arraycopy(original, 0, array, 0, m);
+                long start = System.nanoTime();
+                parSort.sort(array);
+                long time = System.nanoTime() - start;
+                if (r >= WARMUPS) fastest = Math.min(fastest, time);
+            }
+            ys[i] = fastest;
+            if (ys[i] < ys[best]) best = i;
+        }
+        double[] ps = fitQuadratic(xs, ys);
+        if (ps != null && ps[2] > 0) {
+            double vertex = -ps[1] / (2 * ps[2]);
+            if (vertex >= xs[0] && vertex <= xs[k - 1]) return (int) Math.round(Math.pow(2, vertex));
+        }
+        return candidates[best];
+    }
+
+    /**
+     * Least-squares fit of y = p0 + p1.x + p2.x^2.
+     *
+     * @param xs the x values.
+     * @param ys the y values.
+     * @return the coefficients {p0, p1, p2} or null if there are too few points (or they are degenerate).
+     */
+    static double[] fitQuadratic(double[] xs, double[] ys) {
+        if (xs.length < 3) return null;
+        // Build the normal equations: a.p = b where a[i][j] = sum(x^(i+j)) and b[i] = sum(y.x^i).
+        double[] sums = new double[5];
+        double[][] a = new double[3][4];
+        for (int k = 0; k < xs.length; k++) {
+            double power = 1;
+            for (int i = 0; i < 5; i++) {
+                sums[i] += power;
+                if (i < 3) a[i][3] += ys[k] * power;
+                power *= xs[k];
+            }
+        }
+        for (int i = 0; i < 3; i++)
+            for (int j = 0; j < 3; j++)
+                a[i][j] = sums[i + j];
+        // Gaussian elimination with partial pivoting.
+        for (int col = 0; col < 3; col++) {
+            int pivot = col;
+            for (int row = col + 1; row < 3; row++)
+                if (Math.abs(a[row][col]) > Math.abs(a[pivot][col])) pivot = row;
+            if (Math.abs(a[pivot][col]) < 1E-12) return null;
+            double[] temp = a[col];
+            a[col] = a[pivot];
+            a[pivot] = temp;
+            for (int row = 0; row < 3; row++) {
+                if (row == col) continue;
+                double factor = a[row][col] / a[col][col];
+                for (int j = col; j < 4; j++) a[row][j] -= factor * a[col][j];
+            }
+        }
+        return new double[]{a[0][3] / a[0][0], a[1][3] / a[1][1], a[2][3] / a[2][2]};
+    }
+
+    private void load() {
+        try (Reader reader = new FileReader(profile)) {
+            cutoffs.load(reader);
+        } catch (IOException e) {
+            logger.warn("CutoffTuner: unable to load profile " + profile, e);
+        }
+    }
+
+    private void save() {
+        if (profile == null) return;
+        try (Writer writer = new FileWriter(profile)) {
+            cutoffs.store(writer, "ParSort cutoffs: key is <lg(size)>.<parallelism>");
+        } catch (IOException e) {
+            logger.warn("CutoffTuner: unable to save profile " + profile, e);
+        }
+    }
+
+    private static final int WARMUPS = 1;
+    private static final int REPETITIONS = 3;
+
+    private final File profile;
+    private final Properties cutoffs = new Properties();
+    private final Set<String> warned = new HashSet<>();
+
+    final static LazyLogger logger = new LazyLogger(CutoffTuner.class);
+}
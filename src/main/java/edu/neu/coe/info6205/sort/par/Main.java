@@ -1,5 +1,7 @@
 package edu.neu.coe.info6205.sort.par;
 
+import edu.neu.coe.info6205.util.Config;
+
 import java.io.BufferedWriter;
 import java.io.FileWriter;
 import java.io.IOException;
@@ -18,8 +20,20 @@ public class Main {
         // Number of runs for each configuration
         final int RUNS_PER_TEST = 5;
 
+        // NOTE we use our own pool (rather than the common pool) so that the thread count is under our control.
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        ForkJoinPool pool = new ForkJoinPool(threads);
+
         try (FileWriter fw = new FileWriter("sorting_results.csv"); BufferedWriter bw = new BufferedWriter(fw)) {
 
+            // With a second argument of "auto", each array size is run only with the cutoff chosen by CutoffTuner.
+            // NOTE calibration (for any array size not already in the configured profile) is done here, before the runs.
+            CutoffTuner tuner = null;
+            if (args.length > 1 && args[1].equals("auto")) {
+                tuner = new CutoffTuner(Config.load(Main.class));
+                tuner.calibrate(pool, arraySizes);
+            }
+
             // Write CSV header
             bw.write("ArraySize,Cutoff,ThreadCount,RunNumber,ExecutionTime(ms)\n");
 
@@ -28,10 +42,10 @@ public class Main {
                 System.out.println("\nTesting array size: " + arraySize);
 
                 // Test different cutoff values
-                for (int cutoff : cutoffValues) {
-                    ParSort.cutoff = cutoff;
+                for (int cutoff : tuner != null ? new int[]{tuner.getCutoff(arraySize, pool, ParSort.CUTOFF_DEFAULT)} : cutoffValues) {
+                    ParSort parSort = new ParSort(cutoff, pool);
                     System.out.println("\nCutoff value: " + cutoff);
-                    System.out.println("Thread count: " + ForkJoinPool.getCommonPoolParallelism());
+                    System.out.println("Thread count: " + pool.getParallelism());
 
                     // Multiple runs for each configuration
                     for (int run = 1; run <= RUNS_PER_TEST; run++) {
@@ -44,7 +58,7 @@ public class Main {
 
                         // Time the sort
                         long startTime = System.currentTimeMillis();
-                        ParSort.sort(array, 0, array.length);
+                        parSort.sort(array, 0, array.length);
                         long endTime = System.currentTimeMillis();
                         long duration = endTime - startTime;
 
@@ -56,7 +70,7 @@ public class Main {
 
                         // Write results to CSV
                         String result = String.format("%d,%d,%d,%d,%d\n",
-                                arraySize, cutoff, ForkJoinPool.getCommonPoolParallelism(),
+                                arraySize, cutoff, pool.getParallelism(),
                                 run, duration);
                         bw.write(result);
                         bw.flush();
@@ -67,6 +81,8 @@ public class Main {
             }
         } catch (IOException e) {
             e.printStackTrace();
+        } finally {
+            pool.shutdown();
         }
     }
 
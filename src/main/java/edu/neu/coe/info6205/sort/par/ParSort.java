@@ -1,56 +1,588 @@
 package edu.neu.coe.info6205.sort.par;
 
+import edu.neu.coe.info6205.util.Config;
+
 import java.util.Arrays;
-import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
- * This code has been fleshed out by Ziyao Qiao. Thanks very much.
- * CONSIDER tidy it up a bit.
+ * Parallel merge sort for arrays of int, long and double, based on the fork/join framework.
+ * <p>
+ * This code was originally fleshed out by Ziyao Qiao (using CompletableFuture). Thanks very much.
+ * It has since been rewritten so that the only memory allocated is a single auxiliary buffer per sort:
+ * at each level of the recursion, the roles of the source array and the auxiliary array are swapped (ping-pong),
+ * so that nothing is ever copied back.
+ * Furthermore, the merge step is itself parallel (we split the larger run at its midpoint and binary-search
+ * the other run for the corresponding split point) so that the top-level merge is not single-threaded.
+ * <p>
+ * The cutoff and the pool (and therefore the parallelism) are per-instance settings.
+ * Alternatively, the cutoff may be chosen per array size by a CutoffTuner (auto-tuning mode),
+ * in which case the fixed cutoff is used for any array size for which the tuner has not been calibrated.
+ * For arrays of objects, see ParallelSort.
  */
-class ParSort {
-
-    public static int cutoff = 1000;
-
-    public static void sort(int[] array, int from, int to) {
-        if (to - from < cutoff) Arrays.sort(array, from, to);
-        else {
-            // FIXME next few lines should be removed from public repo.
-            CompletableFuture<int[]> parsort1 = parsort(array, from, from + (to - from) / 2); // TO IMPLEMENT
-            CompletableFuture<int[]> parsort2 = parsort(array, from + (to - from) / 2, to); // TO IMPLEMENT
-            CompletableFuture<int[]> parsort = parsort1.thenCombine(parsort2, (xs1, xs2) -> {
-                int[] result = new int[xs1.length + xs2.length];
-                // TO IMPLEMENT
-                int i = 0;
-                int j = 0;
-                for (int k = 0; k < result.length; k++) {
-                    if (i >= xs1.length) {
-                        result[k] = xs2[j++];
-                    } else if (j >= xs2.length) {
-                        result[k] = xs1[i++];
-                    } else if (xs2[j] < xs1[i]) {
-                        result[k] = xs2[j++];
-                    } else {
-                        result[k] = xs1[i++];
-                    }
-                }
-                return result;
-            });
-
-            parsort.whenComplete((result, throwable) -> System.arraycopy(result, 0, array, from, result.length));
-//            System.out.println("# threads: "+ ForkJoinPool.commonPool().getRunningThreadCount());
-            parsort.join();
-        }
-    }
-
-    private static CompletableFuture<int[]> parsort(int[] array, int from, int to) {
-        return CompletableFuture.supplyAsync(
-                () -> {
-                    int[] result = new int[to - from];
-                    // TO IMPLEMENT
-                    System.arraycopy(array, from, result, 0, result.length);
-                    sort(result, 0, to - from);
-                    return result;
-                }
-        );
-    }
-}
\ No newline at end of file
+public class ParSort implements AutoCloseable {
+
+    /**
+     * Constructor which uses an explicit (caller-managed) pool.
+     *
+     * @param cutoff the size at or below which a sub-array is sorted sequentially.
+     * @param pool   the ForkJoinPool in which to run sorts (this will not be shut down by close).
+     */
+    public ParSort(int cutoff, ForkJoinPool pool) {
+        this(cutoff, pool, false);
+    }
+
+    /**
+     * Constructor which creates (and owns) its own pool.
+     *
+     * @param cutoff      the size at or below which a sub-array is sorted sequentially.
+     * @param parallelism the number of threads in the pool.
+     */
+    public ParSort(int cutoff, int parallelism) {
+        this(cutoff, new ForkJoinPool(parallelism), true);
+    }
+
+    /**
+     * Constructor for auto-tuning mode which uses an explicit (caller-managed) pool.
+     * The cutoff for each sort is obtained from tuner according to the size of the array and the parallelism of pool.
+     *
+     * @param tuner the CutoffTuner.
+     * @param pool  the ForkJoinPool in which to run sorts (this will not be shut down by close).
+     */
+    public ParSort(CutoffTuner tuner, ForkJoinPool pool) {
+        this(CUTOFF_DEFAULT, pool, false, tuner);
+    }
+
+    /**
+     * Constructor which takes its cutoff and parallelism from the [parallelsort] section of the configuration.
+     * If autotune is set, the cutoff is instead taken from a CutoffTuner whose profile is also configured there
+     * (this does not calibrate: see CutoffTuner.calibrate; where the tuner has no cutoff, it logs a warning and the fixed cutoff is used).
+     *
+     * @param config the configuration.
+     */
+    public ParSort(Config config) {
+        this(getCutoff(config), new ForkJoinPool(getParallelism(config)), true,
+                config.getBoolean(PARALLELSORT, CutoffTuner.AUTOTUNE) ? new CutoffTuner(config) : null);
+    }
+
+    /**
+     * @return the fixed cutoff (in auto-tuning mode, this is used only for arrays which are too small to be worth tuning
+     * or for which the tuner has not been calibrated).
+     */
+    public int getCutoff() {
+        return cutoff;
+    }
+
+    /**
+     * Get the cutoff which will actually be used to sort n elements.
+     *
+     * @param n the number of elements.
+     * @return the tuned cutoff (in auto-tuning mode, if calibrated) or else the fixed cutoff.
+     */
+    public int getCutoff(int n) {
+        if (tuner == null || n <= CutoffTuner.MIN_CANDIDATE) return cutoff;
+        return Math.max(tuner.getCutoff(n, pool, cutoff), 2);
+    }
+
+    public boolean isAutoTuned() {
+        return tuner != null;
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    /**
+     * Sort the sub-array xs[from] ... xs[to-1].
+     *
+     * @param xs   the array to be sorted.
+     * @param from the index of the first element to sort.
+     * @param to   the index of the first element not to sort.
+     */
+    public void sort(int[] xs, int from, int to) {
+        int n = to - from;
+        int cutoff = getCutoff(n);
+        if (n <= cutoff) Arrays.sort(xs, from, to);
+        else pool.invoke(new IntSortTask(xs, from, new int[n], 0, n, false, cutoff));
+    }
+
+    /**
+     * Sort the sub-array xs[from] ... xs[to-1].
+     *
+     * @param xs   the array to be sorted.
+     * @param from the index of the first element to sort.
+     * @param to   the index of the first element not to sort.
+     */
+    public void sort(long[] xs, int from, int to) {
+        int n = to - from;
+        int cutoff = getCutoff(n);
+        if (n <= cutoff) Arrays.sort(xs, from, to);
+        else pool.invoke(new LongSortTask(xs, from, new long[n], 0, n, false, cutoff));
+    }
+
+    /**
+     * Sort the sub-array xs[from] ... xs[to-1].
+     * The ordering is that of Double.compare (and so of Arrays.sort): -0.0 precedes 0.0 and NaN comes last.
+     *
+     * @param xs   the array to be sorted.
+     * @param from the index of the first element to sort.
+     * @param to   the index of the first element not to sort.
+     */
+    public void sort(double[] xs, int from, int to) {
+        int n = to - from;
+        int cutoff = getCutoff(n);
+        if (n <= cutoff) Arrays.sort(xs, from, to);
+        else pool.invoke(new DoubleSortTask(xs, from, new double[n], 0, n, false, cutoff));
+    }
+
+    public void sort(int[] xs) {
+        sort(xs, 0, xs.length);
+    }
+
+    public void sort(long[] xs) {
+        sort(xs, 0, xs.length);
+    }
+
+    public void sort(double[] xs) {
+        sort(xs, 0, xs.length);
+    }
+
+    /**
+     * Shut down the pool, but only if it was created by this ParSort.
+     */
+    public void close() {
+        if (ownsPool) pool.shutdown();
+    }
+
+    @Override
+    public String toString() {
+        return "ParSort with " + (tuner != null ? "tuned cutoff" : "cutoff " + cutoff) + " and parallelism " + getParallelism();
+    }
+
+    public static final String PARALLELSORT = "parallelsort";
+    public static final String THREADS = "threads";
+    public static final int CUTOFF_DEFAULT = 1000;
+
+    static int getCutoff(Config config) {
+        return config.getInt(PARALLELSORT, Config.CUTOFF, CUTOFF_DEFAULT);
+    }
+
+    /**
+     * Method to get the number of threads from the [parallelsort] section of the configuration.
+     *
+     * @param config the configuration.
+     * @return the value of threads (defaulting to the number of available processors).
+     */
+    public static int getParallelism(Config config) {
+        return config.getInt(PARALLELSORT, THREADS, Runtime.getRuntime().availableProcessors());
+    }
+
+    private ParSort(int cutoff, ForkJoinPool pool, boolean ownsPool) {
+        this(cutoff, pool, ownsPool, null);
+    }
+
+    private ParSort(int cutoff, ForkJoinPool pool, boolean ownsPool, CutoffTuner tuner) {
+        // NOTE a threshold below 2 would never terminate (a run of one cannot be split).
+        this.cutoff = Math.max(cutoff, 2);
+        this.pool = pool;
+        this.ownsPool = ownsPool;
+        this.tuner = tuner;
+    }
+
+    private final int cutoff;
+    private final ForkJoinPool pool;
+    private final boolean ownsPool;
+    private final CutoffTuner tuner;
+
+    /**
+     * Task to sort the logical range lo ... hi-1 where logical index k corresponds to array[from + k] and to aux[k].
+     * If intoAux is false, the result is left in the main array, otherwise it is left in aux.
+     */
+    private static class IntSortTask extends RecursiveAction {
+
+        IntSortTask(int[] array, int from, int[] aux, int lo, int hi, boolean intoAux, int cutoff) {
+            this.array = array;
+            this.from = from;
+            this.aux = aux;
+            this.lo = lo;
+            this.hi = hi;
+            this.intoAux = intoAux;
+            this.cutoff = cutoff;
+        }
+
+        @Override
+        protected void compute() {
+            int n = hi - lo;
+            if (n <= cutoff) {
+                Arrays.sort(array, from + lo, from + hi);
+                if (intoAux) System.arraycopy(array, from + lo, aux, lo, n);
+                return;
+            }
+            int mid = lo + n / 2;
+            // NOTE the halves are sorted into whichever buffer is NOT our target, then merged into our target.
+            invokeAll(new IntSortTask(array, from, aux, lo, mid, !intoAux, cutoff),
+                    new IntSortTask(array, from, aux, mid, hi, !intoAux, cutoff));
+            if (intoAux)
+                new IntMergeTask(array, from, aux, 0, lo, mid, mid, hi, lo, cutoff).compute();
+            else
+                new IntMergeTask(aux, 0, array, from, lo, mid, mid, hi, lo, cutoff).compute();
+        }
+
+        private final int[] array;
+        private final int from;
+        private final int[] aux;
+        private final int lo;
+        private final int hi;
+        private final boolean intoAux;
+        private final int cutoff;
+    }
+
+    /**
+     * Task to merge the sorted logical runs lo1 ... hi1-1 and lo2 ... hi2-1 of source into target, starting at logical index k.
+     * Logical index i corresponds to source[sourceOffset + i] and to target[targetOffset + i].
+     */
+    private static class IntMergeTask extends RecursiveAction {
+
+        IntMergeTask(int[] source, int sourceOffset, int[] target, int targetOffset, int lo1, int hi1, int lo2, int hi2, int k, int cutoff) {
+            this.source = source;
+            this.sourceOffset = sourceOffset;
+            this.target = target;
+            this.targetOffset = targetOffset;
+            this.lo1 = lo1;
+            this.hi1 = hi1;
+            this.lo2 = lo2;
+            this.hi2 = hi2;
+            this.k = k;
+            this.cutoff = cutoff;
+        }
+
+        @Override
+        protected void compute() {
+            int n1 = hi1 - lo1;
+            int n2 = hi2 - lo2;
+            if (n1 + n2 <= cutoff) {
+                merge();
+                return;
+            }
+            // Split the larger run at its midpoint and find the corresponding split point in the other run.
+            int split1, split2;
+            if (n1 >= n2) {
+                split1 = lo1 + n1 / 2;
+                split2 = lowerBound(source, sourceOffset, lo2, hi2, source[sourceOffset + split1]);
+            } else {
+                split2 = lo2 + n2 / 2;
+                split1 = upperBound(source, sourceOffset, lo1, hi1, source[sourceOffset + split2]);
+            }
+            int k2 = k + (split1 - lo1) + (split2 - lo2);
+            invokeAll(new IntMergeTask(source, sourceOffset, target, targetOffset, lo1, split1, lo2, split2, k, cutoff),
+                    new IntMergeTask(source, sourceOffset, target, targetOffset, split1, hi1, split2, hi2, k2, cutoff));
+        }
+
+        private void merge() {
+            int i = sourceOffset + lo1, iEnd = sourceOffset + hi1;
+            int j = sourceOffset + lo2, jEnd = sourceOffset + hi2;
+            int t = targetOffset + k;
+            while (i < iEnd && j < jEnd) target[t++] = source[j] < source[i] ? source[j++] : source[i++];
+            if (i < iEnd) System.arraycopy(source, i, target, t, iEnd - i);
+            else if (j < jEnd) System.arraycopy(source, j, target, t, jEnd - j);
+        }
+
+        private final int[] source;
+        private final int sourceOffset;
+        private final int[] target;
+        private final int targetOffset;
+        private final int lo1;
+        private final int hi1;
+        private final int lo2;
+        private final int hi2;
+        private final int k;
+        private final int cutoff;
+    }
+
+    /**
+     * Task to sort the logical range lo ... hi-1 where logical index k corresponds to array[from + k] and to aux[k].
+     * If intoAux is false, the result is left in the main array, otherwise it is left in aux.
+     */
+    private static class LongSortTask extends RecursiveAction {
+
+        LongSortTask(long[] array, int from, long[] aux, int lo, int hi, boolean intoAux, int cutoff) {
+            this.array = array;
+            this.from = from;
+            this.aux = aux;
+            this.lo = lo;
+            this.hi = hi;
+            this.intoAux = intoAux;
+            this.cutoff = cutoff;
+        }
+
+        @Override
+        protected void compute() {
+            int n = hi - lo;
+            if (n <= cutoff) {
+                Arrays.sort(array, from + lo, from + hi);
+                if (intoAux) System.arraycopy(array, from + lo, aux, lo, n);
+                return;
+            }
+            int mid = lo + n / 2;
+            // NOTE the halves are sorted into whichever buffer is NOT our target, then merged into our target.
+            invokeAll(new LongSortTask(array, from, aux, lo, mid, !intoAux, cutoff),
+                    new LongSortTask(array, from, aux, mid, hi, !intoAux, cutoff));
+            if (intoAux)
+                new LongMergeTask(array, from, aux, 0, lo, mid, mid, hi, lo, cutoff).compute();
+            else
+                new LongMergeTask(aux, 0, array, from, lo, mid, mid, hi, lo, cutoff).compute();
+        }
+
+        private final long[] array;
+        private final int from;
+        private final long[] aux;
+        private final int lo;
+        private final int hi;
+        private final boolean intoAux;
+        private final int cutoff;
+    }
+
+    /**
+     * Task to merge the sorted logical runs lo1 ... hi1-1 and lo2 ... hi2-1 of source into target, starting at logical index k.
+     * Logical index i corresponds to source[sourceOffset + i] and to target[targetOffset + i].
+     */
+    private static class LongMergeTask extends RecursiveAction {
+
+        LongMergeTask(long[] source, int sourceOffset, long[] target, int targetOffset, int lo1, int hi1, int lo2, int hi2, int k, int cutoff) {
+            this.source = source;
+            this.sourceOffset = sourceOffset;
+            this.target = target;
+            this.targetOffset = targetOffset;
+            this.lo1 = lo1;
+            this.hi1 = hi1;
+            this.lo2 = lo2;
+            this.hi2 = hi2;
+            this.k = k;
+            this.cutoff = cutoff;
+        }
+
+        @Override
+        protected void compute() {
+            int n1 = hi1 - lo1;
+            int n2 = hi2 - lo2;
+            if (n1 + n2 <= cutoff) {
+                merge();
+                return;
+            }
+            // Split the larger run at its midpoint and find the corresponding split point in the other run.
+            int split1, split2;
+            if (n1 >= n2) {
+                split1 = lo1 + n1 / 2;
+                split2 = lowerBound(source, sourceOffset, lo2, hi2, source[sourceOffset + split1]);
+            } else {
+                split2 = lo2 + n2 / 2;
+                split1 = upperBound(source, sourceOffset, lo1, hi1, source[sourceOffset + split2]);
+            }
+            int k2 = k + (split1 - lo1) + (split2 - lo2);
+            invokeAll(new LongMergeTask(source, sourceOffset, target, targetOffset, lo1, split1, lo2, split2, k, cutoff),
+                    new LongMergeTask(source, sourceOffset, target, targetOffset, split1, hi1, split2, hi2, k2, cutoff));
+        }
+
+        private void merge() {
+            int i = sourceOffset + lo1, iEnd = sourceOffset + hi1;
+            int j = sourceOffset + lo2, jEnd = sourceOffset + hi2;
+            int t = targetOffset + k;
+            while (i < iEnd && j < jEnd) target[t++] = source[j] < source[i] ? source[j++] : source[i++];
+            if (i < iEnd) System.arraycopy(source, i, target, t, iEnd - i);
+            else if (j < jEnd) System.arraycopy(source, j, target, t, jEnd - j);
+        }
+
+        private final long[] source;
+        private final int sourceOffset;
+        private final long[] target;
+        private final int targetOffset;
+        private final int lo1;
+        private final int hi1;
+        private final int lo2;
+        private final int hi2;
+        private final int k;
+        private final int cutoff;
+    }
+
+    /**
+     * Task to sort the logical range lo ... hi-1 where logical index k corresponds to array[from + k] and to aux[k].
+     * If intoAux is false, the result is left in the main array, otherwise it is left in aux.
+     */
+    private static class DoubleSortTask extends RecursiveAction {
+
+        DoubleSortTask(double[] array, int from, double[] aux, int lo, int hi, boolean intoAux, int cutoff) {
+            this.array = array;
+            this.from = from;
+            this.aux = aux;
+            this.lo = lo;
+            this.hi = hi;
+            this.intoAux = intoAux;
+            this.cutoff = cutoff;
+        }
+
+        @Override
+        protected void compute() {
+            int n = hi - lo;
+            if (n <= cutoff) {
+                Arrays.sort(array, from + lo, from + hi);
+                if (intoAux) System.arraycopy(array, from + lo, aux, lo, n);
+                return;
+            }
+            int mid = lo + n / 2;
+            // NOTE the halves are sorted into whichever buffer is NOT our target, then merged into our target.
+            invokeAll(new DoubleSortTask(array, from, aux, lo, mid, !intoAux, cutoff),
+                    new DoubleSortTask(array, from, aux, mid, hi, !intoAux, cutoff));
+            if (intoAux)
+                new DoubleMergeTask(array, from, aux, 0, lo, mid, mid, hi, lo, cutoff).compute();
+            else
+                new DoubleMergeTask(aux, 0, array, from, lo, mid, mid, hi, lo, cutoff).compute();
+        }
+
+        private final double[] array;
+        private final int from;
+        private final double[] aux;
+        private final int lo;
+        private final int hi;
+        private final boolean intoAux;
+        private final int cutoff;
+    }
+
+    /**
+     * Task to merge the sorted logical runs lo1 ... hi1-1 and lo2 ... hi2-1 of source into target, starting at logical index k.
+     * Logical index i corresponds to source[sourceOffset + i] and to target[targetOffset + i].
+     */
+    private static class DoubleMergeTask extends RecursiveAction {
+
+        DoubleMergeTask(double[] source, int sourceOffset, double[] target, int targetOffset, int lo1, int hi1, int lo2, int hi2, int k, int cutoff) {
+            this.source = source;
+            this.sourceOffset = sourceOffset;
+            this.target = target;
+            this.targetOffset = targetOffset;
+            this.lo1 = lo1;
+            this.hi1 = hi1;
+            this.lo2 = lo2;
+            this.hi2 = hi2;
+            this.k = k;
+            this.cutoff = cutoff;
+        }
+
+        @Override
+        protected void compute() {
+            int n1 = hi1 - lo1;
+            int n2 = hi2 - lo2;
+            if (n1 + n2 <= cutoff) {
+                merge();
+                return;
+            }
+            // Split the larger run at its midpoint and find the corresponding split point in the other run.
+            int split1, split2;
+            if (n1 >= n2) {
+                split1 = lo1 + n1 / 2;
+                split2 = lowerBound(source, sourceOffset, lo2, hi2, source[sourceOffset + split1]);
+            } else {
+                split2 = lo2 + n2 / 2;
+                split1 = upperBound(source, sourceOffset, lo1, hi1, source[sourceOffset + split2]);
+            }
+            int k2 = k + (split1 - lo1) + (split2 - lo2);
+            invokeAll(new DoubleMergeTask(source, sourceOffset, target, targetOffset, lo1, split1, lo2, split2, k, cutoff),
+                    new DoubleMergeTask(source, sourceOffset, target, targetOffset, split1, hi1, split2, hi2, k2, cutoff));
+        }
+
+        private void merge() {
+            int i = sourceOffset + lo1, iEnd = sourceOffset + hi1;
+            int j = sourceOffset + lo2, jEnd = sourceOffset + hi2;
+            int t = targetOffset + k;
+            while (i < iEnd && j < jEnd) target[t++] = Double.compare(source[j], source[i]) < 0 ? source[j++] : source[i++];
+            if (i < iEnd) System.arraycopy(source, i, target, t, iEnd - i);
+            else if (j < jEnd) System.arraycopy(source, j, target, t, jEnd - j);
+        }
+
+        private final double[] source;
+        private final int sourceOffset;
+        private final double[] target;
+        private final int targetOffset;
+        private final int lo1;
+        private final int hi1;
+        private final int lo2;
+        private final int hi2;
+        private final int k;
+        private final int cutoff;
+    }
+
+    /**
+     * @return the first logical index i in lo ... hi such that xs[offset + i] >= x (or hi if there is none).
+     */
+    private static int lowerBound(int[] xs, int offset, int lo, int hi, int x) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (xs[offset + mid] < x) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    /**
+     * @return the first logical index i in lo ... hi such that xs[offset + i] > x (or hi if there is none).
+     */
+    private static int upperBound(int[] xs, int offset, int lo, int hi, int x) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (xs[offset + mid] <= x) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    /**
+     * @return the first logical index i in lo ... hi such that xs[offset + i] >= x (or hi if there is none).
+     */
+    private static int lowerBound(long[] xs, int offset, int lo, int hi, long x) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (xs[offset + mid] < x) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    /**
+     * @return the first logical index i in lo ... hi such that xs[offset + i] > x (or hi if there is none).
+     */
+    private static int upperBound(long[] xs, int offset, int lo, int hi, long x) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (xs[offset + mid] <= x) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    /**
+     * @return the first logical index i in lo ... hi such that xs[offset + i] >= x (or hi if there is none).
+     */
+    private static int lowerBound(double[] xs, int offset, int lo, int hi, double x) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (Double.compare(xs[offset + mid], x) < 0) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    /**
+     * @return the first logical index i in lo ... hi such that xs[offset + i] > x (or hi if there is none).
+     */
+    private static int upperBound(double[] xs, int offset, int lo, int hi, double x) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (Double.compare(xs[offset + mid], x) <= 0) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+}
@@ -0,0 +1,192 @@
+package edu.neu.coe.info6205.sort.par;
+
+import edu.neu.coe.info6205.sort.CacheModel;
+import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.sort.HelperFactory;
+import edu.neu.coe.info6205.sort.Instrument;
+import edu.neu.coe.info6205.sort.InstrumentedComparableHelper;
+import edu.neu.coe.info6205.sort.SortException;
+import edu.neu.coe.info6205.sort.SortWithComparableHelper;
+import edu.neu.coe.info6205.sort.linearithmic.Partition;
+import edu.neu.coe.info6205.sort.linearithmic.Partitioner;
+import edu.neu.coe.info6205.sort.linearithmic.QuickSort;
+import edu.neu.coe.info6205.sort.linearithmic.QuickSort_DualPivot;
+import edu.neu.coe.info6205.util.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+
+/**
+ * Class ParallelQuickSort: a fork/join parallel quicksort which plugs into the SortWithHelper hierarchy.
+ * <p>
+ * Each task partitions its range with the Partitioner of a (sequential) QuickSort; all of the resulting partitions
+ * except the largest are forked (or, if they are no larger than the threshold, sorted in place) and the task carries
+ * on with the largest partition itself, so that the number of pending tasks stays logarithmic.
+ * A range of threshold elements or fewer is sorted by the sequential QuickSort.
+ * <p>
+ * Partitioners and quicksorts are not (in general) thread-safe, so each thread gets its own QuickSort
+ * (from the factory) and Partitioner. The Partitioner must not depend on any preparation by its QuickSort
+ * (QuickSort_Basic, QuickSort_3way and QuickSort_DualPivot are fine).
+ * <p>
+ * NOTE that, in order to count correctly, an instrumented helper must use a thread-safe Instrument
+ * (see ConcurrentInstrumenter): when this sorter creates its own helper, it arranges for that.
+ * A CacheModel is not thread-safe, so cache simulation is turned off for such a helper (and a given helper which simulates
+ * a cache is rejected).
+ *
+ * @param <X> the underlying comparable type.
+ */
+public class ParallelQuickSort<X extends Comparable<X>> extends SortWithComparableHelper<X> {
+
+    public static final String DESCRIPTION = "Parallel quicksort";
+
+    /**
+     * Constructor for ParallelQuickSort which uses an explicit (caller-managed) pool.
+     *
+     * @param helper    an explicit instance of Helper to be used (shared by all threads).
+     * @param factory   a function to create the sequential QuickSort for each thread.
+     * @param threshold the size above which a partition may be sorted by a separate task.
+     * @param pool      the ForkJoinPool in which to run sorts (this will not be shut down by close).
+     */
+    public ParallelQuickSort(Helper<X> helper, Function<Helper<X>, QuickSort<X>> factory, int threshold, ForkJoinPool pool) {
+        this(helper, factory, threshold, pool, false);
+    }
+
+    /**
+     * Constructor for ParallelQuickSort which uses dual-pivot quicksort and which creates (and owns) its own pool.
+     *
+     * @param helper      an explicit instance of Helper to be used (shared by all threads).
+     * @param threshold   the size above which a partition may be sorted by a separate task.
+     * @param parallelism the number of threads in the pool.
+     */
+    public ParallelQuickSort(Helper<X> helper, int threshold, int parallelism) {
+        this(helper, QuickSort_DualPivot::new, threshold, new ForkJoinPool(parallelism), true);
+    }
+
+    /**
+     * Constructor for ParallelQuickSort which uses dual-pivot quicksort and which takes its threshold and parallelism
+     * from the [parallelsort] section of the configuration.
+     * If the configuration is instrumented, the counts are kept by a ConcurrentInstrumenter.
+     *
+     * @param N      the number elements we expect to sort.
+     * @param nRuns  the expected number of runs.
+     * @param config the configuration.
+     */
+    public ParallelQuickSort(int N, int nRuns, Config config) {
+        this(HelperFactory.create(DESCRIPTION + " with threshold " + getThreshold(config) + " and parallelism " + ParSort.getParallelism(config), N, config.getSeed(), nRuns, concurrent(config)),
+                QuickSort_DualPivot::new, getThreshold(config), new ForkJoinPool(ParSort.getParallelism(config)), true);
+        closeHelper = true;
+    }
+
+    /**
+     * Sort the sub-array xs[from] ... xs[to-1].
+     *
+     * @param xs   the array to be sorted.
+     * @param from the index of the first element to sort.
+     * @param to   the index of the first element not to sort.
+     */
+    public void sort(X[] xs, int from, int to) {
+        if (to - from <= threshold) sorters.get().sort(xs, from, to, 0);
+        else pool.invoke(new QuickSortTask(xs, from, to, 0));
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    @Override
+    public void close() {
+        if (ownsPool) pool.shutdown();
+        super.close();
+    }
+
+    public static final String QUICKSORTTHRESHOLD = "quicksortthreshold";
+    public static final int QUICKSORT_THRESHOLD_DEFAULT = 8192;
+
+    /**
+     * Method to get the fork threshold from the [parallelsort] section of the configuration.
+     *
+     * @param config the configuration.
+     * @return the threshold.
+     */
+    public static int getThreshold(Config config) {
+        return config.getInt(ParSort.PARALLELSORT, QUICKSORTTHRESHOLD, QUICKSORT_THRESHOLD_DEFAULT);
+    }
+
+    /**
+     * Task to sort xs[from] ... xs[to-1].
+     */
+    private class QuickSortTask extends RecursiveAction {
+
+        QuickSortTask(X[] xs, int from, int to, int depth) {
+            this.xs = xs;
+            this.from = from;
+            this.to = to;
+            this.depth = depth;
+        }
+
+        @Override
+        protected void compute() {
+            List<QuickSortTask> tasks = new ArrayList<>();
+            Partitioner<X> partitioner = partitioners.get();
+            int lo = from, hi = to, d = depth;
+            while (hi - lo > threshold) {
+                getHelper().registerDepth(d);
+                List<Partition<X>> partitions = partitioner.partition(new Partition<>(xs, lo, hi));
+                Partition<X> largest = partitions.get(0);
+                for (Partition<X> p : partitions) if (p.to - p.from > largest.to - largest.from) largest = p;
+                d++;
+                for (Partition<X> p : partitions)
+                    if (p != largest) {
+                        if (p.to - p.from > threshold) {
+                            QuickSortTask task = new QuickSortTask(xs, p.from, p.to, d);
+                            task.fork();
+                            tasks.add(task);
+                        } else sorters.get().sort(xs, p.from, p.to, d);
+                    }
+                lo = largest.from;
+                hi = largest.to;
+            }
+            sorters.get().sort(xs, lo, hi, d);
+            for (QuickSortTask task : tasks) task.join();
+        }
+
+        private final X[] xs;
+        private final int from;
+        private final int to;
+        private final int depth;
+    }
+
+    /**
+     * If the configuration is instrumented, make sure that its counters are thread-safe and that it does not simulate a cache.
+     */
+    private static Config concurrent(Config config) {
+        if (!config.isInstrumented()) return config;
+        Config result = Instrument.concurrent(config);
+        return CacheModel.isSimulated(result) ? result.copy(CacheModel.CACHE, CacheModel.SIMULATE, "false") : result;
+    }
+
+    private ParallelQuickSort(Helper<X> helper, Function<Helper<X>, QuickSort<X>> factory, int threshold, ForkJoinPool pool, boolean ownsPool) {
+        super(helper);
+        if (helper instanceof InstrumentedComparableHelper && ((InstrumentedComparableHelper<X>) helper).getCacheModel() != null)
+            throw new SortException("ParallelQuickSort: cannot simulate a cache with more than one thread");
+        // NOTE the partitioners need at least three elements.
+        this.threshold = Math.max(threshold, 3);
+        this.pool = pool;
+        this.ownsPool = ownsPool;
+        this.sorters = ThreadLocal.withInitial(() -> factory.apply(helper));
+        this.partitioners = ThreadLocal.withInitial(() -> sorters.get().createPartitioner());
+    }
+
+    private final int threshold;
+    private final ForkJoinPool pool;
+    private final boolean ownsPool;
+    private final ThreadLocal<QuickSort<X>> sorters;
+    private final ThreadLocal<Partitioner<X>> partitioners;
+}
@@ -0,0 +1,241 @@
+package edu.neu.coe.info6205.sort.par;
+
+import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.sort.SortWithComparableHelper;
+import edu.neu.coe.info6205.util.Config;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Class ParallelSort: a fork/join parallel merge sort which plugs into the SortWithHelper hierarchy.
+ * <p>
+ * The algorithm is the same as that of ParSort (which handles arrays of primitives):
+ * a single auxiliary array is allocated per sort and the roles of the array and the auxiliary array are
+ * swapped at each level of the recursion; merges are themselves split and run in parallel.
+ * The sort is stable.
+ * <p>
+ * NOTE that the cutoff and parallelism are per-instance settings, taken (by default) from the [parallelsort] section of the configuration.
+ * <p>
+ * NOTE also that the sort uses helper.getComparator() directly (in the threads of the pool), and so none of its
+ * compares, copies or swaps is counted, even by an instrumented Helper.
+ * When the configuration is instrumented, the description says so.
+ *
+ * @param <X> the underlying comparable type.
+ */
+public class ParallelSort<X extends Comparable<X>> extends SortWithComparableHelper<X> {
+
+    public static final String DESCRIPTION = "Parallel sort";
+
+    /**
+     * Constructor for ParallelSort which uses an explicit (caller-managed) pool.
+     *
+     * @param helper an explicit instance of Helper to be used.
+     * @param cutoff the size at or below which a sub-array is sorted sequentially.
+     * @param pool   the ForkJoinPool in which to run sorts (this will not be shut down by close).
+     */
+    public ParallelSort(Helper<X> helper, int cutoff, ForkJoinPool pool) {
+        this(helper, cutoff, pool, false);
+    }
+
+    /**
+     * Constructor for ParallelSort which creates (and owns) its own pool.
+     *
+     * @param helper      an explicit instance of Helper to be used.
+     * @param cutoff      the size at or below which a sub-array is sorted sequentially.
+     * @param parallelism the number of threads in the pool.
+     */
+    public ParallelSort(Helper<X> helper, int cutoff, int parallelism) {
+        this(helper, cutoff, new ForkJoinPool(parallelism), true);
+    }
+
+    /**
+     * Constructor for ParallelSort
+     *
+     * @param N      the number elements we expect to sort.
+     * @param nRuns  the expected number of runs.
+     * @param config the configuration.
+     */
+    public ParallelSort(int N, int nRuns, Config config) {
+        super(DESCRIPTION + " with cutoff " + ParSort.getCutoff(config) + " and parallelism " + ParSort.getParallelism(config) + (config.isInstrumented() ? " (not instrumented)" : ""), N, nRuns, config);
+        this.cutoff = Math.max(ParSort.getCutoff(config), 2);
+        this.pool = new ForkJoinPool(ParSort.getParallelism(config));
+        this.ownsPool = true;
+    }
+
+    /**
+     * Sort the sub-array xs[from] ... xs[to-1].
+     *
+     * @param xs   the array to be sorted.
+     * @param from the index of the first element to sort.
+     * @param to   the index of the first element not to sort.
+     */
+    public void sort(X[] xs, int from, int to) {
+        final Comparator<X> comparator = helper.getComparator();
+        int n = to - from;
+        if (n <= cutoff) {
+            Arrays.sort(xs, from, to, comparator);
+            return;
+        }
+        @SuppressWarnings("unchecked") X[] aux = (X[]) Array.newInstance(xs.getClass().getComponentType(), n);
+        pool.invoke(new SortTask<>(xs, from, aux, 0, n, false, cutoff, comparator));
+    }
+
+    public int getCutoff() {
+        return cutoff;
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    @Override
+    public void close() {
+        if (ownsPool) pool.shutdown();
+        super.close();
+    }
+
+    /**
+     * Task to sort the logical range lo ... hi-1 where logical index k corresponds to array[from + k] and to aux[k].
+     * If intoAux is false, the result is left in the main array, otherwise it is left in aux.
+     */
+    private static class SortTask<X> extends RecursiveAction {
+
+        SortTask(X[] array, int from, X[] aux, int lo, int hi, boolean intoAux, int cutoff, Comparator<X> comparator) {
+            this.array = array;
+            this.from = from;
+            this.aux = aux;
+            this.lo = lo;
+            this.hi = hi;
+            this.intoAux = intoAux;
+            this.cutoff = cutoff;
+            this.comparator = comparator;
+        }
+
+        @Override
+        protected void compute() {
+            int n = hi - lo;
+            if (n <= cutoff) {
+                Arrays.sort(array, from + lo, from + hi, comparator);
+                if (intoAux) System.arraycopy(array, from + lo, aux, lo, n);
+                return;
+            }
+            int mid = lo + n / 2;
+            // NOTE the halves are sorted into whichever buffer is NOT our target, then merged into our target.
+            invokeAll(new SortTask<>(array, from, aux, lo, mid, !intoAux, cutoff, comparator),
+                    new SortTask<>(array, from, aux, mid, hi, !intoAux, cutoff, comparator));
+            if (intoAux)
+                new MergeTask<>(array, from, aux, 0, lo, mid, mid, hi, lo, cutoff, comparator).compute();
+            else
+                new MergeTask<>(aux, 0, array, from, lo, mid, mid, hi, lo, cutoff, comparator).compute();
+        }
+
+        private final X[] array;
+        private final int from;
+        private final X[] aux;
+        private final int lo;
+        private final int hi;
+        private final boolean intoAux;
+        private final int cutoff;
+        private final Comparator<X> comparator;
+    }
+
+    /**
+     * Task to merge the sorted logical runs lo1 ... hi1-1 and lo2 ... hi2-1 of source into target, starting at logical index k.
+     * Logical index i corresponds to source[sourceOffset + i] and to target[targetOffset + i].
+     * In order to preserve stability, elements of the first run precede equal elements of the second run.
+     */
+    private static class MergeTask<X> extends RecursiveAction {
+
+        MergeTask(X[] source, int sourceOffset, X[] target, int targetOffset, int lo1, int hi1, int lo2, int hi2, int k, int cutoff, Comparator<X> comparator) {
+            this.source = source;
+            this.sourceOffset = sourceOffset;
+            this.target = target;
+            this.targetOffset = targetOffset;
+            this.lo1 = lo1;
+            this.hi1 = hi1;
+            this.lo2 = lo2;
+            this.hi2 = hi2;
+            this.k = k;
+            this.cutoff = cutoff;
+            this.comparator = comparator;
+        }
+
+        @Override
+        protected void compute() {
+            int n1 = hi1 - lo1;
+            int n2 = hi2 - lo2;
+            if (n1 + n2 <= cutoff) {
+                merge();
+                return;
+            }
+            // Split the larger run at its midpoint and find the corresponding split point in the other run.
+            int split1, split2;
+            if (n1 >= n2) {
+                split1 = lo1 + n1 / 2;
+                split2 = lowerBound(lo2, hi2, source[sourceOffset + split1]);
+            } else {
+                split2 = lo2 + n2 / 2;
+                split1 = upperBound(lo1, hi1, source[sourceOffset + split2]);
+            }
+            int k2 = k + (split1 - lo1) + (split2 - lo2);
+            invokeAll(new MergeTask<>(source, sourceOffset, target, targetOffset, lo1, split1, lo2, split2, k, cutoff, comparator),
+                    new MergeTask<>(source, sourceOffset, target, targetOffset, split1, hi1, split2, hi2, k2, cutoff, comparator));
+        }
+
+        private void merge() {
+            int i = sourceOffset + lo1, iEnd = sourceOffset + hi1;
+            int j = sourceOffset + lo2, jEnd = sourceOffset + hi2;
+            int t = targetOffset + k;
+            while (i < iEnd && j < jEnd)
+                target[t++] = comparator.compare(source[j], source[i]) < 0 ? source[j++] : source[i++];
+            if (i < iEnd) System.arraycopy(source, i, target, t, iEnd - i);
+            else if (j < jEnd) System.arraycopy(source, j, target, t, jEnd - j);
+        }
+
+        private int lowerBound(int lo, int hi, X x) {
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (comparator.compare(source[sourceOffset + mid], x) < 0) lo = mid + 1;
+                else hi = mid;
+            }
+            return lo;
+        }
+
+        private int upperBound(int lo, int hi, X x) {
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (comparator.compare(source[sourceOffset + mid], x) <= 0) lo = mid + 1;
+                else hi = mid;
+            }
+            return lo;
+        }
+
+        private final X[] source;
+        private final int sourceOffset;
+        private final X[] target;
+        private final int targetOffset;
+        private final int lo1;
+        private final int hi1;
+        private final int lo2;
+        private final int hi2;
+        private final int k;
+        private final int cutoff;
+        private final Comparator<X> comparator;
+    }
+
+    private ParallelSort(Helper<X> helper, int cutoff, ForkJoinPool pool, boolean ownsPool) {
+        super(helper);
+        // NOTE a threshold below 2 would never terminate (a run of one cannot be split).
+        this.cutoff = Math.max(cutoff, 2);
+        this.pool = pool;
+        this.ownsPool = ownsPool;
+    }
+
+    private final int cutoff;
+    private final ForkJoinPool pool;
+    private final boolean ownsPool;
+}
@@ -0,0 +1,82 @@
+package edu.neu.coe.info6205.sort.vector;
+
+import edu.neu.coe.info6205.sort.PrimitiveSort;
+import edu.neu.coe.info6205.sort.elementary.InsertionSortPrimitive;
+import edu.neu.coe.info6205.sort.linearithmic.MergeSortPrimitive;
+import edu.neu.coe.info6205.sort.linearithmic.QuickSort_DualPivotPrimitive;
+import edu.neu.coe.info6205.util.Benchmark_Timer;
+import edu.neu.coe.info6205.util.Config;
+import edu.neu.coe.info6205.util.LazyLogger;
+
+import java.io.IOException;
+import java.util.Random;
+
+import static edu.neu.coe.info6205.util.Utilities.formatWhole;
+
+/**
+ * Benchmark to compare the vectorized IntKernel (see VectorIntKernel) with InsertionSortPrimitive as the base case.
+ * <p>
+ * First, for each block size, we time the sorting of an array in (independent) blocks of that size.
+ * Then we time the primitive quicksort and mergesort (of int[]) with each kernel, with the cutoff equal to each block size.
+ * <p>
+ * The block sizes, the array size and the number of runs are taken from the [basecasebenchmark] section of the configuration.
+ * The JVM must be started with --add-modules jdk.incubator.vector, otherwise only the scalar kernel can be measured.
+ */
+public class BaseCaseBenchmark {
+
+    public BaseCaseBenchmark(Config config) {
+        this.config = config;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Config config = Config.load(BaseCaseBenchmark.class);
+        new BaseCaseBenchmark(config).runBenchmarks();
+    }
+
+    public void runBenchmarks() {
+        final int n = config.getInt(BASECASEBENCHMARK, "n", 1_000_000);
+        final int runs = config.getInt(BASECASEBENCHMARK, "runs", 20);
+        final IntKernel vectorized = IntKernel.create(config.copy(Config.HELPER, IntKernel.VECTORIZE, "true"));
+        if (!vectorized.isVectorized())
+            logger.warn("BaseCaseBenchmark: the vectorized kernel is not available: use --add-modules " + IntKernel.VECTOR_MODULE);
+        for (String size : config.getString(BASECASEBENCHMARK, "blocksizes", "8,16,32,64").split(",")) {
+            final int blockSize = Integer.parseInt(size.trim());
+            final InsertionSortPrimitive insertionSort = new InsertionSortPrimitive();
+            logger.info(runBlockBenchmark("insertion sort", insertionSort::sort, blockSize, n, runs));
+            logger.info(runBlockBenchmark(vectorized.getDescription(), vectorized::sortSmall, blockSize, n, runs));
+            for (IntKernel kernel : new IntKernel[]{new ScalarIntKernel(), vectorized}) {
+                logger.info(runSortBenchmark(new QuickSort_DualPivotPrimitive(blockSize, kernel), blockSize, n, runs));
+                logger.info(runSortBenchmark(new MergeSortPrimitive(blockSize, kernel), blockSize, n, runs));
+            }
+        }
+    }
+
+    /**
+     * Method to time the sorting of an array of n ints in blocks of blockSize.
+     */
+    String runBlockBenchmark(String description, BlockSorter sorter, int blockSize, int n, int runs) {
+        double time = new Benchmark_Timer<int[]>(description, xs -> {
+            for (int from = 0; from < n; from += blockSize) sorter.sort(xs, from, Math.min(from + blockSize, n));
+        }).runFromSupplier(() -> random.ints(n).toArray(), runs);
+        return String.format("Blocks of %d sorted by %s, n=%s: mean time: %.3f msecs (%.2f nsecs per element)", blockSize, description, formatWhole(n), time, time * 1E6 / n);
+    }
+
+    /**
+     * Method to time a PrimitiveSort of an array of n ints.
+     */
+    String runSortBenchmark(PrimitiveSort sorter, int cutoff, int n, int runs) {
+        double time = new Benchmark_Timer<int[]>(sorter.getDescription(), xs -> sorter.sort(xs, 0, n)).runFromSupplier(() -> random.ints(n).toArray(), runs);
+        return String.format("%s with cutoff %d, n=%s: mean time: %.3f msecs", sorter.getDescription(), cutoff, formatWhole(n), time);
+    }
+
+    interface BlockSorter {
+        void sort(int[] xs, int from, int to);
+    }
+
+    public static final String BASECASEBENCHMARK = "basecasebenchmark";
+
+    private final Config config;
+    private final Random random = new Random();
+
+    final static LazyLogger logger = new LazyLogger(BaseCaseBenchmark.class);
+}
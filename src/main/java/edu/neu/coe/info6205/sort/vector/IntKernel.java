@@ -0,0 +1,92 @@
+package edu.neu.coe.info6205.sort.vector;
+
+import edu.neu.coe.info6205.util.Config;
+import edu.neu.coe.info6205.util.LazyLogger;
+
+import static edu.neu.coe.info6205.util.Config.HELPER;
+
+/**
+ * Interface IntKernel: the two inner loops of the primitive (int[]) divide-and-conquer sorts,
+ * that is to say the base case (the sort of a small block) and the (dual-pivot) partition step.
+ * <p>
+ * There are two implementations: ScalarIntKernel (insertion sort and the usual in-place partition)
+ * and VectorIntKernel, which uses the (incubating) Vector API of jdk.incubator.vector.
+ * The vectorized kernel is used only if vectorize (in [helper]) is true and the JVM was started
+ * with --add-modules jdk.incubator.vector: otherwise, we fall back to the scalar kernel.
+ * <p>
+ * NOTE that a kernel must keep no state between calls, so that a sorter which uses it may be shared between threads.
+ */
+public interface IntKernel {
+
+    /**
+     * @return the description of this kernel.
+     */
+    String getDescription();
+
+    /**
+     * Sort the small block xs[from] ... xs[to-1].
+     * Blocks of more than MAX_BLOCK elements are allowed, but will be sorted by insertion sort.
+     *
+     * @param xs   the array.
+     * @param from the index of the first element to sort.
+     * @param to   the index of the first element not to sort.
+     */
+    void sortSmall(int[] xs, int from, int to);
+
+    /**
+     * Partition xs[from] ... xs[to-1] according to the pivot values v1 and v2 (where v1 is not greater than v2).
+     *
+     * @param xs   the array.
+     * @param from the index of the first element to partition.
+     * @param to   the index of the first element not to partition.
+     * @param v1   the lesser pivot value.
+     * @param v2   the greater pivot value.
+     * @return {lt, gt} such that xs[from..lt-1] are less than v1, xs[gt..to-1] are greater than v2,
+     * and the elements in between are neither.
+     */
+    int[] partition(int[] xs, int from, int to, int v1, int v2);
+
+    /**
+     * @return true if this kernel uses the Vector API.
+     */
+    default boolean isVectorized() {
+        return false;
+    }
+
+    /**
+     * Method to create the kernel according to the configuration.
+     *
+     * @param config the configuration.
+     * @return a VectorIntKernel if vectorize (in [helper]) is true and the Vector API is available, otherwise a ScalarIntKernel.
+     */
+    static IntKernel create(Config config) {
+        if (config.getBoolean(HELPER, VECTORIZE)) {
+            if (isVectorAvailable())
+                try {
+                    // NOTE we load VectorIntKernel reflectively so that nothing here depends on jdk.incubator.vector.
+                    return (IntKernel) Class.forName(IntKernel.class.getPackageName() + ".VectorIntKernel").getDeclaredConstructor().newInstance();
+                } catch (ReflectiveOperationException | LinkageError e) {
+                    new LazyLogger(IntKernel.class).warn("IntKernel.create: cannot create vectorized kernel (using scalar kernel)", e);
+                }
+            else
+                new LazyLogger(IntKernel.class).warn("IntKernel.create: " + VECTOR_MODULE + " is not available (using scalar kernel): use --add-modules " + VECTOR_MODULE);
+        }
+        return new ScalarIntKernel();
+    }
+
+    /**
+     * @return true if the Vector API module has been added to the boot layer.
+     */
+    static boolean isVectorAvailable() {
+        return ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent();
+    }
+
+    String VECTORIZE = "vectorize";
+
+    String VECTOR_MODULE = "jdk.incubator.vector";
+
+    /**
+     * The greatest block size for which the sorting network is used.
+     */
+    int MAX_BLOCK = 64;
+}
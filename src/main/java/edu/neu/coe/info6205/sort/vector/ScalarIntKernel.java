@@ -0,0 +1,41 @@
+package edu.neu.coe.info6205.sort.vector;
+
+import edu.neu.coe.info6205.sort.elementary.InsertionSortPrimitive;
+
+/**
+ * Class ScalarIntKernel: the usual (scalar) IntKernel, which is also the fallback when the Vector API is not available.
+ * The base case is InsertionSortPrimitive and the partition is that of QuickSort_DualPivotPrimitive.
+ */
+public class ScalarIntKernel implements IntKernel {
+
+    public static final String DESCRIPTION = "scalar";
+
+    public String getDescription() {
+        return DESCRIPTION;
+    }
+
+    public void sortSmall(int[] xs, int from, int to) {
+        insertionSort.sort(xs, from, to);
+    }
+
+    public int[] partition(int[] xs, int from, int to, int v1, int v2) {
+        int lt = from;
+        int gt = to - 1;
+        int i = lt;
+        while (i <= gt) {
+            int x = xs[i];
+            if (x < v1) swap(xs, lt++, i++);
+            else if (v2 < x) swap(xs, i, gt--);
+            else i++;
+        }
+        return new int[]{lt, gt + 1};
+    }
+
+    private static void swap(int[] xs, int i, int j) {
+        int temp = xs[i];
+        xs[i] = xs[j];
+        xs[j] = temp;
+    }
+
+    private final InsertionSortPrimitive insertionSort = new InsertionSortPrimitive();
+}
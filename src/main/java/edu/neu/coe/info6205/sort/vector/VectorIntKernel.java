@@ -0,0 +1,215 @@
+package edu.neu.coe.info6205.sort.vector;
+
+import edu.neu.coe.info6205.sort.elementary.InsertionSortPrimitive;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.util.Arrays;
+
+/**
+ * Class VectorIntKernel: an IntKernel which uses the (incubating) Vector API.
+ * NOTE that this class must only be loaded when jdk.incubator.vector is available (see IntKernel.create).
+ * <ul>
+ *     <li>sortSmall copies the block into a scratch array (padded with Integer.MAX_VALUE up to a power of two)
+ *     and sorts it with a bitonic sorting network: compare-exchanges between elements in different vectors are done
+ *     with min and max of whole vectors; those between lanes of the same vector use a rearrange (lane i with lane i^j)
+ *     and a blend.</li>
+ *     <li>partition is done in place, in two passes: the first separates the elements less than v1 from the others;
+ *     the second separates (among those others) the elements not greater than v2 from the rest.
+ *     Each pass is two-sided: the first and last vectors are set aside (in a small staging array), which leaves
+ *     a vector's worth of free slots at each end; thereafter, each vector is read from whichever end has fewer
+ *     free slots, classified against the pivot, and rearranged (by a shuffle looked up from the mask) so that the
+ *     lanes which belong on the left come first and the others last. The same vector is then stored at both ends,
+ *     and only the appropriate lanes of each store are kept. Finally, the staged elements (and the few remaining
+ *     unread elements) are placed one at a time. Since JDK 17 has no compress operation, the partition uses vectors
+ *     of (at most) 8 lanes, so that the table of shuffles has (at most) 256 entries.</li>
+ * </ul>
+ * The only scratch arrays are small (no more than MAX_BLOCK elements) and are allocated per call:
+ * this class keeps no state, and so it may be shared between threads.
+ */
+public class VectorIntKernel implements IntKernel {
+
+    public static final String DESCRIPTION = "vectorized";
+
+    public String getDescription() {
+        return DESCRIPTION + " (" + L + " lanes)";
+    }
+
+    public boolean isVectorized() {
+        return true;
+    }
+
+    public void sortSmall(int[] xs, int from, int to) {
+        int n = to - from;
+        if (n < 2) return;
+        if (n > MAX_BLOCK) {
+            insertionSort.sort(xs, from, to);
+            return;
+        }
+        int m = Math.max(L, Integer.highestOneBit(n - 1) << 1);
+        int[] scratch = new int[m];
+        System.arraycopy(xs, from, scratch, 0, n);
+        Arrays.fill(scratch, n, m, Integer.MAX_VALUE);
+        bitonicSort(scratch, m);
+        System.arraycopy(scratch, 0, xs, from, n);
+    }
+
+    public int[] partition(int[] xs, int from, int to, int v1, int v2) {
+        int lt = partition(xs, from, to, v1, false);
+        int gt = partition(xs, lt, to, v2, true);
+        return new int[]{lt, gt};
+    }
+
+    /**
+     * Partition xs[from] ... xs[to-1] in place so that the elements which belong on the left
+     * (those less than pivot or, if inclusive, not greater than pivot) precede all the others.
+     *
+     * @return the index of the first element which does not belong on the left.
+     */
+    private static int partition(int[] xs, int from, int to, int pivot, boolean inclusive) {
+        int n = to - from;
+        if (n < 2 * PL) {
+            int lo = from;
+            for (int i = from; i < to; i++)
+                if (belongsLeft(xs[i], pivot, inclusive)) {
+                    int temp = xs[i];
+                    xs[i] = xs[lo];
+                    xs[lo++] = temp;
+                }
+            return lo;
+        }
+        IntVector p = IntVector.broadcast(P, pivot);
+        int[] staged = new int[3 * PL];
+        System.arraycopy(xs, from, staged, 0, PL);
+        System.arraycopy(xs, to - PL, staged, PL, PL);
+        int readLeft = from + PL, readRight = to - PL;
+        int writeLeft = from, writeRight = to;
+        // NOTE there are always 2*PL free slots between the two ends, and reading from the end with fewer free slots
+        // ensures that, after the read, there are at least PL at each end (and so the two stores cannot overlap unread elements).
+        while (readRight - readLeft >= PL) {
+            IntVector v;
+            if (readLeft - writeLeft <= writeRight - readRight) {
+                v = IntVector.fromArray(P, xs, readLeft);
+                readLeft += PL;
+            } else {
+                readRight -= PL;
+                v = IntVector.fromArray(P, xs, readRight);
+            }
+            // NOTE the comparison operators must be constants, otherwise the compare is not intrinsified.
+            VectorMask<Integer> left = inclusive ? v.compare(VectorOperators.LE, p) : v.compare(VectorOperators.LT, p);
+            int count = left.trueCount();
+            IntVector w = v.rearrange(compressions[(int) left.toLong()]);
+            w.intoArray(xs, writeLeft);
+            w.intoArray(xs, writeRight - PL);
+            writeLeft += count;
+            writeRight -= PL - count;
+        }
+        // NOTE the gap between writeLeft and writeRight is now exactly the number of staged and unread elements.
+        int m = 2 * PL + readRight - readLeft;
+        System.arraycopy(xs, readLeft, staged, 2 * PL, readRight - readLeft);
+        for (int i = 0; i < m; i++) {
+            int x = staged[i];
+            if (belongsLeft(x, pivot, inclusive)) xs[writeLeft++] = x;
+            else xs[--writeRight] = x;
+        }
+        return writeLeft;
+    }
+
+    private static boolean belongsLeft(int x, int pivot, boolean inclusive) {
+        return inclusive ? x <= pivot : x < pivot;
+    }
+
+    /**
+     * Sort a[0] ... a[m-1] with a bitonic sorting network, where m is a power of two, and at least L.
+     */
+    private static void bitonicSort(int[] a, int m) {
+        for (int k = 2; k <= m; k <<= 1)
+            for (int j = k >> 1; j > 0; j >>= 1)
+                if (j >= L)
+                    for (int i = 0; i < m; i += L) {
+                        if ((i & j) != 0) continue;
+                        IntVector x = IntVector.fromArray(S, a, i);
+                        IntVector y = IntVector.fromArray(S, a, i + j);
+                        IntVector min = x.min(y), max = x.max(y);
+                        boolean ascending = (i & k) == 0;
+                        (ascending ? min : max).intoArray(a, i);
+                        (ascending ? max : min).intoArray(a, i + j);
+                    }
+                else {
+                    int lgJ = Integer.numberOfTrailingZeros(j);
+                    VectorShuffle<Integer> partner = partners[lgJ];
+                    for (int i = 0; i < m; i += L) {
+                        IntVector x = IntVector.fromArray(S, a, i);
+                        IntVector y = x.rearrange(partner);
+                        // NOTE within a vector, the direction depends on the lane if k < L, otherwise on the vector.
+                        VectorMask<Integer> takeMin = k < L ? minMasks[Integer.numberOfTrailingZeros(k)][lgJ] : (i & k) == 0 ? lowerMasks[lgJ] : lowerMasks[lgJ].not();
+                        x.max(y).blend(x.min(y), takeMin).intoArray(a, i);
+                    }
+                }
+    }
+
+    private static final VectorSpecies<Integer> S = IntVector.SPECIES_PREFERRED;
+    private static final int L = S.length();
+
+    // NOTE the species for partition, limited to 8 lanes (see above).
+    private static final VectorSpecies<Integer> P = L > 8 ? IntVector.SPECIES_256 : S;
+    private static final int PL = P.length();
+
+    // NOTE partners[lg j] exchanges lane i with lane i^j.
+    private static final VectorShuffle<Integer>[] partners;
+    // NOTE lowerMasks[lg j] selects the lanes i for which i&j is 0, i.e. the lower of each pair.
+    private static final VectorMask<Integer>[] lowerMasks;
+    // NOTE minMasks[lg k][lg j] selects the lanes which take the minimum in stage (k, j) when k < L.
+    private static final VectorMask<Integer>[][] minMasks;
+    // NOTE compressions[bits] moves the lanes whose bits are set to the front (in order).
+    private static final VectorShuffle<Integer>[] compressions;
+
+    static {
+        int lgL = Integer.numberOfTrailingZeros(L);
+        partners = newShuffles(lgL);
+        lowerMasks = newMasks(lgL);
+        minMasks = newMasks(lgL, lgL);
+        for (int lgJ = 0; lgJ < lgL; lgJ++) {
+            int j = 1 << lgJ;
+            partners[lgJ] = VectorShuffle.fromOp(S, i -> i ^ j);
+            boolean[] lower = new boolean[L];
+            for (int i = 0; i < L; i++) lower[i] = (i & j) == 0;
+            lowerMasks[lgJ] = VectorMask.fromArray(S, lower, 0);
+            for (int lgK = lgJ + 1; lgK < lgL; lgK++) {
+                int k = 1 << lgK;
+                boolean[] takeMin = new boolean[L];
+                for (int i = 0; i < L; i++) takeMin[i] = ((i & j) == 0) == ((i & k) == 0);
+                minMasks[lgK][lgJ] = VectorMask.fromArray(S, takeMin, 0);
+            }
+        }
+        compressions = newShuffles(1 << PL);
+        for (int bits = 0; bits < compressions.length; bits++) {
+            int[] indexes = new int[PL];
+            int count = 0;
+            for (int i = 0; i < PL; i++) if ((bits & (1 << i)) != 0) indexes[count++] = i;
+            for (int i = 0; i < PL; i++) if ((bits & (1 << i)) == 0) indexes[count++] = i;
+            compressions[bits] = VectorShuffle.fromArray(P, indexes, 0);
+        }
+    }
+
+    // NOTE generic arrays cannot be created directly, hence these (unchecked) casts of arrays of wildcard types.
+    @SuppressWarnings("unchecked")
+    private static VectorShuffle<Integer>[] newShuffles(int n) {
+        return (VectorShuffle<Integer>[]) new VectorShuffle<?>[n];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static VectorMask<Integer>[] newMasks(int n) {
+        return (VectorMask<Integer>[]) new VectorMask<?>[n];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static VectorMask<Integer>[][] newMasks(int n, int m) {
+        return (VectorMask<Integer>[][]) new VectorMask<?>[n][m];
+    }
+
+    private final InsertionSortPrimitive insertionSort = new InsertionSortPrimitive();
+}
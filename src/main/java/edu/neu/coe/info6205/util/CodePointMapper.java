@@ -74,6 +74,15 @@ public class CodePointMapper implements UnaryOperator<Integer>, Comparator<Strin
      */
     public final static CodePointMapper ASCII = new CodePointMapper("ASCII", ASCIIMapper, 128, ASCIIComparator);
 
+    static final UnaryOperator<Integer> UnicodeMapper = x -> x & 0xFFFF;
+
+    /**
+     * CodePointMapper to yield a value in the range 0 -> 65535, i.e. the UTF-16 char itself.
+     * This is good for any language (for example, Chinese) although, of course, the order is that of the code points.
+     * NOTE that a supplementary character (which is represented by a surrogate pair) sorts as its two chars.
+     */
+    public final static CodePointMapper Unicode = new CodePointMapper("Unicode", UnicodeMapper, 0x10000, String::compareTo);
+
     /**
      * Constructor.
      *
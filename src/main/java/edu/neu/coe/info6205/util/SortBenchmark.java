@@ -5,14 +5,21 @@ package edu.neu.coe.info6205.util;
 
 import edu.neu.coe.info6205.sort.*;
 import edu.neu.coe.info6205.sort.classic.BucketSort;
+import edu.neu.coe.info6205.sort.classic.KeyExtractionSort;
 import edu.neu.coe.info6205.sort.counting.LSDStringSort;
 import edu.neu.coe.info6205.sort.counting.MSDStringSort;
+import edu.neu.coe.info6205.sort.counting.PackedLSDStringSort;
+import edu.neu.coe.info6205.sort.counting.ParallelMSDStringSort;
+import edu.neu.coe.info6205.sort.counting.RadixSort;
 import edu.neu.coe.info6205.sort.elementary.*;
 import edu.neu.coe.info6205.sort.linearithmic.TimSort;
 import edu.neu.coe.info6205.sort.linearithmic.*;
+import edu.neu.coe.info6205.sort.par.ParallelQuickSort;
+import edu.neu.coe.info6205.sort.par.ParallelSort;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.text.Collator;
 import java.time.LocalDateTime;
 import java.time.chrono.ChronoLocalDateTime;
 import java.util.*;
@@ -92,9 +99,73 @@ public class SortBenchmark {
         if (isConfigBenchmarkIntegerSorter("bucketsort")) {
             runIntegerBucketSort(n);
         }
+        if (isConfigBenchmarkIntegerSorter("samplesort")) {
+            runIntegerSampleSort(n);
+        }
         if (isConfigBenchmarkIntegerSorter("quicksort")) {
             runIntegerQuickSort(n);
         }
+        if (isConfigBenchmarkIntegerSorter("parallelsort")) {
+            runIntegerParallelSort(n);
+        }
+        if (isConfigBenchmarkIntegerSorter("parallelquicksort")) {
+            runIntegerParallelQuickSort(n);
+        }
+        if (isConfigBenchmarkIntegerSorter("mergesortbottomup")) {
+            runIntegerMergeSortBottomUp(n);
+        }
+        if (isConfigBenchmarkIntegerSorter("blockmergesort")) {
+            runIntegerBlockMergeSort(n);
+        }
+        if (isConfigBenchmarkIntegerSorter("timsort")) {
+            runIntegerAdaptiveSorts(n);
+        }
+        runPrimitiveSorts(n);
+    }
+
+    /**
+     * Run the primitive (int, long and double) specializations of the sorters, according to the [benchmarkprimitivesorters] section of the configuration.
+     * Comparing these results with those of the corresponding Integer sorts shows the cost of boxing.
+     *
+     * @param N the number of elements to sort.
+     */
+    private void runPrimitiveSorts(int N) {
+        int runs = config.getInt(BENCHMARKINTEGERSORTERS, "runs", 1000);
+        if (isConfigBenchmarkPrimitiveSorter("quicksort"))
+            runPrimitiveSortBenchmark(new QuickSort_DualPivotPrimitive(config), N, runs, timeLoggersLinearithmic);
+        if (isConfigBenchmarkPrimitiveSorter("mergesort"))
+            runPrimitiveSortBenchmark(new MergeSortPrimitive(config), N, runs, timeLoggersLinearithmic);
+        if (isConfigBenchmarkPrimitiveSorter("introsort"))
+            runPrimitiveSortBenchmark(new IntroSortPrimitive(), N, runs, timeLoggersLinearithmic);
+        if (isConfigBenchmarkPrimitiveSorter("heapsort"))
+            runPrimitiveSortBenchmark(new HeapSortPrimitive(), N, runs, timeLoggersLinearithmic);
+        if (isConfigBenchmarkPrimitiveSorter("shellsort"))
+            runPrimitiveSortBenchmark(new ShellSortPrimitive(config.getInt(BENCHMARKINTEGERSORTERS, "mode", 5)), N, runs, timeLoggersSubQuadratic);
+        if (isConfigBenchmarkPrimitiveSorter("radixsort"))
+            try (RadixSort sorter = new RadixSort(config)) {
+                runPrimitiveSortBenchmark(sorter, N, runs, timeLoggersLinear);
+            }
+    }
+
+    /**
+     * Method to benchmark a PrimitiveSort on random arrays of int, long and double.
+     *
+     * @param sorter      the PrimitiveSort.
+     * @param n           the number of elements to sort.
+     * @param nRuns       the number of runs.
+     * @param timeLoggers the time loggers.
+     */
+    static void runPrimitiveSortBenchmark(PrimitiveSort sorter, int n, int nRuns, TimeLogger[] timeLoggers) {
+        logger.info("****************************** Primitive sort: " + n + " " + sorter.getDescription() + " ******************************");
+        Random random = new Random();
+        logPrimitiveSortBenchmark(sorter.getDescription() + " int[]", new Benchmark_Timer<int[]>(sorter.getDescription(), xs -> sorter.sort(xs, 0, xs.length)).runFromSupplier(() -> random.ints(n).toArray(), nRuns), n, timeLoggers);
+        logPrimitiveSortBenchmark(sorter.getDescription() + " long[]", new Benchmark_Timer<long[]>(sorter.getDescription(), xs -> sorter.sort(xs, 0, xs.length)).runFromSupplier(() -> random.longs(n).toArray(), nRuns), n, timeLoggers);
+        logPrimitiveSortBenchmark(sorter.getDescription() + " double[]", new Benchmark_Timer<double[]>(sorter.getDescription(), xs -> sorter.sort(xs, 0, xs.length)).runFromSupplier(() -> random.doubles(n).toArray(), nRuns), n, timeLoggers);
+        logger.info("************************************************************");
+    }
+
+    private static void logPrimitiveSortBenchmark(String description, double time, int n, TimeLogger[] timeLoggers) {
+        for (TimeLogger timeLogger : timeLoggers) timeLogger.log(description, time, n);
     }
 
     public void sortLocalDateTimes(final int n, Config config) throws IOException {
@@ -116,6 +187,13 @@ public class SortBenchmark {
             // NOTE this is intended to replace the run two lines previous. It should take the exact same amount of time.
             runDateTimeSortBenchmark(LocalDateTime.class, localDateTimes, n, 100);
         }
+
+        // NOTE the same sort, but the epoch second of each LocalDateTime is extracted once and the keys are sorted (see KeyExtractionSort).
+        if (isConfigBenchmarkDateSorter("keyextraction")) {
+            try (KeyExtractionSort<ChronoLocalDateTime<?>> sorter = KeyExtractionSort.dateTimes(n, config)) {
+                logger.info(benchmarkFactory("ProcessingSort LocalDateTimes using KeyExtractionSort::mutatingSort", sorter::mutatingSort, null).runFromSupplier(localDateTimeSupplier, 100) + "ms");
+            }
+        }
     }
 
     /**
@@ -146,6 +224,12 @@ public class SortBenchmark {
             runStringSortBenchmark(words, nWords, nRunsBucket, sorter, timeLoggersLinear);
         }
 
+        if (isConfigBenchmarkStringSorter("samplesort") && nRunsLinearithmic > 0) {
+            try (SortWithHelper<String> sorter = BucketSort.CaseIndependentSampleSort(BucketSort.DIGRAPHS_SIZE, nWords, config)) {
+                runStringSortBenchmark(words, nWords, nRunsLinearithmic * 4, sorter, timeLoggersLinearithmic);
+            }
+        }
+
         if (isConfigBenchmarkStringSorter("LSD") && nRunsLinear > 0) {
             int nRuns = nRunsLinear * 5;
             try (SortWithHelper<String> sorter = new LSDStringSort(nWords, 20, String::compareTo, nRuns, config)) {
@@ -153,6 +237,13 @@ public class SortBenchmark {
             }
         }
 
+        if (isConfigBenchmarkStringSorter("LSDpacked") && nRunsLinear > 0) {
+            int nRuns = nRunsLinear * 5;
+            try (SortWithHelper<String> sorter = new PackedLSDStringSort(CodePointMapper.ASCIIExt, nWords, nRuns, config)) {
+                runStringSortBenchmark(words, nWords, nRuns, sorter, timeLoggersLinear);
+            }
+        }
+
         if (isConfigBenchmarkStringSorter("MSD") && nRunsLinear > 0) {
             int nRuns = nRunsLinear * 5;
             try (SortWithHelper<String> sorter = new MSDStringSort(CodePointMapper.ASCIIExt, nWords, nRuns, config)) {
@@ -163,16 +254,45 @@ public class SortBenchmark {
 //            }
         }
 
+        if (isConfigBenchmarkStringSorter("MSDparallel") && nRunsLinear > 0) {
+            int nRuns = nRunsLinear * 5;
+            try (SortWithHelper<String> sorter = new ParallelMSDStringSort(CodePointMapper.ASCIIExt, nWords, nRuns, config)) {
+                runStringSortBenchmark(words, nWords, nRuns, sorter, timeLoggersLinear);
+            }
+        }
+
         // Linearithmic sorts
         if (isConfigBenchmarkStringSorter("timsort") && nRunsLinearithmic > 0)
             try (SortWithHelper<String> sorter = TimSort.CaseInsensitiveSort(nWords, config)) {
             runStringSortBenchmark(words, nWords, nRunsLinearithmic * 2, sorter, timeLoggersLinearithmic);
         }
 
+        if (isConfigBenchmarkStringSorter("keyextraction") && nRunsLinearithmic > 0) {
+            try (SortWithHelper<String> sorter = KeyExtractionSort.caseInsensitive(nWords, config)) {
+                runStringSortBenchmark(words, nWords, nRunsLinearithmic * 2, sorter, timeLoggersLinearithmic);
+            }
+        }
+
         if (isConfigBenchmarkStringSorter(MERGESORT)) {
             runMergeSortBenchmark(words, nWords, nRunsLinearithmic * 4, config);
         }
 
+        if (isConfigBenchmarkStringSorter("mergesortbottomup") && nRunsLinearithmic > 0) {
+            try (MergeSortBottomUp<String> sorter = new MergeSortBottomUp<>(nWords, nRunsLinearithmic * 4, config)) {
+                sorter.setArrayMemory(nWords);
+                runStringSortBenchmark(words, nWords, nRunsLinearithmic * 4, sorter, timeLoggersLinearithmic);
+                logMemoryFactor(sorter.getDescription(), sorter);
+            }
+        }
+
+        if (isConfigBenchmarkStringSorter("blockmergesort") && nRunsLinearithmic > 0) {
+            try (BlockMergeSort<String> sorter = new BlockMergeSort<>(nWords, nRunsLinearithmic * 4, config)) {
+                sorter.setArrayMemory(nWords);
+                runStringSortBenchmark(words, nWords, nRunsLinearithmic * 4, sorter, timeLoggersLinearithmic);
+                logMemoryFactor(sorter.getDescription(), sorter);
+            }
+        }
+
         if (isConfigBenchmarkStringSorter("quicksort3way") && nRunsLinearithmic > 0)
             try (SortWithHelper<String> sorter = new QuickSort_3way<>(nWords, config)) {
             runStringSortBenchmark(words, nWords, nRunsLinearithmic * 3, sorter, timeLoggersLinearithmic);
@@ -188,6 +308,18 @@ public class SortBenchmark {
             runStringSortBenchmark(words, nWords, nRunsLinearithmic * 3, sorter, timeLoggersLinearithmic);
         }
 
+        if (isConfigBenchmarkStringSorter("parallelsort") && nRunsLinearithmic > 0) {
+            try (SortWithHelper<String> sorter = new ParallelSort<>(nWords, nRunsLinearithmic * 4, config)) {
+                runStringSortBenchmark(words, nWords, nRunsLinearithmic * 4, sorter, timeLoggersLinearithmic);
+            }
+        }
+
+        if (isConfigBenchmarkStringSorter("parallelquicksort") && nRunsLinearithmic > 0) {
+            try (SortWithHelper<String> sorter = new ParallelQuickSort<>(nWords, nRunsLinearithmic * 4, config)) {
+                runStringSortBenchmark(words, nWords, nRunsLinearithmic * 4, sorter, timeLoggersLinearithmic);
+            }
+        }
+
         // if (isConfigBenchmarkStringSorter("heapsort") && nRunsLinearithmic > 0) {
         //     Helper<String> helper = HelperFactory.create("Heapsort", nWords, config);
         //     try (SortWithHelper<String> sorter = new HeapSort<>(helper)) {
@@ -204,6 +336,12 @@ public class SortBenchmark {
             runStringSortBenchmark(words, nWords, nRunsLinearithmic * 3, sorter, timeLoggersLinearithmic);
         }
 
+        if (isConfigBenchmarkStringSorter("pdqsort") && nRunsLinearithmic > 0) {
+            try (SortWithHelper<String> sorter = new PDQSort<>(nWords, config)) {
+                runStringSortBenchmark(words, nWords, nRunsLinearithmic * 3, sorter, timeLoggersLinearithmic);
+            }
+        }
+
         if (isConfigBenchmarkStringSorter("randomsort") && nRunsLinearithmic > 0)
             try (SortWithHelper<String> sorter = new RandomSort<>(nWords, config)) {
             runStringSortBenchmark(words, nWords, nRunsLinearithmic, sorter, timeLoggersLinearithmic);
@@ -258,6 +396,17 @@ public class SortBenchmark {
         helper.close();
     }
 
+    private void runIntegerSampleSort(int N) {
+        int bucketSize = config.getInt(BENCHMARKINTEGERSORTERS, "bucketsize", 16);
+        int nRuns = config.getInt(BENCHMARKINTEGERSORTERS, "runs", 1000);
+        // NOTE the sample is sorted serially, so the buckets are capped at sqrt(N) (otherwise the sample would be N/2 elements).
+        int buckets = Math.min((N + bucketSize - 1) / bucketSize, (int) Math.sqrt(N));
+        try (BucketSort<Integer> sorter = BucketSort.SampleSort(buckets, N, config)) {
+            Integer[] xs = sorter.getHelper().random(N, Integer.class, Random::nextInt);
+            runIntegerSortBenchmark(xs, N, nRuns, sorter, sorter::preProcess, timeLoggersLinearithmic);
+        }
+    }
+
     private static void runPureSystemSortBenchmark(String[] words, int nWords, int nRuns, Random random) {
         Benchmark<String[]> benchmark = new Benchmark_Timer<>("SystemSort", null, Arrays::sort, null);
         doPureBenchmark(words, nWords, nRuns, random, benchmark);
@@ -265,8 +414,9 @@ public class SortBenchmark {
 
     private void sortIntegersByShellSort(int N) {
         int m = config.getInt(BENCHMARKINTEGERSORTERS, "mode", 5);
+        String gapSequence = config.getString(BENCHMARKINTEGERSORTERS, "gapsequence", "");
         int runs = config.getInt(BENCHMARKINTEGERSORTERS, "runs", 1000);
-        SortWithHelper<Integer> sorter = new ShellSort<>(m, N, runs, config);
+        SortWithHelper<Integer> sorter = gapSequence.isEmpty() ? new ShellSort<>(m, N, runs, config) : new ShellSort<>(GapSequence.getGapSequence(gapSequence), N, runs, config);
         Integer[] numbers = sorter.getHelper().random(Integer.class, Random::nextInt);
         runIntegerSortBenchmark(numbers, N, runs, sorter, sorter::preProcess, timeLoggersSubQuadratic);
     }
@@ -278,13 +428,94 @@ public class SortBenchmark {
         runIntegerSortBenchmark(numbers, N, runs, sorter, sorter::preProcess, timeLoggersLinearithmic);
     }
 
+    private void runIntegerParallelSort(int N) {
+        int runs = config.getInt(BENCHMARKINTEGERSORTERS, "runs", 1000);
+        try (SortWithHelper<Integer> sorter = new ParallelSort<>(N, runs, config)) {
+            Integer[] numbers = sorter.getHelper().random(Integer.class, Random::nextInt);
+            runIntegerSortBenchmark(numbers, N, runs, sorter, sorter::preProcess, timeLoggersLinearithmic);
+        }
+    }
+
+    private void runIntegerMergeSortBottomUp(int N) {
+        int runs = config.getInt(BENCHMARKINTEGERSORTERS, "runs", 1000);
+        try (MergeSortBottomUp<Integer> sorter = new MergeSortBottomUp<>(N, runs, config)) {
+            sorter.setArrayMemory(N);
+            Integer[] numbers = sorter.getHelper().random(Integer.class, Random::nextInt);
+            runIntegerSortBenchmark(numbers, N, runs, sorter, sorter::preProcess, timeLoggersLinearithmic);
+            logMemoryFactor(sorter.getDescription(), sorter);
+        }
+    }
+
+    private void runIntegerBlockMergeSort(int N) {
+        int runs = config.getInt(BENCHMARKINTEGERSORTERS, "runs", 1000);
+        try (BlockMergeSort<Integer> sorter = new BlockMergeSort<>(N, runs, config)) {
+            sorter.setArrayMemory(N);
+            Integer[] numbers = sorter.getHelper().random(Integer.class, Random::nextInt);
+            runIntegerSortBenchmark(numbers, N, runs, sorter, sorter::preProcess, timeLoggersLinearithmic);
+            logMemoryFactor(sorter.getDescription(), sorter);
+        }
+    }
+
+    /**
+     * Log the (peak) memory factor of a sorter, so that its time can be set against the memory it needs.
+     *
+     * @param description the description of the sorter.
+     * @param sorter      a sorter whose array memory has been set.
+     */
+    private static void logMemoryFactor(String description, HasAdditionalMemory sorter) {
+        logger.info(description + ": memory factor: " + String.format("%.3f", sorter.getMemoryFactor()));
+    }
+
+    private void runIntegerParallelQuickSort(int N) {
+        int runs = config.getInt(BENCHMARKINTEGERSORTERS, "runs", 1000);
+        try (SortWithHelper<Integer> sorter = new ParallelQuickSort<>(N, runs, config)) {
+            Integer[] numbers = sorter.getHelper().random(Integer.class, Random::nextInt);
+            runIntegerSortBenchmark(numbers, N, runs, sorter, sorter::preProcess, timeLoggersLinearithmic);
+        }
+    }
+
+    /**
+     * Run TimSort and MergeSort on mostly-sorted Integers: each array is sorted and then disorder percent of its
+     * elements are swapped at random.
+     * Comparing these results with those for random Integers shows how much the adaptivity of TimSort is worth.
+     *
+     * @param N the number of elements to sort.
+     */
+    private void runIntegerAdaptiveSorts(int N) {
+        int runs = config.getInt(BENCHMARKINTEGERSORTERS, "runs", 1000);
+        int disorder = config.getInt(BENCHMARKINTEGERSORTERS, "disorder", 1);
+        Random random = new Random();
+        UnaryOperator<Integer[]> mostlySorted = xs -> {
+            Arrays.sort(xs);
+            for (int k = xs.length * disorder / 100; k > 0; k--) {
+                int i = random.nextInt(xs.length), j = random.nextInt(xs.length);
+                Integer x = xs[i];
+                xs[i] = xs[j];
+                xs[j] = x;
+            }
+            return xs;
+        };
+        final Integer[] numbers;
+        try (SortWithHelper<Integer> timSort = new TimSort<>(N, runs, config)) {
+            numbers = timSort.getHelper().random(Integer.class, Random::nextInt);
+            runIntegerSortBenchmark(numbers, N, runs, timSort, mostlySorted, timeLoggersLinearithmic);
+        }
+        try (SortWithHelper<Integer> mergeSort = new MergeSort<>(N, runs, config)) {
+            runIntegerSortBenchmark(numbers, N, runs, mergeSort, mostlySorted, timeLoggersLinearithmic);
+        }
+    }
+
     private void sortStrings(Stream<Long> wordCounts) {
         logger.info("Beginning String sorts");
 
         // NOTE: common words benchmark
 //        benchmarkStringSorters(getWords("3000-common-words.txt", SortBenchmark::lineAsList), config.getInt("benchmarkstringsorters", "words", 1000), config.getInt("benchmarkstringsorters", "runs", 1000));
         // NOTE: Leipzig English words benchmarks (according to command-line arguments)
-        wordCounts.forEach(this::doLeipzigBenchmarkEnglish);
+        // NOTE: Leipzig Chinese and Russian words benchmarks, in the order of their Collators (according to command-line arguments)
+        wordCounts.forEach(N -> {
+            doLeipzigBenchmarkEnglish(N);
+            if (isConfigBenchmarkStringSorter("collation")) doLeipzigBenchmarkCollation(N);
+        });
 
         // NOTE: Leipzig Chinese words benchmarks (according to command-line arguments)
 //        doLeipzigBenchmark("zho-simp-tw_web_2014_10K-sentences.txt", 5000, 1000);
@@ -307,6 +538,55 @@ public class SortBenchmark {
         }
     }
 
+    private void doLeipzigBenchmarkCollation(long N) {
+        if (N > Integer.MAX_VALUE) {
+            throw new SortException("number of elements is too large");
+        }
+        int x = (int) N;
+        doLeipzigBenchmarkCollation("zho-simp-tw_web_2014_10K-words.txt", Locale.SIMPLIFIED_CHINESE, x);
+        doLeipzigBenchmarkCollation("rus-su_web_2015_10K-words.txt", new Locale("ru", "RU"), x);
+    }
+
+    private void doLeipzigBenchmarkCollation(String resource, Locale locale, int nWords) {
+        logger.info("############################### " + nWords + " words of " + resource + " ###############################");
+        try {
+            benchmarkCollationSorters(getWords(resource, SortBenchmark::getLeipzigWordsColumn), nWords, locale);
+        } catch (FileNotFoundException e) {
+            logger.warn("Unable to find resource: " + resource + "because:", e);
+        }
+    }
+
+    /**
+     * Method to benchmark the sorting of words in the order of the Collator for the given locale:
+     * first with the Collator itself; then with a CollationKeyHelper (which caches the collation key of each word);
+     * and finally with a KeyExtractionSort whose keys are the collation keys of the same CollationKeyHelper.
+     * <p>
+     * NOTE: this is package-private because it is used by unit tests.
+     *
+     * @param words  the word source.
+     * @param nWords the number of words to be sorted.
+     * @param locale the locale.
+     * @return the mean times (in milliseconds) of the three sorts.
+     */
+    double[] benchmarkCollationSorters(String[] words, int nWords, Locale locale) {
+        int nRuns = Math.max(1, estimateRuns(minComparisons(nWords), getTotalWork(nWords, config)) / 10);
+        logger.info("benchmarkCollationSorters: " + nRuns + " runs of sorting " + formatWhole(nWords) + " words for locale " + locale);
+        Random random = new Random();
+        Supplier<String[]> supplier = () -> Utilities.fillRandomArray(String.class, random, nWords, r -> words[r.nextInt(words.length)]);
+        Collator collator = Collator.getInstance(locale);
+        double[] result = new double[3];
+        result[0] = new Benchmark_Timer<String[]>("Collator", xs -> Arrays.sort(xs, collator)).runFromSupplier(supplier, nRuns);
+        try (CollationKeyHelper helper = CollationKeyHelper.create("CollationKeyHelper", locale, nWords, config)) {
+            result[1] = new Benchmark_Timer<String[]>("CollationKeyHelper", xs -> Arrays.sort(xs, helper)).runFromSupplier(supplier, nRuns);
+            final SortWithHelper<String> sorter = KeyExtractionSort.byKey(helper, helper::getKey, Arrays::compareUnsigned);
+            result[2] = new Benchmark_Timer<String[]>("KeyExtractionSort", sorter::mutatingSort).runFromSupplier(supplier, nRuns);
+            logger.info("benchmarkCollationSorters: " + helper.getCacheSize() + " collation keys cached (" + helper.getMisses() + " computed)");
+        }
+        logger.info(String.format("benchmarkCollationSorters: %s, n=%s: mean time with Collator: %.3f msecs; with CollationKeyHelper: %.3f msecs (speedup %.1f); with KeyExtractionSort: %.3f msecs (speedup %.1f)",
+                locale, formatWhole(nWords), result[0], result[1], result[0] / result[1], result[2], result[0] / result[2]));
+        return result;
+    }
+
     /**
      * Method to run a sorting benchmark, using an explicit preProcessor.
      *
@@ -442,6 +722,20 @@ public class SortBenchmark {
         return getWords(regexLeipzig, line);
     }
 
+    /**
+     * Method to get the word of a line of a Leipzig words file (for example, zho-simp-tw_web_2014_10K-words.txt),
+     * i.e. the second (tab-separated) field, provided that it contains at least one letter.
+     *
+     * @param line a line of a Leipzig words file.
+     * @return a collection of (at most) one word.
+     */
+    static Collection<String> getLeipzigWordsColumn(String line) {
+        List<String> words = new ArrayList<>();
+        String[] fields = line.split("\t");
+        if (fields.length > 1 && fields[1].codePoints().anyMatch(Character::isLetter)) words.add(fields[1]);
+        return words;
+    }
+
     // CONSIDER: to be eliminated soon.
     private static Benchmark<LocalDateTime[]> benchmarkFactory(String description, Consumer<LocalDateTime[]> sorter, Consumer<LocalDateTime[]> checker) {
         return new Benchmark_Timer<>(
@@ -518,11 +812,16 @@ public class SortBenchmark {
         return isConfigBoolean(BENCHMARKINTEGERSORTERS, option);
     }
 
+    private boolean isConfigBenchmarkPrimitiveSorter(String option) {
+        return isConfigBoolean(BENCHMARKPRIMITIVESORTERS, option);
+    }
+
     private boolean isConfigBoolean(String section, String option) {
         return config.getBoolean(section, option);
     }
 
     public static final String BENCHMARKINTEGERSORTERS = "benchmarkintegersorters";
+    public static final String BENCHMARKPRIMITIVESORTERS = "benchmarkprimitivesorters";
 
     private final Config config;
 }
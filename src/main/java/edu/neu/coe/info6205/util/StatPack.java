@@ -19,8 +19,19 @@ public class StatPack {
      */
     public StatPack(Function<Double, Double> normalizer, int nRuns, int size, String... keys) {
         n = nRuns;
+        this.normalizer = normalizer;
+        this.size = size;
         map = new HashMap<>();
-        for (String key : keys) map.put(key, new Statistics(key, normalizer, nRuns, size));
+        register(keys);
+    }
+
+    /**
+     * Method to add further keys to this StatPack (keys which are already present are ignored).
+     *
+     * @param keys the set of keys for additional properties to be tracked.
+     */
+    public void register(String... keys) {
+        for (String key : keys) map.putIfAbsent(key, new Statistics(key, normalizer, n, size));
     }
 
     public void add(String key, double x) {
@@ -63,6 +74,8 @@ public class StatPack {
 
     private final HashMap<String, Statistics> map;
     private final int n;
+    private final Function<Double, Double> normalizer;
+    private final int size;
 
     public boolean isInvalid() {
         return n <= 0;
@@ -0,0 +1,129 @@
+package edu.neu.coe.info6205.select;
+
+import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.sort.HelperFactory;
+import edu.neu.coe.info6205.sort.NonInstrumentingComparableHelper;
+import edu.neu.coe.info6205.sort.SortException;
+import edu.neu.coe.info6205.util.Config;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class PartialSortTest {
+
+    @Test
+    public void testTopKSmall() {
+        // NOTE k is small enough for the heap to be used.
+        int n = 10_000;
+        Helper<Integer> helper = new NonInstrumentingComparableHelper<>("PartialSort", n, 0L, config);
+        PartialSort<Integer> partialSort = new PartialSort<>(helper);
+        Integer[] xs = helper.random(Integer.class, r -> r.nextInt(1000));
+        Integer[] copy = Arrays.copyOf(xs, n);
+        Integer[] sorted = Arrays.copyOf(xs, n);
+        Arrays.sort(sorted);
+        for (int k : new int[]{1, 10, 100}) {
+            assertTrue(PartialSort.useHeap(n, k));
+            assertArrayEquals(Arrays.copyOf(sorted, k), partialSort.topK(xs, k));
+        }
+        assertArrayEquals(copy, xs);
+    }
+
+    @Test
+    public void testTopKLarge() {
+        // NOTE k is too large for the heap: select is used instead.
+        int n = 10_000;
+        Helper<Integer> helper = new NonInstrumentingComparableHelper<>("PartialSort", n, 0L, config);
+        PartialSort<Integer> partialSort = new PartialSort<>(helper);
+        Integer[] xs = helper.random(Integer.class, Random::nextInt);
+        Integer[] copy = Arrays.copyOf(xs, n);
+        Integer[] sorted = Arrays.copyOf(xs, n);
+        Arrays.sort(sorted);
+        for (int k : new int[]{1000, 5000, n}) {
+            assertFalse(PartialSort.useHeap(n, k));
+            assertArrayEquals(Arrays.copyOf(sorted, k), partialSort.topK(xs, k));
+        }
+        assertArrayEquals(copy, xs);
+    }
+
+    @Test
+    public void testTopKZero() {
+        PartialSort<Integer> partialSort = new PartialSort<>(10, config);
+        assertEquals(0, partialSort.topK(new Integer[]{3, 1, 2}, 0).length);
+    }
+
+    @Test(expected = SortException.class)
+    public void testTopKOutOfRange() {
+        new PartialSort<Integer>(10, config).topK(new Integer[]{3, 1, 2}, 4);
+    }
+
+    @Test
+    public void testPartialSort() {
+        int n = 1000, k = 300;
+        Helper<Integer> helper = new NonInstrumentingComparableHelper<>("PartialSort", n, 0L, config);
+        Integer[] xs = helper.random(Integer.class, r -> r.nextInt(100));
+        Integer[] sorted = Arrays.copyOf(xs, n);
+        Arrays.sort(sorted);
+        new PartialSort<>(helper).partialSort(xs, k);
+        assertArrayEquals(Arrays.copyOf(sorted, k), Arrays.copyOf(xs, k));
+        for (int i = k; i < n; i++) assertTrue(xs[i] >= xs[k - 1]);
+    }
+
+    @Test
+    public void testNthElement() {
+        int n = 5000;
+        Helper<Integer> helper = new NonInstrumentingComparableHelper<>("PartialSort", n, 0L, config);
+        PartialSort<Integer> partialSort = new PartialSort<>(helper);
+        Integer[] original = helper.random(Integer.class, r -> r.nextInt(2000));
+        Integer[] sorted = Arrays.copyOf(original, n);
+        Arrays.sort(sorted);
+        for (int k : new int[]{0, 1, 17, n / 2, n - 2, n - 1}) {
+            Integer[] xs = Arrays.copyOf(original, n);
+            assertEquals(sorted[k], partialSort.nthElement(xs, k));
+            for (int i = 0; i < k; i++) assertTrue(xs[i] <= xs[k]);
+            for (int i = k + 1; i < n; i++) assertTrue(xs[i] >= xs[k]);
+        }
+    }
+
+    @Test
+    public void testNthElementOrdered() {
+        // NOTE ordered and reverse-ordered arrays are handled by the median-of-three pivot.
+        int n = 10_000;
+        Helper<Integer> helper = new NonInstrumentingComparableHelper<>("PartialSort", n, 0L, config);
+        PartialSort<Integer> partialSort = new PartialSort<>(helper);
+        assertEquals(Integer.valueOf(1234), partialSort.nthElement(helper.ordered(n, Integer.class, i -> i), 1234));
+        assertEquals(Integer.valueOf(1234), partialSort.nthElement(helper.reverse(n, Integer.class, i -> i), 1234));
+    }
+
+    @Test
+    public void testMedianOfMedians() {
+        // NOTE a budget of zero means that median-of-medians pivots are used throughout.
+        int n = 5000;
+        Helper<Integer> helper = new NonInstrumentingComparableHelper<>("PartialSort", n, 0L, config);
+        PartialSort<Integer> partialSort = new PartialSort<>(helper);
+        Integer[] xs = helper.random(Integer.class, r -> r.nextInt(2000));
+        Integer[] sorted = Arrays.copyOf(xs, n);
+        Arrays.sort(sorted);
+        int k = 3210;
+        partialSort.select(xs, 0, n, k, 0);
+        assertEquals(sorted[k], xs[k]);
+        for (int i = 0; i < k; i++) assertTrue(xs[i] <= xs[k]);
+        for (int i = k + 1; i < n; i++) assertTrue(xs[i] >= xs[k]);
+    }
+
+    @Test
+    public void testSelectIsLinear() {
+        // NOTE the number of compares for select should be a small multiple of n.
+        int n = 100_000;
+        final Config config = Config.setupConfig("true", "false", "0", "0", "", "");
+        Helper<Integer> helper = HelperFactory.create("PartialSort", n, config);
+        PartialSort<Integer> partialSort = new PartialSort<>(helper);
+        Integer[] xs = helper.random(Integer.class, Random::nextInt);
+        partialSort.select(xs, n / 2);
+        assertTrue(helper.getCompares() < 6L * n);
+    }
+
+    private final Config config = Config.setupConfig("false", "false", "0", "0", "", "");
+}
@@ -0,0 +1,80 @@
+package edu.neu.coe.info6205.sort;
+
+import edu.neu.coe.info6205.util.Config;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+public class CacheModelTest {
+
+    @Test
+    public void testSequential() {
+        // 64-byte lines, 4-byte elements: one miss per 16 elements (plus one because the header offsets the array).
+        CacheModel cacheModel = new CacheModel(64, 4, 8, 32768, 1048576);
+        int[] xs = new int[1024];
+        cacheModel.access(xs, 0, xs.length);
+        assertEquals(1024, cacheModel.getAccesses());
+        assertEquals(65, cacheModel.getMisses(0));
+        assertEquals(65, cacheModel.getMisses(1));
+        // Second pass: everything (4K bytes) is still in L1.
+        cacheModel.access(xs, 0, xs.length);
+        assertEquals(2048, cacheModel.getAccesses());
+        assertEquals(65, cacheModel.getMisses(0));
+    }
+
+    @Test
+    public void testEviction() {
+        // L1 holds 4 lines (direct-mapped), L2 holds 64 lines.
+        CacheModel cacheModel = new CacheModel(64, 4, 1, 256, 4096);
+        int[] xs = new int[1024];
+        cacheModel.access(xs, 0);
+        cacheModel.access(xs, 64); // maps to the same L1 set (4 lines later), evicting line 0.
+        cacheModel.access(xs, 0);
+        assertEquals(3, cacheModel.getMisses(0));
+        assertEquals(2, cacheModel.getMisses(1));
+    }
+
+    @Test
+    public void testLRU() {
+        // A single set of two ways.
+        CacheModel cacheModel = new CacheModel(64, 4, 2, 128);
+        int[] xs = new int[1024];
+        cacheModel.access(xs, 0);
+        cacheModel.access(xs, 16);
+        cacheModel.access(xs, 0);
+        cacheModel.access(xs, 32); // evicts line 1 (least recently used), not line 0.
+        cacheModel.access(xs, 0);
+        assertEquals(3, cacheModel.getMisses(0));
+        cacheModel.access(xs, 16);
+        assertEquals(4, cacheModel.getMisses(0));
+    }
+
+    @Test
+    public void testDistinctArrays() {
+        CacheModel cacheModel = new CacheModel(64, 4, 8, 32768);
+        int[] xs = new int[16];
+        int[] ys = new int[16];
+        cacheModel.access(xs, 0);
+        cacheModel.access(ys, 0);
+        assertEquals(2, cacheModel.getMisses(0));
+        cacheModel.reset();
+        assertEquals(0, cacheModel.getAccesses());
+        assertEquals(0, cacheModel.getMisses(0));
+    }
+
+    @Test
+    public void testConfig() throws IOException {
+        Config config = Config.load(CacheModelTest.class);
+        assertFalse(CacheModel.isSimulated(config));
+        CacheModel cacheModel = new CacheModel(config);
+        assertEquals(2, cacheModel.levels());
+        assertArrayEquals(new String[]{"l1misses", "l2misses"}, cacheModel.keys());
+    }
+
+    @Test(expected = HelperException.class)
+    public void testBadLineSize() {
+        new CacheModel(48, 4, 8, 32768);
+    }
+}
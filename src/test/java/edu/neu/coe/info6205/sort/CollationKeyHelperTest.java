@@ -0,0 +1,86 @@
+package edu.neu.coe.info6205.sort;
+
+import edu.neu.coe.info6205.sort.classic.KeyExtractionSort;
+import edu.neu.coe.info6205.util.Config;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.text.Collator;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class CollationKeyHelperTest {
+
+    private static Config config;
+
+    @BeforeClass
+    public static void beforeClass() throws IOException {
+        config = Config.load(CollationKeyHelperTest.class);
+    }
+
+    @Test
+    public void testCompare() {
+        for (Locale locale : LOCALES) {
+            Collator collator = Collator.getInstance(locale);
+            try (CollationKeyHelper helper = CollationKeyHelper.create("test", locale, WORDS.length, config)) {
+                for (String s : WORDS)
+                    for (String t : WORDS)
+                        assertEquals(s + ", " + t, Integer.signum(collator.compare(s, t)), Integer.signum(helper.compare(s, t)));
+            }
+        }
+    }
+
+    @Test
+    public void testSort() {
+        Random random = new Random(0L);
+        for (Locale locale : LOCALES) {
+            String[] xs = new String[200];
+            for (int i = 0; i < xs.length; i++) xs[i] = WORDS[random.nextInt(WORDS.length)];
+            String[] expected = xs.clone();
+            Arrays.sort(expected, Collator.getInstance(locale));
+            try (CollationKeyHelper helper = CollationKeyHelper.create("test", locale, xs.length, config)) {
+                String[] ys = xs.clone();
+                Arrays.sort(ys, helper.getComparator());
+                assertArrayEquals(expected, ys);
+                KeyExtractionSort<String> sorter = KeyExtractionSort.byKey(helper, helper::getKey, Arrays::compareUnsigned);
+                assertArrayEquals(expected, sorter.sort(xs));
+                assertTrue(helper.isSorted(expected));
+            }
+        }
+    }
+
+    @Test
+    public void testCache() {
+        try (CollationKeyHelper helper = new CollationKeyHelper("test", Collator.getInstance(Locale.ENGLISH), 0, 2, config)) {
+            byte[] key = helper.getKey("a");
+            assertSame(key, helper.getKey("a"));
+            helper.getKey("b");
+            assertEquals(2, helper.getMisses());
+            assertEquals(2, helper.getCacheSize());
+            // NOTE "a" is the most recently used, so it is "b" which is evicted.
+            helper.getKey("a");
+            helper.getKey("c");
+            assertEquals(2, helper.getCacheSize());
+            assertSame(key, helper.getKey("a"));
+            assertEquals(3, helper.getMisses());
+            helper.getKey("b");
+            assertEquals(4, helper.getMisses());
+        }
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testCapacity() {
+        new CollationKeyHelper("test", Collator.getInstance(Locale.ENGLISH), 0, 0, config);
+    }
+
+    private static final Locale[] LOCALES = new Locale[]{Locale.SIMPLIFIED_CHINESE, new Locale("ru", "RU")};
+
+    private static final String[] WORDS = new String[]{
+            "中国", "北京", "上海", "台湾", "我们", "人民", "阿", "爱", "张", "中", "中文",
+            "ёлка", "Ёж", "еж", "ель", "Москва", "москва", "мир", "мост", "яблоко", "Азбука", "азбука", "a", "B", ""
+    };
+}
@@ -0,0 +1,72 @@
+package edu.neu.coe.info6205.sort;
+
+import edu.neu.coe.info6205.util.Config;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+public class ConcurrentInstrumenterTest {
+
+    @Test
+    public void testParallelCounts() {
+        ConcurrentInstrumenter instrumenter = new ConcurrentInstrumenter(true, true, true, true, true, true, false, 1);
+        instrumenter.init(100, 1);
+        IntStream.range(0, 100_000).parallel().forEach(i -> {
+            instrumenter.incrementCompares();
+            instrumenter.incrementSwaps(1);
+            instrumenter.incrementCopies(2);
+            instrumenter.incrementHits(3);
+            instrumenter.incrementLookups();
+            instrumenter.incrementFixes(1);
+        });
+        assertEquals(100_000, instrumenter.getCompares());
+        assertEquals(100_000, instrumenter.getSwaps());
+        assertEquals(200_000, instrumenter.getCopies());
+        assertEquals(300_000, instrumenter.getHits());
+        assertEquals(100_000, instrumenter.getLookups());
+        assertEquals(100_000, instrumenter.getFixes());
+        instrumenter.gatherStatistic();
+        assertEquals(100_000, instrumenter.getStatPack().total(Instrument.COMPARES), 0.0);
+        instrumenter.init(100, 1);
+        assertEquals(0, instrumenter.getCompares());
+    }
+
+    @Test
+    public void testDisabledCounts() {
+        ConcurrentInstrumenter instrumenter = new ConcurrentInstrumenter(false, false, true, false, false, false, false, 1);
+        instrumenter.init(100, 1);
+        instrumenter.incrementCompares();
+        instrumenter.incrementSwaps(1);
+        assertEquals(1, instrumenter.getCompares());
+        assertEquals(0, instrumenter.getSwaps());
+    }
+
+    @Test
+    public void testSampledCounts() {
+        ConcurrentInstrumenter instrumenter = new ConcurrentInstrumenter(false, false, true, false, false, false, false, 16);
+        instrumenter.init(100, 1);
+        IntStream.range(0, 1_000_000).parallel().forEach(i -> instrumenter.incrementCompares());
+        long compares = instrumenter.getCompares();
+        assertEquals(0, compares % 16);
+        // NOTE the standard deviation of the estimate is about 4,000.
+        assertEquals(1_000_000, compares, 40_000);
+    }
+
+    @Test(expected = HelperException.class)
+    public void testBadSample() {
+        new ConcurrentInstrumenter(false, false, true, false, false, false, false, 0);
+    }
+
+    @Test
+    public void testCreate() throws IOException {
+        Config config = Config.load(ConcurrentInstrumenterTest.class);
+        assertTrue(Instrument.create(config) instanceof Instrumenter);
+        assertTrue(Instrument.create(config.copy(Instrument.INSTRUMENTING, Instrument.CONCURRENT, "true")) instanceof ConcurrentInstrumenter);
+        Instrument sampled = Instrument.create(config.copy(Instrument.INSTRUMENTING, Instrument.SAMPLE, "8"));
+        assertTrue(sampled instanceof ConcurrentInstrumenter);
+        assertEquals(8, ((ConcurrentInstrumenter) sampled).getSample());
+    }
+}
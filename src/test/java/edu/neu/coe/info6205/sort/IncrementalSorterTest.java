@@ -0,0 +1,147 @@
+package edu.neu.coe.info6205.sort;
+
+import edu.neu.coe.info6205.util.Config;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class IncrementalSorterTest {
+
+    @Test
+    public void testSnapshot() throws InterruptedException {
+        Random random = new Random(0L);
+        try (IncrementalSorter<Integer> sorter = new IncrementalSorter<>(16)) {
+            List<Integer> added = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                int x = random.nextInt(100);
+                sorter.add(x);
+                added.add(x);
+                if (i % 97 == 0) checkSorted(added, sorter.snapshot());
+            }
+            sorter.awaitMerging();
+            checkSorted(added, sorter.snapshot());
+            assertEquals(1000, sorter.size());
+        }
+    }
+
+    @Test
+    public void testRuns() throws InterruptedException {
+        try (IncrementalSorter<Integer> sorter = new IncrementalSorter<>(4)) {
+            for (int i = 0; i < 4 * 64; i++) sorter.add(-i);
+            sorter.awaitMerging();
+            // NOTE the exact runs depend on how quickly the background merging keeps up, but there are at most lg(64)+1.
+            assertTrue(sorter.getRuns() <= 7);
+            assertTrue(sorter.getMerges() >= 64 - 7);
+            for (int i = 0; i < 4 * 7 + 3; i++) sorter.add(i);
+            sorter.awaitMerging();
+            assertTrue(sorter.getRuns() <= 7);
+            assertEquals(4 * 71 + 3, sorter.size());
+            sorter.flush();
+            sorter.awaitMerging();
+            assertEquals(4 * 71 + 3, sorter.snapshot().getSize());
+        }
+    }
+
+    @Test
+    public void testIterator() {
+        try (IncrementalSorter<String> sorter = new IncrementalSorter<>(3)) {
+            sorter.addAll(Arrays.asList("the", "quick", "brown", "fox", "jumps", "over", "the", "lazy", "dog"));
+            Iterator<String> iterator = sorter.iterator();
+            // NOTE elements added after the iterator was created are not seen.
+            sorter.add("aardvark");
+            List<String> result = new ArrayList<>();
+            while (iterator.hasNext()) result.add(iterator.next());
+            assertEquals(Arrays.asList("brown", "dog", "fox", "jumps", "lazy", "over", "quick", "the", "the"), result);
+            assertEquals("aardvark", sorter.iterator().next());
+        }
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testIteratorEmpty() {
+        try (IncrementalSorter<String> sorter = new IncrementalSorter<>(3)) {
+            assertFalse(sorter.iterator().hasNext());
+            assertEquals(0, sorter.snapshot().getSize());
+            sorter.iterator().next();
+        }
+    }
+
+    @Test
+    public void testStable() throws InterruptedException {
+        try (IncrementalSorter<Element> sorter = new IncrementalSorter<>(2)) {
+            for (int i = 0; i < 50; i++) sorter.add(new Element(i % 3, i));
+            sorter.awaitMerging();
+            int previous = -1;
+            int previousKey = -1;
+            for (Element element : sorter) {
+                assertTrue(element.key >= previousKey);
+                if (element.key == previousKey) assertTrue(element.arrival > previous);
+                previousKey = element.key;
+                previous = element.arrival;
+            }
+        }
+    }
+
+    @Test
+    public void testConcurrent() throws InterruptedException {
+        try (IncrementalSorter<Integer> sorter = new IncrementalSorter<>(8)) {
+            Thread producer = new Thread(() -> {
+                Random random = new Random(0L);
+                for (int i = 0; i < 20000; i++) sorter.add(random.nextInt());
+            });
+            producer.start();
+            int previousSize = 0;
+            while (producer.isAlive()) {
+                OrderedArray<Integer> snapshot = sorter.snapshot();
+                assertTrue(snapshot.getSize() >= previousSize);
+                for (int i = 1; i < snapshot.getSize(); i++) assertTrue(snapshot.get(i - 1) <= snapshot.get(i));
+                previousSize = snapshot.getSize();
+            }
+            producer.join();
+            sorter.awaitMerging();
+            assertEquals(20000, sorter.snapshot().getSize());
+        }
+    }
+
+    @Test
+    public void testConfig() throws IOException {
+        try (IncrementalSorter<Integer> sorter = new IncrementalSorter<>(Config.load(IncrementalSorterTest.class))) {
+            sorter.add(1);
+            sorter.flush();
+            assertEquals(1, sorter.getRuns());
+        }
+    }
+
+    @Test(expected = SortException.class)
+    public void testBufferSize() {
+        new IncrementalSorter<Integer>(0);
+    }
+
+    private static void checkSorted(List<Integer> added, OrderedArray<Integer> snapshot) {
+        Integer[] expected = added.toArray(new Integer[0]);
+        Arrays.sort(expected);
+        assertEquals(expected.length, snapshot.getSize());
+        for (int i = 0; i < expected.length; i++) assertEquals(expected[i], snapshot.get(i));
+    }
+
+    private static class Element implements Comparable<Element> {
+        Element(int key, int arrival) {
+            this.key = key;
+            this.arrival = arrival;
+        }
+
+        public int compareTo(Element o) {
+            return Integer.compare(key, o.key);
+        }
+
+        private final int key;
+        private final int arrival;
+    }
+}
@@ -9,6 +9,7 @@ import org.junit.BeforeClass;
 import org.junit.Ignore;
 import org.junit.Test;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -561,4 +562,24 @@ public class InstrumentedComparableHelperTest {
         System.out.println(Arrays.toString(xs));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testCacheModel() throws IOException {
+        final Config config = Config.load(InstrumentedComparableHelperTest.class).copy(CacheModel.CACHE, CacheModel.SIMULATE, "true").copy(MergeSort.MERGESORT, MergeSort.NOCOPY, "true");
+        int n = 10_000;
+        final InstrumentedComparableHelper<Integer> helper = new InstrumentedComparableHelper<>("MergeSort", n, 0L, 1, config);
+        final CacheModel cacheModel = helper.getCacheModel();
+        assertNotNull(cacheModel);
+        final MergeSort<Integer> sorter = new MergeSort<>(helper);
+        Integer[] xs = helper.random(Integer.class, r -> r.nextInt(1000));
+        sorter.sort(xs, false);
+        assertTrue(cacheModel.getAccesses() > 0);
+        assertTrue(cacheModel.getMisses(0) > 0);
+        assertTrue(cacheModel.getMisses(0) < cacheModel.getAccesses());
+        assertTrue(cacheModel.getMisses(1) <= cacheModel.getMisses(0));
+        helper.postProcess(xs);
+        final StatPack statPack = helper.getStatPack();
+        assertEquals(cacheModel.getMisses(0), statPack.total(CacheModel.key(0)), 0.0);
+        assertEquals(cacheModel.getMisses(1), statPack.total(CacheModel.key(1)), 0.0);
+    }
+
+}
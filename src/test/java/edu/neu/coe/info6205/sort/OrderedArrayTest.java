@@ -3,6 +3,7 @@ package edu.neu.coe.info6205.sort;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 
@@ -58,4 +59,24 @@ public class OrderedArrayTest {
         assertEquals(4, orderedArray.indexOf(4));
         assertEquals(-1, orderedArray.indexOf(-2));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testAddElementsOrder() {
+        OrderedArray<Integer> orderedArray = OrderedArray.from(5, 1, 3);
+        orderedArray.addElements(Arrays.asList(4, 0, 6, 2));
+        assertEquals(7, orderedArray.getSize());
+        for (int i = 0; i < 7; i++) assertEquals(Integer.valueOf(i), orderedArray.get(i));
+    }
+
+    @Test
+    public void testMerge() {
+        OrderedArray<Integer> a = OrderedArray.from(5, 1, 3);
+        OrderedArray<Integer> b = OrderedArray.from(4, 0, 2);
+        OrderedArray<Integer> merged = OrderedArray.merge(a, b);
+        assertEquals(6, merged.getSize());
+        for (int i = 0; i < 6; i++) assertEquals(Integer.valueOf(i), merged.get(i));
+        assertEquals(3, a.getSize());
+        assertEquals(Integer.valueOf(1), a.get(0));
+        assertEquals(0, OrderedArray.merge(OrderedArray.<Integer>from(), OrderedArray.<Integer>from()).getSize());
+    }
+}
@@ -0,0 +1,110 @@
+package edu.neu.coe.info6205.sort;
+
+import edu.neu.coe.info6205.sort.counting.RadixSort;
+import edu.neu.coe.info6205.sort.elementary.HeapSortPrimitive;
+import edu.neu.coe.info6205.sort.elementary.InsertionSortPrimitive;
+import edu.neu.coe.info6205.sort.elementary.ShellSortPrimitive;
+import edu.neu.coe.info6205.sort.linearithmic.IntroSortPrimitive;
+import edu.neu.coe.info6205.sort.linearithmic.MergeSortPrimitive;
+import edu.neu.coe.info6205.sort.linearithmic.QuickSort_DualPivotPrimitive;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertArrayEquals;
+
+/**
+ * Tests which are common to all the implementations of PrimitiveSort.
+ * Tests which are specific to one algorithm are in the test class of that implementation.
+ */
+@RunWith(Parameterized.class)
+public class PrimitiveSortTest {
+
+    @Parameterized.Parameters(name = "{0}")
+    public static Collection<Object[]> sorters() {
+        return Arrays.asList(
+                sorter("InsertionSortPrimitive", InsertionSortPrimitive::new),
+                sorter("ShellSortPrimitive", () -> new ShellSortPrimitive(3)),
+                sorter("HeapSortPrimitive", HeapSortPrimitive::new),
+                sorter("MergeSortPrimitive", () -> new MergeSortPrimitive(10)),
+                sorter("QuickSort_DualPivotPrimitive", () -> new QuickSort_DualPivotPrimitive(10)),
+                sorter("IntroSortPrimitive", IntroSortPrimitive::new),
+                sorter("RadixSort", RadixSort::new)
+        );
+    }
+
+    public PrimitiveSortTest(String name, Supplier<PrimitiveSort> factory) {
+        this.sorter = factory.get();
+    }
+
+    @Test
+    public void testSortInt() {
+        int[] xs = new Random(0L).ints(10_000, 0, 1_000).toArray();
+        int[] expected = Arrays.copyOf(xs, xs.length);
+        Arrays.sort(expected);
+        assertArrayEquals(expected, sorter.sort(xs));
+    }
+
+    @Test
+    public void testSortIntSubArray() {
+        int[] xs = new Random(0L).ints(1_000).toArray();
+        int[] expected = Arrays.copyOf(xs, xs.length);
+        Arrays.sort(expected, 100, 900);
+        sorter.sort(xs, 100, 900);
+        assertArrayEquals(expected, xs);
+    }
+
+    @Test
+    public void testSortIntOrdered() {
+        int[] xs = new int[5_000];
+        for (int i = 0; i < xs.length; i++) xs[i] = i;
+        assertArrayEquals(xs, sorter.sort(xs));
+    }
+
+    @Test
+    public void testSortIntReversed() {
+        int[] xs = new int[5_000];
+        for (int i = 0; i < xs.length; i++) xs[i] = xs.length - i;
+        int[] expected = Arrays.copyOf(xs, xs.length);
+        Arrays.sort(expected);
+        assertArrayEquals(expected, sorter.sort(xs));
+    }
+
+    @Test
+    public void testSortLong() {
+        long[] xs = new Random(0L).longs(10_000).toArray();
+        long[] expected = Arrays.copyOf(xs, xs.length);
+        Arrays.sort(expected);
+        assertArrayEquals(expected, sorter.sort(xs));
+    }
+
+    @Test
+    public void testSortDouble() {
+        double[] xs = new Random(0L).doubles(10_000).toArray();
+        xs[0] = Double.NaN;
+        xs[1] = -0.0;
+        xs[2] = 0.0;
+        xs[3] = Double.NEGATIVE_INFINITY;
+        double[] expected = Arrays.copyOf(xs, xs.length);
+        Arrays.sort(expected);
+        assertArrayEquals(expected, sorter.sort(xs), 0.0);
+    }
+
+    @Test
+    public void testSortTrivial() {
+        assertArrayEquals(new int[0], sorter.sort(new int[0]));
+        assertArrayEquals(new int[]{1}, sorter.sort(new int[]{1}));
+        assertArrayEquals(new int[]{1, 2}, sorter.sort(new int[]{2, 1}));
+    }
+
+    private static Object[] sorter(String name, Supplier<PrimitiveSort> factory) {
+        return new Object[]{name, factory};
+    }
+
+    private final PrimitiveSort sorter;
+}
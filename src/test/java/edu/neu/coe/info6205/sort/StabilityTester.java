@@ -0,0 +1,89 @@
+package edu.neu.coe.info6205.sort;
+
+import java.util.Random;
+import java.util.function.UnaryOperator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Class StabilityTester: the fixture shared by the tests of stable sorts.
+ * <p>
+ * Each Key is compared only by its key (of which there are few distinct values, so that there are many ties),
+ * and it carries its original position (sequence) so that the order of equal keys can be checked after sorting.
+ */
+public class StabilityTester {
+
+    /**
+     * Method to create n Keys, with random keys in 0 ... distinct-1 and sequences 0 ... n-1.
+     *
+     * @param n        the number of Keys.
+     * @param distinct the number of distinct keys.
+     * @param seed     the seed of the random keys.
+     * @return an array of Keys, in sequence order.
+     */
+    public static Key[] keys(int n, int distinct, long seed) {
+        Random random = new Random(seed);
+        Key[] result = new Key[n];
+        for (int i = 0; i < n; i++) result[i] = new Key(random.nextInt(distinct), i);
+        return result;
+    }
+
+    /**
+     * Method to assert that ys is a stable sort of the n Keys created by keys.
+     *
+     * @param n  the number of Keys which were sorted.
+     * @param ys the sorted Keys.
+     */
+    public static void checkStable(int n, Key[] ys) {
+        assertEquals(n, ys.length);
+        boolean[] seen = new boolean[n];
+        for (int i = 0; i < n; i++) {
+            assertTrue("duplicate sequence: " + ys[i].sequence, !seen[ys[i].sequence]);
+            seen[ys[i].sequence] = true;
+            if (i > 0) {
+                assertTrue("out of order at " + i, ys[i - 1].key <= ys[i].key);
+                if (ys[i - 1].key == ys[i].key)
+                    assertTrue("unstable at " + i, ys[i - 1].sequence < ys[i].sequence);
+            }
+        }
+    }
+
+    /**
+     * Method to sort n Keys (with 20 distinct keys) and to assert that the sort was stable.
+     *
+     * @param n      the number of Keys.
+     * @param sorter the sort to be tested (which may return either its input or a new array).
+     */
+    public static void checkStable(int n, UnaryOperator<Key[]> sorter) {
+        checkStable(n, sorter.apply(keys(n, 20, 0L)));
+    }
+
+    public static class Key implements Comparable<Key> {
+        public Key(int key, int sequence) {
+            this.key = key;
+            this.sequence = sequence;
+        }
+
+        /**
+         * @param s a String of the form key:sequence (see toString).
+         * @return the corresponding Key.
+         */
+        public static Key parse(String s) {
+            String[] parts = s.split(":");
+            return new Key(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]));
+        }
+
+        public int compareTo(Key o) {
+            return Integer.compare(key, o.key);
+        }
+
+        @Override
+        public String toString() {
+            return key + ":" + sequence;
+        }
+
+        public final int key;
+        public final int sequence;
+    }
+}
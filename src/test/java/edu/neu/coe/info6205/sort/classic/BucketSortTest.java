@@ -5,10 +5,13 @@
 package edu.neu.coe.info6205.sort.classic;
 
 import com.google.common.collect.ImmutableList;
+import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.sort.Instrument;
 import edu.neu.coe.info6205.sort.InstrumentedComparableHelper;
 import edu.neu.coe.info6205.sort.NonComparableHelper;
 import edu.neu.coe.info6205.sort.NonInstrumentingComparableHelper;
 import edu.neu.coe.info6205.sort.Sort;
+import edu.neu.coe.info6205.sort.StabilityTester;
 import edu.neu.coe.info6205.util.Config;
 import org.junit.Test;
 
@@ -17,9 +20,11 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 import static junit.framework.TestCase.assertEquals;
 import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 @SuppressWarnings("ALL")
@@ -124,6 +129,99 @@ public class BucketSortTest {
         assertEquals(inversions, helper.getFixes());
     }
 
+    @Test
+    public void testSampleSort() throws Exception {
+        int N = 100_000;
+        try (BucketSort<Integer> sorter = BucketSort.SampleSort(1000, N, Config.load(BucketSortTest.class))) {
+            assertTrue(sorter.isSampleSort());
+            Integer[] xs = sorter.getHelper().random(N, Integer.class, Random::nextInt);
+            Integer[] expected = Arrays.copyOf(xs, N);
+            Arrays.sort(expected);
+            assertArrayEquals(expected, sorter.sort(xs));
+        }
+    }
+
+    @Test
+    public void testSampleSortInstrumented() throws Exception {
+        int N = 100_000;
+        final Config config = Config.load(BucketSortTest.class).copy(Config.HELPER, Config.INSTRUMENT, "true").copy(Instrument.INSTRUMENTING, "inversions", "0");
+        try (BucketSort<Integer> sorter = BucketSort.SampleSort(300, N, config)) {
+            Helper<Integer> helper = sorter.getHelper();
+            assertTrue(helper.instrumented());
+            Integer[] xs = helper.random(N, Integer.class, Random::nextInt);
+            assertTrue(helper.isSorted(sorter.sort(xs)));
+            // NOTE each element is classified by a binary search of the splitters, and then sorted within its bucket.
+            long compares = helper.getCompares();
+            assertTrue(compares > (long) N * 12);
+            assertTrue(compares < (long) N * 20);
+        }
+    }
+
+    @Test
+    public void testSampleSortDuplicates() throws Exception {
+        int N = 100_000;
+        try (BucketSort<Integer> sorter = BucketSort.SampleSort(100, N, Config.load(BucketSortTest.class))) {
+            Integer[] xs = sorter.getHelper().random(N, Integer.class, r -> r.nextInt(10));
+            Integer[] expected = Arrays.copyOf(xs, N);
+            Arrays.sort(expected);
+            assertArrayEquals(expected, sorter.sort(xs));
+        }
+    }
+
+    @Test
+    public void testSampleSortEqualityBuckets() throws Exception {
+        // NOTE with only three distinct keys, every splitter is repeated, so (nearly) all elements go into equality buckets.
+        int N = 50_000;
+        try (BucketSort<StabilityTester.Key> sorter = BucketSort.SampleSort(100, N, Config.load(BucketSortTest.class))) {
+            StabilityTester.checkStable(N, sorter.sort(StabilityTester.keys(N, 3, 0L)));
+        }
+    }
+
+    @Test
+    public void testSampleSortSubArray() throws Exception {
+        int N = 50_000;
+        NonComparableHelper<Integer> helper = new NonInstrumentingComparableHelper<>("SampleSort", N, Config.load(BucketSortTest.class));
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try (BucketSort<Integer> sorter = new BucketSort<>(helper, 256, 8, pool)) {
+            Integer[] xs = helper.random(N, Integer.class, Random::nextInt);
+            Integer[] expected = Arrays.copyOf(xs, N);
+            Arrays.sort(expected, 1000, 40_000);
+            sorter.sort(xs, 1000, 40_000);
+            assertArrayEquals(expected, xs);
+        }
+        assertFalse(pool.isShutdown());
+        pool.shutdown();
+    }
+
+    @Test
+    public void testSampleSortStrings() throws Exception {
+        // NOTE no classifier is needed: the splitters are taken from a sample of the words.
+        String[] words = new String[20_000];
+        Random random = new Random(0L);
+        for (int i = 0; i < words.length; i++) {
+            char[] chars = new char[1 + random.nextInt(8)];
+            for (int j = 0; j < chars.length; j++) chars[j] = (char) ((random.nextBoolean() ? 'a' : 'A') + random.nextInt(26));
+            words[i] = new String(chars);
+        }
+        try (BucketSort<String> sorter = BucketSort.CaseIndependentSampleSort(100, words.length, Config.load(BucketSortTest.class))) {
+            String[] expected = Arrays.copyOf(words, words.length);
+            Arrays.sort(expected, String.CASE_INSENSITIVE_ORDER);
+            sorter.mutatingSort(words);
+            for (int i = 0; i < words.length; i++) assertEquals(0, String.CASE_INSENSITIVE_ORDER.compare(expected[i], words[i]));
+        }
+    }
+
+    @Test
+    public void testSampleSortSmall() throws Exception {
+        // NOTE too few elements to be worth sampling: the array is sorted directly.
+        ImmutableList<String> list = ImmutableList.of("Bravo", "Campion", "Able", "Aardvark", "Beetle");
+        try (BucketSort<String> sorter = BucketSort.SampleSort(10, 5, Config.load(BucketSortTest.class))) {
+            String[] xs = list.toArray(new String[]{});
+            sorter.mutatingSort(xs);
+            assertArrayEquals(new String[]{"Aardvark", "Able", "Beetle", "Bravo", "Campion"}, xs);
+        }
+    }
+
     @Test
     public void init() {
     }
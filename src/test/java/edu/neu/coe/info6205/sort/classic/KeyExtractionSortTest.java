@@ -0,0 +1,136 @@
+package edu.neu.coe.info6205.sort.classic;
+
+import edu.neu.coe.info6205.util.Config;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.chrono.ChronoLocalDateTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class KeyExtractionSortTest {
+
+    private static Config config;
+
+    @BeforeClass
+    public static void beforeClass() throws IOException {
+        config = Config.load(KeyExtractionSortTest.class);
+    }
+
+    @Test
+    public void testFoldCase() {
+        Random random = new Random(0L);
+        for (int k = 0; k < 10000; k++) {
+            String s = randomString(random, "aAbBßΣσςİıÄäẞ");
+            String t = randomString(random, "aAbBßΣσςİıÄäẞ");
+            assertEquals(s + ", " + t, Integer.signum(String.CASE_INSENSITIVE_ORDER.compare(s, t)), Integer.signum(KeyExtractionSort.foldCase(s).compareTo(KeyExtractionSort.foldCase(t))));
+        }
+    }
+
+    @Test
+    public void testCaseInsensitive() {
+        Random random = new Random(0L);
+        String[] xs = new String[1000];
+        for (int i = 0; i < xs.length; i++) xs[i] = randomString(random, "aAbBcC");
+        String[] expected = xs.clone();
+        Arrays.sort(expected, String.CASE_INSENSITIVE_ORDER);
+        try (KeyExtractionSort<String> sorter = KeyExtractionSort.caseInsensitive(xs.length, config)) {
+            String[] ys = sorter.sort(xs);
+            // NOTE both sorts are stable, so the results are identical (not merely equivalent).
+            assertArrayEquals(expected, ys);
+        }
+    }
+
+    @Test
+    public void testDateTimes() {
+        Random random = new Random(0L);
+        LocalDateTime[] xs = new LocalDateTime[1000];
+        // NOTE only 100 different seconds, so that there are many elements with equal keys.
+        for (int i = 0; i < xs.length; i++)
+            xs[i] = LocalDateTime.ofEpochSecond(1_600_000_000L + random.nextInt(100), random.nextInt(1_000_000_000), ZoneOffset.UTC);
+        LocalDateTime[] expected = xs.clone();
+        Arrays.sort(expected);
+        try (KeyExtractionSort<ChronoLocalDateTime<?>> sorter = KeyExtractionSort.dateTimes(xs.length, config)) {
+            sorter.mutatingSort(xs);
+            assertArrayEquals(expected, xs);
+        }
+    }
+
+    @Test
+    public void testDateTimesOrdered() {
+        // NOTE timestamps often arrive in order: ascending, descending and equal keys must not make the sort degenerate.
+        int n = 100_000;
+        LocalDateTime[] ascending = new LocalDateTime[n];
+        LocalDateTime[] descending = new LocalDateTime[n];
+        LocalDateTime[] equal = new LocalDateTime[n];
+        for (int i = 0; i < n; i++) {
+            ascending[i] = LocalDateTime.ofEpochSecond(1_600_000_000L + i, 0, ZoneOffset.UTC);
+            descending[i] = LocalDateTime.ofEpochSecond(1_600_000_000L - i, 0, ZoneOffset.UTC);
+            equal[i] = LocalDateTime.ofEpochSecond(1_600_000_000L, 0, ZoneOffset.UTC);
+        }
+        try (KeyExtractionSort<ChronoLocalDateTime<?>> sorter = KeyExtractionSort.dateTimes(n, config)) {
+            for (LocalDateTime[] xs : new LocalDateTime[][]{ascending, descending, equal}) {
+                LocalDateTime[] expected = xs.clone();
+                Arrays.sort(expected);
+                sorter.mutatingSort(xs);
+                assertArrayEquals(expected, xs);
+            }
+        }
+    }
+
+    @Test
+    public void testLongKeyStable() {
+        Integer[] xs = new Integer[]{31, 10, 42, 12, 21, 40, 11, 30, 41, 20};
+        try (KeyExtractionSort<Integer> sorter = KeyExtractionSort.byLong("test", (x, y) -> 0, x -> x / 10, xs.length, config)) {
+            sorter.mutatingSort(xs);
+            assertArrayEquals(new Integer[]{10, 12, 11, 21, 20, 31, 30, 42, 40, 41}, xs);
+        }
+    }
+
+    @Test
+    public void testLongKeyUnpacked() {
+        Random random = new Random(0L);
+        // NOTE the range of these keys is too great for the keys to be packed with their indices.
+        Long[] xs = new Long[1000];
+        for (int i = 0; i < xs.length; i++) xs[i] = random.nextLong();
+        xs[0] = Long.MIN_VALUE;
+        xs[1] = Long.MAX_VALUE;
+        Long[] expected = xs.clone();
+        Arrays.sort(expected);
+        try (KeyExtractionSort<Long> sorter = KeyExtractionSort.<Long>byLong("test", Comparator.naturalOrder(), x -> x, xs.length, config)) {
+            sorter.mutatingSort(xs);
+            assertArrayEquals(expected, xs);
+        }
+    }
+
+    @Test
+    public void testSubArray() {
+        String[] xs = new String[]{"z", "d", "C", "b", "A", "a"};
+        try (KeyExtractionSort<String> sorter = KeyExtractionSort.caseInsensitive(xs.length, config)) {
+            sorter.sort(xs, 1, 5);
+            assertArrayEquals(new String[]{"z", "A", "b", "C", "d", "a"}, xs);
+            sorter.sort(xs, 5, 5);
+            sorter.sort(xs, 5, 6);
+            assertEquals("a", xs[5]);
+        }
+    }
+
+    @Test
+    public void testSortIndices() {
+        int[] keys = new int[]{3, 1, 2, 1, 3, 0};
+        assertArrayEquals(new int[]{5, 1, 3, 2, 0, 4}, KeyExtractionSort.sortIndices(keys.length, (i, j) -> Integer.compare(keys[i], keys[j])));
+        assertArrayEquals(new int[0], KeyExtractionSort.sortIndices(0, (i, j) -> 0));
+    }
+
+    private static String randomString(Random random, String alphabet) {
+        char[] cs = new char[random.nextInt(5)];
+        for (int i = 0; i < cs.length; i++) cs[i] = alphabet.charAt(random.nextInt(alphabet.length()));
+        return new String(cs);
+    }
+}
@@ -0,0 +1,130 @@
+package edu.neu.coe.info6205.sort.counting;
+
+import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.sort.NonInstrumentingComparableHelper;
+import edu.neu.coe.info6205.sort.SortException;
+import edu.neu.coe.info6205.util.CodePointMapper;
+import edu.neu.coe.info6205.util.Config;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class PackedLSDStringSortTest {
+
+    final String[] input = "she sells seashells by the seashore the shells she sells are surely seashells".split(" ");
+    final String[] expected = "are by seashells seashells seashore sells sells she she shells surely the the".split(" ");
+
+    @Test
+    public void testSort() {
+        try (PackedLSDStringSort sorter = new PackedLSDStringSort(CodePointMapper.ASCIIExt, input.length, 1, config)) {
+            assertEquals(8, sorter.getBitsPerChar());
+            assertArrayEquals(expected, sorter.sort(input));
+        }
+    }
+
+    @Test
+    public void testEncode() {
+        Helper<String> helper = new NonInstrumentingComparableHelper<>("PackedLSD", 2, 0L, config);
+        PackedLSDStringSort sorter = new PackedLSDStringSort(CodePointMapper.ASCII, helper);
+        String[] xs = new String[]{"ab", "abcdefghi"};
+        long[] keys = sorter.encode(xs, 0, 2, 2);
+        assertEquals(4, keys.length);
+        assertEquals(0x6162000000000000L, keys[0]);
+        assertEquals(0x6162636465666768L, keys[1]);
+        assertEquals(0L, keys[2]);
+        assertEquals(0x6900000000000000L, keys[3]);
+    }
+
+    @Test
+    public void testSortWords() {
+        String[] words = MSDStringSortTest.getWords("3000-common-words.txt", MSDStringSortTest::lineAsList);
+        int n = 20_000;
+        Helper<String> helper = new NonInstrumentingComparableHelper<>("PackedLSD", n, 0L, config);
+        PackedLSDStringSort sorter = new PackedLSDStringSort(CodePointMapper.ASCII, helper);
+        String[] xs = helper.random(String.class, r -> words[r.nextInt(words.length)]);
+        String[] ys = sorter.sort(xs);
+        Arrays.sort(xs);
+        assertArrayEquals(xs, ys);
+    }
+
+    @Test
+    public void testSortEnglishIsStable() {
+        // NOTE the English mapper ignores case, so "Apple" and "apple" are equal: they must retain their order.
+        Helper<String> helper = new NonInstrumentingComparableHelper<>("PackedLSD", 6, 0L, config);
+        PackedLSDStringSort sorter = new PackedLSDStringSort(CodePointMapper.English, helper);
+        String[] xs = new String[]{"pear", "apple", "Pear", "Apple", "fig", "APPLE"};
+        assertArrayEquals(new String[]{"apple", "Apple", "APPLE", "fig", "pear", "Pear"}, sorter.sort(xs));
+    }
+
+    @Test
+    public void testSortUnicode() {
+        String[] words = MSDStringSortTest.getWords("zho-simp-tw_web_2014_10K-words.txt", PackedLSDStringSortTest::secondColumn);
+        int n = 20_000;
+        Helper<String> helper = new NonInstrumentingComparableHelper<>("PackedLSD", n, 0L, config);
+        PackedLSDStringSort sorter = new PackedLSDStringSort(CodePointMapper.Unicode, helper);
+        assertEquals(16, sorter.getBitsPerChar());
+        String[] xs = helper.random(String.class, r -> words[r.nextInt(words.length)]);
+        String[] ys = sorter.sort(xs);
+        Arrays.sort(xs);
+        assertArrayEquals(xs, ys);
+    }
+
+    @Test
+    public void testSortSubArray() {
+        Helper<String> helper = new NonInstrumentingComparableHelper<>("PackedLSD", input.length, 0L, config);
+        PackedLSDStringSort sorter = new PackedLSDStringSort(CodePointMapper.ASCII, helper);
+        String[] xs = Arrays.copyOf(input, input.length);
+        sorter.sort(xs, 3, 9);
+        String[] ys = Arrays.copyOf(input, input.length);
+        Arrays.sort(ys, 3, 9);
+        assertArrayEquals(ys, xs);
+    }
+
+    @Test
+    public void testSortUnpacked() {
+        // NOTE with room for only 1000 keys, 2000 Strings cannot be packed, and so each column is encoded as it is sorted.
+        String[] words = MSDStringSortTest.getWords("3000-common-words.txt", MSDStringSortTest::lineAsList);
+        int n = 2000;
+        Helper<String> helper = new NonInstrumentingComparableHelper<>("PackedLSD", n, 0L, config);
+        PackedLSDStringSort sorter = new PackedLSDStringSort(CodePointMapper.ASCII, helper, 1000);
+        assertFalse(sorter.isPacked(n, 1));
+        String[] xs = helper.random(String.class, r -> words[r.nextInt(words.length)]);
+        String[] ys = sorter.sort(xs);
+        Arrays.sort(xs);
+        assertArrayEquals(xs, ys);
+    }
+
+    @Test
+    public void testIsPacked() {
+        Helper<String> helper = new NonInstrumentingComparableHelper<>("PackedLSD", 1, 0L, config);
+        PackedLSDStringSort sorter = new PackedLSDStringSort(CodePointMapper.ASCII, helper);
+        assertTrue(sorter.isPacked(1 << 20, 1 << 10));
+        // NOTE columns * n would overflow an int.
+        assertFalse(sorter.isPacked(1 << 24, 1 << 8));
+    }
+
+    @Test(expected = SortException.class)
+    public void testEncodeTooMany() {
+        Helper<String> helper = new NonInstrumentingComparableHelper<>("PackedLSD", 2, 0L, config);
+        new PackedLSDStringSort(CodePointMapper.ASCII, helper, 3).encode(new String[]{"ab", "abcdefghi"}, 0, 2, 2);
+    }
+
+    @Test(expected = SortException.class)
+    public void testRange() {
+        Helper<String> helper = new NonInstrumentingComparableHelper<>("PackedLSD", 1, 0L, config);
+        new PackedLSDStringSort(new CodePointMapper("big", x -> x, 0x10001, String::compareTo), helper);
+    }
+
+    private static List<String> secondColumn(final String line) {
+        final List<String> words = new ArrayList<>();
+        final String[] fields = line.split("\t");
+        if (fields.length > 1) words.add(fields[1]);
+        return words;
+    }
+
+    private final Config config = Config.setupConfig("false", "false", "0", "0", "", "");
+}
@@ -0,0 +1,125 @@
+package edu.neu.coe.info6205.sort.counting;
+
+import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.sort.NonInstrumentingComparableHelper;
+import edu.neu.coe.info6205.sort.par.ParSort;
+import edu.neu.coe.info6205.util.CodePointMapper;
+import edu.neu.coe.info6205.util.Config;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class ParallelMSDStringSortTest {
+
+    final String[] input = "she sells seashells by the seashore the shells she sells are surely seashells".split(" ");
+    final String[] expected = "are by seashells seashells seashore sells sells she she shells surely the the".split(" ");
+
+    @Test
+    public void testSort() throws IOException {
+        Config config = Config.load(ParallelMSDStringSortTest.class).copy(ParSort.PARALLELSORT, ParSort.THREADS, "2");
+        try (ParallelMSDStringSort sorter = new ParallelMSDStringSort(CodePointMapper.ASCIIExt, input.length, 1, config)) {
+            assertEquals(2, sorter.getParallelism());
+            assertEquals(ParallelMSDStringSort.MSD_THRESHOLD_DEFAULT, sorter.getThreshold());
+            assertArrayEquals(expected, sorter.sort(input));
+        }
+    }
+
+    @Test
+    public void testSortEnglish() {
+        String[] words = MSDStringSortTest.getWords("3000-common-words.txt", MSDStringSortTest::lineAsList);
+        // NOTE the English mapper ignores case (and non-letters) so we can only check that the result is sorted.
+        checkSorted(CodePointMapper.English, words, 50_000, 4);
+    }
+
+    @Test
+    public void testSortASCII() {
+        String[] words = MSDStringSortTest.getWords("3000-common-words.txt", MSDStringSortTest::lineAsList);
+        checkSorted(CodePointMapper.ASCII, words, 50_000, 1);
+    }
+
+    @Test
+    public void testSortChinese() {
+        String[] words = MSDStringSortTest.getWords("zho-simp-tw_web_2014_10K-words.txt", ParallelMSDStringSortTest::secondColumn);
+        checkSorted(CodePointMapper.Unicode, words, 50_000, 1);
+    }
+
+    @Test
+    public void testSortRepeatedly() {
+        // NOTE the per-thread count arrays must be left clean after each sort.
+        String[] words = MSDStringSortTest.getWords("3000-common-words.txt", MSDStringSortTest::lineAsList);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        Helper<String> helper = new NonInstrumentingComparableHelper<>("ParallelMSD", 20_000, 0L, config);
+        ParallelMSDStringSort sorter = new ParallelMSDStringSort(CodePointMapper.ASCII, helper, 100, pool);
+        for (int i = 0; i < 5; i++) {
+            String[] xs = helper.random(String.class, r -> words[r.nextInt(words.length)]);
+            String[] ys = sorter.sort(xs);
+            Arrays.sort(xs);
+            assertArrayEquals(xs, ys);
+        }
+        pool.shutdown();
+    }
+
+    @Test
+    public void testSortSubArray() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        Helper<String> helper = new NonInstrumentingComparableHelper<>("ParallelMSD", input.length, 0L, config);
+        ParallelMSDStringSort sorter = new ParallelMSDStringSort(CodePointMapper.ASCII, helper, 2, pool);
+        String[] xs = Arrays.copyOf(input, input.length);
+        sorter.sort(xs, 2, 8);
+        String[] ys = Arrays.copyOf(input, input.length);
+        Arrays.sort(ys, 2, 8);
+        assertArrayEquals(ys, xs);
+        pool.shutdown();
+    }
+
+    @Test
+    public void testSortLargeSubArray() {
+        // NOTE the sub-array is large enough to be distributed (and forked), so that aux is used with an offset.
+        String[] words = MSDStringSortTest.getWords("3000-common-words.txt", MSDStringSortTest::lineAsList);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        Config config = this.config.copy(Config.HELPER, Config.MSDCUTOFF, "4");
+        Helper<String> helper = new NonInstrumentingComparableHelper<>("ParallelMSD", 50_000, 0L, config);
+        ParallelMSDStringSort sorter = new ParallelMSDStringSort(CodePointMapper.ASCII, helper, 64, pool);
+        String[] xs = helper.random(String.class, r -> words[r.nextInt(words.length)]);
+        String[] ys = Arrays.copyOf(xs, xs.length);
+        sorter.sort(xs, 10_000, 40_000);
+        Arrays.sort(ys, 10_000, 40_000);
+        assertArrayEquals(ys, xs);
+        pool.shutdown();
+    }
+
+    /**
+     * Sort n randomly-chosen words with a small threshold (so that there is plenty of forking) and check the result.
+     */
+    private void checkSorted(CodePointMapper mapper, String[] words, int n, int cutoff) {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        Config config = this.config.copy(Config.HELPER, Config.MSDCUTOFF, String.valueOf(cutoff));
+        Helper<String> helper = new NonInstrumentingComparableHelper<>("ParallelMSD", n, 0L, config);
+        ParallelMSDStringSort sorter = new ParallelMSDStringSort(mapper, helper, 64, pool);
+        String[] xs = helper.random(String.class, r -> words[r.nextInt(words.length)]);
+        String[] ys = sorter.sort(xs);
+        for (int i = 1; i < n; i++)
+            assertTrue(ys[i - 1] + " > " + ys[i], mapper.comparator.compare(ys[i - 1], ys[i]) <= 0);
+        // Make sure that nothing has been lost.
+        Arrays.sort(xs);
+        String[] zs = Arrays.copyOf(ys, n);
+        Arrays.sort(zs);
+        assertArrayEquals(xs, zs);
+        pool.shutdown();
+    }
+
+    private static List<String> secondColumn(final String line) {
+        final List<String> words = new ArrayList<>();
+        final String[] fields = line.split("\t");
+        if (fields.length > 1) words.add(fields[1]);
+        return words;
+    }
+
+    private final Config config = Config.setupConfig("false", "false", "0", "0", "", "");
+}
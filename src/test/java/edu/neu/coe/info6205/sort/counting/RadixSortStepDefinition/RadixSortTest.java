@@ -1,5 +1,6 @@
 package edu.neu.coe.info6205.sort.counting.RadixSortStepDefinition;
 
+import edu.neu.coe.info6205.sort.SortException;
 import edu.neu.coe.info6205.sort.counting.RadixSort;
 import io.cucumber.java.Before;
 import io.cucumber.java.en.Given;
@@ -30,9 +31,9 @@ public class RadixSortTest {
     }
 
     @When("radix sort is performed over the {string} range from {int} to {int}")
-    public void radix_sort_is_performed_over_the_range_from_to(String string, Integer rangeStart, Integer rangeEnd) throws Exception {
-        // Write code here that turns the phrase above into concrete actions
-        rs.sort(intArr, rangeStart, rangeEnd);
+    public void radix_sort_is_performed_over_the_range_from_to(String string, Integer rangeStart, Integer rangeEnd) {
+        // NOTE that the range in the feature is inclusive.
+        rs.sort(intArr, rangeStart, rangeEnd + 1);
     }
 
     @Then("validate if the element of array within {int} and {int} are sorted")
@@ -51,10 +52,9 @@ public class RadixSortTest {
     }
 
     @When("radix sort is performed over the range from {int} to {int} where {string}")
-    public void radix_sort_is_performed_over_the_range_from_to_where(Integer rangeStart, Integer rangeEnd, String string) throws Exception {
-        // Write code here that turns the phrase above into concrete actions
+    public void radix_sort_is_performed_over_the_range_from_to_where(Integer rangeStart, Integer rangeEnd, String string) {
         try {
-            rs.sort(intArr, rangeStart, rangeEnd);
+            rs.sort(intArr, rangeStart, rangeEnd + 1);
         } catch (ArrayIndexOutOfBoundsException ae) {
             exp = ae;
         }
@@ -78,55 +78,16 @@ public class RadixSortTest {
 
     @When("radix sort is performed over the range {int} to {int} where {string}")
     public void radix_sort_is_performed_over_the_range_to_where(Integer rangeStart, Integer rangeEnd, String string) {
-        // Write code here that turns the phrase above into concrete actions
         try {
-            rs.sort(intArr, rangeStart, rangeEnd);
-        } catch (Exception e) {
+            rs.sort(intArr, rangeStart, rangeEnd + 1);
+        } catch (SortException e) {
             exp = e;
         }
     }
 
     @Then("validate if Exception is raised")
-    public void validate_if_Exception_is_raised() throws Exception {
-        // Write code here that turns the phrase above into concrete actions
-        assertEquals(Exception.class, exp.getClass());
-    }
-
-    /**
-     * Test type: Positive Testing
-     * Scenario: Given an integer array find if all elements are sorted within given range at a particular radix
-     */
-    @Given("an int array {string}")
-    public void an_int_array(String string) {
-        // Write code here that turns the phrase above into concrete actions
-        buildIntArrayFromString(string);
-    }
-
-    @When("counting sort is performed over the range {int} to {int} at {int} radix")
-    public void counting_sort_is_performed_over_the_range_to_at_radix(Integer rangeStart, Integer rangeEnd, Integer radix) {
-        // Write code here that turns the phrase above into concrete actions
-        rs.countSort(intArr, radix, rangeStart, rangeEnd);
-    }
-
-    @Then("validate if the element at of array within {int} and {int} are sorted at {int} radix")
-    public void validate_if_the_element_at_of_array_within_and_are_sorted_at_radix(Integer rangeStart, Integer rangeEnd, Integer radix) {
-        // Write code here that turns the phrase above into concrete actions
-        assertTrue(validateCountSort(rangeStart, rangeEnd, radix));
-    }
-
-    /**
-     * Test type: Positive Testing
-     * Scenario: Given and integer array find max of all elements
-     */
-    @Given("an Int array {string}")
-    public void an_Int_array(String string) {
-        buildIntArrayFromString(string);
-    }
-
-    @Then("maximum integer within {int} and {int} should be {int}")
-    public void maximum_integer_within_and_should_be(Integer rangeStart, Integer rangeEnd, Integer expectedOutput) {
-        // Write code here that turns the phrase above into concrete actions
-        assertEquals((int) expectedOutput, rs.findMaxInt(intArr, rangeStart, rangeEnd));
+    public void validate_if_Exception_is_raised() {
+        assertEquals(SortException.class, exp.getClass());
     }
 
     /**
@@ -153,17 +114,4 @@ public class RadixSortTest {
         }
         return true;
     }
-
-    /**
-     * Method type: Supportive method
-     * Scenario: Given an integer array check sorting invariance within range at particular radix
-     */
-    public boolean validateCountSort(int rangeStart, int rangeEnd, int radix) {
-        for (int i = rangeStart + 1; i <= rangeEnd; i++) {
-            if (((intArr[i - 1] / radix) % 10) > ((intArr[i] / radix) % 10)) return false;
-        }
-        return true;
-    }
-
-
-}
\ No newline at end of file
+}
@@ -0,0 +1,145 @@
+package edu.neu.coe.info6205.sort.counting;
+
+import edu.neu.coe.info6205.sort.SortException;
+import edu.neu.coe.info6205.sort.par.ParSort;
+import edu.neu.coe.info6205.util.Config;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class RadixSortTest {
+
+    @Test
+    public void testSortInt() {
+        int[] xs = new int[]{5, -3, 0, Integer.MIN_VALUE, Integer.MAX_VALUE, -1, 1, -3};
+        int[] expected = Arrays.copyOf(xs, xs.length);
+        Arrays.sort(expected);
+        new RadixSort().sort(xs, 0, xs.length);
+        assertArrayEquals(expected, xs);
+    }
+
+    @Test
+    public void testSortIntRandom() {
+        int[] xs = new Random(0L).ints(10_000).toArray();
+        int[] expected = Arrays.copyOf(xs, xs.length);
+        Arrays.sort(expected);
+        new RadixSort().sort(xs, 0, xs.length);
+        assertArrayEquals(expected, xs);
+    }
+
+    @Test
+    public void testSortInt11Bits() {
+        int[] xs = new Random(0L).ints(10_000).toArray();
+        int[] expected = Arrays.copyOf(xs, xs.length);
+        Arrays.sort(expected);
+        RadixSort sorter = new RadixSort(11);
+        assertEquals(11, sorter.getBits());
+        sorter.sort(xs, 0, xs.length);
+        assertArrayEquals(expected, xs);
+    }
+
+    @Test
+    public void testSortIntSkipsPasses() {
+        // NOTE all of the high-order digits are the same so only the lowest pass actually moves anything.
+        int[] xs = new Random(0L).ints(1000, 0, 256).toArray();
+        int[] expected = Arrays.copyOf(xs, xs.length);
+        Arrays.sort(expected);
+        new RadixSort().sort(xs, 0, xs.length);
+        assertArrayEquals(expected, xs);
+    }
+
+    @Test
+    public void testSortIntSubArray() {
+        int[] xs = new Random(0L).ints(100).toArray();
+        int[] expected = Arrays.copyOf(xs, xs.length);
+        Arrays.sort(expected, 10, 90);
+        new RadixSort().sort(xs, 10, 90);
+        assertArrayEquals(expected, xs);
+    }
+
+    @Test
+    public void testSortLong() {
+        long[] xs = new Random(0L).longs(10_000).toArray();
+        xs[0] = Long.MIN_VALUE;
+        xs[1] = Long.MAX_VALUE;
+        xs[2] = 0L;
+        long[] expected = Arrays.copyOf(xs, xs.length);
+        Arrays.sort(expected);
+        new RadixSort(11).sort(xs, 0, xs.length);
+        assertArrayEquals(expected, xs);
+    }
+
+    @Test
+    public void testSortDouble() {
+        Random random = new Random(0L);
+        double[] xs = new double[1000];
+        for (int i = 0; i < xs.length; i++) xs[i] = random.nextGaussian() * 1000;
+        xs[0] = -0.0;
+        xs[1] = 0.0;
+        xs[2] = Double.NaN;
+        xs[3] = Double.NEGATIVE_INFINITY;
+        xs[4] = Double.POSITIVE_INFINITY;
+        xs[5] = -Double.MIN_VALUE;
+        double[] expected = Arrays.copyOf(xs, xs.length);
+        Arrays.sort(expected);
+        new RadixSort().sort(xs, 0, xs.length);
+        assertArrayEquals(expected, xs, 0.0);
+        assertEquals(Double.doubleToRawLongBits(-0.0), Double.doubleToRawLongBits(xs[Arrays.binarySearch(expected, -0.0)]));
+    }
+
+    @Test
+    public void testSortParallel() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        RadixSort sorter = new RadixSort(8, pool, 1000);
+        int[] xs = new Random(0L).ints(200_000).toArray();
+        int[] expected = Arrays.copyOf(xs, xs.length);
+        Arrays.sort(expected);
+        sorter.sort(xs, 0, xs.length);
+        assertArrayEquals(expected, xs);
+        long[] ys = new Random(1L).longs(200_000).toArray();
+        long[] expectedLongs = Arrays.copyOf(ys, ys.length);
+        Arrays.sort(expectedLongs);
+        sorter.sort(ys, 0, ys.length);
+        assertArrayEquals(expectedLongs, ys);
+        pool.shutdown();
+    }
+
+    @Test
+    public void testConfig() throws IOException {
+        Config config = Config.load(RadixSortTest.class).copy(ParSort.PARALLELSORT, ParSort.THREADS, "2");
+        try (RadixSort sorter = new RadixSort(config)) {
+            assertEquals(RadixSort.BITS_DEFAULT, sorter.getBits());
+            assertEquals(RadixSort.THRESHOLD_DEFAULT, sorter.getThreshold());
+            assertEquals("Radix sort (8 bits) with parallelism 2", sorter.getDescription());
+        }
+    }
+
+    @Test
+    public void testSortableLong() {
+        double[] xs = new double[]{Double.NEGATIVE_INFINITY, -1.5, -Double.MIN_VALUE, -0.0, 0.0, Double.MIN_VALUE, 2.5, Double.POSITIVE_INFINITY, Double.NaN};
+        for (int i = 1; i < xs.length; i++)
+            assertTrue(RadixSort.toSortableLong(xs[i - 1]) < RadixSort.toSortableLong(xs[i]));
+        for (double x : xs)
+            assertEquals(Double.doubleToLongBits(x), Double.doubleToLongBits(RadixSort.fromSortableLong(RadixSort.toSortableLong(x))));
+    }
+
+    @Test(expected = SortException.class)
+    public void testBits() {
+        new RadixSort(17);
+    }
+
+    @Test(expected = SortException.class)
+    public void testRange() {
+        new RadixSort().sort(new int[10], 5, 4);
+    }
+
+    @Test(expected = ArrayIndexOutOfBoundsException.class)
+    public void testRangeOutOfBounds() {
+        new RadixSort().sort(new int[10], 0, 11);
+    }
+}
@@ -0,0 +1,41 @@
+package edu.neu.coe.info6205.sort.elementary;
+
+import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.sort.HelperFactory;
+import edu.neu.coe.info6205.sort.linearithmic.MergeSortBasic;
+import edu.neu.coe.info6205.util.Config;
+import org.junit.Test;
+
+
+import static org.junit.Assert.*;
+
+public class BinaryInsertionSortTest {
+
+    @Test
+    public void testInstrumented() {
+        int n = 1000;
+        final Config config = Config.setupConfig("true", "true", "0", "1", "", "");
+        Helper<Integer> helper = HelperFactory.create("BinaryInsertionSort", n, config);
+        BinaryInsertionSort<Integer> sorter = new BinaryInsertionSort<>(helper);
+        Integer[] xs = helper.random(Integer.class, r -> r.nextInt(100));
+        long inversions = MergeSortBasic.countInversions(xs);
+        Integer[] ys = sorter.sort(xs);
+        assertTrue(helper.isSorted(ys));
+        assertEquals(inversions, helper.getFixes());
+        // NOTE the number of compares is close to lg(n!), not n^2/4.
+        assertTrue(helper.getCompares() < 12L * n);
+    }
+
+    @Test
+    public void testSorted() {
+        int n = 1000;
+        final Config config = Config.setupConfig("true", "false", "0", "0", "", "");
+        Helper<Integer> helper = HelperFactory.create("BinaryInsertionSort", n, config);
+        Integer[] ys = new BinaryInsertionSort<>(helper).sort(helper.ordered(n, Integer.class, i -> i));
+        assertTrue(helper.isSorted(ys));
+        assertEquals(n - 1, helper.getCompares());
+        assertEquals(0, helper.getCopies());
+    }
+
+    private final Config config = Config.setupConfig("false", "false", "0", "0", "", "");
+}
@@ -0,0 +1,74 @@
+package edu.neu.coe.info6205.sort.elementary;
+
+import edu.neu.coe.info6205.sort.SortException;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class GapSequenceTest {
+
+    @Test
+    public void testKnuth() {
+        assertArrayEquals(new int[]{40, 13, 4, 1}, GapSequence.KNUTH.gaps(100));
+    }
+
+    @Test
+    public void testHibbard() {
+        assertArrayEquals(new int[]{63, 31, 15, 7, 3, 1}, GapSequence.HIBBARD.gaps(100));
+    }
+
+    @Test
+    public void testSedgewick86() {
+        assertArrayEquals(new int[]{929, 505, 209, 109, 41, 19, 5, 1}, GapSequence.SEDGEWICK86.gaps(1000));
+    }
+
+    @Test
+    public void testTokuda() {
+        assertArrayEquals(new int[]{525, 233, 103, 46, 20, 9, 4, 1}, GapSequence.TOKUDA.gaps(1000));
+    }
+
+    @Test
+    public void testCiura() {
+        assertArrayEquals(new int[]{701, 301, 132, 57, 23, 10, 4, 1}, GapSequence.CIURA.gaps(1000));
+        assertArrayEquals(new int[]{8858, 3937, 1750, 701, 301, 132, 57, 23, 10, 4, 1}, GapSequence.CIURA.gaps(10_000));
+    }
+
+    @Test
+    public void testPratt() {
+        assertArrayEquals(new int[]{16, 12, 9, 8, 6, 4, 3, 2, 1}, GapSequence.PRATT.gaps(17));
+    }
+
+    @Test
+    public void testGapsAreLessThanN() {
+        for (GapSequence gapSequence : GapSequence.GAP_SEQUENCES) {
+            assertEquals(0, gapSequence.gaps(1).length);
+            assertArrayEquals(new int[]{1}, gapSequence.gaps(2));
+            int[] gaps = gapSequence.gaps(Integer.MAX_VALUE);
+            assertEquals(1, gaps[gaps.length - 1]);
+            for (int i = 1; i < gaps.length; i++) assertTrue(gaps[i] < gaps[i - 1]);
+        }
+    }
+
+    @Test
+    public void testCount() {
+        int[] table = GapSequence.CIURA.table();
+        assertSame(table, GapSequence.CIURA.table());
+        assertEquals(0, GapSequence.CIURA.count(1));
+        assertEquals(1, GapSequence.CIURA.count(4));
+        assertEquals(2, GapSequence.CIURA.count(5));
+        assertEquals(table.length, GapSequence.CIURA.count(Integer.MAX_VALUE));
+        for (int n : new int[]{2, 57, 58, 12345})
+            assertEquals(GapSequence.CIURA.gaps(n).length, GapSequence.CIURA.count(n));
+    }
+
+    @Test
+    public void testGetGapSequence() {
+        assertSame(GapSequence.TOKUDA, GapSequence.getGapSequence("Tokuda"));
+        assertSame(GapSequence.SEDGEWICK86, GapSequence.getGapSequence("sedgewick86"));
+    }
+
+    @Test(expected = SortException.class)
+    public void testGetGapSequenceUnknown() {
+        GapSequence.getGapSequence("shell");
+    }
+}
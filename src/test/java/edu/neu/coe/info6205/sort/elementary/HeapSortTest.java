@@ -13,8 +13,10 @@ import org.junit.Test;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
@@ -120,6 +122,17 @@ public class HeapSortTest {
         assertEquals(944, compares); // TODO check this.
     }
 
+    @Test
+    public void testSortSubArray() throws IOException {
+        int n = 100;
+        NonComparableHelper<Integer> helper = new NonInstrumentingComparableHelper<>("HeapSort", n, Config.load(HeapSortTest.class));
+        Integer[] xs = helper.random(Integer.class, r -> r.nextInt(1000));
+        Integer[] expected = Arrays.copyOf(xs, n);
+        Arrays.sort(expected, 10, 90);
+        new HeapSort<Integer>(helper).sort(xs, 10, 90);
+        assertArrayEquals(expected, xs);
+    }
+
     final static LazyLogger logger = new LazyLogger(HeapSort.class);
 
 }
\ No newline at end of file
@@ -13,7 +13,9 @@ import org.junit.Test;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 
 import static edu.neu.coe.info6205.util.ConfigTest.INVERSIONS;
 import static org.junit.Assert.*;
@@ -177,6 +179,38 @@ public class InsertionSortTest {
         assertEquals(62, instrumenter.getLookups());
     }
 
+    @Test
+    public void testVariants() {
+        final Config config = Config.setupConfig("false", "false", "0", "0", "", "");
+        for (String variant : new String[]{"", InsertionSort.BINARY, InsertionSort.PAIR}) {
+            final Config variantConfig = config.copy(Config.HELPER, InsertionSort.INSERTIONSORT, variant);
+            int n = 200;
+            Helper<Integer> helper = new NonInstrumentingComparableHelper<>("InsertionSort", n, 0L, variantConfig);
+            InsertionSort<Integer> sorter = InsertionSort.create(helper, true);
+            Integer[] xs = helper.random(Integer.class, Random::nextInt);
+            Integer[] expected = Arrays.copyOf(xs, n);
+            Arrays.sort(expected, 50, 150);
+            sorter.sort(xs, 50, 150);
+            assertArrayEquals(variant, expected, xs);
+            int m = 500;
+            Helper<StabilityTester.Key> keyHelper = new NonInstrumentingComparableHelper<>("InsertionSort", m, 0L, variantConfig);
+            // NOTE the reference is to SortWithHelper.sort because InsertionSort also has a static sort method.
+            SortWithHelper<StabilityTester.Key> keySorter = InsertionSort.create(keyHelper, true);
+            StabilityTester.checkStable(m, keySorter::sort);
+        }
+    }
+
+    @Test
+    public void testCreate() {
+        final Config config = Config.setupConfig("false", "false", "0", "0", "", "");
+        Helper<Integer> binary = new NonInstrumentingComparableHelper<>("test", 10, 0L, config.copy(Config.HELPER, InsertionSort.INSERTIONSORT, InsertionSort.BINARY));
+        assertTrue(InsertionSort.create(binary, true) instanceof BinaryInsertionSort);
+        Helper<Integer> pair = new NonInstrumentingComparableHelper<>("test", 10, 0L, config.copy(Config.HELPER, InsertionSort.INSERTIONSORT, InsertionSort.PAIR));
+        assertTrue(InsertionSort.create(pair, true) instanceof PairInsertionSort);
+        Helper<Integer> standard = new NonInstrumentingComparableHelper<>("test", 10, 0L, config);
+        assertEquals(InsertionSort.class, InsertionSort.create(standard, false).getClass());
+    }
+
     final static LazyLogger logger = new LazyLogger(InsertionSort.class);
 
 }
\ No newline at end of file
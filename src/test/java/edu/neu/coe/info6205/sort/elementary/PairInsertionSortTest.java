@@ -0,0 +1,36 @@
+package edu.neu.coe.info6205.sort.elementary;
+
+import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.sort.HelperFactory;
+import edu.neu.coe.info6205.sort.linearithmic.MergeSortBasic;
+import edu.neu.coe.info6205.util.Config;
+import org.junit.Test;
+
+
+import static org.junit.Assert.*;
+
+public class PairInsertionSortTest {
+
+    @Test
+    public void testInstrumented() {
+        int n = 1000;
+        final Config config = Config.setupConfig("true", "true", "0", "1", "", "");
+        Helper<Integer> helper = HelperFactory.create("PairInsertionSort", n, config);
+        PairInsertionSort<Integer> sorter = new PairInsertionSort<>(helper);
+        Integer[] xs = helper.random(Integer.class, r -> r.nextInt(100));
+        long inversions = MergeSortBasic.countInversions(xs);
+        Integer[] ys = sorter.sort(xs);
+        assertTrue(helper.isSorted(ys));
+        assertEquals(inversions, helper.getFixes());
+        // NOTE the elements greater than both of a pair are moved only once for the pair.
+        assertTrue(helper.getCopies() < inversions);
+    }
+
+    @Test
+    public void testSortOdd() {
+        Integer[] xs = new Integer[]{5, 4, 3, 2, 1};
+        assertArrayEquals(new Integer[]{1, 2, 3, 4, 5}, new PairInsertionSort<Integer>(config).sort(xs));
+    }
+
+    private final Config config = Config.setupConfig("false", "false", "0", "0", "", "");
+}
@@ -0,0 +1,31 @@
+package edu.neu.coe.info6205.sort.elementary;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+
+/**
+ * Tests specific to ShellSortPrimitive (see PrimitiveSortTest for those common to all PrimitiveSorts).
+ */
+public class ShellSortPrimitiveTest {
+
+    @Test
+    public void testModes() {
+        int[] xs = new Random(0L).ints(2_000).toArray();
+        int[] expected = Arrays.copyOf(xs, xs.length);
+        Arrays.sort(expected);
+        for (int m = 1; m <= 5; m++) assertArrayEquals(expected, new ShellSortPrimitive(m).sort(xs));
+    }
+
+    @Test
+    public void testGaps() {
+        assertArrayEquals(new int[]{1}, ShellSortPrimitive.gaps(1, 100));
+        assertArrayEquals(new int[]{127, 63, 31, 15, 7, 3, 1}, ShellSortPrimitive.gaps(2, 100));
+        assertArrayEquals(new int[]{40, 13, 4, 1}, ShellSortPrimitive.gaps(3, 100));
+        assertArrayEquals(new int[]{41, 19, 5, 1}, ShellSortPrimitive.gaps(4, 100));
+        assertArrayEquals(new int[]{12, 9, 8, 6, 4, 3, 2, 1}, ShellSortPrimitive.gaps(5, 12));
+    }
+}
@@ -192,6 +192,32 @@ public class ShellSortTest {
         ShellSort.doRandomDoubleShellSort(3, 1000, 10, Config.load());
     }
 
+    @Test
+    public void sortGapSequences() throws IOException {
+        final Config config = Config.load(getClass());
+        final int N = 2000;
+        for (GapSequence gapSequence : GapSequence.GAP_SEQUENCES) {
+            InstrumentedComparableHelper<Integer> helper = new InstrumentedComparableHelper<>("ShellSort", N, config);
+            Integer[] xs = helper.random(Integer.class, random -> random.nextInt(N));
+            helper.init(N);
+            ShellSort<Integer> sorter = new ShellSort<>(gapSequence, helper);
+            Integer[] ys = sorter.sort(xs);
+            assertTrue(helper.isSorted(ys));
+            // NOTE each of these sequences needs far fewer than the N^2/4 compares of insertion sort.
+            assertTrue(gapSequence.getName(), helper.getCompares() < N * N / 20);
+            helper.close();
+        }
+    }
+
+    @Test
+    public void sortSubArrayGapSequence() {
+        Integer[] xs = {15, 3, -1, 2, 4, 1, 0, 5, 8, 6, 1, 9, 17, 7, 11};
+        Integer[] zs = {15, 3, -1, 0, 1, 1, 2, 4, 5, 6, 8, 9, 17, 7, 11};
+        Sort<Integer> sorter = new ShellSort<>(GapSequence.CIURA, xs.length, 1, config);
+        sorter.sort(xs, 2, 12);
+        assertArrayEquals(zs, xs);
+    }
+
     private void doShellSortTest(int N, final int gapSequence) throws IOException {
         final Config config = Config.load(getClass());
         InstrumentedComparableHelper<Integer> helper = new InstrumentedComparableHelper<>("ShellSort", N, config);
@@ -0,0 +1,111 @@
+package edu.neu.coe.info6205.sort.elementary;
+
+import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.sort.HelperFactory;
+import edu.neu.coe.info6205.sort.NonInstrumentingComparableHelper;
+import edu.neu.coe.info6205.sort.SortWithHelper;
+import edu.neu.coe.info6205.sort.linearithmic.IntroSort;
+import edu.neu.coe.info6205.sort.linearithmic.MergeSortBasic;
+import edu.neu.coe.info6205.sort.linearithmic.QuickSort_DualPivot;
+import edu.neu.coe.info6205.util.Config;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class SortingNetworkTest {
+
+    @Test
+    public void testZeroOnePrinciple() {
+        // NOTE a comparator network sorts all inputs if (and only if) it sorts all inputs of zeros and ones.
+        for (int n = 0; n <= SortingNetwork.MAX_SIZE; n++) {
+            int[] network = SortingNetwork.getNetwork(n);
+            for (int bits = 0; bits < 1 << n; bits++) {
+                int[] xs = new int[n];
+                for (int i = 0; i < n; i++) xs[i] = (bits >> i) & 1;
+                for (int k = 0; k < network.length; k += 2) {
+                    int i = network[k], j = network[k + 1];
+                    assertTrue(i < j);
+                    if (xs[i] > xs[j]) {
+                        xs[i] = 0;
+                        xs[j] = 1;
+                    }
+                }
+                for (int i = 1; i < n; i++) assertTrue("n=" + n + ", bits=" + bits, xs[i - 1] <= xs[i]);
+            }
+        }
+    }
+
+    @Test
+    public void testNetworkSizes() {
+        int[] expected = new int[]{0, 0, 1, 3, 5, 9, 12, 16, 19, 25, 29, 35, 39, 45, 51, 56, 60};
+        for (int n = 0; n <= SortingNetwork.MAX_SIZE; n++) assertEquals(expected[n], SortingNetwork.getNetwork(n).length / 2);
+    }
+
+    @Test
+    public void testPrune() {
+        int[] network = SortingNetwork.prune(SortingNetwork.getNetwork(4), 3);
+        assertArrayEquals(new int[]{0, 2, 0, 1, 1, 2}, network);
+    }
+
+    @Test
+    public void testSort() {
+        Integer[] xs = new Integer[]{3, 17, 14, 5, 8, 6, 0, 20, 9, 5, 13, 2, 19, 7, 1, 23};
+        Integer[] expected = new Integer[]{0, 1, 2, 3, 5, 5, 6, 7, 8, 9, 13, 14, 17, 19, 20, 23};
+        SortingNetwork<Integer> sorter = new SortingNetwork<>(config);
+        assertArrayEquals(expected, sorter.sort(xs));
+    }
+
+    @Test
+    public void testSortSubArrays() {
+        // NOTE sub-arrays of more than MAX_SIZE elements are sorted by insertion sort.
+        int n = 100;
+        Helper<Integer> helper = new NonInstrumentingComparableHelper<>("SortingNetwork", n, 0L, config);
+        SortingNetwork<Integer> sorter = new SortingNetwork<>(helper);
+        for (int m = 0; m <= 20; m++) {
+            Integer[] xs = helper.random(Integer.class, r -> r.nextInt(10));
+            Integer[] expected = Arrays.copyOf(xs, n);
+            Arrays.sort(expected, 40, 40 + m);
+            sorter.sort(xs, 40, 40 + m);
+            assertArrayEquals("m=" + m, expected, xs);
+        }
+    }
+
+    @Test
+    public void testCompares() {
+        // NOTE the number of compares depends only on the size, not on the data.
+        int n = 16;
+        final Config config = Config.setupConfig("true", "true", "0", "1", "", "");
+        Helper<Integer> helper = HelperFactory.create("SortingNetwork", n, config);
+        SortingNetwork<Integer> sorter = new SortingNetwork<>(helper);
+        Integer[] ys = sorter.sort(helper.random(Integer.class, Random::nextInt));
+        assertTrue(helper.isSorted(ys));
+        assertEquals(60, helper.getCompares());
+    }
+
+    @Test
+    public void testCreate() {
+        Helper<Integer> helper = new NonInstrumentingComparableHelper<>("SortingNetwork", 10, 0L, config.copy(Config.HELPER, InsertionSort.INSERTIONSORT, InsertionSort.NETWORK));
+        assertTrue(InsertionSort.create(helper, false) instanceof SortingNetwork);
+        // NOTE a stable sort must not use SortingNetwork for its small partitions.
+        assertEquals(InsertionSort.class, InsertionSort.create(helper, true).getClass());
+    }
+
+    @Test
+    public void testCutoffSorter() {
+        int n = 10_000;
+        final Config config = this.config.copy(Config.HELPER, InsertionSort.INSERTIONSORT, InsertionSort.NETWORK).copy(Config.HELPER, Config.CUTOFF, "16");
+        for (int k = 0; k < 3; k++) {
+            Helper<Integer> helper = new NonInstrumentingComparableHelper<>("SortingNetwork", n, 0L, config);
+            SortWithHelper<Integer> sorter = k == 0 ? new MergeSortBasic<>(helper) : k == 1 ? new QuickSort_DualPivot<>(helper) : new IntroSort<>(helper);
+            Integer[] xs = helper.random(Integer.class, Random::nextInt);
+            Integer[] expected = Arrays.copyOf(xs, n);
+            Arrays.sort(expected);
+            assertArrayEquals(expected, sorter.sort(xs));
+        }
+    }
+
+    private final Config config = Config.setupConfig("false", "false", "0", "0", "", "");
+}
@@ -0,0 +1,159 @@
+package edu.neu.coe.info6205.sort.external;
+
+import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.sort.NonInstrumentingComparableHelper;
+import edu.neu.coe.info6205.sort.SortException;
+import edu.neu.coe.info6205.sort.StabilityTester;
+import edu.neu.coe.info6205.sort.StabilityTester.Key;
+import edu.neu.coe.info6205.sort.par.ParallelSort;
+import edu.neu.coe.info6205.util.Config;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class ExternalMergeSortTest {
+
+    @Before
+    public void setUp() throws IOException {
+        tempDir = Files.createTempDirectory("externalsort");
+        input = tempDir.resolve("input.txt");
+        output = tempDir.resolve("output.txt");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.list(tempDir)) {
+            for (Path path : paths.collect(Collectors.toList())) Files.delete(path);
+        }
+        Files.delete(tempDir);
+        for (ParallelSort<?> sorter : sorters) sorter.close();
+    }
+
+    @Test
+    public void testSortSinglePass() throws IOException {
+        List<Integer> xs = randomIntegers(1000);
+        ExternalMergeSort<Integer> sorter = createIntegerSorter(xs.size(), 100, 16);
+        sorter.sort(input, output);
+        assertEquals(10, sorter.getRuns());
+        assertEquals(1, sorter.getPasses());
+        checkIntegers(xs);
+    }
+
+    @Test
+    public void testSortMultiPass() throws IOException {
+        List<Integer> xs = randomIntegers(5000);
+        ExternalMergeSort<Integer> sorter = createIntegerSorter(xs.size(), 100, 3);
+        sorter.sort(input, output);
+        // 50 runs -> 17 -> 6 -> 2 -> 1
+        assertEquals(50, sorter.getRuns());
+        assertEquals(4, sorter.getPasses());
+        checkIntegers(xs);
+    }
+
+    @Test
+    public void testSortPartialLastRun() throws IOException {
+        List<Integer> xs = randomIntegers(1234);
+        ExternalMergeSort<Integer> sorter = createIntegerSorter(xs.size(), 100, 4);
+        sorter.sort(input, output);
+        assertEquals(13, sorter.getRuns());
+        checkIntegers(xs);
+    }
+
+    @Test
+    public void testSortEmpty() throws IOException {
+        List<Integer> xs = new ArrayList<>();
+        Files.write(input, new ArrayList<String>());
+        ExternalMergeSort<Integer> sorter = createIntegerSorter(1, 100, 4);
+        sorter.sort(input, output);
+        assertEquals(0, sorter.getRuns());
+        checkIntegers(xs);
+    }
+
+    @Test
+    public void testSortIsStable() throws IOException {
+        int n = 2000;
+        Files.write(input, Arrays.stream(StabilityTester.keys(n, 10, 0L)).map(Key::toString).collect(Collectors.toList()));
+        Helper<Key> helper = new NonInstrumentingComparableHelper<>("ExternalMergeSort", n, 0L, config);
+        ExternalMergeSort<Key> sorter = new ExternalMergeSort<>(runSorter(helper), Key.class, Key::parse, Key::toString, 64, 3, 256, tempDir.toFile());
+        sorter.sort(input, output);
+        StabilityTester.checkStable(n, Files.readAllLines(output).stream().map(Key::parse).toArray(Key[]::new));
+    }
+
+    @Test
+    public void testConfig() throws IOException {
+        final Config config = Config.load(ExternalMergeSortTest.class).copy(ExternalMergeSort.EXTERNALSORT, ExternalMergeSort.RUNSIZE, "500");
+        Helper<Integer> helper = new NonInstrumentingComparableHelper<>("ExternalMergeSort", 500, 0L, config);
+        ExternalMergeSort<Integer> sorter = new ExternalMergeSort<>(runSorter(helper), Integer.class, Integer::parseInt, Object::toString, config);
+        assertEquals(500, sorter.getRunSize());
+        assertEquals(ExternalMergeSort.FANIN_DEFAULT, sorter.getFanIn());
+    }
+
+    @Test
+    public void testHeapRunSize() {
+        Helper<Integer> helper = new NonInstrumentingComparableHelper<>("ExternalMergeSort", 1, 0L, config);
+        ExternalMergeSort<Integer> sorter = new ExternalMergeSort<>(runSorter(helper), Integer.class, Integer::parseInt, Object::toString, 0, 2, 256, null);
+        assertTrue(sorter.getRunSize() > 0);
+    }
+
+    @Test(expected = SortException.class)
+    public void testFanIn() {
+        Helper<Integer> helper = new NonInstrumentingComparableHelper<>("ExternalMergeSort", 1, 0L, config);
+        new ExternalMergeSort<>(runSorter(helper), Integer.class, Integer::parseInt, Object::toString, 100, 1, 256, null);
+    }
+
+    private ExternalMergeSort<Integer> createIntegerSorter(int n, int runSize, int fanIn) {
+        Helper<Integer> helper = new NonInstrumentingComparableHelper<>("ExternalMergeSort", n, 0L, config);
+        return new ExternalMergeSort<>(runSorter(helper), Integer.class, Integer::parseInt, Object::toString, runSize, fanIn, 256, tempDir.toFile());
+    }
+
+    /**
+     * NOTE that we use ParallelSort for the runs because it is stable.
+     */
+    private <X extends Comparable<X>> ParallelSort<X> runSorter(Helper<X> helper) {
+        ParallelSort<X> sorter = new ParallelSort<>(helper, 16, 2);
+        sorters.add(sorter);
+        return sorter;
+    }
+
+    private List<Integer> randomIntegers(int n) throws IOException {
+        Random random = new Random(0L);
+        List<Integer> xs = new ArrayList<>();
+        for (int i = 0; i < n; i++) xs.add(random.nextInt(n));
+        Files.write(input, xs.stream().map(Object::toString).collect(Collectors.toList()));
+        return xs;
+    }
+
+    /**
+     * Check that the output is the sorted input and that no temporary files remain.
+     */
+    private void checkIntegers(List<Integer> xs) throws IOException {
+        List<Integer> expected = new ArrayList<>(xs);
+        Collections.sort(expected);
+        List<Integer> result = Files.readAllLines(output).stream().map(Integer::parseInt).collect(Collectors.toList());
+        assertEquals(expected, result);
+        File[] files = tempDir.toFile().listFiles();
+        assertNotNull(files);
+        assertEquals(2, files.length);
+    }
+
+    private final Config config = Config.setupConfig("false", "false", "0", "0", "", "");
+
+    private final List<ParallelSort<?>> sorters = new ArrayList<>();
+    private Path tempDir;
+    private Path input;
+    private Path output;
+}
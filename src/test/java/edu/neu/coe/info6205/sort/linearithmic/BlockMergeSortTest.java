@@ -0,0 +1,123 @@
+package edu.neu.coe.info6205.sort.linearithmic;
+
+import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.sort.HelperFactory;
+import edu.neu.coe.info6205.sort.NonInstrumentingComparableHelper;
+import edu.neu.coe.info6205.sort.StabilityTester;
+import edu.neu.coe.info6205.util.Config;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class BlockMergeSortTest {
+
+    @Test
+    public void testSortSmall() {
+        Integer[] xs = new Integer[]{3, 17, 14, 5, 8, 6, 0, 20, 9, 5, 13, 2, 19, 7, 1, 23, 15};
+        Integer[] expected = new Integer[]{0, 1, 2, 3, 5, 5, 6, 7, 8, 9, 13, 14, 15, 17, 19, 20, 23};
+        // NOTE a cutoff of 1 means that there is no insertion sort pre-pass.
+        BlockMergeSort<Integer> sorter = new BlockMergeSort<>(new NonInstrumentingComparableHelper<Integer>("BlockMergeSort", xs.length, 0L, config.copy(Config.HELPER, Config.CUTOFF, "1")));
+        assertArrayEquals(expected, sorter.sort(xs));
+    }
+
+    @Test
+    public void testSortRandom() {
+        for (int n : new int[]{10_000, 12_345}) {
+            Helper<Integer> helper = new NonInstrumentingComparableHelper<>("BlockMergeSort", n, 0L, config);
+            BlockMergeSort<Integer> sorter = new BlockMergeSort<>(helper);
+            Integer[] xs = helper.random(Integer.class, Random::nextInt);
+            Integer[] expected = Arrays.copyOf(xs, n);
+            Arrays.sort(expected);
+            assertArrayEquals(expected, sorter.sort(xs));
+        }
+    }
+
+    @Test
+    public void testSortRandomNoBuffer() {
+        int n = 10_000;
+        Helper<Integer> helper = new NonInstrumentingComparableHelper<>("BlockMergeSort", n, 0L, config);
+        BlockMergeSort<Integer> sorter = new BlockMergeSort<>(helper, false);
+        Integer[] xs = helper.random(Integer.class, r -> r.nextInt(1000));
+        Integer[] expected = Arrays.copyOf(xs, n);
+        Arrays.sort(expected);
+        assertArrayEquals(expected, sorter.sort(xs));
+    }
+
+    @Test
+    public void testSortFewDistinct() {
+        // NOTE with only a few distinct values, there are too few keys to form the buffer, so merges are done by rotations.
+        int n = 10_000;
+        Helper<Integer> helper = new NonInstrumentingComparableHelper<>("BlockMergeSort", n, 0L, config);
+        BlockMergeSort<Integer> sorter = new BlockMergeSort<>(helper);
+        Integer[] xs = helper.random(Integer.class, r -> r.nextInt(50));
+        Integer[] expected = Arrays.copyOf(xs, n);
+        Arrays.sort(expected);
+        assertArrayEquals(expected, sorter.sort(xs));
+    }
+
+    @Test
+    public void testSortSubArray() {
+        int n = 1000;
+        Helper<Integer> helper = new NonInstrumentingComparableHelper<>("BlockMergeSort", n, 0L, config);
+        BlockMergeSort<Integer> sorter = new BlockMergeSort<>(helper);
+        Integer[] xs = helper.random(Integer.class, Random::nextInt);
+        Integer[] expected = Arrays.copyOf(xs, n);
+        Arrays.sort(expected, 100, 900);
+        sorter.sort(xs, 100, 900);
+        assertArrayEquals(expected, xs);
+    }
+
+    @Test
+    public void testSortIsStable() {
+        int n = 5000;
+        for (boolean buffered : new boolean[]{true, false})
+            StabilityTester.checkStable(n, new BlockMergeSort<StabilityTester.Key>(new NonInstrumentingComparableHelper<>("BlockMergeSort", n, 0L, config), buffered)::sort);
+    }
+
+    @Test
+    public void testFixes() {
+        // NOTE every inversion in the original array must be fixed, but swaps into and out of the buffer (and rotations)
+        // also create inversions which are fixed again later; the helper counts such a swap as only one un-fix,
+        // so the number of fixes counted is at least (rather than exactly) the number of inversions.
+        int n = 2000;
+        final Config config = Config.setupConfig("true", "true", "0", "1", "", "");
+        for (boolean buffered : new boolean[]{true, false}) {
+            Helper<Integer> helper = HelperFactory.create("BlockMergeSort", n, config);
+            BlockMergeSort<Integer> sorter = new BlockMergeSort<>(helper, buffered);
+            Integer[] xs = new Integer[n];
+            for (int i = 0; i < n; i++) xs[i] = i;
+            Collections.shuffle(Arrays.asList(xs), new Random(0L));
+            long inversions = MergeSortBasic.countInversions(xs);
+            sorter.sort(xs);
+            assertTrue(helper.getFixes() >= inversions);
+        }
+    }
+
+    @Test
+    public void testMemoryFactor() {
+        int n = 10_000;
+        BlockMergeSort<Integer> sorter = new BlockMergeSort<>(n, 1, config);
+        sorter.setArrayMemory(n);
+        sorter.sort(sorter.getHelper().random(Integer.class, Random::nextInt));
+        assertEquals(1.0, sorter.getMemoryFactor(), 0.0);
+        sorter.close();
+    }
+
+    @Test
+    public void testMemoryFactorNoBuffer() throws IOException {
+        int n = 10_000;
+        BlockMergeSort<Integer> sorter = new BlockMergeSort<>(n, 1, Config.load(BlockMergeSortTest.class).copy(MergeSort.MERGESORT, BlockMergeSort.NOBUFFER, "true"));
+        assertEquals("Block merge sort with no buffer", sorter.getDescription());
+        sorter.setArrayMemory(n);
+        sorter.sort(sorter.getHelper().random(Integer.class, Random::nextInt));
+        assertEquals(1.0, sorter.getMemoryFactor(), 0.0);
+        sorter.close();
+    }
+
+    private final Config config = Config.setupConfig("false", "false", "0", "0", "", "");
+}
@@ -0,0 +1,94 @@
+package edu.neu.coe.info6205.sort.linearithmic;
+
+import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.sort.HelperFactory;
+import edu.neu.coe.info6205.sort.NonInstrumentingComparableHelper;
+import edu.neu.coe.info6205.sort.StabilityTester;
+import edu.neu.coe.info6205.util.Config;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class MergeSortBottomUpTest {
+
+    @Test
+    public void testSortSmall() {
+        Integer[] xs = new Integer[]{3, 17, 14, 5, 8, 6, 0, 20, 9, 5, 13, 2, 19, 7, 1, 23, 15};
+        Integer[] expected = new Integer[]{0, 1, 2, 3, 5, 5, 6, 7, 8, 9, 13, 14, 15, 17, 19, 20, 23};
+        // NOTE a cutoff of 1 means that there is no insertion sort pre-pass.
+        MergeSortBottomUp<Integer> sorter = new MergeSortBottomUp<>(new NonInstrumentingComparableHelper<Integer>("MergeSortBottomUp", xs.length, 0L, config.copy(Config.HELPER, Config.CUTOFF, "1")));
+        assertArrayEquals(expected, sorter.sort(xs));
+    }
+
+    @Test
+    public void testSortRandom() {
+        // NOTE with a cutoff of 20, there are an odd number of passes (so the result must be copied back)
+        // for n = 10,000 and an even number for n = 20,000.
+        for (int n : new int[]{10_000, 20_000, 12_345}) {
+            Helper<Integer> helper = new NonInstrumentingComparableHelper<>("MergeSortBottomUp", n, 0L, config);
+            MergeSortBottomUp<Integer> sorter = new MergeSortBottomUp<>(helper);
+            Integer[] xs = helper.random(Integer.class, Random::nextInt);
+            Integer[] expected = Arrays.copyOf(xs, n);
+            Arrays.sort(expected);
+            assertArrayEquals(expected, sorter.sort(xs));
+        }
+    }
+
+    @Test
+    public void testSortSubArray() {
+        int n = 1000;
+        Helper<Integer> helper = new NonInstrumentingComparableHelper<>("MergeSortBottomUp", n, 0L, config);
+        MergeSortBottomUp<Integer> sorter = new MergeSortBottomUp<>(helper);
+        Integer[] xs = helper.random(Integer.class, Random::nextInt);
+        Integer[] expected = Arrays.copyOf(xs, n);
+        Arrays.sort(expected, 100, 900);
+        sorter.sort(xs, 100, 900);
+        assertArrayEquals(expected, xs);
+    }
+
+    @Test
+    public void testSortIsStable() {
+        int n = 5000;
+        StabilityTester.checkStable(n, new MergeSortBottomUp<StabilityTester.Key>(new NonInstrumentingComparableHelper<>("MergeSortBottomUp", n, 0L, config))::sort);
+    }
+
+    @Test
+    public void testFixes() {
+        // NOTE every inversion in the original array should be fixed exactly once.
+        int n = 2000;
+        final Config config = Config.setupConfig("true", "true", "0", "1", "", "");
+        Helper<Integer> helper = HelperFactory.create("MergeSortBottomUp", n, config);
+        MergeSortBottomUp<Integer> sorter = new MergeSortBottomUp<>(helper);
+        Integer[] xs = helper.random(Integer.class, r -> r.nextInt(500));
+        long inversions = MergeSortBasic.countInversions(xs);
+        sorter.sort(xs);
+        assertEquals(inversions, helper.getFixes());
+    }
+
+    @Test
+    public void testSortSorted() {
+        // NOTE runs which are already in order are block-copied without any merging.
+        int n = 10_240;
+        final Config config = Config.setupConfig("true", "false", "0", "0", "", "");
+        Helper<Integer> helper = HelperFactory.create("MergeSortBottomUp", n, config);
+        MergeSortBottomUp<Integer> sorter = new MergeSortBottomUp<>(helper);
+        Integer[] ys = sorter.sort(helper.ordered(n, Integer.class, i -> i));
+        assertTrue(helper.isSorted(ys));
+        assertTrue(helper.getCompares() < 2L * n);
+    }
+
+    @Test
+    public void testMemoryFactor() {
+        int n = 1000;
+        MergeSortBottomUp<Integer> sorter = new MergeSortBottomUp<>(n, 1, config);
+        sorter.setArrayMemory(n);
+        sorter.sort(sorter.getHelper().random(Integer.class, Random::nextInt));
+        assertEquals(2.0, sorter.getMemoryFactor(), 0.0);
+        sorter.close();
+    }
+
+    private final Config config = Config.setupConfig("false", "false", "0", "0", "", "");
+}
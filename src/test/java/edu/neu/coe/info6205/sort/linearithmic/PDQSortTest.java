@@ -0,0 +1,112 @@
+package edu.neu.coe.info6205.sort.linearithmic;
+
+import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.sort.HelperFactory;
+import edu.neu.coe.info6205.sort.NonInstrumentingComparableHelper;
+import edu.neu.coe.info6205.util.Config;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+import static org.junit.Assert.*;
+
+public class PDQSortTest {
+
+    @Test
+    public void testSortSmall() {
+        Integer[] xs = new Integer[]{3, 17, 14, 5, 8, 6, 0, 20, 9, 5, 13, 2, 19, 7, 1, 23, 15};
+        Integer[] expected = new Integer[]{0, 1, 2, 3, 5, 5, 6, 7, 8, 9, 13, 14, 15, 17, 19, 20, 23};
+        PDQSort<Integer> sorter = new PDQSort<>(config);
+        assertArrayEquals(expected, sorter.sort(xs));
+    }
+
+    @Test
+    public void testSortRandom() {
+        checkSort(10_000, i -> random.nextInt());
+    }
+
+    @Test
+    public void testSortDuplicates() {
+        checkSort(10_000, i -> random.nextInt(10));
+    }
+
+    @Test
+    public void testSortPatterns() {
+        int n = 10_000;
+        checkSort(n, i -> i);
+        checkSort(n, i -> n - i);
+        checkSort(n, i -> i < n / 2 ? i : n - i); // organ pipe
+        checkSort(n, i -> i % 100); // sawtooth
+        checkSort(n, i -> i % 2 == 0 ? i : n + i); // interleaved
+        checkSort(n, i -> i == n / 2 ? 0 : i); // sorted except for one element
+    }
+
+    @Test
+    public void testSortSubArray() {
+        int n = 1000;
+        Helper<Integer> helper = new NonInstrumentingComparableHelper<>("PDQSort", n, 0L, config);
+        PDQSort<Integer> sorter = new PDQSort<>(helper);
+        Integer[] xs = helper.random(Integer.class, Random::nextInt);
+        Integer[] expected = Arrays.copyOf(xs, n);
+        Arrays.sort(expected, 100, 900);
+        sorter.sort(xs, 100, 900);
+        assertArrayEquals(expected, xs);
+    }
+
+    @Test
+    public void testSortSorted() {
+        // NOTE a sorted array is never actually partitioned: the partial insertion sorts succeed immediately.
+        int n = 10_000;
+        Helper<Integer> helper = HelperFactory.create("PDQSort", n, instrumenting);
+        PDQSort<Integer> sorter = new PDQSort<>(helper);
+        Integer[] ys = sorter.sort(helper.ordered(n, Integer.class, i -> i));
+        assertTrue(helper.isSorted(ys));
+        assertTrue(helper.getCompares() < 3 * n);
+    }
+
+    @Test
+    public void testSortDuplicatesLinear() {
+        // NOTE with only a few distinct values, the equal elements are partitioned off and the work is linear.
+        int n = 100_000;
+        Helper<Integer> helper = HelperFactory.create("PDQSort", n, instrumenting);
+        PDQSort<Integer> sorter = new PDQSort<>(helper);
+        Integer[] ys = sorter.sort(helper.random(Integer.class, r -> r.nextInt(4)));
+        assertTrue(helper.isSorted(ys));
+        assertTrue(helper.getCompares() < 10L * n);
+        assertEquals(0, sorter.getHeapSorts());
+    }
+
+    @Test
+    public void testPartitioner() {
+        Helper<Integer> helper = new NonInstrumentingComparableHelper<>("PDQSort", 1000, 0L, config);
+        PDQSort<Integer> sorter = new PDQSort<>(helper);
+        Integer[] xs = helper.random(Integer.class, r -> r.nextInt(100));
+        // NOTE the partitioner requires an element at the end which is no less than the pivot.
+        xs[xs.length - 1] = 100;
+        Integer pivot = xs[0];
+        List<Partition<Integer>> partitions = sorter.createPartitioner().partition(QuickSort.createPartition(xs));
+        assertEquals(2, partitions.size());
+        Partition<Integer> left = partitions.get(0);
+        Partition<Integer> right = partitions.get(1);
+        assertEquals(left.to + 1, right.from);
+        assertEquals(pivot, xs[left.to]);
+        for (int i = left.from; i < left.to; i++) assertTrue(xs[i] < pivot);
+        for (int i = right.from; i < right.to; i++) assertTrue(xs[i] >= pivot);
+    }
+
+    private void checkSort(int n, Function<Integer, Integer> f) {
+        Helper<Integer> helper = new NonInstrumentingComparableHelper<>("PDQSort", n, 0L, config);
+        PDQSort<Integer> sorter = new PDQSort<>(helper);
+        Integer[] xs = helper.ordered(n, Integer.class, f);
+        Integer[] expected = Arrays.copyOf(xs, n);
+        Arrays.sort(expected);
+        assertArrayEquals(expected, sorter.sort(xs));
+    }
+
+    private final Random random = new Random(0L);
+    private final Config config = Config.setupConfig("false", "false", "0", "0", "", "");
+    private final Config instrumenting = Config.setupConfig("true", "false", "0", "0", "", "");
+}
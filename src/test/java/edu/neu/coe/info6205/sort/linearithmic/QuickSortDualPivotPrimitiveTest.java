@@ -0,0 +1,36 @@
+package edu.neu.coe.info6205.sort.linearithmic;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+
+/**
+ * Tests specific to QuickSort_DualPivotPrimitive (see PrimitiveSortTest for those common to all PrimitiveSorts).
+ */
+public class QuickSortDualPivotPrimitiveTest {
+
+    @Test
+    public void testSortLargeOrdered() {
+        // NOTE without the limit on the depth of the recursion, each of these would overflow the stack.
+        QuickSort_DualPivotPrimitive sorter = new QuickSort_DualPivotPrimitive(10);
+        int n = 100_000;
+        long[] ascending = new long[n];
+        long[] descending = new long[n];
+        for (int i = 0; i < n; i++) {
+            ascending[i] = i;
+            descending[i] = n - i;
+        }
+        long[] expected = Arrays.copyOf(descending, n);
+        Arrays.sort(expected);
+        assertArrayEquals(ascending, sorter.sort(ascending));
+        assertArrayEquals(expected, sorter.sort(descending));
+        int[] ints = new int[n];
+        for (int i = 0; i < n; i++) ints[i] = i;
+        assertArrayEquals(ints, sorter.sort(ints));
+        double[] doubles = new double[n];
+        for (int i = 0; i < n; i++) doubles[i] = i;
+        assertArrayEquals(doubles, sorter.sort(doubles), 0.0);
+    }
+}
@@ -0,0 +1,138 @@
+package edu.neu.coe.info6205.sort.linearithmic;
+
+import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.sort.HelperFactory;
+import edu.neu.coe.info6205.sort.NonInstrumentingComparableHelper;
+import edu.neu.coe.info6205.sort.StabilityTester;
+import edu.neu.coe.info6205.util.Config;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class TimSortTest {
+
+    @Test
+    public void testSortSmall() {
+        Integer[] xs = new Integer[]{3, 17, 14, 5, 8, 6, 0, 20, 9, 5, 13, 2, 19, 7, 1, 23, 15};
+        Integer[] expected = new Integer[]{0, 1, 2, 3, 5, 5, 6, 7, 8, 9, 13, 14, 15, 17, 19, 20, 23};
+        TimSort<Integer> sorter = new TimSort<>(new NonInstrumentingComparableHelper<Integer>("TimSort", xs.length, 0L, config));
+        assertArrayEquals(expected, sorter.sort(xs));
+        // NOTE xs has many natural runs but, being shorter than MIN_MERGE, it is sorted as one run (see getRuns).
+        assertEquals(1, sorter.getRuns());
+    }
+
+    @Test
+    public void testSortRandom() {
+        int n = 10_000;
+        Helper<Integer> helper = new NonInstrumentingComparableHelper<>("TimSort", n, 0L, config);
+        TimSort<Integer> sorter = new TimSort<>(helper);
+        Integer[] xs = helper.random(Integer.class, r -> r.nextInt(1000));
+        Integer[] expected = Arrays.copyOf(xs, n);
+        Arrays.sort(expected);
+        assertArrayEquals(expected, sorter.sort(xs));
+    }
+
+    @Test
+    public void testSortSubArray() {
+        int n = 1000;
+        Helper<Integer> helper = new NonInstrumentingComparableHelper<>("TimSort", n, 0L, config);
+        TimSort<Integer> sorter = new TimSort<>(helper);
+        Integer[] xs = helper.random(Integer.class, Random::nextInt);
+        Integer[] expected = Arrays.copyOf(xs, n);
+        Arrays.sort(expected, 100, 900);
+        sorter.sort(xs, 100, 900);
+        assertArrayEquals(expected, xs);
+    }
+
+    @Test
+    public void testSortIsStable() {
+        int n = 5000;
+        StabilityTester.checkStable(n, new TimSort<StabilityTester.Key>(new NonInstrumentingComparableHelper<>("TimSort", n, 0L, config))::sort);
+    }
+
+    @Test
+    public void testSortSorted() {
+        int n = 10_000;
+        final Config config = Config.setupConfig("true", "false", "0", "0", "", "");
+        Helper<Integer> helper = HelperFactory.create("TimSort", n, config);
+        TimSort<Integer> sorter = new TimSort<>(helper);
+        Integer[] xs = helper.ordered(n, Integer.class, i -> i);
+        sorter.sort(xs);
+        // A sorted array is a single natural run, so there is nothing to do but check it.
+        assertEquals(1, sorter.getRuns());
+        assertEquals(n - 1, helper.getCompares());
+        assertEquals(0L, helper.getCopies());
+    }
+
+    @Test
+    public void testSortReversed() {
+        int n = 10_000;
+        final Config config = Config.setupConfig("true", "false", "0", "0", "", "");
+        Helper<Integer> helper = HelperFactory.create("TimSort", n, config);
+        TimSort<Integer> sorter = new TimSort<>(helper);
+        Integer[] xs = helper.reverse(n, Integer.class, i -> i);
+        Integer[] ys = sorter.sort(xs);
+        for (int i = 0; i < n; i++) assertEquals(Integer.valueOf(i), ys[i]);
+        assertEquals(1, sorter.getRuns());
+        assertEquals(n / 2, helper.getSwaps());
+    }
+
+    @Test
+    public void testSortMostlySorted() {
+        // NOTE a sorted array with a few elements displaced should need far fewer compares than merge sort.
+        int n = 10_000;
+        final Config config = Config.setupConfig("true", "false", "0", "0", "", "");
+        Helper<Integer> helper = HelperFactory.create("TimSort", n, config);
+        TimSort<Integer> sorter = new TimSort<>(helper);
+        Integer[] xs = helper.ordered(n, Integer.class, i -> i);
+        Random random = new Random(0L);
+        for (int k = 0; k < 20; k++) helper.swap(xs, random.nextInt(n), random.nextInt(n));
+        helper.init(n);
+        Integer[] ys = sorter.sort(xs);
+        for (int i = 0; i < n; i++) assertEquals(Integer.valueOf(i), ys[i]);
+        assertTrue(sorter.getRuns() > 1);
+        assertTrue(helper.getCompares() < 2 * n);
+    }
+
+    @Test
+    public void testFixes() {
+        // NOTE every inversion in the original array should be fixed exactly once.
+        int n = 2000;
+        final Config config = Config.setupConfig("true", "true", "0", "1", "", "");
+        Helper<Integer> helper = HelperFactory.create("TimSort", n, config);
+        TimSort<Integer> sorter = new TimSort<>(helper);
+        Integer[] xs = helper.random(Integer.class, r -> r.nextInt(500));
+        long inversions = MergeSortBasic.countInversions(xs);
+        sorter.sort(xs);
+        assertEquals(inversions, helper.getFixes());
+    }
+
+    @Test
+    public void testMinRunLength() {
+        assertEquals(31, TimSort.minRunLength(31));
+        assertEquals(16, TimSort.minRunLength(32));
+        assertEquals(17, TimSort.minRunLength(33));
+        assertEquals(16, TimSort.minRunLength(1 << 20));
+        assertEquals(17, TimSort.minRunLength((1 << 20) + 1));
+    }
+
+    @Test
+    public void testCompares() {
+        int n = 4096;
+        final Config config = Config.setupConfig("true", "false", "0", "0", "", "");
+        Helper<Integer> helper = HelperFactory.create("TimSort", n, config);
+        Integer[] xs = helper.random(Integer.class, Random::nextInt);
+        Integer[] expected = Arrays.copyOf(xs, n);
+        Arrays.sort(expected);
+        assertArrayEquals(expected, new TimSort<>(helper).sort(xs));
+        // NOTE on random data, Timsort should be within a few percent of the information-theoretic minimum.
+        double lgFactorial = 0;
+        for (int i = 2; i <= n; i++) lgFactorial += Math.log(i) / Math.log(2);
+        assertTrue(helper.getCompares() < 1.1 * lgFactorial);
+    }
+
+    private final Config config = Config.setupConfig("false", "false", "0", "0", "", "");
+}
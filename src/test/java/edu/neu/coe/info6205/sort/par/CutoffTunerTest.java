@@ -0,0 +1,106 @@
+package edu.neu.coe.info6205.sort.par;
+
+import edu.neu.coe.info6205.util.Config;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class CutoffTunerTest {
+
+    @Test
+    public void testBucket() {
+        assertEquals(0, CutoffTuner.bucket(1));
+        assertEquals(10, CutoffTuner.bucket(1024));
+        assertEquals(10, CutoffTuner.bucket(2047));
+        assertEquals(11, CutoffTuner.bucket(2048));
+        assertEquals("20.4", CutoffTuner.key(20, 4));
+    }
+
+    @Test
+    public void testFitQuadratic() {
+        double[] xs = new double[]{8, 9, 10, 11, 12, 13};
+        double[] ys = new double[xs.length];
+        for (int i = 0; i < xs.length; i++) ys[i] = 3 - 2 * xs[i] + 0.1 * xs[i] * xs[i];
+        double[] ps = CutoffTuner.fitQuadratic(xs, ys);
+        assertNotNull(ps);
+        assertEquals(3, ps[0], 1E-6);
+        assertEquals(-2, ps[1], 1E-6);
+        assertEquals(0.1, ps[2], 1E-6);
+        assertNull(CutoffTuner.fitQuadratic(new double[]{1, 2}, new double[]{1, 2}));
+    }
+
+    @Test
+    public void testCalibratePersists() throws IOException {
+        File profile = File.createTempFile("parsort", ".profile");
+        assertTrue(profile.delete());
+        try {
+            CutoffTuner tuner = new CutoffTuner(profile);
+            // NOTE getCutoff never calibrates.
+            assertEquals(-1, tuner.getCutoff(20_000, pool, -1));
+            assertEquals(0, tuner.size());
+            assertFalse(profile.exists());
+            tuner.calibrate(pool, 20_000);
+            int cutoff = tuner.getCutoff(20_000, pool, -1);
+            assertTrue(cutoff >= CutoffTuner.MIN_CANDIDATE);
+            assertTrue(cutoff <= 8192);
+            assertEquals(1, tuner.size());
+            assertEquals(cutoff, tuner.getCutoff(30_000, pool, -1));
+            assertTrue(profile.exists());
+            CutoffTuner reloaded = new CutoffTuner(profile);
+            assertEquals(1, reloaded.size());
+            assertEquals(cutoff, reloaded.getCutoff(17_000, pool, -1));
+            // NOTE the size bucket is already calibrated, so nothing changes.
+            reloaded.calibrate(pool, 24_000);
+            assertEquals(1, reloaded.size());
+        } finally {
+            //noinspection ResultOfMethodCallIgnored
+            profile.delete();
+        }
+    }
+
+    @Test
+    public void testGetProfile() throws IOException {
+        Config config = Config.load(CutoffTunerTest.class);
+        assertNull(CutoffTuner.getProfile(config));
+        assertEquals(new File("/tmp/parsort.profile"), CutoffTuner.getProfile(config.copy(ParSort.PARALLELSORT, CutoffTuner.PROFILE, "/tmp/parsort.profile")));
+    }
+
+    @Test
+    public void testAutoTunedParSort() throws IOException {
+        CutoffTuner tuner = new CutoffTuner(Config.load(CutoffTunerTest.class));
+        ParSort parSort = new ParSort(tuner, pool);
+        assertTrue(parSort.isAutoTuned());
+        int[] xs = new int[40_000];
+        Random random = new Random(0L);
+        for (int i = 0; i < xs.length; i++) xs[i] = random.nextInt();
+        int[] expected = Arrays.copyOf(xs, xs.length);
+        Arrays.sort(expected);
+        // NOTE until the tuner is calibrated, the fixed cutoff is used.
+        assertEquals(parSort.getCutoff(), parSort.getCutoff(xs.length));
+        tuner.calibrate(pool, xs.length);
+        parSort.sort(xs);
+        assertArrayEquals(expected, xs);
+        assertEquals(tuner.getCutoff(xs.length, pool, -1), parSort.getCutoff(xs.length));
+        assertEquals(parSort.getCutoff(), parSort.getCutoff(100));
+    }
+
+    @BeforeClass
+    public static void beforeClass() {
+        pool = new ForkJoinPool(2);
+    }
+
+    @AfterClass
+    public static void afterClass() {
+        pool.shutdown();
+    }
+
+    private static ForkJoinPool pool;
+}
@@ -0,0 +1,108 @@
+package edu.neu.coe.info6205.sort.par;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class ParSortTest {
+
+    @Test
+    public void testSortSmall() {
+        int[] xs = new int[]{3, 4, 2, 1};
+        parSort.sort(xs, 0, xs.length);
+        assertArrayEquals(new int[]{1, 2, 3, 4}, xs);
+    }
+
+    @Test
+    public void testSortRandom() {
+        int[] xs = randomArray(100_000, 1_000_000);
+        int[] expected = Arrays.copyOf(xs, xs.length);
+        Arrays.sort(expected);
+        parSort.sort(xs, 0, xs.length);
+        assertArrayEquals(expected, xs);
+    }
+
+    @Test
+    public void testSortDuplicates() {
+        int[] xs = randomArray(50_001, 10);
+        int[] expected = Arrays.copyOf(xs, xs.length);
+        Arrays.sort(expected);
+        parSort.sort(xs, 0, xs.length);
+        assertArrayEquals(expected, xs);
+    }
+
+    @Test
+    public void testSortSubArray() {
+        int[] xs = randomArray(20_000, 1_000_000);
+        int[] expected = Arrays.copyOf(xs, xs.length);
+        Arrays.sort(expected, 1_000, 19_000);
+        parSort.sort(xs, 1_000, 19_000);
+        assertArrayEquals(expected, xs);
+    }
+
+    @Test
+    public void testSortLong() {
+        Random random = new Random(0L);
+        long[] xs = new long[30_000];
+        for (int i = 0; i < xs.length; i++) xs[i] = random.nextLong();
+        long[] expected = Arrays.copyOf(xs, xs.length);
+        Arrays.sort(expected);
+        parSort.sort(xs);
+        assertArrayEquals(expected, xs);
+    }
+
+    @Test
+    public void testSortDouble() {
+        Random random = new Random(0L);
+        double[] xs = new double[30_000];
+        for (int i = 0; i < xs.length; i++) xs[i] = random.nextGaussian();
+        xs[0] = Double.NaN;
+        xs[1] = -0.0;
+        xs[2] = 0.0;
+        double[] expected = Arrays.copyOf(xs, xs.length);
+        Arrays.sort(expected);
+        parSort.sort(xs);
+        assertArrayEquals(expected, xs, 0.0);
+    }
+
+    @Test
+    public void testCutoffAndParallelism() {
+        try (ParSort sorter = new ParSort(1, 3)) {
+            assertEquals(2, sorter.getCutoff());
+            assertEquals(3, sorter.getParallelism());
+            int[] xs = randomArray(1_000, 100);
+            int[] expected = Arrays.copyOf(xs, xs.length);
+            Arrays.sort(expected);
+            sorter.sort(xs);
+            assertArrayEquals(expected, xs);
+        }
+    }
+
+    private static int[] randomArray(int n, int bound) {
+        Random random = new Random(0L);
+        int[] result = new int[n];
+        for (int i = 0; i < n; i++) result[i] = random.nextInt(bound);
+        return result;
+    }
+
+    @BeforeClass
+    public static void beforeClass() {
+        pool = new ForkJoinPool(4);
+        parSort = new ParSort(1000, pool);
+    }
+
+    @AfterClass
+    public static void afterClass() {
+        pool.shutdown();
+    }
+
+    private static ForkJoinPool pool;
+    private static ParSort parSort;
+}
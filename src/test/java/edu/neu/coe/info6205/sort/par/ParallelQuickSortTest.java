@@ -0,0 +1,138 @@
+package edu.neu.coe.info6205.sort.par;
+
+import edu.neu.coe.info6205.sort.CacheModel;
+import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.sort.HelperFactory;
+import edu.neu.coe.info6205.sort.Instrument;
+import edu.neu.coe.info6205.sort.InstrumentedComparableHelper;
+import edu.neu.coe.info6205.sort.NonInstrumentingComparableHelper;
+import edu.neu.coe.info6205.sort.SortException;
+import edu.neu.coe.info6205.sort.SortWithHelper;
+import edu.neu.coe.info6205.sort.linearithmic.QuickSort_3way;
+import edu.neu.coe.info6205.util.Config;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class ParallelQuickSortTest {
+
+    @Test
+    public void testSort() throws Exception {
+        Integer[] xs = new Integer[]{3, 4, 2, 1};
+        try (ParallelQuickSort<Integer> sorter = new ParallelQuickSort<>(xs.length, 1, config)) {
+            Integer[] ys = sorter.sort(xs);
+            assertArrayEquals(new Integer[]{1, 2, 3, 4}, ys);
+        }
+    }
+
+    @Test
+    public void testSortRandom() throws Exception {
+        int n = 100_000;
+        Helper<Integer> helper = new NonInstrumentingComparableHelper<>("ParallelQuickSort", n, 0L, config);
+        try (SortWithHelper<Integer> sorter = new ParallelQuickSort<>(helper, 1000, 4)) {
+            Integer[] xs = helper.random(Integer.class, Random::nextInt);
+            Integer[] expected = Arrays.copyOf(xs, xs.length);
+            Arrays.sort(expected);
+            assertArrayEquals(expected, sorter.sort(xs));
+        }
+    }
+
+    @Test
+    public void testSortDuplicates() throws Exception {
+        int n = 100_000;
+        Helper<Integer> helper = new NonInstrumentingComparableHelper<>("ParallelQuickSort", n, 0L, config);
+        try (SortWithHelper<Integer> sorter = new ParallelQuickSort<>(helper, 1000, 4)) {
+            Integer[] xs = helper.random(Integer.class, r -> r.nextInt(10));
+            Integer[] expected = Arrays.copyOf(xs, xs.length);
+            Arrays.sort(expected);
+            assertArrayEquals(expected, sorter.sort(xs));
+        }
+    }
+
+    @Test
+    public void testSortSubArray() throws Exception {
+        int n = 20_000;
+        Helper<Integer> helper = new NonInstrumentingComparableHelper<>("ParallelQuickSort", n, 0L, config);
+        try (ParallelQuickSort<Integer> sorter = new ParallelQuickSort<>(helper, 100, 4)) {
+            Integer[] xs = helper.random(Integer.class, Random::nextInt);
+            Integer[] expected = Arrays.copyOf(xs, n);
+            Arrays.sort(expected, 1000, 19_000);
+            sorter.sort(xs, 1000, 19_000);
+            assertArrayEquals(expected, xs);
+        }
+    }
+
+    @Test
+    public void testSort3way() throws Exception {
+        int n = 50_000;
+        Helper<Integer> helper = new NonInstrumentingComparableHelper<>("ParallelQuickSort", n, 0L, config);
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try (SortWithHelper<Integer> sorter = new ParallelQuickSort<>(helper, QuickSort_3way::new, 500, pool)) {
+            Integer[] xs = helper.random(Integer.class, r -> r.nextInt(100));
+            Integer[] expected = Arrays.copyOf(xs, xs.length);
+            Arrays.sort(expected);
+            assertArrayEquals(expected, sorter.sort(xs));
+        }
+        // NOTE the pool belongs to the caller and so must not have been shut down by close.
+        assertFalse(pool.isShutdown());
+        pool.shutdown();
+    }
+
+    @Test
+    public void testInstrumented() throws Exception {
+        int n = 50_000;
+        final Config config = Config.load(ParallelQuickSortTest.class).copy(Config.HELPER, Config.INSTRUMENT, "true").copy(Instrument.INSTRUMENTING, "inversions", "0").copy(ParSort.PARALLELSORT, ParallelQuickSort.QUICKSORTTHRESHOLD, "1000");
+        try (ParallelQuickSort<Integer> sorter = new ParallelQuickSort<>(n, 1, config)) {
+            Helper<Integer> helper = sorter.getHelper();
+            assertTrue(helper.instrumented());
+            Integer[] xs = helper.random(Integer.class, Random::nextInt);
+            Integer[] ys = sorter.sort(xs);
+            assertTrue(helper.isSorted(ys));
+            // NOTE the compares are made by several threads: with thread-safe counters, none of them are lost.
+            long compares = helper.getCompares();
+            assertTrue(compares > n);
+            assertTrue(compares < 3L * n * 16);
+            // NOTE the depth is registered by several threads, too.
+            assertTrue(helper.maxDepth() > 0);
+        }
+    }
+
+    @Test
+    public void testCacheSimulationOff() throws Exception {
+        final Config config = Config.load(ParallelQuickSortTest.class).copy(Config.HELPER, Config.INSTRUMENT, "true").copy(CacheModel.CACHE, CacheModel.SIMULATE, "true");
+        try (ParallelQuickSort<Integer> sorter = new ParallelQuickSort<>(16, 1, config)) {
+            assertNull(((InstrumentedComparableHelper<Integer>) sorter.getHelper()).getCacheModel());
+        }
+    }
+
+    @Test(expected = SortException.class)
+    public void testRejectsCacheModel() throws IOException {
+        final Config config = Config.load(ParallelQuickSortTest.class).copy(Config.HELPER, Config.INSTRUMENT, "true").copy(CacheModel.CACHE, CacheModel.SIMULATE, "true");
+        new ParallelQuickSort<>(HelperFactory.<Integer>create("ParallelQuickSort", 16, config), 1000, 2);
+    }
+
+    @Test
+    public void testConcurrentConfig() {
+        final Config config = Config.setupConfig("true", "false", "0", "0", "", "");
+        try (ParallelQuickSort<Integer> sorter = new ParallelQuickSort<>(16, 1, config)) {
+            assertTrue(sorter.getHelper().instrumented());
+        }
+        assertFalse(config.getBoolean(Instrument.INSTRUMENTING, Instrument.CONCURRENT));
+    }
+
+    @Test
+    public void testConfig() throws IOException {
+        final Config config = Config.load(ParallelQuickSortTest.class).copy(ParSort.PARALLELSORT, ParSort.THREADS, "2");
+        try (ParallelQuickSort<Integer> sorter = new ParallelQuickSort<>(16, 1, config)) {
+            assertEquals(2, sorter.getParallelism());
+            assertEquals(ParallelQuickSort.QUICKSORT_THRESHOLD_DEFAULT, sorter.getThreshold());
+        }
+    }
+
+    private final Config config = Config.setupConfig("false", "false", "0", "0", "", "");
+}
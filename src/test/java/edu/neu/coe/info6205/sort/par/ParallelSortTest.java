@@ -0,0 +1,72 @@
+package edu.neu.coe.info6205.sort.par;
+
+import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.sort.NonInstrumentingComparableHelper;
+import edu.neu.coe.info6205.sort.SortWithHelper;
+import edu.neu.coe.info6205.sort.StabilityTester;
+import edu.neu.coe.info6205.util.Config;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ParallelSortTest {
+
+    @Test
+    public void testSort() throws Exception {
+        Integer[] xs = new Integer[]{3, 4, 2, 1};
+        try (ParallelSort<Integer> sorter = new ParallelSort<>(xs.length, 1, config)) {
+            Integer[] ys = sorter.sort(xs);
+            assertArrayEquals(new Integer[]{1, 2, 3, 4}, ys);
+        }
+    }
+
+    @Test
+    public void testSortRandom() throws Exception {
+        int n = 50_000;
+        Helper<Integer> helper = new NonInstrumentingComparableHelper<>("ParallelSort", n, 0L, config);
+        try (SortWithHelper<Integer> sorter = new ParallelSort<>(helper, 500, 4)) {
+            Integer[] xs = helper.random(Integer.class, r -> r.nextInt(1000));
+            Integer[] expected = Arrays.copyOf(xs, xs.length);
+            Arrays.sort(expected);
+            Integer[] ys = sorter.sort(xs);
+            assertTrue(helper.isSorted(ys));
+            assertArrayEquals(expected, ys);
+        }
+    }
+
+    @Test
+    public void testSortIsStable() throws Exception {
+        int n = 10_000;
+        Helper<StabilityTester.Key> helper = new NonInstrumentingComparableHelper<>("ParallelSort", n, 0L, config);
+        try (SortWithHelper<StabilityTester.Key> sorter = new ParallelSort<>(helper, 100, 4)) {
+            StabilityTester.checkStable(n, sorter::sort);
+        }
+    }
+
+    @Test
+    public void testDescription() {
+        try (ParallelSort<Integer> sorter = new ParallelSort<>(16, 1, config)) {
+            assertFalse(sorter.getDescription().contains("not instrumented"));
+        }
+        try (ParallelSort<Integer> sorter = new ParallelSort<>(16, 1, Config.setupConfig("true", "false", "0", "1", "", ""))) {
+            assertTrue(sorter.getDescription().endsWith("(not instrumented)"));
+        }
+    }
+
+    @Test
+    public void testConfig() throws IOException {
+        final Config config = Config.load(ParallelSortTest.class).copy(ParSort.PARALLELSORT, ParSort.THREADS, "2");
+        try (ParallelSort<Integer> sorter = new ParallelSort<>(16, 1, config)) {
+            assertEquals(2, sorter.getParallelism());
+            assertEquals(ParSort.CUTOFF_DEFAULT, sorter.getCutoff());
+        }
+    }
+
+    private final Config config = Config.setupConfig("false", "false", "0", "0", "", "");
+}
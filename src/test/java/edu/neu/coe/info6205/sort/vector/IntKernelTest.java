@@ -0,0 +1,107 @@
+package edu.neu.coe.info6205.sort.vector;
+
+import edu.neu.coe.info6205.sort.linearithmic.MergeSortPrimitive;
+import edu.neu.coe.info6205.sort.linearithmic.QuickSort_DualPivotPrimitive;
+import edu.neu.coe.info6205.util.Config;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static edu.neu.coe.info6205.util.Config.HELPER;
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+public class IntKernelTest {
+
+    @Test
+    public void testCreateScalar() {
+        IntKernel kernel = IntKernel.create(config);
+        assertFalse(kernel.isVectorized());
+        assertEquals(ScalarIntKernel.DESCRIPTION, kernel.getDescription());
+    }
+
+    @Test
+    public void testCreateVectorized() {
+        // NOTE if the Vector API is not available, we fall back to the scalar kernel.
+        IntKernel kernel = IntKernel.create(vectorizedConfig);
+        assertEquals(IntKernel.isVectorAvailable(), kernel.isVectorized());
+    }
+
+    @Test
+    public void testSortSmallScalar() {
+        checkSortSmall(new ScalarIntKernel());
+    }
+
+    @Test
+    public void testSortSmallVectorized() {
+        assumeTrue(IntKernel.isVectorAvailable());
+        checkSortSmall(IntKernel.create(vectorizedConfig));
+    }
+
+    @Test
+    public void testPartitionScalar() {
+        checkPartition(new ScalarIntKernel());
+    }
+
+    @Test
+    public void testPartitionVectorized() {
+        assumeTrue(IntKernel.isVectorAvailable());
+        checkPartition(IntKernel.create(vectorizedConfig));
+    }
+
+    @Test
+    public void testQuickSortVectorized() {
+        assumeTrue(IntKernel.isVectorAvailable());
+        QuickSort_DualPivotPrimitive sorter = new QuickSort_DualPivotPrimitive(vectorizedConfig.copy(HELPER, Config.CUTOFF, "64"));
+        assertTrue(sorter.getDescription().contains(VectorIntKernel.DESCRIPTION));
+        int[] xs = random.ints(100_000, 0, 50_000).toArray();
+        int[] expected = Arrays.copyOf(xs, xs.length);
+        Arrays.sort(expected);
+        assertArrayEquals(expected, sorter.sort(xs));
+    }
+
+    @Test
+    public void testMergeSortVectorized() {
+        assumeTrue(IntKernel.isVectorAvailable());
+        MergeSortPrimitive sorter = new MergeSortPrimitive(vectorizedConfig.copy(HELPER, Config.CUTOFF, "32"));
+        int[] xs = random.ints(100_000).toArray();
+        int[] expected = Arrays.copyOf(xs, xs.length);
+        Arrays.sort(expected);
+        assertArrayEquals(expected, sorter.sort(xs));
+    }
+
+    private void checkSortSmall(IntKernel kernel) {
+        for (int n = 0; n <= IntKernel.MAX_BLOCK + 3; n++) {
+            // NOTE the block is embedded in a larger array, which must not be disturbed.
+            int[] xs = random.ints(n + 10).toArray();
+            xs[5] = Integer.MAX_VALUE;
+            xs[6] = Integer.MIN_VALUE;
+            int[] expected = Arrays.copyOf(xs, xs.length);
+            Arrays.sort(expected, 5, 5 + n);
+            kernel.sortSmall(xs, 5, 5 + n);
+            assertArrayEquals("n=" + n, expected, xs);
+        }
+    }
+
+    private void checkPartition(IntKernel kernel) {
+        for (int n : new int[]{0, 1, 7, 15, 16, 17, 24, 33, 100, 1001, 10_000}) {
+            int[] xs = random.ints(n + 2, 0, 100).toArray();
+            int[] original = Arrays.copyOf(xs, xs.length);
+            int[] bounds = kernel.partition(xs, 1, n + 1, 30, 60);
+            assertEquals(original[0], xs[0]);
+            assertEquals(original[n + 1], xs[n + 1]);
+            for (int i = 1; i < bounds[0]; i++) assertTrue(xs[i] < 30);
+            for (int i = bounds[0]; i < bounds[1]; i++) assertTrue(xs[i] >= 30 && xs[i] <= 60);
+            for (int i = bounds[1]; i < n + 1; i++) assertTrue(xs[i] > 60);
+            Arrays.sort(original);
+            Arrays.sort(xs);
+            assertArrayEquals(original, xs);
+        }
+    }
+
+    private final Random random = new Random(0L);
+
+    private final Config config = Config.setupConfig("false", "false", "0", "0", "", "");
+    private final Config vectorizedConfig = config.copy(HELPER, IntKernel.VECTORIZE, "true");
+}
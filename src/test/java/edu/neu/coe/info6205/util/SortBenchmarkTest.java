@@ -3,9 +3,12 @@ package edu.neu.coe.info6205.util;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.util.Collections;
+import java.util.Locale;
 
 import static edu.neu.coe.info6205.util.SortBenchmark.minComparisons;
 import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertTrue;
 
 public class SortBenchmarkTest {
 
@@ -94,4 +97,20 @@ public class SortBenchmarkTest {
     @Test
     public void testGetLeipzigWords() {
     }
+
+    @Test
+    public void testGetLeipzigWordsColumn() {
+        assertEquals(Collections.singletonList("привет"), SortBenchmark.getLeipzigWordsColumn("42\tпривет\tпривет\t17"));
+        assertEquals(Collections.emptyList(), SortBenchmark.getLeipzigWordsColumn("2\t\"\t\"\t1090"));
+        assertEquals(Collections.emptyList(), SortBenchmark.getLeipzigWordsColumn(""));
+    }
+
+    @Test
+    public void testBenchmarkCollationSorters() throws IOException {
+        Config config = Config.load(SortBenchmark.class).copy(SortBenchmark.BENCHMARKSTRINGSORTERS, "totalcomparisons", "1000000");
+        String[] words = SortBenchmarkHelper.getWords("rus-su_web_2015_10K-words.txt", SortBenchmark::getLeipzigWordsColumn);
+        double[] times = new SortBenchmark(config).benchmarkCollationSorters(words, 1000, new Locale("ru", "RU"));
+        assertEquals(3, times.length);
+        for (double time : times) assertTrue(time > 0);
+    }
 }
\ No newline at end of file
@@ -50,6 +50,8 @@ Feature: Radix Sort for Integers
       | random                |                      0,11,95,52,78,65,65,87,51,87,87,50 |           4 |         4 | zero        |
       | random                |                      0,11,95,52,78,65,65,87,51,87,87,50 |          11 |        11 | zero        |
       | random                |0                                                        |0            |0          |zero         |
+      | negative              |                   5,-3,0,-2147483648,2147483647,-1,1,-3 |           0 |         7 | full        |
+      | negative              |                   5,-3,0,-2147483648,2147483647,-1,1,-3 |           1 |         5 | partial     |
 
   Scenario Outline: Negative Test: Given the integer array and out of bounds sorting range, test should generate ArrayIndexOutOfBounds exception
     Given The integer array "<Integer Array>"
@@ -81,41 +83,3 @@ Feature: Radix Sort for Integers
       | 0,101,9045,52,78,65,65456,847,51,87,870,50,2147483647 |          15 |         0 | start index is beyond upper cap and higher than end index            |
       | 0,101,9045,52,78,65,65456,847,51,87,870,50,2147483647 |           3 |        -1 | start index is higher than out of bound end index                    |
       | 0,101,9045,52,78,65,65456,847,51,87,870,50,2147483647 |          15 |        -3 | start index is higher than end index and both index are out of bound |
-
-  Scenario Outline: Positive Test: Given the integer array, sort elements based on certain radix.
-    Given an int array "<Integer Array>"
-    When counting sort is performed over the range <Range Start> to <Range End> at <Radix> radix
-    Then validate if the element at of array within <Range Start> and <Range End> are sorted at <Radix> radix
-
-    Examples:
-      | Integer Array                                         | Range Start | Range End | Radix |
-      | 0,101,9045,52,78,65,65456,847,51,87,870,50,2147483647 |           0 |        12 |     1 |
-      | 0,101,9045,52,78,65,65456,847,51,87,870,50,2147483647 |           0 |        12 |    10 |
-      | 0,101,9045,52,78,65,65456,847,51,87,870,50,2147483647 |           0 |        12 |   100 |
-      | 0,101,9045,52,78,65,65456,847,51,87,870,50,2147483647 |           0 |        12 |  1000 |
-      | 0,101,9045,52,78,65,65456,847,51,87,870,50,2147483647 |           0 |        12 | 10000 |
-      |                                0,1,2,3,4,5,6,7,8,9,10 |           0 |        10 |  1000 |
-      | 0,101,9045,52,78,65,65456,847,51,87,870,50,2147483647 |           3 |         8 |     1 |
-      | 0,101,9045,52,78,65,65456,847,51,87,870,50,2147483647 |           3 |         8 |    10 |
-      | 0,101,9045,52,78,65,65456,847,51,87,870,50,2147483647 |           3 |         8 |   100 |
-      | 0,101,9045,52,78,65,65456,847,51,87,870,50,2147483647 |           3 |         8 |  1000 |
-      | 0,101,9045,52,78,65,65456,847,51,87,870,50,2147483647 |           4 |         7 | 10000 |
-      |                                0,1,2,3,4,5,6,7,8,9,10 |           2 |         6 |  1000 |
-      |                                                     0 |           0 |         0 |     1 |
-      |                                                     0 |           0 |         0 |    10 |
-
-   Scenario Outline: Positive Test: Given the integer array find the max element within the range
-     Given an Int array "<Integer Array>"
-     Then maximum integer within <Range Start> and <Range End> should be <Output>
-
-     Examples:
-       | Integer Array                                         | Range Start | Range End | Output     |
-       |                                0,1,2,3,4,5,6,7,8,9,10 |           0 |        10 |         10 |
-       |                                0,1,2,3,4,5,6,7,8,9,10 |           3 |         7 |          7 |
-       | 0,101,9045,52,78,65,65456,847,51,87,870,50,2147483647 |           0 |        12 | 2147483647 |
-       | 0,101,9045,52,78,65,65456,847,51,87,870,50,2147483647 |           3 |         9 |      65456 |
-
-
-
-
-